@@ -1,7 +1,9 @@
 module org.jsapar {
     requires java.xml;
+    requires static transitive java.compiler;
     exports org.jsapar;
     exports org.jsapar.bean;
+    exports org.jsapar.bean.processor;
     exports org.jsapar.compose;
     exports org.jsapar.compose.bean;
     exports org.jsapar.compose.string;
@@ -1,18 +1,25 @@
 package org.jsapar;
 
+import org.jsapar.compose.line.CellValueReader;
+import org.jsapar.compose.line.LineComposer;
 import org.jsapar.convert.LineManipulator;
 import org.jsapar.error.ErrorEvent;
 import org.jsapar.error.ErrorEventListener;
 import org.jsapar.error.ExceptionErrorConsumer;
 import org.jsapar.bean.BeanMap;
 import org.jsapar.error.JSaParException;
+import org.jsapar.model.Line;
+import org.jsapar.parse.bean.BeanCellValueReader;
 import org.jsapar.parse.bean.BeanMarshaller;
+import org.jsapar.parse.bean.BeanPropertyMap;
 import org.jsapar.schema.Schema;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 
 /**
@@ -37,13 +44,25 @@ import java.util.function.Consumer;
  * The default error behavior is to throw an exception upon the first error that occurs. You can however change that
  * behavior by adding an error consumer using {@link #setErrorConsumer(Consumer)}. There are several implementations to choose from such as
  * {@link org.jsapar.error.ThresholdCollectingErrorConsumer}, or you may implement your own.
+ * <p>
+ * As long as no {@link LineManipulator} is added, the property values of each bean are read and formatted directly
+ * into the text output without first creating a {@link Line} with cells. The properties to read for each bean class are
+ * resolved the first time a bean of that class is converted. If a line manipulator is added, or if the bean class is
+ * mapped by a generated {@link org.jsapar.bean.GeneratedBeanMapper}, each bean is first converted into a {@link Line}.
  *
  * @see BeanCollection2TextConverter
  * @param <T> The base class that should be allowed to convert. Use {@code <Object>} in case you want to allow all types.
  */
 public class Bean2TextConverter<T> implements AutoCloseable{
 
+    /**
+     * Denotes a bean class where beans are converted by first creating a {@link Line}.
+     */
+    private static final BeanLineWriter BY_LINE = new BeanLineWriter(null, null);
+
+    private final BeanMap                   beanMap;
     private final BeanMarshaller<T>         beanMarshaller;
+    private final Map<Class<?>, BeanLineWriter> beanLineWriters = new HashMap<>();
     private final TextComposer              textComposer;
     private       long                      lineNumber         = 1;
     private final List<LineManipulator>     manipulators  = new java.util.LinkedList<>();
@@ -86,6 +105,7 @@ public class Bean2TextConverter<T> implements AutoCloseable{
     @SuppressWarnings("WeakerAccess")
     public Bean2TextConverter(Schema<?> composerSchema, BeanMap beanMap, Writer writer) {
         assert composerSchema != null;
+        this.beanMap = beanMap;
         beanMarshaller = new BeanMarshaller<>(beanMap);
         textComposer = new TextComposer(composerSchema, writer);
     }
@@ -98,14 +118,40 @@ public class Bean2TextConverter<T> implements AutoCloseable{
      * @throws UncheckedIOException In case it was not possible to write to the attached writer.
      */
     public boolean convert(T bean) throws UncheckedIOException {
-        return beanMarshaller.marshal(bean, errorConsumer, lineNumber++).map(line -> {
-            for (LineManipulator manipulator : manipulators) {
-                if (!manipulator.manipulate(line))
-                    return false;
+        if (manipulators.isEmpty()) {
+            final BeanLineWriter beanLineWriter = beanLineWriters.computeIfAbsent(bean.getClass(), this::makeBeanLineWriter);
+            if (beanLineWriter != BY_LINE) {
+                lineNumber++;
+                textComposer.composeValues(beanLineWriter.lineComposer, bean, beanLineWriter.reader);
+                return true;
             }
-            textComposer.composeLine(line);
-            return true;
-        }).orElse(false);
+        }
+        final Line line = beanMarshaller.marshalLine(bean, errorConsumer, lineNumber++);
+        if (line == null)
+            return false;
+        for (LineManipulator manipulator : manipulators) {
+            if (!manipulator.manipulate(line))
+                return false;
+        }
+        textComposer.composeLine(line);
+        return true;
+    }
+
+    /**
+     * @param beanClass The class of the beans to write.
+     * @return A writer that writes beans of supplied class directly to the text output or {@link #BY_LINE} if beans of
+     * supplied class need to be converted into a {@link Line} first.
+     */
+    private BeanLineWriter makeBeanLineWriter(Class<?> beanClass) {
+        final BeanPropertyMap beanPropertyMap = beanMap.getBeanPropertyMap(beanClass).orElse(null);
+        if (beanPropertyMap == null)
+            return BY_LINE;
+        final LineComposer lineComposer = textComposer.getLineComposer(beanPropertyMap.getLineType());
+        if (lineComposer == null || lineComposer.getCellNames().isEmpty())
+            return BY_LINE;
+        final CellValueReader reader = BeanCellValueReader.of(beanPropertyMap, lineComposer.getCellNames(),
+                e -> errorConsumer.accept(e));
+        return reader == null ? BY_LINE : new BeanLineWriter(lineComposer, reader);
     }
 
     /**
@@ -142,6 +188,19 @@ public class Bean2TextConverter<T> implements AutoCloseable{
         manipulators.add(manipulator);
     }
 
+    /**
+     * The line composer of the line type of a bean class together with the reader of its cell values.
+     */
+    private static final class BeanLineWriter {
+        private final LineComposer    lineComposer;
+        private final CellValueReader reader;
+
+        private BeanLineWriter(LineComposer lineComposer, CellValueReader reader) {
+            this.lineComposer = lineComposer;
+            this.reader = reader;
+        }
+    }
+
     /**
      * Closes the attached writer.
      * @throws IOException In case of failing to close
@@ -6,9 +6,12 @@ import org.jsapar.parse.bean.BeanParseTask;
 import org.jsapar.schema.Schema;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.Set;
 import java.util.stream.Stream;
 
 /**
@@ -27,13 +30,23 @@ import java.util.stream.Stream;
  * BeanCollection2TextConverter<TstPerson> converter = new BeanCollection2TextConverter<>(schema);
  * converter.convert(people, writer);
  * }</pre>
+ * <p>
+ * As long as no {@link org.jsapar.convert.LineManipulator} or transformer is added, and no sub-class overrides
+ * {@link #makeParseTask(Stream)}, {@link #makeComposer(Writer)} or the creation of the convert task, the beans are
+ * written the same way as by {@link Bean2TextConverter}, directly into the text output without first creating a
+ * {@link org.jsapar.model.Line} for each bean. Otherwise the parse task and the composer are created by
+ * {@link #makeParseTask(Stream)} and {@link #makeComposer(Writer)}.
  *
  * @see Bean2TextConverter
  */
 public class BeanCollection2TextConverter<T> extends AbstractConverter {
 
+    private static final Set<String> CONVERSION_METHODS = Set.of(
+            "makeParseTask", "makeComposer", "makeConvertTask", "execute");
+
     private final Schema<?>  composerSchema;
     private final BeanMap beanMap;
+    private final boolean conversionOverridden = isConversionOverridden(getClass());
 
     /**
      * Creates a converter with supplied composer schema.
@@ -65,6 +78,8 @@ public class BeanCollection2TextConverter<T> extends AbstractConverter {
      * @return Number of actually composed lines.
      */
     public long convert(Stream<? extends T> stream, Writer writer) throws IOException {
+        if (isComposedDirectly())
+            return convertDirectly(stream.iterator(), writer);
         return execute(makeParseTask(stream), makeComposer(writer));
     }
 
@@ -77,9 +92,49 @@ public class BeanCollection2TextConverter<T> extends AbstractConverter {
      * @return Number of actually composed lines.
      */
     public long convert(Iterator<? extends T> iterator, Writer writer) throws IOException {
+        if (isComposedDirectly())
+            return convertDirectly(iterator, writer);
         return execute(makeParseTask(iterator), makeComposer(writer));
     }
 
+    /**
+     * @return True if beans can be written directly to the text output, since there is nothing that requires a line to
+     * be created and the parse task, composer and convert task are not replaced by a sub-class.
+     */
+    private boolean isComposedDirectly() {
+        return !conversionOverridden && getTransformer() == null && getManipulators().isEmpty();
+    }
+
+    /**
+     * @param converterClass The class of the converter.
+     * @return True if supplied class, or any class between it and this class, declares a method that creates the parse
+     * task, the composer or the convert task.
+     */
+    private static boolean isConversionOverridden(Class<?> converterClass) {
+        for (Class<?> c = converterClass; c != BeanCollection2TextConverter.class; c = c.getSuperclass()) {
+            for (Method method : c.getDeclaredMethods()) {
+                if (CONVERSION_METHODS.contains(method.getName()))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    private long convertDirectly(Iterator<? extends T> iterator, Writer writer) throws IOException {
+        final Bean2TextConverter<T> converter = new Bean2TextConverter<>(composerSchema, beanMap, writer);
+        converter.setErrorConsumer(getErrorConsumer());
+        long count = 0;
+        try {
+            while (iterator.hasNext()) {
+                converter.convert(iterator.next());
+                count++;
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return count;
+    }
+
     /**
      * This implementation creates a new instance of {@link TextComposer}. Override if you have a different composer
      * that you want to use.
@@ -80,6 +80,7 @@ public class Text2BeanConverter<T> extends AbstractConverter {
      * <ul>
      *     <li>{@link BeanFactoryByMap} - Default for this class. Uses input schema with optional {@link BeanMap} to map properties.</li>
      *     <li>{@link BeanFactoryDefault} - Default if no schema is present. Uses cell names to guess the property names.</li>
+     *     <li>{@link org.jsapar.compose.bean.BeanFactoryByConstructor} - Binds cells to constructor parameters, for instance of immutable beans.</li>
      * </ul>
      * @param beanFactory The bean factory to use.
      */
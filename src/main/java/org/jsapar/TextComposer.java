@@ -4,6 +4,8 @@ import org.jsapar.compose.Composer;
 import org.jsapar.compose.internal.ComposerFactory;
 import org.jsapar.compose.internal.SchemaComposer;
 import org.jsapar.compose.internal.TextComposerFactory;
+import org.jsapar.compose.line.CellValueReader;
+import org.jsapar.compose.line.LineComposer;
 import org.jsapar.error.JSaParException;
 import org.jsapar.model.Document;
 import org.jsapar.model.Line;
@@ -109,6 +111,42 @@ public final class TextComposer implements Composer, AutoCloseable {
         return schemaComposer.composeLine(line);
     }
 
+    /**
+     * @param lineType The line type.
+     * @return The line composer of supplied line type or null if there is no such line type in the schema.
+     */
+    LineComposer getLineComposer(String lineType) {
+        return schemaComposer.getLineComposer(lineType);
+    }
+
+    /**
+     * Writes a single line with supplied line composer where the value of each cell is read directly from supplied
+     * source object. The line is prefixed with the line separator unless it is the first line, the same way as for
+     * {@link #composeLine(Line)}.
+     *
+     * @param lineComposer The line composer to use, retrieved by {@link #getLineComposer(String)}. Needs to be able to
+     *                     compose from values, which is denoted by that {@link LineComposer#getCellNames()} is not
+     *                     empty.
+     * @param source       The object to read cell values from.
+     * @param reader       Reads the value of each cell of the line composer from the source object.
+     * @return True if the line was written, false if the line type should be ignored.
+     * @throws UncheckedIOException In case it was not possible to write to the attached writer.
+     */
+    boolean composeValues(LineComposer lineComposer, Object source, CellValueReader reader) {
+        if (lineComposer.ignoreWrite())
+            return false;
+        try {
+            if (breakBefore) {
+                writer.write(schema.getLineSeparator());
+            }
+            boolean written = lineComposer.composeValues(source, reader);
+            breakBefore = written;
+            return written;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
 
     /**
      * Closes the attached writer.
@@ -4,14 +4,23 @@ import org.jsapar.model.Line;
 import org.jsapar.parse.AbstractParser;
 import org.jsapar.parse.LineEventListener;
 import org.jsapar.parse.LineEventListenerLineConsumer;
+import org.jsapar.parse.csv.CsvParser;
+import org.jsapar.parse.text.FileSegmentSpliterator;
+import org.jsapar.parse.text.MappedFileReader;
 import org.jsapar.parse.text.TextParseTask;
 import org.jsapar.parse.text.TextSchemaParser;
+import org.jsapar.schema.CsvSchema;
 import org.jsapar.schema.Schema;
 import org.jsapar.text.TextParseConfig;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
@@ -78,6 +87,82 @@ public class TextParser extends AbstractParser {
         return execute(parseTask, lineConsumer);
     }
 
+    /**
+     * Same as {@link #parseForEach(Reader, Consumer)} but the same {@link Line} instance is handed to the line consumer
+     * for all lines of the same line type. The line is reset between lines, which means that the line consumer must
+     * not keep any reference to the line after returning. Use {@link Line#clone()} to keep a copy of a line. Parsing
+     * this way does not need to allocate any new line, which reduces the pressure on the garbage collector.
+     * <p>
+     * The parse configuration of this parser is not altered.
+     *
+     * @param reader       The reader to read text from.
+     * @param lineConsumer The line consumer that will be called for each line.
+     * @return Number of parsed lines.
+     * @see TextParseConfig#setReuseLines(boolean)
+     * @since 2.3.4
+     * @throws IOException In case of IO error
+     */
+    public long parseForEachReusing(Reader reader, Consumer<Line> lineConsumer) throws IOException {
+        TextParseConfig reusingConfig = new TextParseConfig(parseConfig);
+        reusingConfig.setReuseLines(true);
+        TextParseTask parseTask = new TextParseTask(this.parseSchema, reader, reusingConfig);
+        return execute(parseTask, lineConsumer);
+    }
+
+    /**
+     * Reads text from supplied file and parses each line. Each parsed line generates a call-back to the lineConsumer.
+     * <p>
+     * The file is memory mapped in large windows and decoded directly into the buffer of the parser, which is faster
+     * than going through a {@link Reader}, especially for large files. For the single byte charsets ISO-8859-1 and
+     * US-ASCII, no {@link java.nio.charset.CharsetDecoder} is used at all.
+     * <p>
+     * Csv files encoded with UTF-8, ISO-8859-1 or US-ASCII are instead split into cells directly on the bytes of the
+     * file and only the cells that are actually used are decoded into characters. In this case, the maximum line
+     * length of the parse configuration is counted in bytes.
+     *
+     * @param path         The path of the file to parse.
+     * @param charset      The character encoding of the file.
+     * @param lineConsumer The line consumer that will be called for each line.
+     * @return Number of parsed lines.
+     * @since 2.3.4
+     * @throws IOException In case of IO error
+     */
+    public long parseForEach(Path path, Charset charset, Consumer<Line> lineConsumer) throws IOException {
+        if (parseSchema instanceof CsvSchema && CsvParser.isByteParsingSupported((CsvSchema) parseSchema, charset)) {
+            try (InputStream inputStream = Files.newInputStream(path)) {
+                TextSchemaParser parser = TextSchemaParser.ofSchema(parseSchema, inputStream, charset, parseConfig, true);
+                return execute(new TextParseTask(inputStream, parser), lineConsumer);
+            }
+        }
+        try (Reader reader = new MappedFileReader(path, charset)) {
+            TextSchemaParser parser = TextSchemaParser.ofSchema(parseSchema, reader, parseConfig, true);
+            return execute(new TextParseTask(reader, parser), lineConsumer);
+        }
+    }
+
+    /**
+     * Reads text from supplied reader and parses each line until end of input or until there are no more lines within
+     * the schema that can occur. Each parsed line generates a call-back to the lineConsumer.
+     * <p>
+     * As opposed to {@link #parseForEach(Reader, Consumer)}, the input is always read in larger chunks, also when
+     * there are no lines within the schema that occurs infinitely. This means that characters beyond the last parsed line may
+     * already have been read from the supplied reader. Use the returned reader to read the rest of the input, starting
+     * directly after the last consumed line. This is particularly useful for parsing a header of known size in front of some other
+     * content.
+     *
+     * @param reader       The reader to read text from.
+     * @param lineConsumer The line consumer that will be called for each line.
+     * @return A reader that delivers the rest of the input that was not consumed by this parser. Closing the returned
+     * reader also closes the supplied reader.
+     * @since 2.3.4
+     * @throws IOException In case of IO error
+     */
+    public Reader parseForEachAndGetRemaining(Reader reader, Consumer<Line> lineConsumer) throws IOException {
+        TextSchemaParser parser = TextSchemaParser.ofSchema(parseSchema, reader, parseConfig, true);
+        execute(new TextParseTask(reader, parser), lineConsumer);
+        return parser.remainingReader();
+    }
+
     /**
      * Returns a stream of lines that are lazily populated by lines when pulled from the stream. The reader is consumed
      * on the fly upon pulling items from the stream.
@@ -95,6 +180,37 @@ public class TextParser extends AbstractParser {
     }
 
 
+    /**
+     * Returns a parallel stream of lines parsed from supplied file. The file is split into segments that begin at line
+     * boundaries and each segment is parsed by its own parser so that segments can be parsed by several threads
+     * simultaneously. The order of the stream is still according to the order of lines within the file and line numbers
+     * refer to the whole file.
+     * <p>
+     * Splitting is only possible for schemas with one single line type that occurs infinitely, where line separator,
+     * cell separator and quote character are single ASCII characters, and for the charsets UTF-8, ISO-8859-1 and
+     * US-ASCII. For csv files with a quote character, the file is first scanned from the beginning in order to find
+     * line boundaries that are not within quoted cells. In all other cases the returned stream is sequential. The
+     * stream is also sequential if the parse configuration has a line limit, see
+     * {@link TextParseConfig#setLineLimit(long)}, since the limit counts the lines from the beginning of the file.
+     * <p>
+     * Since errors may be reported from several threads, the error consumer of this parser needs to be thread safe.
+     * The returned stream needs to be closed after use in order to release file resources, preferably by using
+     * try-with-resources.
+     *
+     * @param path    The path of the file to parse.
+     * @param charset The character encoding of the file.
+     * @return A parallel stream of lines parsed from the file.
+     * @since 2.3.4
+     * @throws IOException In case of IO error
+     * @throws IllegalArgumentException If the parse configuration re-uses lines, see
+     *                                  {@link TextParseConfig#setReuseLines(boolean)}.
+     */
+    public Stream<Line> parallelStream(Path path, Charset charset) throws IOException {
+        if (getParseConfig().isReuseLines())
+            throw new IllegalArgumentException("Parsed lines can not be re-used within a parallel stream");
+        return FileSegmentSpliterator.stream(parseSchema, getParseConfig(), path, charset, getErrorConsumer());
+    }
+
     /**
      * Reads text from supplied reader and parses each line. Each parsed line generates a call-back to the lineConsumer.
      * <br/>
@@ -132,4 +248,18 @@ public class TextParser extends AbstractParser {
     public void setParseConfig(TextParseConfig parseConfig) {
         this.parseConfig = parseConfig;
     }
+
+    /**
+     * Adds a filter that is tested against the raw text of a cell while parsing. Lines where the filter is not fulfilled
+     * are dropped before any cell of the line is parsed. The filter is added to the current parse configuration.
+     * @param lineType The line type to filter.
+     * @param cellName The name of the cell to test.
+     * @param filter   The filter to test the raw text of the cell with.
+     * @see TextParseConfig#addFilter(String, String, Predicate)
+     * @see org.jsapar.text.RawCellFilters
+     * @since 2.3.4
+     */
+    public void addFilter(String lineType, String cellName, Predicate<? super CharSequence> filter) {
+        parseConfig.addFilter(lineType, cellName, filter);
+    }
 }
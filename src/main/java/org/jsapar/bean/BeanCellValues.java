@@ -0,0 +1,239 @@
+package org.jsapar.bean;
+
+import org.jsapar.compose.bean.BeanComposeException;
+import org.jsapar.model.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * Conversions between bean property values and cells used by the code generated by
+ * {@link org.jsapar.bean.processor.BeanMapperProcessor}. The type of cell that is created for a property value is chosen
+ * at compile time by overload resolution on the type of the getter. The processor only generates mappers where this
+ * gives the same type of cell as when the bean is mapped by reflection. For instance, a getter that returns a
+ * sub-class of {@link Date} or {@link Calendar} is cast to {@code Object} by the generated code, since such values are
+ * converted into string cells by reflection. A null value results in an empty cell.
+ *
+ * @see GeneratedBeanMapper
+ * @since 2.3.4
+ */
+public final class BeanCellValues {
+
+    private BeanCellValues() {
+    }
+
+    public static Cell<?> cell(String name, String value) {
+        return value == null ? StringCell.emptyOf(name) : new StringCell(name, value);
+    }
+
+    public static Cell<?> cell(String name, long value) {
+        return IntegerCell.of(name, value);
+    }
+
+    public static Cell<?> cell(String name, Long value) {
+        return value == null ? new EmptyCell<>(name, CellType.INTEGER) : new IntegerCell(name, value);
+    }
+
+    public static Cell<?> cell(String name, Integer value) {
+        return value == null ? new EmptyCell<>(name, CellType.INTEGER) : new IntegerCell(name, value);
+    }
+
+    public static Cell<?> cell(String name, Short value) {
+        return value == null ? new EmptyCell<>(name, CellType.INTEGER) : new IntegerCell(name, value);
+    }
+
+    public static Cell<?> cell(String name, Byte value) {
+        return value == null ? new EmptyCell<>(name, CellType.INTEGER) : new IntegerCell(name, value);
+    }
+
+    public static Cell<?> cell(String name, double value) {
+        return FloatCell.of(name, value);
+    }
+
+    /**
+     * A float is kept as a float since the value would otherwise be formatted with more decimals.
+     */
+    public static Cell<?> cell(String name, float value) {
+        return new FloatCell(name, value);
+    }
+
+    public static Cell<?> cell(String name, Double value) {
+        return value == null ? new EmptyCell<>(name, CellType.FLOAT) : new FloatCell(name, value);
+    }
+
+    public static Cell<?> cell(String name, Float value) {
+        return value == null ? new EmptyCell<>(name, CellType.FLOAT) : new FloatCell(name, value);
+    }
+
+    public static Cell<?> cell(String name, boolean value) {
+        return new BooleanCell(name, value);
+    }
+
+    public static Cell<?> cell(String name, Boolean value) {
+        return value == null ? new EmptyCell<>(name, CellType.BOOLEAN) : new BooleanCell(name, value);
+    }
+
+    public static Cell<?> cell(String name, char value) {
+        return new CharacterCell(name, value);
+    }
+
+    public static Cell<?> cell(String name, Character value) {
+        return value == null ? new EmptyCell<>(name, CellType.CHARACTER) : new CharacterCell(name, value);
+    }
+
+    public static Cell<?> cell(String name, BigDecimal value) {
+        return value == null ? new EmptyCell<>(name, CellType.DECIMAL) : new BigDecimalCell(name, value);
+    }
+
+    public static Cell<?> cell(String name, BigInteger value) {
+        return value == null ? new EmptyCell<>(name, CellType.DECIMAL) : new BigDecimalCell(name, value);
+    }
+
+    public static Cell<?> cell(String name, LocalDate value) {
+        return value == null ? new EmptyCell<>(name, CellType.LOCAL_DATE) : new LocalDateCell(name, value);
+    }
+
+    public static Cell<?> cell(String name, LocalDateTime value) {
+        return value == null ? new EmptyCell<>(name, CellType.LOCAL_DATE_TIME) : new LocalDateTimeCell(name, value);
+    }
+
+    public static Cell<?> cell(String name, LocalTime value) {
+        return value == null ? new EmptyCell<>(name, CellType.LOCAL_TIME) : new LocalTimeCell(name, value);
+    }
+
+    public static Cell<?> cell(String name, ZonedDateTime value) {
+        return value == null ? new EmptyCell<>(name, CellType.ZONED_DATE_TIME) : new ZonedDateTimeCell(name, value);
+    }
+
+    public static Cell<?> cell(String name, Instant value) {
+        return value == null ? new EmptyCell<>(name, CellType.INSTANT) : new InstantCell(name, value);
+    }
+
+    public static Cell<?> cell(String name, Date value) {
+        return value == null ? new EmptyCell<>(name, CellType.DATE) : new DateCell(name, value);
+    }
+
+    public static Cell<?> cell(String name, Calendar value) {
+        return value == null ? new EmptyCell<>(name, CellType.DATE) : new DateCell(name, value.getTime());
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static Cell<?> cell(String name, Enum value) {
+        return value == null ? new EmptyCell<>(name, CellType.ENUM) : new EnumCell(name, value);
+    }
+
+    /**
+     * Any other type of value is converted into a string cell.
+     */
+    public static Cell<?> cell(String name, Object value) {
+        return value == null ? StringCell.emptyOf(name) : new StringCell(name, String.valueOf(value));
+    }
+
+    public static long toLong(Cell<?> cell) throws BeanComposeException {
+        return number(cell).longValue();
+    }
+
+    public static int toInt(Cell<?> cell) throws BeanComposeException {
+        return number(cell).intValue();
+    }
+
+    public static short toShort(Cell<?> cell) throws BeanComposeException {
+        return number(cell).shortValue();
+    }
+
+    public static byte toByte(Cell<?> cell) throws BeanComposeException {
+        return number(cell).byteValue();
+    }
+
+    public static double toDouble(Cell<?> cell) throws BeanComposeException {
+        return number(cell).doubleValue();
+    }
+
+    public static float toFloat(Cell<?> cell) throws BeanComposeException {
+        return number(cell).floatValue();
+    }
+
+    public static boolean toBoolean(Cell<?> cell) throws BeanComposeException {
+        final Object value = cell.getValue();
+        if (value instanceof Boolean)
+            return (Boolean) value;
+        if (value instanceof Number)
+            return ((Number) value).intValue() != 0;
+        throw cannotAssign(cell, Boolean.TYPE);
+    }
+
+    /**
+     * @param cell The cell to convert.
+     * @return The character value of the cell or the first character of the string value of the cell.
+     */
+    public static char toChar(Cell<?> cell) throws BeanComposeException {
+        final Object value = cell.getValue();
+        if (value instanceof Character)
+            return (Character) value;
+        final String stringValue = cell.getStringValue();
+        if (value instanceof Number || stringValue.isEmpty())
+            throw cannotAssign(cell, Character.TYPE);
+        return stringValue.charAt(0);
+    }
+
+    /**
+     * @param cell The cell to convert.
+     * @param type The type of the bean property.
+     * @param <V>  The type of the bean property.
+     * @return The value of the cell if it is of supplied type, otherwise the value converted into supplied type if
+     * possible.
+     * @throws BeanComposeException If the value can not be converted into supplied type.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <V> V to(Cell<?> cell, Class<V> type) throws BeanComposeException {
+        final Object value = cell.getValue();
+        if (type.isInstance(value))
+            return (V) value;
+        if (type == String.class)
+            return (V) cell.getStringValue();
+        if (Enum.class.isAssignableFrom(type)) {
+            try {
+                return (V) Enum.valueOf((Class<Enum>) type, cell.getStringValue());
+            } catch (IllegalArgumentException e) {
+                throw new BeanComposeException(
+                        "Skipped assigning cell - The value " + cell.getStringValue() + " is not a valid " + type.getName(), e);
+            }
+        }
+        if (value instanceof Number) {
+            final Number number = (Number) value;
+            if (type == Long.class)
+                return (V) Long.valueOf(number.longValue());
+            if (type == Integer.class)
+                return (V) Integer.valueOf(number.intValue());
+            if (type == Short.class)
+                return (V) Short.valueOf(number.shortValue());
+            if (type == Byte.class)
+                return (V) Byte.valueOf(number.byteValue());
+            if (type == Double.class)
+                return (V) Double.valueOf(number.doubleValue());
+            if (type == Float.class)
+                return (V) Float.valueOf(number.floatValue());
+        }
+        throw cannotAssign(cell, type);
+    }
+
+    private static Number number(Cell<?> cell) throws BeanComposeException {
+        final Object value = cell.getValue();
+        if (value instanceof Number)
+            return (Number) value;
+        throw cannotAssign(cell, Number.class);
+    }
+
+    private static BeanComposeException cannotAssign(Cell<?> cell, Class<?> type) {
+        return new BeanComposeException(
+                "Skipped assigning cell - The value of cell " + cell.getName() + " could not be assigned to a property of type "
+                        + type.getName());
+    }
+}
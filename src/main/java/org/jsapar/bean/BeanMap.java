@@ -34,6 +34,12 @@ public final class BeanMap {
     private final Map<Class<?>, BeanPropertyMap>  beanPropertyMap           = new HashMap<>();
     private final Map<String, BeanPropertyMap> beanPropertyMapByLineType = new HashMap<>();
 
+    /**
+     * Caches the result of {@link #getBeanPropertyMap(Class)} per class since it is called once for each bean. Replaced
+     * whenever a mapping is added.
+     */
+    private ClassValue<Optional<BeanPropertyMap>> beanPropertyMapByClass = newBeanPropertyMapByClass();
+
     private BeanMap() {
     }
 
@@ -47,13 +53,26 @@ public final class BeanMap {
      * no {@link BeanPropertyMap} was mapped that can be used for supplied class.
      */
     public Optional<BeanPropertyMap> getBeanPropertyMap(Class<?> aClass) {
+        return beanPropertyMapByClass.get(aClass);
+    }
+
+    private Optional<BeanPropertyMap> findBeanPropertyMap(Class<?> aClass) {
         BeanPropertyMap beanPropertyMap = this.beanPropertyMap.get(aClass);
         if (beanPropertyMap != null)
             return Optional.of(beanPropertyMap);
         final Class<?> superClass = aClass.getSuperclass();
         if (superClass == null || superClass == Object.class)
             return Optional.empty();
-        return getBeanPropertyMap(superClass);
+        return findBeanPropertyMap(superClass);
+    }
+
+    private ClassValue<Optional<BeanPropertyMap>> newBeanPropertyMapByClass() {
+        return new ClassValue<>() {
+            @Override
+            protected Optional<BeanPropertyMap> computeValue(Class<?> type) {
+                return findBeanPropertyMap(type);
+            }
+        };
     }
 
     public BeanPropertyMap getBeanPropertyMap(String lineType){
@@ -68,6 +87,7 @@ public final class BeanMap {
     private void putBean2Line(Class<?> aClass, BeanPropertyMap beanPropertyMap) {
         this.beanPropertyMap.put(aClass, beanPropertyMap);
         this.beanPropertyMapByLineType.put(beanPropertyMap.getLineType(), beanPropertyMap);
+        this.beanPropertyMapByClass = newBeanPropertyMapByClass();
     }
 
     /**
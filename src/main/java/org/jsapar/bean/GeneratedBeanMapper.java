@@ -0,0 +1,95 @@
+package org.jsapar.bean;
+
+import org.jsapar.compose.bean.BeanComposeException;
+import org.jsapar.model.Cell;
+import org.jsapar.model.Line;
+
+import java.util.Map;
+
+/**
+ * Maps one class annotated with {@link JSaParLine} to and from lines without using reflection. Implementations are
+ * generated at compile time by {@link org.jsapar.bean.processor.BeanMapperProcessor} and are picked up automatically by
+ * {@link BeanMap#ofClass(Class)} and {@link BeanMap#ofClasses(Class[])} whenever they are present in the class path. The
+ * generated class is placed in the same package as the bean class and is named as described by
+ * {@link #mapperClassName(String)}.
+ * <p>
+ * The behavior is the same as when the bean class is mapped by reflection, the only difference is that the getters,
+ * setters and the default constructor are called directly.
+ *
+ * @param <T> The bean class.
+ * @since 2.3.4
+ */
+public interface GeneratedBeanMapper<T> {
+
+    /**
+     * The suffix added to the name of the bean class to form the name of the generated mapper class.
+     */
+    String CLASS_NAME_SUFFIX = "_JSaParMapper";
+
+    /**
+     * @param beanClassName The binary name of the bean class, as returned by {@link Class#getName()}.
+     * @return The binary name of the generated mapper class. The mapper of a nested class is a top level class where
+     * the names of the enclosing classes are separated by underscore, for instance {@code com.example.Outer_Inner_JSaParMapper}.
+     */
+    static String mapperClassName(String beanClassName) {
+        final int packageEnd = beanClassName.lastIndexOf('.') + 1;
+        return beanClassName.substring(0, packageEnd) + beanClassName.substring(packageEnd).replace('$', '_')
+                + CLASS_NAME_SUFFIX;
+    }
+
+    /**
+     * @return The bean class that this mapper maps.
+     */
+    Class<T> getBeanClass();
+
+    /**
+     * @return The line type as stated by {@link JSaParLine#lineType()}.
+     */
+    String getLineType();
+
+    /**
+     * @return The cell name of each mapped bean property, where properties of child beans are denoted with dot notation,
+     * for instance {@code address.street}.
+     */
+    Map<String, String> getCellNamesOfProperty();
+
+    /**
+     * @return A new bean instance created with the default constructor.
+     */
+    T createBean();
+
+    /**
+     * Assigns the value of a cell to the bean property that is mapped to the name of the cell. Cells that are not mapped
+     * and empty cells are ignored. Child beans are created whenever needed.
+     *
+     * @param bean The bean to assign to.
+     * @param cell The cell to assign.
+     * @throws BeanComposeException If the value of the cell can not be assigned to the bean property.
+     */
+    void assign(T bean, Cell<?> cell) throws BeanComposeException;
+
+    /**
+     * Adds one cell to the line for each mapped bean property. Properties of child beans that are null are omitted. If
+     * a getter throws an exception, the error is reported to the error handler and the remaining properties are added
+     * anyway.
+     *
+     * @param bean         The bean to read from.
+     * @param line         The line to add cells to.
+     * @param errorHandler Receives the errors of failing getters.
+     */
+    void addCells(T bean, Line line, GetterErrorHandler errorHandler);
+
+    /**
+     * Receives the errors of getters that throw an exception while adding cells.
+     */
+    @FunctionalInterface
+    interface GetterErrorHandler {
+        /**
+         * @param cellName The name of the cell that could not be added. If the getter of a child bean fails, the name
+         *                 is the name of the property prefixed with {@code @@}, the same as when mapping by reflection.
+         * @param bean     The bean or child bean of which the getter failed.
+         * @param error    The exception thrown by the getter.
+         */
+        void getterFailed(String cellName, Object bean, RuntimeException error);
+    }
+}
@@ -5,11 +5,14 @@ import java.lang.annotation.*;
 /**
  * Maps a bean attribute to a schema cell. If the bean contains complex attributes that by themselves can contain cell
  * declaration, these complex attributes needs to be annotated with {@link JSaParContainsCells}
+ * <p>
+ * Since 2.3.4 it can also be used on constructor parameters in order to bind a cell to a parameter when using
+ * {@link org.jsapar.compose.bean.BeanFactoryByConstructor}.
  * @see JSaParContainsCells
  */
 @Documented
 @Retention(RetentionPolicy.RUNTIME)
-@Target(ElementType.FIELD)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
 public @interface JSaParCell {
     /**
      * @return The name of the cell as described in the schema.
@@ -0,0 +1,489 @@
+package org.jsapar.bean.processor;
+
+import org.jsapar.bean.GeneratedBeanMapper;
+import org.jsapar.bean.JSaParCell;
+import org.jsapar.bean.JSaParContainsCells;
+import org.jsapar.bean.JSaParLine;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Annotation processor that generates a {@link GeneratedBeanMapper} for each class annotated with {@link JSaParLine}.
+ * The generated mappers are used automatically at runtime by {@link org.jsapar.bean.BeanMap#ofClass(Class)} and
+ * {@link org.jsapar.bean.BeanMap#ofClasses(Class[])} so that no reflection is needed in order to create beans, assign
+ * cells to them or to create lines from them.
+ * <p>
+ * The processor is not registered as a service, so it needs to be enabled explicitly, for instance with the javac
+ * option {@code -processor org.jsapar.bean.processor.BeanMapperProcessor} or, with Maven, within the
+ * {@code annotationProcessors} configuration of the compiler plugin.
+ * <p>
+ * A mapper is only generated if the class can be mapped exactly the same way as when using reflection. This requires
+ * that the class has a default constructor, that it has no type parameters and that each annotated field has a public
+ * getter and a public setter. The getters also need to return a type where the type of cell is known at compile time,
+ * which rules out types such as {@code Object} or {@code Number}. Otherwise a warning is issued and the class is mapped
+ * by reflection at runtime as before.
+ *
+ * @since 2.3.4
+ */
+@SupportedAnnotationTypes("org.jsapar.bean.JSaParLine")
+public class BeanMapperProcessor extends AbstractProcessor {
+
+    private static final String VALUES = "org.jsapar.bean.BeanCellValues";
+
+    /**
+     * The groups of types that {@code Bean2Cell} checks, in the same order, when choosing the type of cell to create
+     * for a getter by reflection. The first group with a type that the return type of the getter is assignable from is
+     * used.
+     */
+    private static final List<List<String>> CELL_VALUE_TYPES = List.of(
+            List.of("java.lang.String"),
+            List.of("java.time.LocalDate"),
+            List.of("java.time.LocalDateTime"),
+            List.of("java.time.LocalTime"),
+            List.of("java.time.ZonedDateTime"),
+            List.of("java.time.Instant"),
+            List.of("java.util.Date"),
+            List.of("java.util.Calendar"),
+            List.of("java.lang.Integer", "java.lang.Byte", "java.lang.Short", "java.lang.Long"),
+            List.of("java.lang.Boolean"),
+            List.of("java.lang.Float", "java.lang.Double"),
+            List.of("java.math.BigDecimal"),
+            List.of("java.math.BigInteger"),
+            List.of("java.lang.Character"));
+
+    /**
+     * Creates a processor. Called by the compiler.
+     */
+    public BeanMapperProcessor() {
+        super();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement beanType : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(JSaParLine.class))) {
+            if (beanType.getKind() != ElementKind.CLASS)
+                continue;
+            try {
+                generate(beanType);
+            } catch (NotMappableException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "No mapper generated for " + beanType.getQualifiedName() + " - " + e.getMessage()
+                                + " The class will be mapped by reflection.", beanType);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Failed to write mapper for " + beanType.getQualifiedName() + " - " + e.getMessage(), beanType);
+            }
+        }
+        return false;
+    }
+
+    private void generate(TypeElement beanType) throws NotMappableException, IOException {
+        final String packageName = processingEnv.getElementUtils().getPackageOf(beanType).getQualifiedName().toString();
+        checkInstantiable(beanType, packageName);
+        final List<Property> properties = properties(beanType, packageName, "", "", new HashSet<>());
+        checkUniqueCellNames(properties, new HashSet<>());
+
+        final String mapperName = GeneratedBeanMapper.mapperClassName(
+                processingEnv.getElementUtils().getBinaryName(beanType).toString());
+        final String simpleName = mapperName.substring(mapperName.lastIndexOf('.') + 1);
+        final String beanName = beanType.getQualifiedName().toString();
+        final String lineType = beanType.getAnnotation(JSaParLine.class).lineType();
+
+        final StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty())
+            source.append("package ").append(packageName).append(";\n\n");
+        source.append("/**\n * Generated by ").append(BeanMapperProcessor.class.getName()).append(". Do not edit.\n */\n");
+        source.append("public final class ").append(simpleName)
+                .append(" implements org.jsapar.bean.GeneratedBeanMapper<").append(beanName).append("> {\n\n");
+
+        source.append("    private static final java.util.Map<String, String> CELL_NAMES_OF_PROPERTY = java.util.Map.ofEntries(");
+        final List<Property> leaves = new ArrayList<>();
+        collectLeaves(properties, leaves);
+        for (int i = 0; i < leaves.size(); i++) {
+            source.append(i == 0 ? "\n" : ",\n").append("            java.util.Map.entry(")
+                    .append(literal(leaves.get(i).path)).append(", ").append(literal(leaves.get(i).cellName)).append(')');
+        }
+        source.append(");\n\n");
+
+        source.append("    @Override\n    public Class<").append(beanName).append("> getBeanClass() {\n        return ")
+                .append(beanName).append(".class;\n    }\n\n");
+        source.append("    @Override\n    public String getLineType() {\n        return ").append(literal(lineType))
+                .append(";\n    }\n\n");
+        source.append("    @Override\n    public java.util.Map<String, String> getCellNamesOfProperty() {\n")
+                .append("        return CELL_NAMES_OF_PROPERTY;\n    }\n\n");
+        source.append("    @Override\n    public ").append(beanName).append(" createBean() {\n        return new ")
+                .append(beanName).append("();\n    }\n\n");
+
+        source.append("    @Override\n    @SuppressWarnings(\"unchecked\")\n    public void assign(").append(beanName)
+                .append(" bean, org.jsapar.model.Cell<?> cell) throws org.jsapar.compose.bean.BeanComposeException {\n")
+                .append("        if (cell.isEmpty())\n            return;\n")
+                .append("        switch (cell.getName()) {\n");
+        appendAssignCases(source, properties, new ArrayList<>());
+        source.append("            default:\n                break;\n        }\n    }\n\n");
+
+        source.append("    @Override\n    public void addCells(").append(beanName)
+                .append(" bean, org.jsapar.model.Line line, org.jsapar.bean.GeneratedBeanMapper.GetterErrorHandler errorHandler) {\n");
+        appendAddCells(source, properties, "bean", "        ", new int[]{0});
+        source.append("    }\n}\n");
+
+        final JavaFileObject file = processingEnv.getFiler().createSourceFile(mapperName, beanType);
+        try (Writer writer = file.openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+
+    /**
+     * Finds the mapped properties of a class the same way as {@code BeanPropertyMap.ofClass()}
+     * does by reflection.
+     */
+    private List<Property> properties(TypeElement type, String packageName, String propertyPrefix, String cellNamePrefix,
+                                      Set<TypeElement> visiting) throws NotMappableException {
+        if (!type.getTypeParameters().isEmpty())
+            throw new NotMappableException("The class " + type.getQualifiedName() + " has type parameters.");
+        if (!visiting.add(type))
+            throw new NotMappableException("The class " + type.getQualifiedName() + " contains itself.");
+        final List<Property> properties = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            final JSaParCell cellAnnotation = field.getAnnotation(JSaParCell.class);
+            final JSaParContainsCells containsAnnotation = field.getAnnotation(JSaParContainsCells.class);
+            if (cellAnnotation == null && (containsAnnotation == null || field.asType().getKind().isPrimitive()))
+                continue;
+            final String name = field.getSimpleName().toString();
+            final Accessors accessors = accessors(type, name);
+            if (accessors == null)
+                continue; // Not a bean property, ignored the same way as when mapping by reflection.
+            if (accessors.getter == null)
+                throw new NotMappableException("The property " + propertyPrefix + name + " has no public getter.");
+            if (accessors.setter == null)
+                throw new NotMappableException("The property " + propertyPrefix + name + " has no public setter.");
+            final Property property = new Property(propertyPrefix + name, accessors);
+            if (cellAnnotation != null) {
+                property.cellName = cellNamePrefix + cellAnnotation.name();
+                property.valueCast = valueCast(accessors.getter.getReturnType(), property.path);
+            } else {
+                final TypeMirror childType = accessors.getter.getReturnType();
+                if (childType.getKind() != TypeKind.DECLARED || !processingEnv.getTypeUtils().isSameType(
+                        processingEnv.getTypeUtils().erasure(childType), processingEnv.getTypeUtils().erasure(field.asType())))
+                    throw new NotMappableException("The getter of property " + property.path + " does not return the type of the field.");
+                final TypeElement childElement = (TypeElement) processingEnv.getTypeUtils().asElement(childType);
+                checkInstantiable(childElement, packageName);
+                property.childType = childElement;
+                property.children = properties(childElement, packageName, property.path + '.',
+                        containsAnnotation.name().isEmpty() ? "" : containsAnnotation.name() + '.', visiting);
+            }
+            properties.add(property);
+        }
+        visiting.remove(type);
+        return properties;
+    }
+
+    /**
+     * Finds the public getter and setter of a property the same way as
+     * {@code BeanInfoReflection} does.
+     *
+     * @return The accessors or null if the class has neither getter nor setter for the property.
+     */
+    private Accessors accessors(TypeElement type, String propertyName) throws NotMappableException {
+        ExecutableElement is = null;
+        ExecutableElement get = null;
+        final List<ExecutableElement> setters = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            final Set<Modifier> modifiers = method.getModifiers();
+            if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC))
+                continue;
+            final String methodName = method.getSimpleName().toString();
+            final int parameterCount = method.getParameters().size();
+            if (parameterCount == 0 && propertyName.equals(propertyName(methodName, "is")) && isBoolean(method.getReturnType()))
+                is = method;
+            else if (parameterCount == 0 && propertyName.equals(propertyName(methodName, "get"))
+                    && method.getReturnType().getKind() != TypeKind.VOID)
+                get = method;
+            else if (parameterCount == 1 && propertyName.equals(propertyName(methodName, "set")))
+                setters.add(method);
+        }
+        final ExecutableElement getter = is != null ? is : get;
+        if (getter == null && setters.isEmpty())
+            return null;
+        if (getter != null && getter.getReturnType().getKind() == TypeKind.TYPEVAR)
+            throw new NotMappableException("The type of property " + propertyName + " is a type variable.");
+        ExecutableElement setter = setters.size() == 1 ? setters.get(0) : null;
+        if (setters.size() > 1 && getter != null) {
+            for (ExecutableElement candidate : setters) {
+                if (processingEnv.getTypeUtils().isSameType(candidate.getParameters().get(0).asType(), getter.getReturnType()))
+                    setter = candidate;
+            }
+            if (setter == null)
+                throw new NotMappableException("The property " + propertyName + " has several setters.");
+        }
+        if (setter != null && setter.getParameters().get(0).asType().getKind() == TypeKind.TYPEVAR)
+            throw new NotMappableException("The type of property " + propertyName + " is a type variable.");
+        return new Accessors(propertyName, getter, setter);
+    }
+
+    /**
+     * @return The property name of a getter or setter or null if the method name does not have supplied prefix.
+     */
+    private static String propertyName(String methodName, String prefix) {
+        final int prefixLength = prefix.length();
+        if (!methodName.startsWith(prefix) || methodName.length() <= prefixLength
+                || !Character.isUpperCase(methodName.charAt(prefixLength)))
+            return null;
+        if (methodName.length() > prefixLength + 1 && Character.isUpperCase(methodName.charAt(prefixLength + 1)))
+            return methodName.substring(prefixLength);
+        return Character.toLowerCase(methodName.charAt(prefixLength)) + methodName.substring(prefixLength + 1);
+    }
+
+    /**
+     * Checks that the {@code BeanCellValues.cell()} overload that is chosen for the return type of a getter creates the
+     * same type of cell as when mapping by reflection.
+     *
+     * @return A cast to add in front of the getter call in order to choose the overload that converts the value into a
+     * string cell, or an empty string if no cast is needed.
+     * @throws NotMappableException If the type of cell depends on the runtime type of the value, for instance if the
+     *                              getter returns {@code Object} or {@code Number}.
+     */
+    private String valueCast(TypeMirror returnType, String path) throws NotMappableException {
+        if (returnType.getKind().isPrimitive())
+            return "";
+        final TypeMirror erasedType = processingEnv.getTypeUtils().erasure(returnType);
+        for (List<String> group : CELL_VALUE_TYPES) {
+            boolean assignable = false;
+            for (String typeName : group) {
+                final TypeMirror type = processingEnv.getElementUtils().getTypeElement(typeName).asType();
+                if (processingEnv.getTypeUtils().isSameType(type, erasedType))
+                    return "";
+                assignable |= processingEnv.getTypeUtils().isAssignable(type, erasedType);
+            }
+            if (assignable)
+                throw new NotMappableException("The type of cell of property " + path + " depends on the type of its value.");
+        }
+        final TypeMirror enumType = processingEnv.getTypeUtils().erasure(
+                processingEnv.getElementUtils().getTypeElement("java.lang.Enum").asType());
+        if (processingEnv.getTypeUtils().isAssignable(erasedType, enumType))
+            return "";
+        // Any other type, for instance a sub-class of Date or Calendar, is converted into a string.
+        return "(java.lang.Object) ";
+    }
+
+    private boolean isBoolean(TypeMirror type) {
+        if (type.getKind() == TypeKind.BOOLEAN)
+            return true;
+        return type.getKind() == TypeKind.DECLARED && ((TypeElement) processingEnv.getTypeUtils().asElement(type))
+                .getQualifiedName().contentEquals("java.lang.Boolean");
+    }
+
+    /**
+     * Checks that the generated class is able to create instances of supplied class with the default constructor.
+     */
+    private void checkInstantiable(TypeElement type, String packageName) throws NotMappableException {
+        final boolean samePackage = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName()
+                .contentEquals(packageName);
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT))
+            throw new NotMappableException("The class " + type.getQualifiedName() + " can not be instantiated.");
+        if (type.getNestingKind() != NestingKind.TOP_LEVEL && type.getNestingKind() != NestingKind.MEMBER)
+            throw new NotMappableException("The class " + type.getQualifiedName() + " is a local class.");
+        for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            final boolean inner = e.getEnclosingElement() instanceof TypeElement && !e.getModifiers().contains(Modifier.STATIC);
+            if (!isAccessible(e, samePackage) || inner)
+                throw new NotMappableException("The class " + type.getQualifiedName() + " is not accessible.");
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && isAccessible(constructor, samePackage))
+                return;
+        }
+        throw new NotMappableException("The class " + type.getQualifiedName() + " has no accessible default constructor.");
+    }
+
+    private static boolean isAccessible(Element element, boolean samePackage) {
+        final Set<Modifier> modifiers = element.getModifiers();
+        return modifiers.contains(Modifier.PUBLIC) || (samePackage && !modifiers.contains(Modifier.PRIVATE));
+    }
+
+    private static void checkUniqueCellNames(List<Property> properties, Set<String> cellNames) throws NotMappableException {
+        for (Property property : properties) {
+            if (property.children != null)
+                checkUniqueCellNames(property.children, cellNames);
+            else if (!cellNames.add(property.cellName))
+                throw new NotMappableException("The cell name " + property.cellName + " is used more than once.");
+        }
+    }
+
+    private static void collectLeaves(List<Property> properties, List<Property> leaves) {
+        for (Property property : properties) {
+            if (property.children != null)
+                collectLeaves(property.children, leaves);
+            else
+                leaves.add(property);
+        }
+    }
+
+    /**
+     * Adds one case for each leaf property where the path of parent properties leads to the property.
+     */
+    private void appendAssignCases(StringBuilder source, List<Property> properties, List<Property> parents) {
+        for (Property property : properties) {
+            if (property.children != null) {
+                parents.add(property);
+                appendAssignCases(source, property.children, parents);
+                parents.remove(parents.size() - 1);
+                continue;
+            }
+            source.append("            case ").append(literal(property.cellName)).append(": {\n");
+            String target = "bean";
+            for (int i = 0; i < parents.size(); i++) {
+                final Property parent = parents.get(i);
+                final String child = "child" + i;
+                final String childType = parent.childType.getQualifiedName().toString();
+                source.append("                ").append(childType).append(' ').append(child).append(" = ")
+                        .append(target).append('.').append(parent.accessors.getter.getSimpleName()).append("();\n")
+                        .append("                if (").append(child).append(" == null) {\n")
+                        .append("                    ").append(child).append(" = new ").append(childType).append("();\n")
+                        .append("                    ").append(target).append('.').append(parent.accessors.setter.getSimpleName())
+                        .append('(').append(child).append(");\n")
+                        .append("                }\n");
+                target = child;
+            }
+            source.append("                ").append(target).append('.').append(property.accessors.setter.getSimpleName())
+                    .append('(').append(conversion(property.accessors.setter.getParameters().get(0).asType())).append(");\n")
+                    .append("                break;\n            }\n");
+        }
+    }
+
+    /**
+     * @return An expression that converts the cell into supplied type.
+     */
+    private String conversion(TypeMirror type) {
+        switch (type.getKind()) {
+            case LONG:
+                return VALUES + ".toLong(cell)";
+            case INT:
+                return VALUES + ".toInt(cell)";
+            case SHORT:
+                return VALUES + ".toShort(cell)";
+            case BYTE:
+                return VALUES + ".toByte(cell)";
+            case DOUBLE:
+                return VALUES + ".toDouble(cell)";
+            case FLOAT:
+                return VALUES + ".toFloat(cell)";
+            case BOOLEAN:
+                return VALUES + ".toBoolean(cell)";
+            case CHAR:
+                return VALUES + ".toChar(cell)";
+            default:
+                return VALUES + ".to(cell, " + typeName(processingEnv.getTypeUtils().erasure(type)) + ".class)";
+        }
+    }
+
+    private String typeName(TypeMirror erasedType) {
+        switch (erasedType.getKind()) {
+            case DECLARED:
+                return ((TypeElement) processingEnv.getTypeUtils().asElement(erasedType)).getQualifiedName().toString();
+            case ARRAY:
+                return typeName(((javax.lang.model.type.ArrayType) erasedType).getComponentType()) + "[]";
+            default:
+                return erasedType.getKind().name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private void appendAddCells(StringBuilder source, List<Property> properties, String target, String indent, int[] childCount) {
+        for (Property property : properties) {
+            final String getter = target + '.' + property.accessors.getter.getSimpleName() + "()";
+            if (property.children == null) {
+                source.append(indent).append("try {\n")
+                        .append(indent).append("    line.addCell(").append(VALUES).append(".cell(").append(literal(property.cellName))
+                        .append(", ").append(property.valueCast).append(getter).append("));\n");
+                appendGetterFailed(source, indent, property.cellName, target);
+                continue;
+            }
+            final String child = "child" + childCount[0]++;
+            source.append(indent).append(property.childType.getQualifiedName()).append(' ').append(child).append(" = null;\n")
+                    .append(indent).append("try {\n")
+                    .append(indent).append("    ").append(child).append(" = ").append(getter).append(";\n");
+            appendGetterFailed(source, indent, "@@" + property.accessors.propertyName, target);
+            source.append(indent).append("if (").append(child).append(" != null) {\n");
+            appendAddCells(source, property.children, child, indent + "    ", childCount);
+            source.append(indent).append("}\n");
+        }
+    }
+
+    /**
+     * Ends a try block by reporting any exception to the error handler, so that the remaining cells are added anyway.
+     */
+    private static void appendGetterFailed(StringBuilder source, String indent, String cellName, String target) {
+        source.append(indent).append("} catch (RuntimeException e) {\n")
+                .append(indent).append("    errorHandler.getterFailed(").append(literal(cellName)).append(", ").append(target)
+                .append(", e);\n")
+                .append(indent).append("}\n");
+    }
+
+    private static String literal(String value) {
+        final StringBuilder literal = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '"' || c == '\\')
+                literal.append('\\').append(c);
+            else if (c < ' ')
+                literal.append(String.format("\\%03o", (int) c)); // A unicode escape of a line break would end the literal.
+            else if (c > '~')
+                literal.append(String.format("\\u%04x", (int) c));
+            else
+                literal.append(c);
+        }
+        return literal.append('"').toString();
+    }
+
+    private static final class Accessors {
+        private final String propertyName;
+        private final ExecutableElement getter;
+        private final ExecutableElement setter;
+
+        private Accessors(String propertyName, ExecutableElement getter, ExecutableElement setter) {
+            this.propertyName = propertyName;
+            this.getter = getter;
+            this.setter = setter;
+        }
+    }
+
+    private static final class Property {
+        private final String path;
+        private final Accessors accessors;
+        private String cellName;
+        private String valueCast;
+        private TypeElement childType;
+        private List<Property> children;
+
+        private Property(String path, Accessors accessors) {
+            this.path = path;
+            this.accessors = accessors;
+        }
+    }
+
+    /**
+     * Thrown when a class can not be mapped by a generated mapper.
+     */
+    private static final class NotMappableException extends Exception {
+        private static final long serialVersionUID = -2317004522896353561L;
+
+        private NotMappableException(String message) {
+            super(message);
+        }
+    }
+}
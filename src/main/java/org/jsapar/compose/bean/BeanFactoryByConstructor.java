@@ -0,0 +1,281 @@
+package org.jsapar.compose.bean;
+
+import org.jsapar.bean.BeanCellValues;
+import org.jsapar.bean.BeanMap;
+import org.jsapar.bean.JSaParCell;
+import org.jsapar.model.Cell;
+import org.jsapar.model.Line;
+import org.jsapar.parse.bean.BeanPropertyMap;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates beans by calling a constructor that takes the cell values as arguments, which makes it possible to compose
+ * immutable beans. Each constructor parameter is bound to the cell with the same name as stated by a {@link JSaParCell}
+ * annotation on the parameter or, if there is no such annotation, to the cell with the same name as the parameter. A
+ * parameter without annotation can only be bound if the first line of the line type has a cell with the same name as
+ * the parameter. The parameter names are only available if the bean class is compiled with the javac option
+ * {@code -parameters}.
+ * <p>
+ * Of all public constructors where all parameters can be bound, the one with most parameters is used. If there are
+ * several such constructors with the same number of parameters, the one with the first signature in alphabetical order
+ * is used. The cell values of
+ * each line are collected into an argument array and the constructor is invoked once per line through a
+ * {@link MethodHandle}. Cells that are not bound to any constructor parameter are assigned by calling setters the same
+ * way as the factory that this factory falls back to. The same goes for classes that have no constructor with
+ * parameters that can be bound, where the bean is created with the default constructor. Constructors that are not
+ * accessible through public method handles, for instance if the bean class is not public or is in a package that is
+ * only exported to this library, are called by reflection instead.
+ * <p>
+ * The constructor of each line type is only looked up the first time the line type is encountered, so re-use the same
+ * instance for all lines. Instances are thread safe.
+ *
+ * @param <T> common base class of all the expected beans. Use Object as base class if there is no common base class for all beans.
+ * @see BeanFactoryDefault
+ * @see BeanFactoryByMap
+ * @since 2.3.4
+ */
+public final class BeanFactoryByConstructor<T> implements BeanFactory<T> {
+
+    /**
+     * Denotes a line type that is composed by the fall back factory.
+     */
+    private static final ConstructorBinding NOT_BOUND = new ConstructorBinding();
+
+    private final ClassOfLineType classOfLineType;
+    private final BeanFactory<T> setterFactory;
+    private final Map<String, ConstructorBinding> bindings = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a factory that uses the line type as class name, the same way as {@link BeanFactoryDefault}, and falls back
+     * to {@link BeanFactoryDefault} for cells and classes that are not bound to a constructor.
+     */
+    public BeanFactoryByConstructor() {
+        this(Class::forName, new BeanFactoryDefault<>());
+    }
+
+    /**
+     * Creates a factory that takes the class of each line type from supplied {@link BeanMap} and falls back to
+     * {@link BeanFactoryByMap} for cells and classes that are not bound to a constructor.
+     *
+     * @param beanMap The bean map to use.
+     */
+    public BeanFactoryByConstructor(BeanMap beanMap) {
+        this(lineType -> {
+            BeanPropertyMap beanPropertyMap = beanMap.getBeanPropertyMap(lineType);
+            return beanPropertyMap == null ? null : beanPropertyMap.getLineClass();
+        }, new BeanFactoryByMap<>(beanMap));
+    }
+
+    private BeanFactoryByConstructor(ClassOfLineType classOfLineType, BeanFactory<T> setterFactory) {
+        this.classOfLineType = classOfLineType;
+        this.setterFactory = setterFactory;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T createBean(Line line) throws ClassNotFoundException, InstantiationException, IllegalAccessException,
+            ClassCastException, NoSuchMethodException, InvocationTargetException {
+        final ConstructorBinding binding = bindingOf(line);
+        if (binding == null)
+            return null;
+        if (binding == NOT_BOUND)
+            return setterFactory.createBean(line);
+        return (T) binding.newInstance(line);
+    }
+
+    @Override
+    public void assignCellToBean(String lineType, T bean, Cell<?> cell) throws BeanComposeException,
+            InvocationTargetException, InstantiationException, IllegalAccessException, NoSuchMethodException {
+        final ConstructorBinding binding = bindings.get(lineType == null ? "" : lineType);
+        if (binding != null && binding.isBound(cell.getName()))
+            return; // Already assigned by the constructor.
+        setterFactory.assignCellToBean(lineType, bean, cell);
+    }
+
+    /**
+     * @param line The line to compose a bean of. The binding of a line type is created from the first line of that type.
+     * @return The constructor binding of the line type, {@link #NOT_BOUND} if the line type is composed by the fall
+     * back factory or null if there is no class for the line type.
+     */
+    private ConstructorBinding bindingOf(Line line) throws ClassNotFoundException {
+        final String lineType = line.getLineType();
+        final String key = lineType == null ? "" : lineType;
+        ConstructorBinding binding = bindings.get(key);
+        if (binding == null) {
+            final Class<?> beanClass = classOfLineType.get(lineType);
+            if (beanClass == null)
+                return null;
+            final Set<String> cellNames = new HashSet<>();
+            for (Cell<?> cell : line)
+                cellNames.add(cell.getName());
+            binding = ConstructorBinding.of(beanClass, cellNames);
+            bindings.put(key, binding);
+        }
+        return binding;
+    }
+
+    /**
+     * Finds the class of a line type. Needed to be able to throw exception.
+     */
+    @FunctionalInterface
+    private interface ClassOfLineType {
+        Class<?> get(String lineType) throws ClassNotFoundException;
+    }
+
+    /**
+     * Converts the value of a cell into the type of a constructor parameter. Needed to be able to throw exception.
+     */
+    @FunctionalInterface
+    private interface ArgumentConverter {
+        Object convert(Cell<?> cell) throws BeanComposeException;
+    }
+
+    /**
+     * The constructor of a class together with the index of the parameter that each cell is bound to.
+     */
+    private static final class ConstructorBinding {
+        private final MethodHandle constructor;
+        private final Map<String, Integer> parameterIndexByCellName;
+        private final ArgumentConverter[] converters;
+        private final Object[] defaultArguments;
+
+        private ConstructorBinding() {
+            this(null, Map.of(), new ArgumentConverter[0], new Object[0]);
+        }
+
+        private ConstructorBinding(MethodHandle constructor, Map<String, Integer> parameterIndexByCellName,
+                                   ArgumentConverter[] converters, Object[] defaultArguments) {
+            this.constructor = constructor;
+            this.parameterIndexByCellName = parameterIndexByCellName;
+            this.converters = converters;
+            this.defaultArguments = defaultArguments;
+        }
+
+        /**
+         * @param beanClass      The class to bind.
+         * @param knownCellNames The names of the cells that parameters without annotation can be bound to.
+         * @return The binding of the public constructor with most parameters where all parameters can be bound or
+         * {@link #NOT_BOUND} if there is no such constructor.
+         */
+        static ConstructorBinding of(Class<?> beanClass, Set<String> knownCellNames) {
+            if (Modifier.isAbstract(beanClass.getModifiers()))
+                return NOT_BOUND;
+            Constructor<?> chosen = null;
+            String[] chosenCellNames = null;
+            for (Constructor<?> constructor : beanClass.getConstructors()) {
+                final String[] cellNames = cellNamesOf(constructor, knownCellNames);
+                if (cellNames != null && (chosen == null || isPreferred(constructor, chosen))) {
+                    chosen = constructor;
+                    chosenCellNames = cellNames;
+                }
+            }
+            if (chosen == null)
+                return NOT_BOUND;
+
+            final Class<?>[] parameterTypes = chosen.getParameterTypes();
+            final Map<String, Integer> parameterIndexByCellName = new HashMap<>();
+            final ArgumentConverter[] converters = new ArgumentConverter[parameterTypes.length];
+            final Object[] defaultArguments = new Object[parameterTypes.length];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                parameterIndexByCellName.put(chosenCellNames[i], i);
+                converters[i] = converterOf(parameterTypes[i]);
+                if (parameterTypes[i].isPrimitive())
+                    defaultArguments[i] = Array.get(Array.newInstance(parameterTypes[i], 1), 0);
+            }
+            final MethodHandle handle = BeanMethodHandles.unreflectConstructor(chosen);
+            return new ConstructorBinding(
+                    handle.asType(handle.type().generic()).asSpreader(Object[].class, parameterTypes.length),
+                    parameterIndexByCellName, converters, defaultArguments);
+        }
+
+        /**
+         * The order of {@link Class#getConstructors()} is not specified, so ties are broken by the signature.
+         * @return True if supplied constructor is preferred before the one chosen so far.
+         */
+        private static boolean isPreferred(Constructor<?> constructor, Constructor<?> chosen) {
+            if (constructor.getParameterCount() != chosen.getParameterCount())
+                return constructor.getParameterCount() > chosen.getParameterCount();
+            return constructor.toGenericString().compareTo(chosen.toGenericString()) < 0;
+        }
+
+        /**
+         * @return The cell name of each parameter or null if the constructor has no parameters or if any of the
+         * parameters can not be bound.
+         */
+        private static String[] cellNamesOf(Constructor<?> constructor, Set<String> knownCellNames) {
+            final Parameter[] parameters = constructor.getParameters();
+            if (parameters.length == 0)
+                return null;
+            final String[] cellNames = new String[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                final JSaParCell annotation = parameters[i].getAnnotation(JSaParCell.class);
+                if (annotation != null)
+                    cellNames[i] = annotation.name();
+                else if (parameters[i].isNamePresent() && knownCellNames.contains(parameters[i].getName()))
+                    cellNames[i] = parameters[i].getName();
+                else
+                    return null;
+            }
+            return cellNames;
+        }
+
+        private static ArgumentConverter converterOf(Class<?> type) {
+            if (type == long.class)
+                return BeanCellValues::toLong;
+            if (type == int.class)
+                return BeanCellValues::toInt;
+            if (type == short.class)
+                return BeanCellValues::toShort;
+            if (type == byte.class)
+                return BeanCellValues::toByte;
+            if (type == double.class)
+                return BeanCellValues::toDouble;
+            if (type == float.class)
+                return BeanCellValues::toFloat;
+            if (type == boolean.class)
+                return BeanCellValues::toBoolean;
+            if (type == char.class)
+                return BeanCellValues::toChar;
+            return cell -> BeanCellValues.to(cell, type);
+        }
+
+        boolean isBound(String cellName) {
+            return parameterIndexByCellName.containsKey(cellName);
+        }
+
+        Object newInstance(Line line) throws InstantiationException, IllegalAccessException, InvocationTargetException {
+            final Object[] arguments = defaultArguments.clone();
+            for (Cell<?> cell : line) {
+                final Integer index = parameterIndexByCellName.get(cell.getName());
+                if (index == null || cell.isEmpty())
+                    continue;
+                try {
+                    arguments[index] = converters[index].convert(cell);
+                } catch (BeanComposeException e) {
+                    InstantiationException instantiationException = new InstantiationException(e.getMessage());
+                    instantiationException.initCause(e);
+                    throw instantiationException;
+                }
+            }
+            try {
+                return (Object) constructor.invokeExact(arguments);
+            } catch (IllegalAccessException | InstantiationException e) {
+                // Thrown as is when the constructor is called by reflection.
+                throw e;
+            } catch (Throwable e) {
+                throw BeanMethodHandles.invocationFailed(e);
+            }
+        }
+    }
+}
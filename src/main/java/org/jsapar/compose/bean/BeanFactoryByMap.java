@@ -2,7 +2,6 @@ package org.jsapar.compose.bean;
 
 import org.jsapar.model.Cell;
 import org.jsapar.model.Line;
-import org.jsapar.parse.bean.Bean2Cell;
 import org.jsapar.bean.BeanMap;
 import org.jsapar.parse.bean.BeanPropertyMap;
 
@@ -33,9 +32,7 @@ public final class BeanFactoryByMap<T> implements BeanFactory<T>{
     @Override
     public void assignCellToBean(String lineType, T bean, Cell<?> cell) throws InvocationTargetException, InstantiationException, IllegalAccessException, BeanComposeException, NoSuchMethodException {
         BeanPropertyMap beanPropertyMap = beanMap.getBeanPropertyMap(lineType);
-        Bean2Cell bean2Cell = beanPropertyMap.getBean2CellByName(cell.getName());
-        if(bean2Cell != null)
-            bean2Cell.assign(bean, cell);
+        beanPropertyMap.assign(bean, cell);
     }
 
 }
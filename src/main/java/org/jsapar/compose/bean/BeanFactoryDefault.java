@@ -3,45 +3,90 @@ package org.jsapar.compose.bean;
 import org.jsapar.model.Cell;
 import org.jsapar.model.Line;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Creates beans by using the line type as class name and assigns cell values by calling the setter of the property
+ * with the same name as the cell. A dot within the cell name denotes a property of a child bean.
+ * <p>
+ * The constructor of each line type and the getters and setters needed for each cell are only looked up the first time
+ * they are used. After that, they are called through {@link MethodHandle} instances that are kept by this factory, so
+ * re-use the same instance for all lines. Methods that are not accessible through public method handles, for instance
+ * if the bean class is not public or is in a package that is only exported to this library, are called by reflection
+ * instead. Instances are thread safe.
+ * @param <T> common base class of all the expected beans.
+ */
 public final class BeanFactoryDefault<T> implements BeanFactory<T> {
     private static final String GET_PREFIX = "get";
     private static final String SET_PREFIX = "set";
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final List<Class<?>> NUMERIC_WIDENING_ORDER = List.of(
+            byte.class, short.class, int.class, long.class, float.class, double.class);
+
+    /**
+     * The no-argument constructor by line type.
+     */
+    private final Map<String, MethodHandle> constructors = new ConcurrentHashMap<>();
+
+    /**
+     * The assignment plans by cell name by line type.
+     */
+    private final Map<String, Map<String, CellAssignment>> assignments = new ConcurrentHashMap<>();
 
     @SuppressWarnings("WeakerAccess")
     public BeanFactoryDefault() {
     }
 
     /**
-     * This implementation creates the bean by using Class.forName method on the line type.
+     * This implementation creates the bean by using Class.forName method on the line type. The constructor is only
+     * looked up the first time a line type is encountered.
      * @see BeanFactory#createBean(Line)
      */
     @SuppressWarnings("unchecked")
     @Override
     public T createBean(Line line) throws ClassNotFoundException, InstantiationException, IllegalAccessException, ClassCastException, NoSuchMethodException, InvocationTargetException {
-        Class<?> c = Class.forName(line.getLineType());
-        return (T) c.getConstructor().newInstance();
+        MethodHandle constructor = constructors.get(line.getLineType());
+        if (constructor == null) {
+            constructor = findConstructor(Class.forName(line.getLineType()));
+            constructors.put(line.getLineType(), constructor);
+        }
+        try {
+            return (T) (Object) constructor.invokeExact();
+        } catch (IllegalAccessException | InstantiationException e) {
+            // Thrown as is when the constructor is called by reflection.
+            throw e;
+        } catch (Throwable e) {
+            throw BeanMethodHandles.invocationFailed(e);
+        }
+    }
+
+    /**
+     * @param c The class to find the constructor of.
+     * @return The public no-argument constructor of supplied class, adapted to return Object.
+     */
+    private static MethodHandle findConstructor(Class<?> c) throws NoSuchMethodException, InstantiationException {
+        if (Modifier.isAbstract(c.getModifiers()))
+            throw new InstantiationException("Can not create instance of abstract class " + c.getName());
+        return BeanMethodHandles.unreflectConstructor(c.getConstructor()).asType(CONSTRUCTOR_TYPE);
     }
 
     @Override
     public void assignCellToBean(String lineType, T bean, Cell<?> cell) throws BeanComposeException {
         String sName = cell.getName();
+        CellAssignment assignment = assignments
+                .computeIfAbsent(lineType == null ? "" : lineType, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(sName, CellAssignment::new);
         try {
-            String[] nameLevels = sName.split("\\.");
-            Object currentObject = bean;
-            for (int i = 0; i + 1 < nameLevels.length; i++) {
-                try {
-                    // Continue looping to next object.
-                    currentObject = findOrCreateChildBean(currentObject, nameLevels[i]);
-                } catch (InstantiationException e) {
-                    throw new BeanComposeException("Skipped assigning cell - Failed to execute default constructor for class accessed by "
-                                    + nameLevels[i], e);
-                }
-            }
-            sName = nameLevels[nameLevels.length - 1];
-            assignAttribute(cell, sName, currentObject);
+            assignment.assign(bean, cell);
         } catch (InvocationTargetException | IllegalArgumentException e) {
             throw new BeanComposeException("Skipped assigning cell - Failed to execute getter or setter method in class " + bean
                             .getClass().getName(), e);
@@ -53,30 +98,6 @@ public final class BeanFactoryDefault<T> implements BeanFactory<T> {
                     "Skipped assigning cell - Missing getter or setter method in class " + bean.getClass()
                             .getName() + " or a sub class", e);
         }
-
-    }
-
-    /**
-     * This implementation uses reflection methods to assign correct object.
-     * @param parentBean The parent to create child of
-     * @param childBeanName The name of the child property.
-     * @return A newly created instance of the child bean
-     */
-    private Object findOrCreateChildBean(Object parentBean, String childBeanName) throws InstantiationException,
-            IllegalAccessException, NoSuchMethodException, SecurityException, IllegalArgumentException,
-            InvocationTargetException {
-        String getterMethodName = createGetMethodName(childBeanName);
-        Method getterMethod = parentBean.getClass().getMethod(getterMethodName);
-        Object childBean = getterMethod.invoke(parentBean);
-        if (childBean == null) {
-            // If there was no object we have to create it.
-            Class<?> nextClass = getterMethod.getReturnType();
-            childBean = nextClass.getConstructor().newInstance();
-            // And assign it by using the setter.
-            String setterMethodName = createSetMethodName(childBeanName);
-            parentBean.getClass().getMethod(setterMethodName, nextClass).invoke(parentBean, childBean);
-        }
-        return childBean;
     }
 
     /**
@@ -84,7 +105,7 @@ public final class BeanFactoryDefault<T> implements BeanFactory<T> {
      * @param sAttributeName The attribute name
      * @return The set method that corresponds to this attribute.
      */
-    private String createSetMethodName(String sAttributeName) {
+    private static String createSetMethodName(String sAttributeName) {
         return createBeanMethodName(SET_PREFIX, sAttributeName);
     }
 
@@ -93,7 +114,7 @@ public final class BeanFactoryDefault<T> implements BeanFactory<T> {
      * @param sAttributeName The attribute name
      * @return The get method that corresponds to this attribute.
      */
-    private String createGetMethodName(String sAttributeName) {
+    private static String createGetMethodName(String sAttributeName) {
         return createBeanMethodName(GET_PREFIX, sAttributeName);
     }
 
@@ -103,117 +124,277 @@ public final class BeanFactoryDefault<T> implements BeanFactory<T> {
      * @param sAttributeName The attribute name.
      * @return The setter or setter method that corresponds to this attribute.
      */
-    private String createBeanMethodName(String prefix, String sAttributeName) {
+    private static String createBeanMethodName(String prefix, String sAttributeName) {
         return prefix + sAttributeName.substring(0, 1).toUpperCase() + sAttributeName.substring(1);
     }
 
     /**
-     * Assigns an attribute value to supplied object.
-     *  @param cell           The cell to get the value from
-     * @param sName          The name of the field
-     * @param objectToAssign The object to assign to
+     * @param paramType The type of the parameter of a method.
+     * @param valueType The type of the value to call the method with.
+     * @return True if a value of supplied type can be used as argument for the parameter by reflection, that is, if it
+     * is assignable or if it can be unboxed and widened to the parameter type.
      */
-    private void assignAttribute(Cell<?> cell, String sName, Object objectToAssign) throws BeanComposeException, InvocationTargetException, IllegalAccessException {
-        if (cell.isEmpty())
-            return;
-
-        String sSetMethodName = createSetMethodName(sName);
-        boolean success = assignParameterBySignature(objectToAssign, sSetMethodName, cell);
-        if (!success) // Try again but use the name and try to cast.
-            assignParameterByName(objectToAssign, sSetMethodName, cell);
+    private static boolean isInvocableWith(Class<?> paramType, Class<?> valueType) {
+        if (!paramType.isPrimitive())
+            return paramType.isAssignableFrom(valueType);
+        final Class<?> primitiveType = MethodType.methodType(valueType).unwrap().returnType();
+        if (primitiveType == paramType)
+            return true;
+        if (primitiveType == char.class)
+            return NUMERIC_WIDENING_ORDER.indexOf(paramType) >= NUMERIC_WIDENING_ORDER.indexOf(int.class);
+        final int from = NUMERIC_WIDENING_ORDER.indexOf(primitiveType);
+        return from >= 0 && from < NUMERIC_WIDENING_ORDER.indexOf(paramType);
     }
 
     /**
-     * Assigns the cells of a line as attributes to an object.
-     *
-     * @param <B>            The type of the object to assign
-     * @param cell           The cell to get the parameter from.
-     * @param objectToAssign The object to assign cell attributes to. The object will be modified.
-     * @return True if the parameter was assigned to the object, false otherwise.
-     * @throws InvocationTargetException if the underlying method throws an exception.
-     * @throws IllegalAccessException if this Method object is enforcing Java language access control and the underlying method is inaccessible.
-     * @throws IllegalArgumentException if the method is an instance method and the specified object argument is not an instance of the class or interface declaring the underlying method (or of a subclass or implementor thereof); if the number of actual and formal parameters differ; if an unwrapping conversion for primitive arguments fails; or if, after possible unwrapping, a parameter value cannot be converted to the corresponding formal parameter type by a method invocation conversion.
+     * The plan of how to assign a cell with a specific name. The child beans along the path and the setter are
+     * resolved the first time they are needed and they are resolved again if the class of a bean differs from the class
+     * they were resolved for. Resolved parts are immutable so they can be shared between threads without locking.
      */
-    private <B> boolean assignParameterBySignature(B objectToAssign, String sSetMethodName, Cell<?> cell)
-            throws IllegalArgumentException, IllegalAccessException, InvocationTargetException {
+    private static final class CellAssignment {
+        private final String[] childNames;
+        private final ChildAccess[] children;
+        private final String setterName;
+        private Setter setter;
 
-        if (cell.getValue() == null)
-            return false;
-        try {
-            Class<?> type = cell.getValue().getClass();
-            Method f = objectToAssign.getClass().getMethod(sSetMethodName, type);
-            f.invoke(objectToAssign, cell.getValue());
-            return true;
-        } catch (NoSuchMethodException e) {
-            // We don't care here since we will try again if this method fails.
+        CellAssignment(String cellName) {
+            final String[] nameLevels = cellName.split("\\.");
+            this.childNames = new String[nameLevels.length - 1];
+            System.arraycopy(nameLevels, 0, childNames, 0, childNames.length);
+            this.children = new ChildAccess[childNames.length];
+            this.setterName = createSetMethodName(nameLevels[nameLevels.length - 1]);
+        }
+
+        void assign(Object bean, Cell<?> cell) throws BeanComposeException, NoSuchMethodException, IllegalAccessException, InvocationTargetException {
+            Object currentObject = bean;
+            for (int i = 0; i < children.length; i++) {
+                ChildAccess child = children[i];
+                if (child == null || child.parentClass != currentObject.getClass()) {
+                    child = ChildAccess.of(currentObject.getClass(), childNames[i]);
+                    children[i] = child;
+                }
+                try {
+                    // Continue looping to next object.
+                    currentObject = child.findOrCreate(currentObject);
+                } catch (InstantiationException e) {
+                    throw new BeanComposeException("Skipped assigning cell - Failed to execute default constructor for class accessed by "
+                                    + childNames[i], e);
+                }
+            }
+            if (cell.isEmpty())
+                return;
+            final Object value = cell.getValue();
+            Setter currentSetter = setter;
+            if (currentSetter == null || !currentSetter.fits(currentObject, value)) {
+                currentSetter = Setter.of(currentObject.getClass(), setterName, value);
+                if (value != null)
+                    setter = currentSetter;
+            }
+            currentSetter.invoke(currentObject, value);
         }
-        return false;
     }
 
     /**
-     * Assigns the cells of a line as attributes to an object.
-     *
-     * @param objectToAssign The object to assign cell attributes to. The object will be modified.
-     * @param sSetMethodName The name of the setter
-     * @param cell           The cell to get the parameter from.
-     * @param <B>            The type of the object to assign
-     * @throws InvocationTargetException if the underlying method throws an exception.
-     * @throws IllegalAccessException if this Method object is enforcing Java language access control and the underlying method is inaccessible.
-     * @throws IllegalArgumentException if the method is an instance method and the specified object argument is not an instance of the class or interface declaring the underlying method (or of a subclass or implementor thereof); if the number of actual and formal parameters differ; if an unwrapping conversion for primitive arguments fails; or if, after possible unwrapping, a parameter value cannot be converted to the corresponding formal parameter type by a method invocation conversion.
-     * @throws BeanComposeException In case of unable to create or assign bean.
+     * Getter and setter of a child bean property together with the constructor of the child bean.
      */
-    @SuppressWarnings("unchecked")
-    private <B> void assignParameterByName(B objectToAssign, String sSetMethodName, Cell<?> cell)
-            throws IllegalArgumentException, IllegalAccessException, InvocationTargetException, BeanComposeException {
+    private static final class ChildAccess {
+        private final Class<?> parentClass;
+        private final Class<?> childClass;
+        private final String childBeanName;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        private final MethodHandle constructor;
 
-        try {
-            Method[] methods = objectToAssign.getClass().getMethods();
-            for (Method f : methods) {
-                Class<?>[] paramTypes = f.getParameterTypes();
-                if (paramTypes.length != 1 || !f.getName().equals(sSetMethodName))
-                    continue;
-
-                Object value = cell.getValue();
-                // Casts between simple types does not work automatically
-                Class<?> paramType = paramTypes[0];
-                if (paramType == Integer.TYPE && value instanceof Number)
-                    f.invoke(objectToAssign, ((Number) value).intValue());
-                else if (paramType == Short.TYPE && value instanceof Number)
-                    f.invoke(objectToAssign, ((Number) value).shortValue());
-                else if (paramType == Byte.TYPE && value instanceof Number)
-                    f.invoke(objectToAssign, ((Number) value).byteValue());
-                else if (paramType == Float.TYPE && value instanceof Number)
-                    f.invoke(objectToAssign, ((Number) value).floatValue());
-                    // Will squeeze in first character of any datatype's string representation.
-                else if (paramType == Character.TYPE) {
-                    if (value instanceof Character) {
-                        f.invoke(objectToAssign, value);
-                    } else {
-                        String sValue = value.toString();
-                        if (!sValue.isEmpty())
-                            f.invoke(objectToAssign, sValue.charAt(0));
-                    }
-                } else if (Enum.class.isAssignableFrom(paramType) && value instanceof String) {
-                    f.invoke(objectToAssign, Enum.valueOf((Class<Enum>) paramType, String.valueOf(value)));
-                } else {
+        private ChildAccess(Class<?> parentClass, Class<?> childClass, String childBeanName, MethodHandle getter, MethodHandle setter, MethodHandle constructor) {
+            this.parentClass = parentClass;
+            this.childClass = childClass;
+            this.childBeanName = childBeanName;
+            this.getter = getter;
+            this.setter = setter;
+            this.constructor = constructor;
+        }
+
+        static ChildAccess of(Class<?> parentClass, String childBeanName) throws NoSuchMethodException {
+            final Method getterMethod = parentClass.getMethod(createGetMethodName(childBeanName));
+            final Class<?> childClass = getterMethod.getReturnType();
+            // The setter and the constructor are only needed if the getter returns null. Errors are reported first then.
+            MethodHandle setter = null;
+            MethodHandle constructor = null;
+            try {
+                setter = BeanMethodHandles.unreflect(parentClass.getMethod(createSetMethodName(childBeanName), childClass)).asType(SETTER_TYPE);
+                if (!Modifier.isAbstract(childClass.getModifiers()))
+                    constructor = BeanMethodHandles.unreflectConstructor(childClass.getConstructor()).asType(CONSTRUCTOR_TYPE);
+            } catch (NoSuchMethodException e) {
+                // Resolved again by reflection when needed, in order to report the error.
+            }
+            return new ChildAccess(parentClass, childClass, childBeanName, BeanMethodHandles.unreflect(getterMethod).asType(GETTER_TYPE), setter, constructor);
+        }
+
+        /**
+         * @param parentBean The parent to get the child of.
+         * @return The child bean. If there was no child bean, a new instance is created and assigned to the parent.
+         */
+        Object findOrCreate(Object parentBean) throws InstantiationException, NoSuchMethodException, IllegalAccessException, InvocationTargetException {
+            Object childBean;
+            try {
+                childBean = (Object) getter.invokeExact(parentBean);
+            } catch (Throwable e) {
+                throw BeanMethodHandles.invocationFailed(e);
+            }
+            if (childBean != null)
+                return childBean;
+            if (constructor == null || setter == null)
+                return createByReflection(parentBean);
+            // If there was no object we have to create it.
+            try {
+                childBean = (Object) constructor.invokeExact();
+            } catch (IllegalAccessException | InstantiationException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw BeanMethodHandles.invocationFailed(e);
+            }
+            // And assign it by using the setter.
+            try {
+                setter.invokeExact(parentBean, childBean);
+            } catch (Throwable e) {
+                throw BeanMethodHandles.invocationFailed(e);
+            }
+            return childBean;
+        }
+
+        /**
+         * Creates and assigns the child by reflection. Only used when the constructor or the setter could not be
+         * resolved, in order to report the same error as when creating the child by reflection.
+         */
+        private Object createByReflection(Object parentBean) throws InstantiationException, NoSuchMethodException, IllegalAccessException, InvocationTargetException {
+            Object childBean = childClass.getConstructor().newInstance();
+            parentClass.getMethod(createSetMethodName(childBeanName), childClass).invoke(parentBean, childBean);
+            return childBean;
+        }
+    }
+
+    /**
+     * How a value is converted before calling the setter. Casts between simple types does not work automatically.
+     */
+    private enum Conversion {
+        NONE, INT, SHORT, BYTE, FLOAT, CHAR, ENUM
+    }
+
+    /**
+     * A resolved setter for a specific bean class and value class.
+     */
+    private static final class Setter {
+        private final Class<?> beanClass;
+        private final Class<?> valueClass;
+        private final Class<?> paramType;
+        private final Conversion conversion;
+        private final MethodHandle handle;
+
+        private Setter(Class<?> beanClass, Class<?> valueClass, Method method, Conversion conversion) {
+            this.beanClass = beanClass;
+            this.valueClass = valueClass;
+            this.paramType = method.getParameterTypes()[0];
+            this.conversion = conversion;
+            this.handle = BeanMethodHandles.unreflect(method).asType(SETTER_TYPE);
+        }
+
+        boolean fits(Object bean, Object value) {
+            return bean.getClass() == beanClass && value != null && value.getClass() == valueClass;
+        }
+
+        /**
+         * Finds the setter in the same way as it was previously done by reflection for each cell. First by the exact
+         * signature, then by name, converting the value if needed.
+         */
+        static Setter of(Class<?> beanClass, String sSetMethodName, Object value) throws BeanComposeException {
+            final Class<?> valueClass = value == null ? null : value.getClass();
+            try {
+                if (valueClass != null) {
                     try {
-                        f.invoke(objectToAssign, value);
-                    } catch (IllegalArgumentException e) {
-                        // There may be more methods that fits the name.
-                        continue;
+                        return new Setter(beanClass, valueClass, beanClass.getMethod(sSetMethodName, valueClass), Conversion.NONE);
+                    } catch (NoSuchMethodException e) {
+                        // We don't care here since we will try again by name.
                     }
                 }
-                return;
+                for (Method f : beanClass.getMethods()) {
+                    Class<?>[] paramTypes = f.getParameterTypes();
+                    if (paramTypes.length != 1 || !f.getName().equals(sSetMethodName))
+                        continue;
+                    Class<?> paramType = paramTypes[0];
+                    Conversion conversion = conversionOf(paramType, valueClass);
+                    if (conversion != null)
+                        return new Setter(beanClass, valueClass, f, conversion);
+                }
+            } catch (SecurityException e) {
+                throw new BeanComposeException(
+                        "Skipped assigning cell - The method " + sSetMethodName + "() in class " + beanClass
+                                .getName() + " does not have public access", e);
             }
             throw new BeanComposeException(
                     "Skipped assigning cell - No method called " + sSetMethodName + "() found in class "
-                            + objectToAssign.getClass().getName() + " that fits the cell ");
-        } catch (SecurityException e) {
-            throw new BeanComposeException(
-                    "Skipped assigning cell - The method " + sSetMethodName + "() in class " + objectToAssign.getClass()
-                            .getName() + " does not have public access", e);
+                            + beanClass.getName() + " that fits the cell ");
         }
-    }
 
+        /**
+         * @return The conversion to use or null if a value of supplied class can not be used for the parameter.
+         */
+        private static Conversion conversionOf(Class<?> paramType, Class<?> valueClass) {
+            if (valueClass == null)
+                return paramType.isPrimitive() ? null : Conversion.NONE;
+            final boolean number = Number.class.isAssignableFrom(valueClass);
+            if (paramType == Integer.TYPE && number)
+                return Conversion.INT;
+            if (paramType == Short.TYPE && number)
+                return Conversion.SHORT;
+            if (paramType == Byte.TYPE && number)
+                return Conversion.BYTE;
+            if (paramType == Float.TYPE && number)
+                return Conversion.FLOAT;
+            // Will squeeze in first character of any datatype's string representation.
+            if (paramType == Character.TYPE)
+                return Conversion.CHAR;
+            if (Enum.class.isAssignableFrom(paramType) && valueClass == String.class)
+                return Conversion.ENUM;
+            return isInvocableWith(paramType, valueClass) ? Conversion.NONE : null;
+        }
 
+        @SuppressWarnings("unchecked")
+        void invoke(Object bean, Object value) throws InvocationTargetException {
+            final Object argument;
+            switch (conversion) {
+                case INT:
+                    argument = ((Number) value).intValue();
+                    break;
+                case SHORT:
+                    argument = ((Number) value).shortValue();
+                    break;
+                case BYTE:
+                    argument = ((Number) value).byteValue();
+                    break;
+                case FLOAT:
+                    argument = ((Number) value).floatValue();
+                    break;
+                case CHAR:
+                    if (value instanceof Character) {
+                        argument = value;
+                    } else {
+                        String sValue = value.toString();
+                        if (sValue.isEmpty())
+                            return;
+                        argument = sValue.charAt(0);
+                    }
+                    break;
+                case ENUM:
+                    argument = Enum.valueOf((Class<Enum>) paramType, String.valueOf(value));
+                    break;
+                default:
+                    argument = value;
+            }
+            try {
+                handle.invokeExact(bean, argument);
+            } catch (Throwable e) {
+                throw BeanMethodHandles.invocationFailed(e);
+            }
+        }
+    }
 }
@@ -0,0 +1,69 @@
+package org.jsapar.compose.bean;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Internal utility for creating method handles of bean methods and constructors. Methods that are not accessible
+ * through public method handles, for instance if the bean class is not public or is in a package that is only exported
+ * to this library, are called by reflection instead.
+ */
+final class BeanMethodHandles {
+    private static final MethodHandle METHOD_INVOKE;
+    private static final MethodHandle CONSTRUCTOR_NEW_INSTANCE;
+
+    static {
+        // Bound to this class as caller, so access is checked the same way as when calling by reflection from here.
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            METHOD_INVOKE = lookup.findVirtual(Method.class, "invoke",
+                    MethodType.methodType(Object.class, Object.class, Object[].class)).asFixedArity();
+            CONSTRUCTOR_NEW_INSTANCE = lookup.findVirtual(Constructor.class, "newInstance",
+                    MethodType.methodType(Object.class, Object[].class)).asFixedArity();
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private BeanMethodHandles() {
+    }
+
+    /**
+     * @param method The method to call.
+     * @return A method handle of supplied method. If the method is not accessible through
+     * {@link MethodHandles#publicLookup()}, the handle calls the method by reflection.
+     */
+    static MethodHandle unreflect(Method method) {
+        try {
+            return MethodHandles.publicLookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            return METHOD_INVOKE.bindTo(method).asCollector(Object[].class, method.getParameterCount());
+        }
+    }
+
+    /**
+     * @param constructor The constructor to call.
+     * @return A method handle of supplied constructor. If the constructor is not accessible through
+     * {@link MethodHandles#publicLookup()}, the handle calls the constructor by reflection.
+     */
+    static MethodHandle unreflectConstructor(Constructor<?> constructor) {
+        try {
+            return MethodHandles.publicLookup().unreflectConstructor(constructor);
+        } catch (IllegalAccessException e) {
+            return CONSTRUCTOR_NEW_INSTANCE.bindTo(constructor).asCollector(Object[].class, constructor.getParameterCount());
+        }
+    }
+
+    /**
+     * @param e The exception thrown when calling a method handle.
+     * @return The exception to throw, the same as when calling the method by reflection.
+     */
+    static InvocationTargetException invocationFailed(Throwable e) {
+        // Methods called by reflection already wrap the exception.
+        return e instanceof InvocationTargetException ? (InvocationTargetException) e : new InvocationTargetException(e);
+    }
+}
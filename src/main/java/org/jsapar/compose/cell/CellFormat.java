@@ -14,6 +14,17 @@ public interface CellFormat {
      */
     String format(Cell cell);
 
+    /**
+     * Formats a value the same way as {@link #format(Cell)} formats a cell with the same value, without the need to
+     * create a cell.
+     *
+     * @param value The value to format, the same as {@link Cell#getValue()} of the corresponding cell. Null or an empty
+     *              string denotes an empty cell.
+     * @return The String value of the supplied value.
+     * @since 2.3.4
+     */
+    String formatValue(Object value);
+
 
     /**
      * @param schemaCell The schema cell to produce a format for.
@@ -19,4 +19,17 @@ final class FormatCellFormat implements CellFormat {
     public String format(Cell cell) {
         return cell.isEmpty() ? defaultValue : format.format(cell.getValue());
     }
+
+    @Override
+    public String formatValue(Object value) {
+        return isEmptyValue(value) ? defaultValue : format.format(value);
+    }
+
+    /**
+     * @param value The value of a cell.
+     * @return True if a cell with supplied value is empty.
+     */
+    static boolean isEmptyValue(Object value) {
+        return value == null || (value instanceof String && ((String) value).isEmpty());
+    }
 }
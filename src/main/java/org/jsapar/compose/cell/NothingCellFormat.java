@@ -10,4 +10,9 @@ final class NothingCellFormat implements CellFormat {
         return EMPTY_STRING;
     }
 
+    @Override
+    public String formatValue(Object value) {
+        return EMPTY_STRING;
+    }
+
 }
@@ -1,6 +1,9 @@
 package org.jsapar.compose.cell;
 
 import org.jsapar.model.Cell;
+import org.jsapar.model.DateCell;
+
+import java.util.Date;
 
 /**
  * CellFormat that uses the {@link Cell#getStringValue()}
@@ -16,4 +19,18 @@ final class StringValueFormat implements CellFormat {
     public String format(Cell cell) {
         return cell.isEmpty() ? defaultValue : cell.getStringValue();
     }
+
+    /**
+     * Same conversion as {@link Cell#getStringValue()} of the cell types that the value can belong to.
+     */
+    @Override
+    public String formatValue(Object value) {
+        if (FormatCellFormat.isEmptyValue(value))
+            return defaultValue;
+        if (value instanceof Date)
+            return DateCell.ISO_DATE_FORMAT.format((Date) value);
+        if (value instanceof Enum)
+            return ((Enum<?>) value).name();
+        return String.valueOf(value);
+    }
 }
@@ -34,6 +34,17 @@ final class CsvCellComposer {
         quoter.writeValue(writer, cellFormat.format(cell));
     }
 
+    /**
+     * Writes a cell value to the supplied writer, including quote character if necessary.
+     *
+     * @param writer The writer to write result to.
+     * @param value  The value of the cell to compose output for. Null denotes an empty cell.
+     * @throws IOException In case of error in underlying IO operation
+     */
+    void composeValue(Writer writer, Object value) throws IOException {
+        quoter.writeValue(writer, cellFormat.formatValue(value));
+    }
+
 
     String getName() {
         return schemaCell.getName();
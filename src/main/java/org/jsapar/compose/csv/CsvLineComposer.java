@@ -1,6 +1,7 @@
 package org.jsapar.compose.csv;
 
 import org.jsapar.compose.csv.quote.*;
+import org.jsapar.compose.line.CellValueReader;
 import org.jsapar.compose.line.LineComposer;
 import org.jsapar.model.Cell;
 import org.jsapar.model.Line;
@@ -84,11 +85,7 @@ final class CsvLineComposer implements LineComposer {
         try {
             if (schemaLine.isIgnoreWrite())
                 return;
-            if (firstRow && schemaLine.isFirstLineAsSchema()) {
-                composeHeaderLine();
-                writer.write(lineSeparator);
-            }
-            firstRow = false;
+            composeHeaderLineIfFirst();
             String sCellSeparator = schemaLine.getCellSeparator();
 
             Iterator<CsvCellComposer> iter = cellComposers.iterator();
@@ -110,6 +107,45 @@ final class CsvLineComposer implements LineComposer {
         return schemaLine.isIgnoreWrite();
     }
 
+    @Override
+    public List<String> getCellNames() {
+        return cellComposers.stream().map(CsvCellComposer::getName).collect(Collectors.toList());
+    }
+
+    /**
+     * This implementation composes a csv output based on the line schema where the value of each cell is read from
+     * supplied source object.
+     * @param source The object to read cell values from.
+     * @param reader Reads the value of each cell by the index of the schema cell.
+     * @return Always true.
+     * @throws UncheckedIOException If there is an error writing line to writer.
+     */
+    @Override
+    public boolean composeValues(Object source, CellValueReader reader) {
+        try {
+            if (schemaLine.isIgnoreWrite())
+                return true;
+            composeHeaderLineIfFirst();
+            String sCellSeparator = schemaLine.getCellSeparator();
+            for (int i = 0; i < cellComposers.size(); i++) {
+                if (i > 0)
+                    writer.write(sCellSeparator);
+                cellComposers.get(i).composeValue(writer, reader.read(source, i));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return true;
+    }
+
+    private void composeHeaderLineIfFirst() throws IOException {
+        if (firstRow && schemaLine.isFirstLineAsSchema()) {
+            composeHeaderLine();
+            writer.write(lineSeparator);
+        }
+        firstRow = false;
+    }
+
     /**
      * Writes header line if first line is schema.
      */
@@ -127,7 +163,7 @@ final class CsvLineComposer implements LineComposer {
      *
      */
     private Line buildHeaderLineFromSchema(CsvSchemaLine headerSchemaLine)  {
-        Line line = new Line(headerSchemaLine.getLineType(), headerSchemaLine.size(), 0L);
+        Line line = new Line(headerSchemaLine.getLineType(), headerSchemaLine.getCellIndex(), 0L);
 
         for (CsvSchemaCell schemaCell : headerSchemaLine) {
             line.addCell(new StringCell(schemaCell.getName(), schemaCell.getName()));
@@ -39,6 +39,19 @@ final class FixedWidthCellComposer {
         return schemaCell.getLength();
     }
 
+    /**
+     * Writes a cell value to the supplied writer using supplied fill character.
+     *
+     * @param writer The writer to write to.
+     * @param value  The value of the cell to write. Null denotes an empty cell.
+     * @throws IOException If there is an error writing characters
+     * @return The length of the cell written.
+     */
+    int composeValue(Writer writer, Object value) throws IOException {
+        compose(writer, cellFormat.formatValue(value), schemaCell.getLength());
+        return schemaCell.getLength();
+    }
+
     /**
      * Writes a cell to the supplied writer using supplied fill character.
      *
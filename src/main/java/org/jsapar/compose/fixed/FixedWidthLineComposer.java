@@ -1,6 +1,7 @@
 package org.jsapar.compose.fixed;
 
 import org.jsapar.compose.fixed.pad.Filler;
+import org.jsapar.compose.line.CellValueReader;
 import org.jsapar.compose.line.LineComposer;
 import org.jsapar.model.Line;
 import org.jsapar.schema.FixedWidthSchemaLine;
@@ -54,13 +55,49 @@ final class FixedWidthLineComposer implements LineComposer {
             for (FixedWidthCellComposer composer : cellComposers) {
                 totalLength += composer.compose(writer, line.getCell(composer.getName()).orElse(composer.makeEmptyCell()));
             }
-            if (lineSchema.getMinLength() > totalLength) {
-                filler.fill(writer, lineSchema.getMinLength() - totalLength);
+            fillToMinLength(totalLength);
+        }
+        catch (IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Composes an output where the value of each cell is read directly from supplied source object. Cells where the
+     * value is null are filled the same way as missing cells.
+     *
+     * @param source The object to read cell values from.
+     * @param reader Reads the value of each cell by the index of the schema cell.
+     * @return Always true.
+     * @throws UncheckedIOException If an IO error occurs.
+     */
+    @Override
+    public boolean composeValues(Object source, CellValueReader reader) {
+        try {
+            if (lineSchema.isIgnoreWrite())
+                return true;
+
+            int totalLength = 0;
+            for (int i = 0; i < cellComposers.size(); i++) {
+                totalLength += cellComposers.get(i).composeValue(writer, reader.read(source, i));
             }
+            fillToMinLength(totalLength);
         }
         catch (IOException e){
             throw new UncheckedIOException(e);
         }
+        return true;
+    }
+
+    private void fillToMinLength(int totalLength) throws IOException {
+        if (lineSchema.getMinLength() > totalLength) {
+            filler.fill(writer, lineSchema.getMinLength() - totalLength);
+        }
+    }
+
+    @Override
+    public List<String> getCellNames() {
+        return cellComposers.stream().map(FixedWidthCellComposer::getName).collect(Collectors.toList());
     }
 
     @Override
@@ -71,4 +71,9 @@ public abstract class AbstractSchemaComposer implements SchemaComposer{
         return true;
     }
 
+    @Override
+    public LineComposer getLineComposer(String lineType) {
+        return lineComposers.get(lineType);
+    }
+
 }
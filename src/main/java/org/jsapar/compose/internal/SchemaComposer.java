@@ -1,5 +1,6 @@
 package org.jsapar.compose.internal;
 
+import org.jsapar.compose.line.LineComposer;
 import org.jsapar.model.Line;
 
 /**
@@ -22,4 +23,14 @@ public interface SchemaComposer {
      * @return True if line was actually composed, false otherwise.
      */
     boolean composeLine(Line line) ;
+
+    /**
+     * @param lineType The line type.
+     * @return The line composer that composes lines of supplied line type or null if there is no such line type or if
+     * this schema composer does not use separate line composers.
+     * @since 2.3.4
+     */
+    default LineComposer getLineComposer(String lineType) {
+        return null;
+    }
 }
@@ -0,0 +1,20 @@
+package org.jsapar.compose.line;
+
+/**
+ * Reads the value of each cell of a line directly from a source object, for instance a bean. Used to compose output
+ * without first creating a {@link org.jsapar.model.Line} with cells.
+ *
+ * @see LineComposer#composeValues(Object, CellValueReader)
+ * @since 2.3.4
+ */
+@FunctionalInterface
+public interface CellValueReader {
+
+    /**
+     * @param source The object to read the value from.
+     * @param index  The index of the cell within the list returned by {@link LineComposer#getCellNames()}.
+     * @return The value of the cell, the same as {@link org.jsapar.model.Cell#getValue()} would have returned for the
+     * corresponding cell, or null if the cell is empty.
+     */
+    Object read(Object source, int index);
+}
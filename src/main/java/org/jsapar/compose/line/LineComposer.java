@@ -2,6 +2,9 @@ package org.jsapar.compose.line;
 
 import org.jsapar.model.Line;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Composes output of a line
  */
@@ -24,4 +27,30 @@ public interface LineComposer {
      */
     boolean ignoreWrite();
 
+    /**
+     * @return The names of the cells that this composer writes, in the order that they are written. The index of each
+     * name is the index supplied to the {@link CellValueReader} in {@link #composeValues(Object, CellValueReader)}. An
+     * empty list if this composer can not compose from values.
+     * @since 2.3.4
+     */
+    default List<String> getCellNames() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Composes an output where the value of each cell is read directly from supplied source object instead of from the
+     * cells of a {@link Line}. The output is the same as if {@link #compose(Line)} was called with a line that contains
+     * cells with the same values. Cells where the reader returns null are treated as missing cells.
+     *
+     * @param source The object to read cell values from.
+     * @param reader Reads the value of each cell from the source object by the index of the cell within
+     *               {@link #getCellNames()}.
+     * @return True if the output was composed, false if this composer can not compose from values, in which case nothing
+     * is written.
+     * @since 2.3.4
+     */
+    default boolean composeValues(Object source, CellValueReader reader) {
+        return false;
+    }
+
 }
@@ -0,0 +1,177 @@
+package org.jsapar.concurrent;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Internal event queue that transfers events in batches through a bounded ring buffer. The producing thread collects
+ * events into an array and publishes the whole array when it is full, which means that the threads only need to
+ * synchronize once per batch instead of once per event. The last partial batch is published when the queue is closed.
+ * <p>
+ * There must be only one producing thread and one consuming thread. Threads that need to wait do so according to the
+ * supplied {@link WaitStrategy}.
+ *
+ * @param <T> The type of the events.
+ */
+final class BatchRingBuffer<T> implements EventQueue<T> {
+    private final Object[][] slots;
+    private final int mask;
+    private final int batchSize;
+    private final WaitStrategy waitStrategy;
+
+    /**
+     * Sequence number of the next batch to consume. Only written by the consuming thread.
+     */
+    private final AtomicLong head = new AtomicLong();
+    /**
+     * Sequence number of the next batch to publish. Only written by the producing thread.
+     */
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long publishedEvents;
+    private volatile long consumedEvents;
+    private volatile boolean closed;
+    private volatile boolean aborted;
+    private volatile Thread waitingProducer;
+    private volatile Thread waitingConsumer;
+
+    private Object[] batch;
+    private int batchCount;
+
+    /**
+     * @param queueSize    The maximum number of events in the buffer before the producing thread has to wait. The
+     *                     buffer always has room for at least two batches.
+     * @param batchSize    The number of events to publish at a time.
+     * @param waitStrategy How threads wait for each other.
+     */
+    BatchRingBuffer(int queueSize, int batchSize, WaitStrategy waitStrategy) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Batch size needs to be at least 1");
+        int capacity = Integer.highestOneBit(Math.max(2, (queueSize + batchSize - 1) / batchSize) * 2 - 1);
+        this.slots = new Object[capacity][];
+        this.mask = capacity - 1;
+        this.batchSize = batchSize;
+        this.waitStrategy = waitStrategy;
+        this.batch = new Object[batchSize];
+    }
+
+    @Override
+    public void put(T event) throws InterruptedException {
+        batch[batchCount++] = event;
+        if (batchCount == batchSize)
+            publish();
+    }
+
+    /**
+     * Publishes the current batch to the consuming thread. Waits while the ring buffer is full.
+     */
+    private void publish() throws InterruptedException {
+        if (batchCount == 0)
+            return;
+        final long sequence = tail.get();
+        if (sequence - head.get() > mask)
+            awaitSpace(sequence);
+        if (aborted) {
+            // Nobody will consume the events anyway.
+            Arrays.fill(batch, null);
+            batchCount = 0;
+            return;
+        }
+        slots[(int) sequence & mask] = batchCount == batch.length ? batch : Arrays.copyOf(batch, batchCount);
+        publishedEvents += batchCount;
+        tail.set(sequence + 1);
+        signal(waitingConsumer);
+        batch = new Object[batchSize];
+        batchCount = 0;
+    }
+
+    private void awaitSpace(long sequence) throws InterruptedException {
+        if (waitStrategy.isSignalled())
+            waitingProducer = Thread.currentThread();
+        try {
+            while (sequence - head.get() > mask && !aborted) {
+                waitStrategy.idle();
+                if (Thread.interrupted())
+                    throw new InterruptedException();
+            }
+        } finally {
+            waitingProducer = null;
+        }
+    }
+
+    @Override
+    public boolean consume(Consumer<T> consumer) throws InterruptedException {
+        final long sequence = head.get();
+        if (sequence == tail.get() && !awaitBatch(sequence))
+            return false;
+        final int index = (int) sequence & mask;
+        final Object[] events = slots[index];
+        slots[index] = null;
+        head.set(sequence + 1);
+        signal(waitingProducer);
+        try {
+            for (Object event : events) {
+                //noinspection unchecked
+                consumer.accept((T) event);
+            }
+        } finally {
+            consumedEvents += events.length;
+        }
+        return !aborted;
+    }
+
+    /**
+     * @return True if a batch is available, false if the buffer was closed and is empty or if it was aborted.
+     */
+    private boolean awaitBatch(long sequence) throws InterruptedException {
+        if (waitStrategy.isSignalled())
+            waitingConsumer = Thread.currentThread();
+        try {
+            while (sequence == tail.get()) {
+                // Batches are always published before the buffer is closed.
+                if (aborted || (closed && sequence == tail.get()))
+                    return false;
+                waitStrategy.idle();
+                if (Thread.interrupted())
+                    throw new InterruptedException();
+            }
+            return !aborted;
+        } finally {
+            waitingConsumer = null;
+        }
+    }
+
+    private static void signal(Thread waiting) {
+        if (waiting != null)
+            LockSupport.unpark(waiting);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        publish();
+        closed = true;
+        signal(waitingConsumer);
+    }
+
+    @Override
+    public void abort() {
+        aborted = true;
+        signal(waitingConsumer);
+        signal(waitingProducer);
+    }
+
+    @Override
+    public int size() {
+        return (int) (publishedEvents - consumedEvents) + batchCount;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(slots, null);
+        head.set(tail.get());
+        consumedEvents = publishedEvents;
+        Arrays.fill(batch, null);
+        batchCount = 0;
+    }
+}
@@ -0,0 +1,58 @@
+package org.jsapar.concurrent;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * Internal event queue that transfers one event at a time through a {@link LinkedBlockingQueue}.
+ *
+ * @param <T> The type of the events.
+ */
+final class BlockingEventQueue<T> implements EventQueue<T> {
+    private static final Object END = new Object();
+
+    private final BlockingQueue<Object> events;
+
+    BlockingEventQueue(int queueSize) {
+        events = new LinkedBlockingQueue<>(queueSize);
+    }
+
+    @Override
+    public void put(T event) throws InterruptedException {
+        events.put(event);
+    }
+
+    @Override
+    public boolean consume(Consumer<T> consumer) throws InterruptedException {
+        Object event = events.take();
+        // Check if it is just an event to release wait block.
+        if (event == END)
+            return false;
+        //noinspection unchecked
+        consumer.accept((T) event);
+        return true;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        events.put(END);
+    }
+
+    @Override
+    public void abort() {
+        // Make sure the blocking is released immediately
+        events.clear();
+        events.offer(END);
+    }
+
+    @Override
+    public int size() {
+        return events.size();
+    }
+
+    @Override
+    public void clear() {
+        events.clear();
+    }
+}
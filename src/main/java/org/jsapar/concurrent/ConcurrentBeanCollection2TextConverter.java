@@ -34,6 +34,21 @@ public class ConcurrentBeanCollection2TextConverter<T> extends BeanCollection2Te
         return convertTaskFactory.makeConvertTask(parseTask, composer, getErrorConsumer(), getTransformer(), getManipulators());
     }
 
+    /**
+     * Makes the parsed lines to be handed over to the composing worker thread in batches through a bounded ring buffer
+     * instead of one at a time. This reduces the synchronization overhead between the threads when converting large
+     * inputs.
+     *
+     * @param queueSize    Maximum number of lines in the ring buffer before the parsing thread starts waiting.
+     * @param batchSize    The number of lines to hand over to the worker thread at a time.
+     * @param waitStrategy How the threads wait for each other when the ring buffer is full or empty.
+     * @see ConcurrentConsumer#ConcurrentConsumer(java.util.function.Consumer, int, int, WaitStrategy)
+     * @since 2.3.4
+     */
+    public void setBatching(int queueSize, int batchSize, WaitStrategy waitStrategy) {
+        this.convertTaskFactory.setBatching(queueSize, batchSize, waitStrategy);
+    }
+
     public void registerOnStart(Runnable onStart) {
         this.convertTaskFactory.registerOnStart(onStart);
     }
@@ -5,8 +5,6 @@ import org.jsapar.parse.ParseTask;
 
 import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.function.Consumer;
 
 /**
@@ -27,10 +25,14 @@ import java.util.function.Consumer;
  * <p>
  * When the internal queue is full, the producing thread starts blocking. This means that it waits for an available slot
  * in the queue before it continues parsing.
+ * <p>
+ * By default, events are handed over to the worker thread one at a time through a blocking queue. Use
+ * {@link #ConcurrentConsumer(Consumer, int, int, WaitStrategy)} in order to hand over events in batches through a
+ * bounded ring buffer instead, which reduces the synchronization overhead when there are a lot of events.
  */
 public class ConcurrentConsumer<T> implements Consumer<T>, AutoCloseable, Stoppable, ConcurrentStartStop {
 
-    private final BlockingQueue<T> events;
+    private final EventQueue<T> events;
     private volatile boolean shouldStop = false;
     private volatile boolean running = false;
     private final Consumer<T> listener;
@@ -39,8 +41,6 @@ public class ConcurrentConsumer<T> implements Consumer<T>, AutoCloseable, Stoppa
     private final List<Runnable> onStart = new LinkedList<>();
     private final List<Runnable> onStop = new LinkedList<>();
 
-    private static class END{}
-
     /**
      * Creates a concurrent line event listener that have a queue size of 1000 events.
      * @param consumer The consumer that will be called by consumer thread.
@@ -55,7 +55,27 @@ public class ConcurrentConsumer<T> implements Consumer<T>, AutoCloseable, Stoppa
      * @param queueSize   Maximum size of the queue before the producing thread starts blocking.
      */
     public ConcurrentConsumer(Consumer<T> consumer, int queueSize) {
-        events = new LinkedBlockingQueue<>(queueSize);
+        this(consumer, new BlockingEventQueue<>(queueSize));
+    }
+
+    /**
+     * Creates a concurrent consumer that hands over events to the worker thread in batches through a bounded ring
+     * buffer. The producing thread only needs to synchronize with the worker thread once per batch. Events of a batch
+     * that is not yet full are handed over when this consumer is closed.
+     *
+     * @param consumer     The consumer that will be called by consumer thread.
+     * @param queueSize    Maximum number of events in the ring buffer before the producing thread starts waiting. The
+     *                     ring buffer always has room for at least two batches.
+     * @param batchSize    The number of events to hand over to the worker thread at a time.
+     * @param waitStrategy How the threads wait for each other when the ring buffer is full or empty.
+     * @since 2.3.4
+     */
+    public ConcurrentConsumer(Consumer<T> consumer, int queueSize, int batchSize, WaitStrategy waitStrategy) {
+        this(consumer, new BatchRingBuffer<>(queueSize, batchSize, waitStrategy));
+    }
+
+    private ConcurrentConsumer(Consumer<T> consumer, EventQueue<T> events) {
+        this.events = events;
         Runtime.getRuntime().addShutdownHook(new Thread(this::stop));
         this.listener = consumer;
     }
@@ -63,7 +83,8 @@ public class ConcurrentConsumer<T> implements Consumer<T>, AutoCloseable, Stoppa
     @Override
     public void accept(T event)  {
         try {
-            events.put(event);
+            if (!shouldStop)
+                events.put(event);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
@@ -89,15 +110,8 @@ public class ConcurrentConsumer<T> implements Consumer<T>, AutoCloseable, Stoppa
             synchronized (this) {
                 notifyAll();
             }
-            while (!shouldStop) {
-                T event = events.take();
-                // Check if it is just an event to release wait block.
-                if (event.getClass() != END.class) {
-                    listener.accept(event);
-                }
-            }
-            synchronized (this) {
-                notifyAll();
+            //noinspection StatementWithEmptyBody
+            while (!shouldStop && events.consume(listener)) {
             }
         } catch (InterruptedException e) {
             // Gracefully and silently terminate.
@@ -106,6 +120,8 @@ public class ConcurrentConsumer<T> implements Consumer<T>, AutoCloseable, Stoppa
                 exception = e;
                 shouldStop = true;
             }
+            // Release the producing thread if it is waiting for space in the queue.
+            events.abort();
         } finally {
             onStop.forEach(Runnable::run);
             running = false;
@@ -152,14 +168,8 @@ public class ConcurrentConsumer<T> implements Consumer<T>, AutoCloseable, Stoppa
      */
     public void stop() throws JSaParException {
         this.shouldStop = true;
-        try {
-            if(isRunning()) {
-                //noinspection unchecked
-                events.put((T) new END()); // Make sure the blocking is released immediately
-            }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        if(isRunning())
+            events.abort(); // Make sure the blocking is released immediately
         if(Thread.currentThread() != thread)
             checkException();
     }
@@ -172,21 +182,12 @@ public class ConcurrentConsumer<T> implements Consumer<T>, AutoCloseable, Stoppa
     @Override
     public void close() throws JSaParException {
         try {
-            if(Thread.currentThread() != this.thread) {
-                while (running && !events.isEmpty()) {
-                    synchronized (this) {
-                        wait(10L);
-                    }
-                }
+            if(thread != null && Thread.currentThread() != this.thread) {
+                if(!shouldStop)
+                    events.close(); // The worker thread terminates when all pending events are handled.
+                thread.join();
             }
             stop();
-            if(Thread.currentThread() != this.thread) {
-                while (running) {
-                    synchronized (this) {
-                        wait(10L);
-                    }
-                }
-            }
             checkException();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -205,7 +206,7 @@ public class ConcurrentConsumer<T> implements Consumer<T>, AutoCloseable, Stoppa
      * @return True if there are no events waiting in queue.
      */
     public boolean isEmpty() {
-        return events.isEmpty();
+        return events.size() == 0;
     }
 
     /**
@@ -24,7 +24,9 @@ import java.util.function.Consumer;
  * <p>
  * If your want lines to be discarded from the output depending on their contents, add a LineManipulator that returns
  * false for the lines that should not be composed.
- *
+ * <p>
+ * Cells that are parsed lazily, see {@link org.jsapar.text.TextParseConfig#setLazyCellParsing(boolean)}, are parsed
+ * by the parsing thread before each line is handed over to the worker thread.
  */
 public class ConcurrentConvertTask extends ConvertTask implements ConcurrentStartStop{
     private final ConcurrentConsumer<Line> concurrentConsumer;
@@ -36,6 +38,20 @@ public class ConcurrentConvertTask extends ConvertTask implements ConcurrentStar
         this(parseTask, composer, new ConcurrentConsumer<>(lineConsumer), errorConsumer);
     }
 
+    /** Creates a converter that hands over parsed lines to the worker thread in batches through a bounded ring buffer.
+     * @param parseTask The parseTask to use while parsing
+     * @param composer The composer to use while composing.
+     * @param queueSize    Maximum number of lines in the ring buffer before the parsing thread starts waiting.
+     * @param batchSize    The number of lines to hand over to the worker thread at a time.
+     * @param waitStrategy How the threads wait for each other when the ring buffer is full or empty.
+     * @see ConcurrentConsumer#ConcurrentConsumer(Consumer, int, int, WaitStrategy)
+     * @since 2.3.4
+     */
+    public ConcurrentConvertTask(ParseTask parseTask, Composer composer, Consumer<Line> lineConsumer, Consumer<JSaParException> errorConsumer,
+                                 int queueSize, int batchSize, WaitStrategy waitStrategy) {
+        this(parseTask, composer, new ConcurrentConsumer<>(lineConsumer, queueSize, batchSize, waitStrategy), errorConsumer);
+    }
+
     /** Creates a converter
      * @param parseTask The parseTask to use while parsing
      * @param composer The composer to use while composing.
@@ -47,7 +63,8 @@ public class ConcurrentConvertTask extends ConvertTask implements ConcurrentStar
 
     public long execute() throws IOException {
         try (ConcurrentConsumer<Line> lineEventListener = this.concurrentConsumer) {
-            getParseTask().setLineConsumer(lineEventListener);
+            // Lazy cells refer to the cell parsers of the parsing thread, which are not thread safe.
+            getParseTask().setLineConsumer(line -> lineEventListener.accept(line.parseLazyCells()));
             lineEventListener.start();
             return getParseTask().execute();
         }
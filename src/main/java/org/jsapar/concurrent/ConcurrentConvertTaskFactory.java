@@ -6,7 +6,9 @@ import org.jsapar.convert.LineManipulator;
 import org.jsapar.error.JSaParException;
 import org.jsapar.model.Line;
 import org.jsapar.parse.ParseTask;
+import org.jsapar.schema.Schema;
 
+import java.io.Writer;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.function.Consumer;
@@ -22,6 +24,9 @@ import java.util.function.Function;
 class ConcurrentConvertTaskFactory implements ConcurrentStartStop{
     private final List<Runnable>  onStart     = new LinkedList<>();
     private final List<Runnable>  onStop      = new LinkedList<>();
+    private int queueSize;
+    private int batchSize;
+    private WaitStrategy waitStrategy;
 
     /**
      * @param parseTask     The parse task to use
@@ -44,14 +49,52 @@ class ConcurrentConvertTaskFactory implements ConcurrentStartStop{
     }
 
 
+    /**
+     * @param parseTask     The parse task to use
+     * @param composeSchema The schema to use while composing.
+     * @param writer        The writer to write converted result to.
+     * @param errorConsumer The error consumer to use.
+     * @param workerCount   The number of worker threads.
+     * @param batchSize     The number of lines to hand over to a worker thread at a time.
+     * @return A newly created parallel convert task.
+     */
+    ParallelConvertTask makeParallelConvertTask(ParseTask parseTask,
+                                                Schema<?> composeSchema,
+                                                Writer writer,
+                                                Consumer<JSaParException> errorConsumer,
+                                                Function<Line, List<Line>> transformer,
+                                                List<LineManipulator> lineManipulators,
+                                                int workerCount,
+                                                int batchSize) {
+        ParallelConvertTask convertTask = new ParallelConvertTask(parseTask, composeSchema, writer, errorConsumer,
+                transformer, lineManipulators, workerCount, batchSize);
+        onStart.forEach(convertTask::registerOnStart);
+        onStop.forEach(convertTask::registerOnStop);
+        return convertTask;
+    }
+
     private ConvertTask makeConvertTask(ParseTask parseTask, Composer composer, Consumer<Line> lineConsumer, Consumer<JSaParException> errorConsumer)  {
-        ConcurrentConvertTask convertTask = new ConcurrentConvertTask(parseTask, composer, lineConsumer, errorConsumer);
+        ConcurrentConvertTask convertTask = waitStrategy == null
+                ? new ConcurrentConvertTask(parseTask, composer, lineConsumer, errorConsumer)
+                : new ConcurrentConvertTask(parseTask, composer, lineConsumer, errorConsumer, queueSize, batchSize, waitStrategy);
         onStart.forEach(convertTask::registerOnStart);
         onStop.forEach(convertTask::registerOnStop);
         return convertTask;
     }
 
 
+    /**
+     * Makes all convert tasks created after this call hand over lines to the worker thread in batches.
+     * @param queueSize    Maximum number of lines in the ring buffer before the parsing thread starts waiting.
+     * @param batchSize    The number of lines to hand over to the worker thread at a time.
+     * @param waitStrategy How the threads wait for each other. If null, lines are handed over one at a time.
+     */
+    void setBatching(int queueSize, int batchSize, WaitStrategy waitStrategy) {
+        this.queueSize = queueSize;
+        this.batchSize = batchSize;
+        this.waitStrategy = waitStrategy;
+    }
+
     public void registerOnStart(Runnable onStart){
         this.onStart.add(onStart);
     }
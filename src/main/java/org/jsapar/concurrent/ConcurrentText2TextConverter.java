@@ -8,6 +8,10 @@ import org.jsapar.parse.ParseTask;
 import org.jsapar.text.TextParseConfig;
 import org.jsapar.schema.Schema;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
 /**
  * A multi-threaded version of {@link org.jsapar.Text2TextConverter} where the composer is started in a separate worker
  * thread.
@@ -22,6 +26,8 @@ import org.jsapar.schema.Schema;
  */
 public class ConcurrentText2TextConverter extends Text2TextConverter implements ConcurrentStartStop{
     private final ConcurrentConvertTaskFactory convertTaskFactory = new ConcurrentConvertTaskFactory();
+    private int workerCount = 1;
+    private int parallelBatchSize;
 
     /**
      * Creates a concurrent text to text converter that can be used to convert between different text based formats.
@@ -42,11 +48,89 @@ public class ConcurrentText2TextConverter extends Text2TextConverter implements
         super(parseSchema, composeSchema, parseConfig);
     }
 
+    /**
+     * Converts text read from the reader according to the parse schema and writes the output to the writer according
+     * to the compose schema. If more than one worker is assigned with {@link #setParallelWorkers(int, int)}, the
+     * conversion is done by the {@link ParallelConvertTask} created by
+     * {@link #makeParallelConvertTask(ParseTask, Writer)}.
+     *
+     * @param reader The reader to read input from
+     * @param writer The writer to write converted result to.
+     * @return Number of converted lines.
+     * @throws IOException In case of IO error
+     * @throws IllegalArgumentException If the parse configuration re-uses lines, see
+     *                                  {@link TextParseConfig#setReuseLines(boolean)}, since the parsed lines are
+     *                                  handed over to other threads.
+     */
+    @Override
+    public long convert(Reader reader, Writer writer) throws IOException {
+        if (getParseConfig().isReuseLines())
+            throw new IllegalArgumentException("Parsed lines can not be re-used while converting concurrently");
+        if (workerCount <= 1)
+            return super.convert(reader, writer);
+        return makeParallelConvertTask(makeParseTask(reader), writer).execute();
+    }
+
+    /**
+     * Creates the task that does the conversion when more than one worker is assigned with
+     * {@link #setParallelWorkers(int, int)}. Override this method instead of
+     * {@link #makeConvertTask(ParseTask, Composer)} and {@link #makeComposer(Writer)} in order to alter the parallel
+     * conversion, since the parallel conversion does not use any of them.
+     *
+     * @param parseTask The parse task to use.
+     * @param writer    The writer to write converted result to.
+     * @return A newly created parallel convert task.
+     * @since 2.3.4
+     */
+    protected ParallelConvertTask makeParallelConvertTask(ParseTask parseTask, Writer writer) {
+        return convertTaskFactory.makeParallelConvertTask(parseTask, getComposeSchema(), writer,
+                getErrorConsumer(), getTransformer(), getManipulators(), workerCount, parallelBatchSize);
+    }
+
+    /**
+     * Makes the conversion use a number of worker threads that apply the line manipulators or the transformer and
+     * format the cells of the output in parallel on batches of lines. The output is still written in the same order as
+     * the input. This makes it possible for a conversion with heavy line manipulators to scale on more than two cores.
+     * <p>
+     * Line manipulators and transformers are called from several threads at the same time, which means that they
+     * need to be thread safe. Registered on-start and on-stop runnables are called by each worker thread.
+     * <p>
+     * The parallel conversion does not call {@link #makeConvertTask(ParseTask, Composer)} or
+     * {@link #makeComposer(Writer)}. Sub-classes override {@link #makeParallelConvertTask(ParseTask, Writer)} instead.
+     *
+     * @param workerCount The number of worker threads. A value of 1 turns off parallel conversion, which is the
+     *                    default.
+     * @param batchSize   The number of lines to hand over to a worker thread at a time.
+     * @see ParallelConvertTask
+     * @since 2.3.4
+     */
+    public void setParallelWorkers(int workerCount, int batchSize) {
+        if (workerCount < 1 || batchSize < 1)
+            throw new IllegalArgumentException("Both number of workers and batch size need to be at least 1");
+        this.workerCount = workerCount;
+        this.parallelBatchSize = batchSize;
+    }
+
     @Override
     protected ConvertTask makeConvertTask(ParseTask parseTask, Composer composer) {
         return convertTaskFactory.makeConvertTask(parseTask, composer, getErrorConsumer(), getTransformer(), getManipulators());
     }
 
+    /**
+     * Makes the parsed lines to be handed over to the composing worker thread in batches through a bounded ring buffer
+     * instead of one at a time. This reduces the synchronization overhead between the threads when converting large
+     * inputs.
+     *
+     * @param queueSize    Maximum number of lines in the ring buffer before the parsing thread starts waiting.
+     * @param batchSize    The number of lines to hand over to the worker thread at a time.
+     * @param waitStrategy How the threads wait for each other when the ring buffer is full or empty.
+     * @see ConcurrentConsumer#ConcurrentConsumer(java.util.function.Consumer, int, int, WaitStrategy)
+     * @since 2.3.4
+     */
+    public void setBatching(int queueSize, int batchSize, WaitStrategy waitStrategy) {
+        this.convertTaskFactory.setBatching(queueSize, batchSize, waitStrategy);
+    }
+
     public void registerOnStart(Runnable onStart) {
         this.convertTaskFactory.registerOnStart(onStart);
     }
@@ -0,0 +1,50 @@
+package org.jsapar.concurrent;
+
+import java.util.function.Consumer;
+
+/**
+ * Internal interface for the queue that transfers events from the producing thread to the worker thread of a
+ * {@link ConcurrentConsumer}. There is only one producing thread and one worker thread.
+ *
+ * @param <T> The type of the events.
+ */
+interface EventQueue<T> {
+
+    /**
+     * Called by the producing thread. Blocks while the queue is full.
+     * @param event The event to add.
+     * @throws InterruptedException If the producing thread was interrupted while waiting.
+     */
+    void put(T event) throws InterruptedException;
+
+    /**
+     * Called by the worker thread. Waits until there are events available, then lets supplied consumer handle them.
+     * @param consumer The consumer that handles the events.
+     * @return False if the queue was closed and all events have been consumed or if the queue was aborted, true
+     * otherwise.
+     * @throws InterruptedException If the worker thread was interrupted while waiting.
+     */
+    boolean consume(Consumer<T> consumer) throws InterruptedException;
+
+    /**
+     * Called by the producing thread to signal that there will be no more events. The worker thread will consume all
+     * events that were added before the queue was closed.
+     * @throws InterruptedException If the producing thread was interrupted while waiting for space in the queue.
+     */
+    void close() throws InterruptedException;
+
+    /**
+     * Releases all threads that are waiting on the queue as soon as possible, without consuming remaining events.
+     */
+    void abort();
+
+    /**
+     * @return Number of events in the queue.
+     */
+    int size();
+
+    /**
+     * Removes all events from the queue.
+     */
+    void clear();
+}
@@ -0,0 +1,311 @@
+package org.jsapar.concurrent;
+
+import org.jsapar.TextComposer;
+import org.jsapar.compose.internal.SchemaComposer;
+import org.jsapar.compose.internal.TextComposerFactory;
+import org.jsapar.convert.LineManipulator;
+import org.jsapar.error.JSaParException;
+import org.jsapar.model.Line;
+import org.jsapar.parse.ParseTask;
+import org.jsapar.schema.CsvSchemaLine;
+import org.jsapar.schema.Schema;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Converts text by using a number of worker threads. The lines are parsed in the calling thread and handed over in
+ * batches to a pool of worker threads. The worker threads apply the transformer or the line manipulators and format
+ * the cells of the lines into text. A separate writing thread then writes the text of each batch to the writer in the
+ * same order as the lines were parsed.
+ * <p>
+ * If the compose schema contains a csv line where the first line is the header, the lines need to be composed in
+ * order, so then the worker threads only apply the transformer or the line manipulators and the writing thread does
+ * all the composing.
+ * <p>
+ * Since line manipulators and transformers are called from several threads at the same time, they need to be thread
+ * safe.
+ * <p>
+ * Cells that are parsed lazily, see {@link org.jsapar.text.TextParseConfig#setLazyCellParsing(boolean)}, are parsed
+ * by the parsing thread before the lines are handed over to the worker threads.
+ *
+ * @see ConcurrentText2TextConverter#setParallelWorkers(int, int)
+ * @since 2.3.4
+ */
+public class ParallelConvertTask implements ConcurrentStartStop {
+    private final ParseTask parseTask;
+    private final Schema<?> composeSchema;
+    private final Writer writer;
+    private final Function<Line, List<Line>> transformer;
+    private final List<LineManipulator> manipulators;
+    private final int workerCount;
+    private final int batchSize;
+    private final boolean composeInWorkers;
+    private final List<Runnable> onStart = new LinkedList<>();
+    private final List<Runnable> onStop = new LinkedList<>();
+    private final ThreadLocal<BatchComposer> batchComposers;
+
+    /**
+     * @param parseTask     The parse task to use.
+     * @param composeSchema The schema to use while composing.
+     * @param writer        The writer to write converted result to.
+     * @param errorConsumer The error consumer to use while parsing.
+     * @param transformer   The transformer to use or null if the line manipulators should be used.
+     * @param manipulators  The line manipulators to use if there is no transformer.
+     * @param workerCount   The number of worker threads.
+     * @param batchSize     The number of lines to hand over to a worker thread at a time.
+     */
+    public ParallelConvertTask(ParseTask parseTask,
+                               Schema<?> composeSchema,
+                               Writer writer,
+                               Consumer<JSaParException> errorConsumer,
+                               Function<Line, List<Line>> transformer,
+                               List<LineManipulator> manipulators,
+                               int workerCount,
+                               int batchSize) {
+        Objects.requireNonNull(parseTask);
+        Objects.requireNonNull(composeSchema);
+        Objects.requireNonNull(writer);
+        Objects.requireNonNull(errorConsumer);
+        if (workerCount < 1 || batchSize < 1)
+            throw new IllegalArgumentException("Both number of workers and batch size need to be at least 1");
+        this.parseTask = parseTask;
+        this.composeSchema = composeSchema;
+        this.writer = writer;
+        this.transformer = transformer;
+        this.manipulators = new ArrayList<>(manipulators);
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.composeInWorkers = composeSchema.stream()
+                .noneMatch(l -> l instanceof CsvSchemaLine && ((CsvSchemaLine) l).isFirstLineAsSchema());
+        this.batchComposers = ThreadLocal.withInitial(() -> new BatchComposer(composeSchema));
+        parseTask.setErrorConsumer(errorConsumer);
+    }
+
+    /**
+     * @return Number of converted lines.
+     * @throws IOException In case of IO error.
+     * @throws JSaParException If a worker thread or the writing thread terminated due to an exception.
+     */
+    public long execute() throws IOException {
+        ExecutorService workers = Executors.newFixedThreadPool(workerCount, this::makeWorkerThread);
+        OrderedWriter orderedWriter = new OrderedWriter();
+        try (ConcurrentConsumer<Future<ConvertedBatch>> writingThread = new ConcurrentConsumer<>(orderedWriter, workerCount * 2)) {
+            writingThread.start();
+            Batcher batcher = new Batcher(workers, writingThread);
+            parseTask.setLineConsumer(batcher);
+            long count = parseTask.execute();
+            batcher.submit();
+            return count;
+        } catch (UncheckedIOException e) {
+            throw e.getCause() != null ? e.getCause() : new IOException(e);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private Thread makeWorkerThread(Runnable runnable) {
+        Thread thread = new Thread(() -> {
+            try {
+                onStart.forEach(Runnable::run);
+                runnable.run();
+            } finally {
+                onStop.forEach(Runnable::run);
+            }
+        }, Thread.currentThread().getName() + "-worker");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Each registered onStart runnable is called by each worker thread when it starts up.
+     * @param onStart The runnable that will be called by worker thread when starting up.
+     */
+    @Override
+    public void registerOnStart(Runnable onStart) {
+        this.onStart.add(onStart);
+    }
+
+    /**
+     * Each registered onStop runnable is called by each worker thread just before it dies.
+     * @param onStop The runnable that will be called by worker thread when stopping.
+     */
+    @Override
+    public void registerOnStop(Runnable onStop) {
+        this.onStop.add(onStop);
+    }
+
+    /**
+     * Called by worker thread.
+     */
+    private ConvertedBatch convert(List<Line> lines) {
+        List<Line> toCompose = transform(lines);
+        if (!composeInWorkers)
+            return new ConvertedBatch(toCompose);
+        return batchComposers.get().compose(toCompose);
+    }
+
+    private List<Line> transform(List<Line> lines) {
+        if (transformer != null) {
+            List<Line> transformed = new ArrayList<>(lines.size());
+            for (Line line : lines) {
+                transformed.addAll(transformer.apply(line));
+            }
+            return transformed;
+        }
+        if (manipulators.isEmpty())
+            return lines;
+        List<Line> manipulated = new ArrayList<>(lines.size());
+        for (Line line : lines) {
+            if (manipulate(line))
+                manipulated.add(line);
+        }
+        return manipulated;
+    }
+
+    private boolean manipulate(Line line) {
+        for (LineManipulator manipulator : manipulators) {
+            if (!manipulator.manipulate(line))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Collects parsed lines into batches and submits each batch to the worker threads. Called by the parsing thread.
+     */
+    private class Batcher implements Consumer<Line> {
+        private final ExecutorService workers;
+        private final ConcurrentConsumer<Future<ConvertedBatch>> writingThread;
+        private List<Line> batch = new ArrayList<>(batchSize);
+
+        private Batcher(ExecutorService workers, ConcurrentConsumer<Future<ConvertedBatch>> writingThread) {
+            this.workers = workers;
+            this.writingThread = writingThread;
+        }
+
+        @Override
+        public void accept(Line line) {
+            // Lazy cells refer to the cell parsers of the parsing thread, which are not thread safe.
+            batch.add(line.parseLazyCells());
+            if (batch.size() >= batchSize)
+                submit();
+        }
+
+        void submit() {
+            if (batch.isEmpty())
+                return;
+            final List<Line> lines = batch;
+            batch = new ArrayList<>(batchSize);
+            // The writing thread takes the batches in the same order as they were submitted.
+            writingThread.accept(workers.submit(() -> convert(lines)));
+        }
+    }
+
+    /**
+     * Writes the converted batches in order. Called by the writing thread.
+     */
+    private class OrderedWriter implements Consumer<Future<ConvertedBatch>> {
+        private final String lineSeparator = composeSchema.getLineSeparator();
+        private TextComposer composer;
+        private boolean breakBefore = false;
+
+        @Override
+        public void accept(Future<ConvertedBatch> future) {
+            try {
+                write(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException)
+                    throw (RuntimeException) e.getCause();
+                if (e.getCause() instanceof Error)
+                    throw (Error) e.getCause();
+                throw new JSaParException("Exception in worker thread", e.getCause());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void write(ConvertedBatch batch) throws IOException {
+            if (batch.text == null) {
+                if (composer == null)
+                    composer = new TextComposer(composeSchema, writer);
+                batch.lines.forEach(composer::composeLine);
+                return;
+            }
+            // Same behavior as TextComposer.composeLine()
+            int begin = 0;
+            for (int i = 0; i < batch.ends.length; i++) {
+                if (breakBefore)
+                    writer.write(lineSeparator);
+                int end = batch.ends[i];
+                if (batch.written[i])
+                    writer.write(batch.text, begin, end - begin);
+                breakBefore = batch.written[i];
+                begin = end;
+            }
+        }
+    }
+
+    /**
+     * Composes the lines of a batch into one text buffer. There is one instance per worker thread.
+     */
+    private static final class BatchComposer {
+        private final StringWriter buffer = new StringWriter();
+        private final SchemaComposer schemaComposer;
+
+        private BatchComposer(Schema<?> schema) {
+            schemaComposer = new TextComposerFactory().makeComposer(schema, buffer);
+        }
+
+        ConvertedBatch compose(List<Line> lines) {
+            StringBuffer text = buffer.getBuffer();
+            text.setLength(0);
+            int[] ends = new int[lines.size()];
+            boolean[] written = new boolean[lines.size()];
+            for (int i = 0; i < ends.length; i++) {
+                written[i] = schemaComposer.composeLine(lines.get(i));
+                ends[i] = text.length();
+            }
+            return new ConvertedBatch(text.toString(), ends, written);
+        }
+    }
+
+    /**
+     * The result of converting a batch. Either the composed text of each line or, if the lines need to be composed in
+     * order, the lines to compose.
+     */
+    private static final class ConvertedBatch {
+        private final String text;
+        private final int[] ends;
+        private final boolean[] written;
+        private final List<Line> lines;
+
+        private ConvertedBatch(String text, int[] ends, boolean[] written) {
+            this.text = text;
+            this.ends = ends;
+            this.written = written;
+            this.lines = null;
+        }
+
+        private ConvertedBatch(List<Line> lines) {
+            this.text = null;
+            this.ends = null;
+            this.written = null;
+            this.lines = lines;
+        }
+    }
+}
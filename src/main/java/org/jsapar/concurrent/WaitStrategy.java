@@ -0,0 +1,55 @@
+package org.jsapar.concurrent;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Describes how a thread waits for the other thread when exchanging batches of events through the ring buffer of a
+ * batching {@link ConcurrentConsumer}.
+ *
+ * @see ConcurrentConsumer#ConcurrentConsumer(java.util.function.Consumer, int, int, WaitStrategy)
+ * @since 2.3.4
+ */
+public enum WaitStrategy {
+    /**
+     * Busy spins while waiting. Gives the lowest latency but occupies a CPU core while waiting. Only use this if there
+     * are more CPU cores available than busy threads.
+     */
+    SPIN {
+        @Override
+        void idle() {
+            Thread.onSpinWait();
+        }
+    },
+    /**
+     * Yields to other threads while waiting. Gives low latency while letting other threads run on the same core but
+     * still keeps the CPU busy.
+     */
+    YIELD {
+        @Override
+        void idle() {
+            Thread.yield();
+        }
+    },
+    /**
+     * Parks the waiting thread until it is signalled by the other thread. Does not use any CPU while waiting but has
+     * the highest latency.
+     */
+    PARK {
+        @Override
+        void idle() {
+            LockSupport.park(this);
+        }
+    };
+
+    /**
+     * Called repeatedly by the waiting thread until the condition that it waits for is fulfilled.
+     */
+    abstract void idle();
+
+    /**
+     * @return True if a waiting thread needs to be signalled in order to wake up.
+     */
+    boolean isSignalled() {
+        return this == PARK;
+    }
+}
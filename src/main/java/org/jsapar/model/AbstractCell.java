@@ -86,7 +86,7 @@ abstract class AbstractCell<T> implements Cell<T> {
         if (o == null || getClass() != o.getClass()) return false;
 
         AbstractCell<?> cell = (AbstractCell<?>) o;
-        return Objects.equals(value, cell.value) &&
+        return Objects.equals(getValue(), cell.getValue()) &&
                 Objects.equals(name, cell.name) &&
                 cellType == cell.cellType;
     }
@@ -95,7 +95,7 @@ abstract class AbstractCell<T> implements Cell<T> {
     public int hashCode() {
         // Since all members are final, we can cache the hash code.
         if(this.hashCode == Integer.MIN_VALUE){
-            this.hashCode = Objects.hash(value, name, cellType);
+            this.hashCode = Objects.hash(getValue(), name, cellType);
         }
         return this.hashCode;
     }
@@ -9,6 +9,12 @@ public final class FloatCell extends NumberCell {
 
     private static final long serialVersionUID = 2102712515168714171L;
 
+    /**
+     * The value as a primitive. Only used when the cell was created with a primitive value, in which case the value of
+     * the super class is null.
+     */
+    private final double doubleValue;
+
     /**
      * Creates a float number cell with supplied name. Converts the float value
      * into a double precision float value.
@@ -18,14 +24,59 @@ public final class FloatCell extends NumberCell {
      */
     public FloatCell(String name, Number value) {
         super(name, value, CellType.FLOAT);
+        this.doubleValue = 0.0;
     }
 
+    private FloatCell(String name, double value) {
+        super(name, null, CellType.FLOAT);
+        this.doubleValue = value;
+    }
 
+    /**
+     * Creates a cell that holds the value as a primitive. No {@link Double} object is created unless the value is
+     * retrieved with {@link #getValue()}.
+     * @param name  The name of the cell
+     * @param value The value
+     * @return A new cell with supplied name and value.
+     * @since 2.3.4
+     */
+    public static FloatCell of(String name, double value) {
+        return new FloatCell(name, value);
+    }
+
+    /**
+     * @return The value of the cell. If the cell was created with a primitive value, it is returned as a
+     * {@link Double}.
+     */
+    @Override
+    public Number getValue() {
+        final Number value = super.getValue();
+        return value != null ? value : Double.valueOf(doubleValue);
+    }
+
+    @Override
+    public int intValue() {
+        return isPrimitive() ? (int) doubleValue : super.intValue();
+    }
+
+    @Override
+    public long longValue() {
+        return isPrimitive() ? (long) doubleValue : super.longValue();
+    }
+
+    @Override
+    public double doubleValue() {
+        return isPrimitive() ? doubleValue : super.doubleValue();
+    }
+
+    private boolean isPrimitive() {
+        return super.getValue() == null;
+    }
 
     @Override
     public int compareValueTo(Cell<Number> right) {
         if(!(right instanceof FloatCell))
-            return Double.compare(getValue().doubleValue(), right.getValue().doubleValue());
+            return Double.compare(doubleValue(), right.getValue().doubleValue());
         return super.compareValueTo(right);
     }
 
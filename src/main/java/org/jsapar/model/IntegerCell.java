@@ -8,20 +8,71 @@ public final class IntegerCell extends NumberCell {
 
     private static final long serialVersionUID = -6131249480571994885L;
 
+    /**
+     * The value as a primitive. Only used when the cell was created with a primitive value, in which case the value of
+     * the super class is null.
+     */
+    private final long longValue;
+
     /**
      * @param name The name of the cell
      * @param value The value
      */
     public IntegerCell(String name, Number value) {
         super(name, value, CellType.INTEGER);
+        this.longValue = 0L;
+    }
+
+    private IntegerCell(String name, long value) {
+        super(name, null, CellType.INTEGER);
+        this.longValue = value;
+    }
+
+    /**
+     * Creates a cell that holds the value as a primitive. No {@link Long} object is created unless the value is
+     * retrieved with {@link #getValue()}.
+     * @param name The name of the cell
+     * @param value The value
+     * @return A new cell with supplied name and value.
+     * @since 2.3.4
+     */
+    public static IntegerCell of(String name, long value) {
+        return new IntegerCell(name, value);
+    }
+
+    /**
+     * @return The value of the cell. If the cell was created with a primitive value, it is returned as a {@link Long}.
+     */
+    @Override
+    public Number getValue() {
+        final Number value = super.getValue();
+        return value != null ? value : Long.valueOf(longValue);
     }
 
+    @Override
+    public int intValue() {
+        return isPrimitive() ? (int) longValue : super.intValue();
+    }
+
+    @Override
+    public long longValue() {
+        return isPrimitive() ? longValue : super.longValue();
+    }
+
+    @Override
+    public double doubleValue() {
+        return isPrimitive() ? (double) longValue : super.doubleValue();
+    }
+
+    private boolean isPrimitive() {
+        return super.getValue() == null;
+    }
 
     @Override
     public int compareValueTo(Cell<Number> right) {
         if(!(right instanceof IntegerCell))
-            return Long.compare(getValue().longValue(), right.getValue().longValue());
-        return super.compareValueTo(right);
+            return Long.compare(longValue(), right.getValue().longValue());
+        return Long.compare(longValue(), ((IntegerCell) right).longValue());
     }
 
     /**
@@ -1,10 +1,16 @@
 package org.jsapar.model;
 
+import org.jsapar.error.JSaParException;
 import org.jsapar.parse.CellParseException;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.util.*;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -27,8 +33,41 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
 
     private static final long   serialVersionUID = 6026541900371948403L;
 
+    /**
+     * The serialized form is the same as before cells could be stored by position, so that lines can be exchanged
+     * with earlier versions. Cells are always serialized by name and cell errors are never null.
+     */
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("cells", Map.class),
+            new ObjectStreamField("cellErrors", Map.class),
+            new ObjectStreamField("lineType", String.class),
+            new ObjectStreamField("lineNumber", long.class)
+    };
+
+    /**
+     * Cells by name. Only used if this line does not store its cells by position, i.e. if {@link #indexedCells} is null.
+     */
     private Map<String, Cell> cells;
-    private Map<String, CellParseException> cellErrors = new LinkedHashMap<>();
+
+    /**
+     * Shared map from cell name to position within {@link #indexedCells}. Kept also after falling back to storing
+     * cells in a map, so that {@link #reset(long)} can go back to storing cells by position.
+     */
+    private Map<String, Integer> cellIndex;
+    private Cell[] indexedCells;
+    private int indexedSize = 0;
+    private int highestIndex = -1;
+
+    /**
+     * Created upon first error since most lines do not have any errors.
+     */
+    private Map<String, CellParseException> cellErrors;
+
+    /**
+     * The number of cells that were added with {@link #addLazyCell(String, String, BiFunction)} and that are not yet
+     * parsed.
+     */
+    private int unparsedCount = 0;
 
     /**
      * Line type.
@@ -65,6 +104,189 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
         this.lineNumber = lineNumber;
     }
 
+    /**
+     * Creates an empty line of a specified type that stores its cells by position instead of in a map. The cell
+     * index is typically the one provided by {@link org.jsapar.schema.SchemaLine#getCellIndex()} and it is shared
+     * between all lines of the same type, which makes this line considerably cheaper to create than a line that
+     * stores its cells in a map.
+     * <p>
+     * The line behaves exactly the same as any other line. Cells are still iterated in the order they were added
+     * and cells with names that are not within the cell index can still be added. In the latter case, or if
+     * a cell is added in another order than the order of the cell index, the line falls back to storing the cells in a map.
+     *
+     * @param sLineType  The type of the line.
+     * @param cellIndex  Map from cell name to the position of the cell, where the first cell has position 0. Positions
+     *                   need to be unique and less than the size of the map. The map is not copied and should not be altered.
+     * @param lineNumber The line number of this line.
+     * @since 2.3.4
+     */
+    public Line(String sLineType, Map<String, Integer> cellIndex, long lineNumber) {
+        lineType = sLineType;
+        this.cellIndex = cellIndex;
+        this.indexedCells = new Cell[cellIndex.size()];
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * @param name The name of the cell.
+     * @return The cell with supplied name or null if there is no such cell.
+     */
+    private Cell<?> get(String name) {
+        Cell<?> cell;
+        if (indexedCells == null) {
+            cell = cells.get(name);
+        } else {
+            Integer index = cellIndex.get(name);
+            cell = index == null ? null : indexedCells[index];
+        }
+        return cell instanceof UnparsedCell ? parseCell((UnparsedCell) cell) : cell;
+    }
+
+    /**
+     * Parses a cell that was added lazily and replaces it with the parsed cell. If the cell can not be parsed, it is
+     * removed and the error is added as a cell error of this line.
+     * @param unparsedCell The cell to parse.
+     * @return The parsed cell or null if the cell could not be parsed.
+     */
+    private Cell<?> parseCell(UnparsedCell unparsedCell) {
+        Cell<?> cell = unparsedCell.cellParser.apply(unparsedCell.rawValue, this::acceptParseError);
+        if (cell == null)
+            remove(unparsedCell.name);
+        else
+            put(cell);
+        return cell;
+    }
+
+    private void acceptParseError(JSaParException error) {
+        if (!(error instanceof CellParseException))
+            throw error;
+        CellParseException cellError = (CellParseException) error;
+        cellError.setLineNumber(lineNumber);
+        addCellError(cellError);
+    }
+
+    /**
+     * Adds a cell or replaces existing cell with same name.
+     * @param cell The cell to add.
+     * @return The replaced cell or null if there was no such cell.
+     */
+    private Cell<?> put(Cell<?> cell) {
+        if (indexedCells == null)
+            return countReplaced(cells.put(cell.getName(), cell));
+        Integer index = cellIndex.get(cell.getName());
+        if (index != null) {
+            Cell<?> oldCell = indexedCells[index];
+            if (oldCell != null) {
+                indexedCells[index] = cell;
+                return countReplaced(oldCell);
+            }
+            if (index > highestIndex) {
+                indexedCells[index] = cell;
+                indexedSize++;
+                highestIndex = index;
+                return null;
+            }
+        }
+        // Either unknown name or added out of order. Iteration order has to be maintained.
+        convertToMap();
+        return countReplaced(cells.put(cell.getName(), cell));
+    }
+
+    /**
+     * @param oldCell A cell that was replaced or removed.
+     * @return Supplied cell.
+     */
+    private Cell<?> countReplaced(Cell<?> oldCell) {
+        if (oldCell instanceof UnparsedCell)
+            unparsedCount--;
+        return oldCell;
+    }
+
+    /**
+     * Removes a cell.
+     * @param name The name of the cell to remove.
+     * @return The removed cell or null if there was no such cell.
+     */
+    private Cell<?> remove(String name) {
+        if (indexedCells == null)
+            return countReplaced(cells.remove(name));
+        Integer index = cellIndex.get(name);
+        if (index == null)
+            return null;
+        Cell<?> oldCell = indexedCells[index];
+        if (oldCell != null) {
+            indexedCells[index] = null;
+            indexedSize--;
+        }
+        return countReplaced(oldCell);
+    }
+
+    private void convertToMap() {
+        cells = new LinkedHashMap<>((Math.max(indexedCells.length, indexedSize + 1) * 4 / 3) + 1);
+        for (Cell<?> cell : indexedCells) {
+            if (cell != null)
+                cells.put(cell.getName(), cell);
+        }
+        indexedCells = null;
+        indexedSize = 0;
+        highestIndex = -1;
+    }
+
+    /**
+     * @return A live view of all cells in the order they were added.
+     */
+    private Collection<Cell> cellValues() {
+        parseLazyCells();
+        if (indexedCells == null)
+            return cells.values();
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<Cell> iterator() {
+                return new IndexedCellIterator();
+            }
+
+            @Override
+            public int size() {
+                return indexedSize;
+            }
+        };
+    }
+
+    /**
+     * Iterates all non-null cells of {@link #indexedCells}.
+     */
+    private class IndexedCellIterator implements Iterator<Cell> {
+        private final Cell[] iteratedCells = indexedCells;
+        private int next = 0;
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            while (next < iteratedCells.length && iteratedCells[next] == null)
+                next++;
+            return next < iteratedCells.length;
+        }
+
+        @Override
+        public Cell next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            last = next++;
+            return iteratedCells[last];
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0 || iteratedCells != indexedCells)
+                throw new IllegalStateException();
+            if (iteratedCells[last] != null) {
+                iteratedCells[last] = null;
+                indexedSize--;
+            }
+            last = -1;
+        }
+    }
+
     /**
      * Returns a clone of the internal collection that contains all the cells.
      * For better performance while iterating multiple lines, it is better to use the
@@ -77,7 +299,7 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
      * @see #stream()
      */
     public List<Cell> getCells() {
-        return new ArrayList<>(cells.values());
+        return new ArrayList<>(cellValues());
     }
 
     /**
@@ -87,7 +309,7 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
      */
     @Override
     public Iterator<Cell> iterator() {
-        return cells.values().iterator();
+        return cellValues().iterator();
     }
 
     /**
@@ -101,11 +323,66 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
      * @see #putCell(Cell)
      */
     public Line addCell(Cell<?> cell) {
-        Cell<?> oldCell = cells.get(cell.getName());
+        Cell<?> oldCell = get(cell.getName());
         if (oldCell != null)
             throw new IllegalStateException(
                     "A cell with the name '" + cell.getName() + "' already exists. Failed to add cell.");
-        this.cells.put(cell.getName(), cell);
+        put(cell);
+        return this;
+    }
+
+    /**
+     * Adds a cell to the end of the line where the value is parsed first when the cell is accessed. Parsing lazily saves
+     * the cost of parsing cells that are never used. Any cell that is added lazily is parsed when it is first
+     * retrieved, when the cells of the line are iterated or streamed, when the size or the cell errors of the line are
+     * requested or when calling {@link #parseLazyCells()}. If the value can not be parsed, the cell is removed from
+     * the line and the error is added as a cell error of this line, see {@link #getCellErrors()}.
+     * <p>
+     * The cell parser is called at the time the cell is parsed, which means that it needs to be possible to call it
+     * from that thread.
+     *
+     * @param cellName   The name of the cell to add.
+     * @param rawValue   The value of the cell to parse.
+     * @param cellParser Function that takes the raw value and an error consumer and returns the parsed cell or null if
+     *                   the value could not be parsed. Errors should be reported to the error consumer.
+     * @return This line. Makes it possible to chain calls.
+     * @throws IllegalStateException if cell with the same name already exist.
+     * @since 2.3.4
+     */
+    public Line addLazyCell(String cellName,
+                            String rawValue,
+                            BiFunction<String, Consumer<JSaParException>, Cell<?>> cellParser) {
+        if (get(cellName) != null)
+            throw new IllegalStateException(
+                    "A cell with the name '" + cellName + "' already exists. Failed to add cell.");
+        put(new UnparsedCell(cellName, rawValue, cellParser));
+        unparsedCount++;
+        return this;
+    }
+
+    /**
+     * Parses all cells that were added by {@link #addLazyCell(String, String, BiFunction)} and that are not yet parsed.
+     * Errors are added as cell errors of this line. Call this method when all cells need to be validated, or before
+     * handing the line over to another thread.
+     *
+     * @return This line.
+     * @since 2.3.4
+     */
+    public Line parseLazyCells() {
+        if (unparsedCount <= 0)
+            return this;
+        if (indexedCells == null) {
+            for (Cell<?> cell : new ArrayList<>(cells.values())) {
+                if (cell instanceof UnparsedCell)
+                    parseCell((UnparsedCell) cell);
+            }
+        } else {
+            // Parsed cells replace the unparsed cells at the same position.
+            for (int i = 0; i < indexedCells.length; i++) {
+                if (indexedCells[i] instanceof UnparsedCell)
+                    parseCell((UnparsedCell) indexedCells[i]);
+            }
+        }
         return this;
     }
 
@@ -116,7 +393,9 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
      * @return Optional that contains the removed cell if found
      */
     public Optional<Cell> removeCell(String sName) {
-        return Optional.ofNullable(this.cells.remove(sName));
+        if (unparsedCount > 0)
+            get(sName);
+        return Optional.ofNullable(remove(sName));
     }
 
     /**
@@ -127,7 +406,9 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
      * @see #addCell(Cell)
      */
     public Optional<Cell> putCell(Cell<?> cell) {
-        return Optional.ofNullable(this.cells.put(cell.getName(), cell));
+        if (unparsedCount > 0)
+            get(cell.getName());
+        return Optional.ofNullable(put(cell));
     }
 
     /**
@@ -142,9 +423,9 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
      */
     public <T> void putCellValue(String cellName, T value, BiFunction<String, T, Cell<? super T>> cellCreator) {
         if (value == null)
-            this.cells.remove(cellName);
+            remove(cellName);
         else
-            this.cells.put(cellName, cellCreator.apply(cellName, value));
+            put(cellCreator.apply(cellName, value));
     }
 
     /**
@@ -154,7 +435,7 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
      * @return Optional cell that is set if there is a cell with specified name.
      */
     public Optional<Cell> getCell(String name) {
-        return Optional.ofNullable(this.cells.get(name));
+        return Optional.ofNullable(get(name));
     }
 
     /**
@@ -191,7 +472,7 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
      */
     public <T> Optional<T> getNonEmptyCellValue(String name, Class<T> valueType) throws ClassCastException {
         //noinspection unchecked
-        Cell<T> uncheckedCell = (Cell<T>) this.cells.get(name);
+        Cell<T> uncheckedCell = (Cell<T>) get(name);
         if(uncheckedCell == null || uncheckedCell.isEmpty())
             return Optional.empty();
 
@@ -202,13 +483,59 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
         }
     }
 
+    /**
+     * Gets the integer value of a cell with specified name without creating any intermediate objects. Tries to parse
+     * an integer value if the cell is not a number cell.
+     *
+     * @param name         The name of the cell to get.
+     * @param defaultValue Returned if there is no cell with specified name or if the cell is empty.
+     * @return The integer value of the cell with specified name.
+     * @throws NumberFormatException If the cell value could not be converted into an integer value.
+     * @since 2.3.4
+     */
+    public int getInt(String name, int defaultValue) throws NumberFormatException {
+        final Cell<?> cell = get(name);
+        return cell == null || cell.isEmpty() ? defaultValue : LineUtils.intCellValue(cell);
+    }
+
+    /**
+     * Gets the long integer value of a cell with specified name without creating any intermediate objects. Tries to
+     * parse a long integer value if the cell is not a number cell.
+     *
+     * @param name         The name of the cell to get.
+     * @param defaultValue Returned if there is no cell with specified name or if the cell is empty.
+     * @return The long integer value of the cell with specified name.
+     * @throws NumberFormatException If the cell value could not be converted into a long integer value.
+     * @since 2.3.4
+     */
+    public long getLong(String name, long defaultValue) throws NumberFormatException {
+        final Cell<?> cell = get(name);
+        return cell == null || cell.isEmpty() ? defaultValue : LineUtils.longCellValue(cell);
+    }
+
+    /**
+     * Gets the double value of a cell with specified name without creating any intermediate objects. Tries to parse a
+     * double value if the cell is not a number cell.
+     *
+     * @param name         The name of the cell to get.
+     * @param defaultValue Returned if there is no cell with specified name or if the cell is empty.
+     * @return The double value of the cell with specified name.
+     * @throws NumberFormatException If the cell value could not be converted into a double value.
+     * @since 2.3.4
+     */
+    public double getDouble(String name, double defaultValue) throws NumberFormatException {
+        final Cell<?> cell = get(name);
+        return cell == null || cell.isEmpty() ? defaultValue : LineUtils.doubleCellValue(cell);
+    }
+
     /**
      * Gets the number of cells that this line contains.
      *
      * @return the number of cells that this line contains.
      */
     public int size() {
-        return this.cells.size();
+        parseLazyCells();
+        return indexedCells == null ? this.cells.size() : indexedSize;
     }
 
     /**
@@ -267,9 +594,13 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
 
     /**
      * @return A clone of this line. Since all cell values are final, only shallow copy is needed of all the cells.
+     * Cells added by {@link #addLazyCell(String, String, BiFunction)} are parsed first, since the cell parser can not
+     * be shared by the clone.
      */
     @Override
     public Line clone() {
+        // Unparsed cells refer to a cell parser that is not thread safe and must not be shared with the clone.
+        parseLazyCells();
         Line clone;
         try {
             clone = (Line) super.clone();
@@ -279,16 +610,46 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
         }
 
         // No need to make a deep copy since cells are all final.
-        clone.cells = new LinkedHashMap<>(this.cells);
-        clone.cellErrors  = new LinkedHashMap<>(this.cellErrors);
+        if (this.indexedCells == null)
+            clone.cells = new LinkedHashMap<>(this.cells);
+        else
+            clone.indexedCells = this.indexedCells.clone();
+        if (this.cellErrors != null)
+            clone.cellErrors = new LinkedHashMap<>(this.cellErrors);
 
         return clone;
     }
 
+    /**
+     * Removes all cells and cell errors from this line and assigns a new line number, so that the same instance can be
+     * used for another line of the same type. Any storage that was allocated for cells is kept for the next use.
+     *
+     * @param lineNumber The line number of the next line.
+     * @since 2.3.4
+     */
+    public void reset(long lineNumber) {
+        this.lineNumber = lineNumber;
+        this.unparsedCount = 0;
+        if (cellErrors != null)
+            cellErrors.clear();
+        if (cellIndex == null) {
+            cells.clear();
+        } else if (indexedCells == null) {
+            cells = null;
+            indexedCells = new Cell[cellIndex.size()];
+        } else {
+            Arrays.fill(indexedCells, 0, highestIndex + 1, null);
+        }
+        indexedSize = 0;
+        highestIndex = -1;
+    }
+
     /**
      * @param error The cell error to add.
      */
     public void addCellError(CellParseException error) {
+        if (this.cellErrors == null)
+            this.cellErrors = new LinkedHashMap<>();
         this.cellErrors.put(error.getCellName(), error);
     }
 
@@ -296,7 +657,8 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
      * @return True if the line has errors on any of the cells.
      */
     public boolean hasCellErrors(){
-        return !this.cellErrors.isEmpty();
+        parseLazyCells();
+        return this.cellErrors != null && !this.cellErrors.isEmpty();
     }
 
     /**
@@ -304,7 +666,8 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
      * @return If there is an error for the given cell name, that error is returned.The error with the given cell name.
      */
     public Optional<CellParseException> getCellError(String cellName){
-        return Optional.ofNullable(cellErrors.get(cellName));
+        get(cellName);
+        return cellErrors == null ? Optional.empty() : Optional.ofNullable(cellErrors.get(cellName));
     }
 
     /**
@@ -312,7 +675,8 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
      * @return All cell errors of this line.
      */
     public Collection<CellParseException> getCellErrors(){
-        return cellErrors.values();
+        parseLazyCells();
+        return cellErrors == null ? Collections.emptyList() : cellErrors.values();
     }
 
     /**
@@ -357,7 +721,65 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
      * @return A stream of all cells within this line.
      */
     public Stream<Cell> stream() {
-        return this.cells.values().stream();
+        return cellValues().stream();
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        parseLazyCells();
+        Map<String, Cell> cellsByName = this.cells;
+        if (indexedCells != null) {
+            cellsByName = new LinkedHashMap<>();
+            for (Cell cell : cellValues())
+                cellsByName.put(cell.getName(), cell);
+        }
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("cells", cellsByName);
+        fields.put("cellErrors", cellErrors == null ? new LinkedHashMap<>() : cellErrors);
+        fields.put("lineType", lineType);
+        fields.put("lineNumber", lineNumber);
+        out.writeFields();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        highestIndex = -1;
+    }
+
+    /**
+     * A cell that was added with {@link #addLazyCell(String, String, BiFunction)} and that is not yet parsed. Never
+     * exposed outside of the line.
+     */
+    private static final class UnparsedCell implements Cell<String> {
+        private static final long serialVersionUID = 1L;
+        private final String name;
+        private final String rawValue;
+        private final transient BiFunction<String, Consumer<JSaParException>, Cell<?>> cellParser;
+
+        private UnparsedCell(String name, String rawValue, BiFunction<String, Consumer<JSaParException>, Cell<?>> cellParser) {
+            this.name = name;
+            this.rawValue = rawValue;
+            this.cellParser = cellParser;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getValue() {
+            return rawValue;
+        }
+
+        @Override
+        public CellType getCellType() {
+            return CellType.STRING;
+        }
+
+        @Override
+        public int compareValueTo(Cell<String> right) {
+            throw new UnsupportedOperationException("The cell is not yet parsed");
+        }
     }
 
     /**
@@ -256,7 +256,7 @@ public final class LineUtils {
      * @see #getNumberCellValue(Line, String)
      */
     public static int getIntCellValue(Line line, String cellName, int defaultValue) throws NumberFormatException {
-        return line.getNonEmptyCell(cellName).map(LineUtils::intCellValue).orElse(defaultValue);
+        return line.getInt(cellName, defaultValue);
     }
 
     /**
@@ -274,10 +274,10 @@ public final class LineUtils {
         return line.getNonEmptyCell(cellName).map(LineUtils::intCellValue);
     }
 
-    private static int intCellValue(Cell<?> cell) {
+    static int intCellValue(Cell<?> cell) {
         if (cell instanceof NumberCell) {
             NumberCell numberCell = (NumberCell) cell;
-            return numberCell.getValue().intValue();
+            return numberCell.intValue();
         }
 
         try {
@@ -301,7 +301,7 @@ public final class LineUtils {
      * @throws NumberFormatException If the cell value could not be converted into a long integer value.
      */
     public static long getLongCellValue(Line line, String cellName, long defaultValue) throws NumberFormatException {
-        return line.getNonEmptyCell(cellName).map(LineUtils::longCellValue).orElse(defaultValue);
+        return line.getLong(cellName, defaultValue);
     }
 
     /**
@@ -318,10 +318,10 @@ public final class LineUtils {
         return line.getNonEmptyCell(cellName).map(LineUtils::longCellValue);
     }
 
-    private static long longCellValue(Cell<?> cell) {
+    static long longCellValue(Cell<?> cell) {
         if (cell instanceof NumberCell) {
             NumberCell numberCell = (NumberCell) cell;
-            return numberCell.getValue().longValue();
+            return numberCell.longValue();
         }
 
         try {
@@ -553,7 +553,7 @@ public final class LineUtils {
      */
     public static double getDoubleCellValue(Line line, String cellName, double defaultValue)
             throws NumberFormatException{
-        return line.getNonEmptyCell(cellName).map(LineUtils::doubleCellValue).orElse(defaultValue);
+        return line.getDouble(cellName, defaultValue);
     }
 
     /**
@@ -571,10 +571,10 @@ public final class LineUtils {
         return line.getNonEmptyCell(cellName).map(LineUtils::doubleCellValue);
     }
 
-    private static double doubleCellValue(Cell<?> cell) {
+    static double doubleCellValue(Cell<?> cell) {
         if (cell instanceof NumberCell) {
             NumberCell numberCell = (NumberCell) cell;
-            return numberCell.getValue().doubleValue();
+            return numberCell.doubleValue();
         }
 
         try {
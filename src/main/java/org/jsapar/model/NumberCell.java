@@ -31,7 +31,31 @@ abstract class NumberCell extends AbstractCell<Number> {
             return -right.compareValueTo(this);
         }
         assert right instanceof NumberCell : "Value of cell of type " + getCellType() + " can not be compared to value of cell of type " + right.getCellType();
-        return Double.compare(getValue().doubleValue(), right.getValue().doubleValue());
+        return Double.compare(doubleValue(), right instanceof NumberCell ? ((NumberCell) right).doubleValue() : right.getValue().doubleValue());
+    }
+
+    /**
+     * @return The value of this cell as an int, same as <code>getValue().intValue()</code>.
+     * @since 2.3.4
+     */
+    public int intValue() {
+        return getValue().intValue();
+    }
+
+    /**
+     * @return The value of this cell as a long, same as <code>getValue().longValue()</code>.
+     * @since 2.3.4
+     */
+    public long longValue() {
+        return getValue().longValue();
+    }
+
+    /**
+     * @return The value of this cell as a double, same as <code>getValue().doubleValue()</code>.
+     * @since 2.3.4
+     */
+    public double doubleValue() {
+        return getValue().doubleValue();
     }
 
 }
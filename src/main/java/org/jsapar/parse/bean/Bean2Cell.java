@@ -21,6 +21,8 @@ public class Bean2Cell {
     private BeanPropertyMap    children;
     private PropertyDescriptor propertyDescriptor;
     private CellCreator        cellCreator;
+    private PropertyReaders.Reader reader;
+    private Function<Object, Object> cellValueConverter;
 
     private Bean2Cell(String cellName) {
         this.cellName = cellName;
@@ -33,6 +35,7 @@ public class Bean2Cell {
 
     static Bean2Cell ofCellName(String cellName, PropertyDescriptor propertyDescriptor) {
         Bean2Cell bean2Cell = new Bean2Cell(cellName, propertyDescriptor);
+        bean2Cell.reader = makeReader(propertyDescriptor);
         // Prepare the best way to create cell depending on return type
         bean2Cell.cellCreator = bean2Cell.makeCellCreator();
         return bean2Cell;
@@ -43,9 +46,17 @@ public class Bean2Cell {
         Bean2Cell bean2Cell = new Bean2Cell("@@" + propertyDescriptor.getName());
         bean2Cell.propertyDescriptor = propertyDescriptor;
         bean2Cell.children = children;
+        bean2Cell.reader = makeReader(propertyDescriptor);
         return bean2Cell;
     }
 
+    private static PropertyReaders.Reader makeReader(PropertyDescriptor propertyDescriptor) {
+        Method getter = propertyDescriptor.getReadMethod();
+        if (getter == null)
+            return null;
+        return PropertyReaders.of(getter);
+    }
+
     String getCellName() {
         return cellName;
     }
@@ -62,6 +73,34 @@ public class Bean2Cell {
         return cellCreator.makeCell(object);
     }
 
+    /**
+     * @param bean The bean to read from.
+     * @return The value of the property of supplied bean.
+     * @throws InvocationTargetException If the getter method throws an exception.
+     * @throws IllegalAccessException    If the getter is not accessible or if there is no getter.
+     */
+    Object readValue(Object bean) throws InvocationTargetException, IllegalAccessException {
+        if (reader == null)
+            throw new IllegalAccessException("The property " + propertyDescriptor.getName() + " has no getter method.");
+        return reader.read(bean);
+    }
+
+    /**
+     * Reads the value of the property without creating any cell.
+     *
+     * @param bean The bean to read from.
+     * @return The value that the cell created by {@link #makeCell(Object)} would have, or null if that cell would be
+     * empty.
+     * @throws InvocationTargetException If the getter method throws an exception.
+     * @throws IllegalAccessException    If the getter is not accessible.
+     */
+    Object readCellValue(Object bean) throws InvocationTargetException, IllegalAccessException {
+        final Object value = reader.read(bean);
+        if (value == null || cellValueConverter == null)
+            return value;
+        return cellValueConverter.apply(value);
+    }
+
     /**
      * Creates a cell creator instance suitable for this instance.
      *
@@ -76,41 +115,54 @@ public class Bean2Cell {
         Class<?> returnType = f.getReturnType();
 
         if (returnType.isAssignableFrom(String.class)) {
-            return (bean) -> this.<String>makeCellByInvocation(bean, f, CellType.STRING, StringCell::new);
+            return (bean) -> this.<String>makeCellByInvocation(bean, CellType.STRING, StringCell::new);
         } else if (returnType.isAssignableFrom(LocalDate.class)) {
-            return (bean) -> this.makeCellByInvocation(bean, f, CellType.LOCAL_DATE, LocalDateCell::new);
+            return (bean) -> this.makeCellByInvocation(bean, CellType.LOCAL_DATE, LocalDateCell::new);
         } else if (returnType.isAssignableFrom(LocalDateTime.class)) {
-            return (bean) -> this.makeCellByInvocation(bean, f, CellType.LOCAL_DATE_TIME, LocalDateTimeCell::new);
+            return (bean) -> this.makeCellByInvocation(bean, CellType.LOCAL_DATE_TIME, LocalDateTimeCell::new);
         } else if (returnType.isAssignableFrom(LocalTime.class)) {
-            return (bean) -> this.makeCellByInvocation(bean, f, CellType.LOCAL_TIME, LocalTimeCell::new);
+            return (bean) -> this.makeCellByInvocation(bean, CellType.LOCAL_TIME, LocalTimeCell::new);
         } else if (returnType.isAssignableFrom(ZonedDateTime.class)) {
-            return (bean) -> this.makeCellByInvocation(bean, f, CellType.ZONED_DATE_TIME, ZonedDateTimeCell::new);
+            return (bean) -> this.makeCellByInvocation(bean, CellType.ZONED_DATE_TIME, ZonedDateTimeCell::new);
         } else if (returnType.isAssignableFrom(Instant.class)) {
-            return (bean) -> this.makeCellByInvocation(bean, f, CellType.INSTANT, InstantCell::new);
+            return (bean) -> this.makeCellByInvocation(bean, CellType.INSTANT, InstantCell::new);
         } else if (returnType.isAssignableFrom(Date.class)) {
-            return (bean) -> this.<Date>makeCellByInvocation(bean, f, CellType.DATE, DateCell::new);
+            return (bean) -> this.<Date>makeCellByInvocation(bean, CellType.DATE, DateCell::new);
         } else if (returnType.isAssignableFrom(Calendar.class)) {
-            return (bean) -> this.<Calendar>makeCellByInvocation(bean, f, CellType.DATE, (n, v)->new DateCell(n, v.getTime()));
+            cellValueConverter = value -> ((Calendar) value).getTime();
+            return (bean) -> this.<Calendar>makeCellByInvocation(bean, CellType.DATE, (n, v)->new DateCell(n, v.getTime()));
         } else if (returnType.isAssignableFrom(Integer.TYPE) || returnType.isAssignableFrom(Integer.class) || returnType.isAssignableFrom(
                 Byte.TYPE) || returnType.isAssignableFrom(Byte.class) || returnType.isAssignableFrom(Short.TYPE) || returnType.isAssignableFrom(
                 Short.class) || returnType.isAssignableFrom(Long.TYPE) || returnType.isAssignableFrom(Long.class)) {
-            return (bean) -> makeCellByInvocation(bean, f, CellType.INTEGER, IntegerCell::new);
+            if (returnType.isPrimitive()) {
+                // Primitive values are never null and are read without boxing.
+                PropertyReaders.LongReader longReader = PropertyReaders.ofLong(f);
+                return (bean) -> IntegerCell.of(cellName, longReader.read(bean));
+            }
+            return (bean) -> makeCellByInvocation(bean, CellType.INTEGER, IntegerCell::new);
         } else if (returnType.isAssignableFrom(Boolean.TYPE) || returnType.isAssignableFrom(Boolean.class)) {
-            return (bean) -> makeCellByInvocation(bean, f, CellType.BOOLEAN, BooleanCell::new);
+            return (bean) -> makeCellByInvocation(bean, CellType.BOOLEAN, BooleanCell::new);
         } else if (returnType.isAssignableFrom(Float.TYPE) || returnType.isAssignableFrom(Float.class) || returnType.isAssignableFrom(
                 Double.TYPE) || returnType.isAssignableFrom(Double.class)) {
-            return (bean) -> makeCellByInvocation(bean, f, CellType.FLOAT, FloatCell::new);
+            if (returnType == Double.TYPE) {
+                // A float is not read as a double since the value would then be formatted with more decimals.
+                PropertyReaders.DoubleReader doubleReader = PropertyReaders.ofDouble(f);
+                return (bean) -> FloatCell.of(cellName, doubleReader.read(bean));
+            }
+            return (bean) -> makeCellByInvocation(bean, CellType.FLOAT, FloatCell::new);
         } else if (returnType.isAssignableFrom(BigDecimal.class)) {
-            return (bean) -> this.<BigDecimal>makeCellByInvocation(bean, f, CellType.DECIMAL, BigDecimalCell::new);
+            return (bean) -> this.<BigDecimal>makeCellByInvocation(bean, CellType.DECIMAL, BigDecimalCell::new);
         } else if (returnType.isAssignableFrom(BigInteger.class)) {
-            return (bean) -> this.<BigInteger>makeCellByInvocation(bean, f, CellType.DECIMAL, BigDecimalCell::new);
+            cellValueConverter = value -> new BigDecimal((BigInteger) value);
+            return (bean) -> this.<BigInteger>makeCellByInvocation(bean, CellType.DECIMAL, BigDecimalCell::new);
         } else if (returnType.isAssignableFrom(Character.TYPE) || returnType.isAssignableFrom(Character.class)) {
-            return (bean) -> this.makeCellByInvocation(bean, f, CellType.CHARACTER, CharacterCell::new);
+            return (bean) -> this.makeCellByInvocation(bean, CellType.CHARACTER, CharacterCell::new);
         } else if (Enum.class.isAssignableFrom(returnType)){
-            return (bean) -> this.<Enum>makeCellByInvocation(bean, f, CellType.ENUM, EnumCell::new);
+            return (bean) -> this.<Enum>makeCellByInvocation(bean, CellType.ENUM, EnumCell::new);
         }
+        cellValueConverter = String::valueOf;
         return (bean) -> {
-            Object value = f.invoke(bean);
+            Object value = reader.read(bean);
             if (value != null)
                 return new StringCell(cellName, String.valueOf(value));
             else
@@ -119,9 +171,9 @@ public class Bean2Cell {
     }
 
     @SuppressWarnings("unchecked")
-    private <T> Cell<?> makeCellByInvocation(Object o, Method f, CellType cellType, BiFunction<String, T, Cell<?>> cellByValue) throws
+    private <T> Cell<?> makeCellByInvocation(Object o, CellType cellType, BiFunction<String, T, Cell<?>> cellByValue) throws
             InvocationTargetException, IllegalAccessException {
-        T value = (T) f.invoke(o);
+        T value = (T) reader.read(o);
         if(value == null)
             return new EmptyCell<>(cellName, cellType);
         return cellByValue.apply(cellName, value);
@@ -208,7 +260,7 @@ public class Bean2Cell {
                 throw new BeanComposeException(
                         "The property " + propertyDescriptor.getName() + " of class " + children.getLineClass()
                                 .getName() + " has no getter method.");
-            Object child = getter.invoke(bean);
+            Object child = readValue(bean);
             if (child == null) {
                 child = children.getLineClass().getConstructor().newInstance();
                 Method setter = this.propertyDescriptor.getWriteMethod();
@@ -0,0 +1,115 @@
+package org.jsapar.parse.bean;
+
+import org.jsapar.compose.line.CellValueReader;
+import org.jsapar.error.JSaParException;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads cell values directly from beans of one class without creating any {@link org.jsapar.model.Line} or
+ * {@link org.jsapar.model.Cell}. The property path of each cell is resolved once when the reader is created, so that
+ * reading a value only consists of calling the getters along the path. The values are the same as the values of the
+ * cells that {@link BeanMarshaller} would have created for the same bean.
+ * <p>
+ * Errors when calling a getter are reported to the error listener with the same messages as {@link BeanMarshaller}
+ * uses, and the value of the cell is then regarded as empty.
+ *
+ * @see org.jsapar.compose.line.LineComposer#composeValues(Object, CellValueReader)
+ * @since 2.3.4
+ */
+public final class BeanCellValueReader implements CellValueReader {
+
+    private final PropertyPath[]            propertyPaths;
+    private final Consumer<JSaParException> errorListener;
+
+    private BeanCellValueReader(PropertyPath[] propertyPaths, Consumer<JSaParException> errorListener) {
+        this.propertyPaths = propertyPaths;
+        this.errorListener = errorListener;
+    }
+
+    /**
+     * @param beanPropertyMap The bean property map of the class of the beans to read from.
+     * @param cellNames       The names of the cells to read values of. The index of each name is the index used when
+     *                        reading.
+     * @param errorListener   The error listener to which errors are propagated.
+     * @return A reader of supplied cells or null if the class is mapped by a
+     * {@link org.jsapar.bean.GeneratedBeanMapper}, in which case values can only be read by creating cells.
+     */
+    public static BeanCellValueReader of(BeanPropertyMap beanPropertyMap,
+                                         List<String> cellNames,
+                                         Consumer<JSaParException> errorListener) {
+        if (beanPropertyMap.getGeneratedMapper() != null)
+            return null;
+        PropertyPath[] propertyPaths = new PropertyPath[cellNames.size()];
+        for (int i = 0; i < propertyPaths.length; i++) {
+            propertyPaths[i] = PropertyPath.of(beanPropertyMap, cellNames.get(i));
+        }
+        return new BeanCellValueReader(propertyPaths, errorListener);
+    }
+
+    @Override
+    public Object read(Object bean, int index) {
+        final PropertyPath propertyPath = propertyPaths[index];
+        return propertyPath == null ? null : propertyPath.read(bean, errorListener);
+    }
+
+    /**
+     * The getters to call in order to get from a bean to the value of a cell.
+     */
+    private static final class PropertyPath {
+        private final Bean2Cell[] baseProperties;
+        private final Bean2Cell   leaf;
+
+        private PropertyPath(Bean2Cell[] baseProperties, Bean2Cell leaf) {
+            this.baseProperties = baseProperties;
+            this.leaf = leaf;
+        }
+
+        /**
+         * @return The property path of supplied cell or null if the cell is not mapped to any property.
+         */
+        static PropertyPath of(BeanPropertyMap beanPropertyMap, String cellName) {
+            List<Bean2Cell> baseProperties = new ArrayList<>();
+            Bean2Cell bean2Cell = beanPropertyMap.getBean2CellByName(cellName);
+            while (bean2Cell != null && bean2Cell.getChildren() != null) {
+                baseProperties.add(bean2Cell);
+                bean2Cell = bean2Cell.getChildren().getBean2CellByName(cellName);
+            }
+            if (bean2Cell == null)
+                return null;
+            return new PropertyPath(baseProperties.toArray(new Bean2Cell[0]), bean2Cell);
+        }
+
+        Object read(Object bean, Consumer<JSaParException> errorListener) {
+            Object object = bean;
+            Bean2Cell bean2Cell = null;
+            try {
+                for (Bean2Cell baseProperty : baseProperties) {
+                    bean2Cell = baseProperty;
+                    object = baseProperty.readValue(object);
+                    if (object == null)
+                        return null;
+                }
+                bean2Cell = leaf;
+                return leaf.readCellValue(object);
+            } catch (IllegalArgumentException e) {
+                return handleCellError(errorListener, bean2Cell, object, "Illegal argument in getter method.");
+            } catch (IllegalAccessException e) {
+                return handleCellError(errorListener, bean2Cell, object, "Attribute getter does not have public access.");
+            } catch (InvocationTargetException e) {
+                return handleCellError(errorListener, bean2Cell, object, "Getter method fails to execute.");
+            }
+        }
+
+        private static Object handleCellError(Consumer<JSaParException> errorListener,
+                                              Bean2Cell bean2Cell,
+                                              Object object,
+                                              String message) {
+            errorListener.accept(BeanMarshaller.makeCellError(bean2Cell.getCellName(), object, message));
+            return null;
+        }
+    }
+}
@@ -2,12 +2,12 @@ package org.jsapar.parse.bean;
 
 import org.jsapar.BeanCollection2TextConverter;
 import org.jsapar.bean.BeanMap;
+import org.jsapar.bean.GeneratedBeanMapper;
 import org.jsapar.error.JSaParException;
 import org.jsapar.model.Cell;
 import org.jsapar.model.CellType;
 import org.jsapar.model.Line;
 import org.jsapar.parse.CellParseException;
-import org.jsapar.parse.bean.reflect.PropertyDescriptor;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.Optional;
@@ -48,23 +48,43 @@ public class BeanMarshaller<T>  {
      * @return A {@link Line} object containing cells according to the getter method of the supplied bean.
      */
     public Optional<Line> marshal(T bean, Consumer<JSaParException> errorListener, long lineNumber) {
-        return beanMap.getBeanPropertyMap(bean.getClass()).map(beanPropertyMap -> {
-            Line line = new Line(beanPropertyMap.getLineType(), beanPropertyMap.size(), lineNumber);
+        return Optional.ofNullable(marshalLine(bean, errorListener, lineNumber));
+    }
+
+    /**
+     * Same as {@link #marshal(Object, Consumer, long)} but returns null instead of an empty optional, which saves
+     * creating one object per bean.
+     *
+     * @param bean          The bean.
+     * @param errorListener The error listener to which error events are propagated.
+     * @param lineNumber    The number of the line being parsed. Numbering starts from 1.
+     * @return A {@link Line} object containing cells according to the getter method of the supplied bean or null if
+     * there is no mapping for the class of the bean.
+     * @since 2.3.4
+     */
+    public Line marshalLine(T bean, Consumer<JSaParException> errorListener, long lineNumber) {
+        final BeanPropertyMap beanPropertyMap = beanMap.getBeanPropertyMap(bean.getClass()).orElse(null);
+        if (beanPropertyMap == null)
+            return null;
+        Line line = new Line(beanPropertyMap.getLineType(), beanPropertyMap.size(), lineNumber);
+        final GeneratedBeanMapper<Object> generatedMapper = beanPropertyMap.getGeneratedMapper();
+        if (generatedMapper == null) {
             this.marshal(line, bean, beanPropertyMap, errorListener);
             return line;
-        });
+        }
+        generatedMapper.addCells(bean, line, (cellName, object, e) ->
+                handleCellError(errorListener, cellName, object, line, "Getter method fails to execute."));
+        return line;
     }
 
 
     private void marshal(Line line, Object object, BeanPropertyMap beanPropertyMap, Consumer<JSaParException> errorListener) {
 
         for (Bean2Cell bean2Cell : beanPropertyMap.getBean2Cells()) {
-            PropertyDescriptor pd = bean2Cell.getPropertyDescriptor();
-
             try {
                 BeanPropertyMap children = bean2Cell.getChildren();
                 if (children != null) {
-                    Object subObject = pd.getReadMethod().invoke(object);
+                    Object subObject = bean2Cell.readValue(object);
                     if (subObject == null)
                         continue;
                     // Recursively add subclasses.
@@ -87,11 +107,15 @@ public class BeanMarshaller<T>  {
                                  Object object,
                                  Line line,
                                  String message) {
-        CellParseException error = new CellParseException(sAttributeName, "", null,
-                "Unable to build cell for attribute " + sAttributeName + " of class " + object.getClass().getName()
-                        + " - " + message);
+        CellParseException error = makeCellError(sAttributeName, object, message);
         line.addCellError(error);
         errorListener.accept(error);
     }
 
+    static CellParseException makeCellError(String sAttributeName, Object object, String message) {
+        return new CellParseException(sAttributeName, "", null,
+                "Unable to build cell for attribute " + sAttributeName + " of class " + object.getClass().getName()
+                        + " - " + message);
+    }
+
  }
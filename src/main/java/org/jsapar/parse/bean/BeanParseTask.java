@@ -50,9 +50,11 @@ public class BeanParseTask<T> extends AbstractParseTask implements ParseTask {
     @Override
     public long execute() {
         AtomicLong count = new AtomicLong(0);
-        stream.forEach(bean ->
-                beanMarshaller.marshal(bean, getErrorConsumer(), count.incrementAndGet()).ifPresent(line ->
-                        getLineConsumer().accept(line)));
+        stream.forEach(bean -> {
+            Line line = beanMarshaller.marshalLine(bean, getErrorConsumer(), count.incrementAndGet());
+            if (line != null)
+                getLineConsumer().accept(line);
+        });
         return count.get();
     }
 
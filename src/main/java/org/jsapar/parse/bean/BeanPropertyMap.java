@@ -1,8 +1,11 @@
 package org.jsapar.parse.bean;
 
+import org.jsapar.bean.GeneratedBeanMapper;
 import org.jsapar.bean.JSaParCell;
 import org.jsapar.bean.JSaParContainsCells;
+import org.jsapar.compose.bean.BeanComposeException;
 import org.jsapar.error.BeanException;
+import org.jsapar.model.Cell;
 import org.jsapar.parse.bean.reflect.BeanInfo;
 import org.jsapar.parse.bean.reflect.PropertyDescriptor;
 import org.jsapar.schema.SchemaCell;
@@ -20,6 +23,11 @@ public class BeanPropertyMap {
     private final Map<String, Bean2Cell> bean2CellByCellName = new HashMap<>();
     private BeanInfo               beanInfo;
     private Class<?>                  lineClass;
+    private GeneratedBeanMapper<Object> generatedMapper;
+    /**
+     * The mapping by reflection of a class that has a generated mapper. Only created if needed.
+     */
+    private volatile BeanPropertyMap reflected;
 
     private BeanPropertyMap(String lineType) {
         this.lineType = lineType;
@@ -31,6 +39,12 @@ public class BeanPropertyMap {
         this.lineClass = lineClass;
     }
 
+    private BeanPropertyMap(String lineType, Class<?> lineClass, GeneratedBeanMapper<Object> generatedMapper) {
+        this.lineType = lineType;
+        this.lineClass = lineClass;
+        this.generatedMapper = generatedMapper;
+    }
+
     public boolean ignoreLine(){
         return lineClass == null;
     }
@@ -40,7 +54,29 @@ public class BeanPropertyMap {
     }
 
     Collection<Bean2Cell> getBean2Cells() {
-        return bean2CellByProperty.values();
+        return reflected().bean2CellByProperty.values();
+    }
+
+    /**
+     * @return The generated mapper to use instead of reflection or null if there is none.
+     */
+    GeneratedBeanMapper<Object> getGeneratedMapper() {
+        return generatedMapper;
+    }
+
+    /**
+     * @return This instance unless there is a generated mapper, in which case the mapping is also created by reflection
+     * the first time it is needed.
+     */
+    private BeanPropertyMap reflected() {
+        if (generatedMapper == null)
+            return this;
+        BeanPropertyMap result = reflected;
+        if (result == null) {
+            result = ofClass(lineClass, lineType, generatedMapper.getCellNamesOfProperty());
+            reflected = result;
+        }
+        return result;
     }
 
     private Bean2Cell getBean2CellByProperty(String propertyName){
@@ -48,11 +84,47 @@ public class BeanPropertyMap {
     }
 
     public Bean2Cell getBean2CellByName(String cellName){
-        return bean2CellByCellName.get(cellName);
+        return reflected().bean2CellByCellName.get(cellName);
+    }
+
+    /**
+     * Assigns the value of supplied cell to the bean property that is mapped to the name of the cell. Does nothing if
+     * there is no such property.
+     *
+     * @param bean The bean to assign to.
+     * @param cell The cell to assign.
+     * @throws BeanComposeException      In case there is an error assigning the cell.
+     * @throws InvocationTargetException If not possible to invoke method.
+     * @throws IllegalAccessException    In case a setter method is not publicly accessible.
+     * @throws InstantiationException    If it was not possible to instantiate a child bean.
+     * @throws NoSuchMethodException     In case there is no default constructor of a child bean.
+     * @since 2.3.4
+     */
+    public void assign(Object bean, Cell<?> cell) throws BeanComposeException, InvocationTargetException,
+            IllegalAccessException, InstantiationException, NoSuchMethodException {
+        if (generatedMapper != null) {
+            try {
+                generatedMapper.assign(bean, cell);
+            } catch (RuntimeException e) {
+                // Same as when the setter is invoked by reflection.
+                throw new InvocationTargetException(e);
+            }
+            return;
+        }
+        Bean2Cell bean2Cell = bean2CellByCellName.get(cell.getName());
+        if (bean2Cell != null)
+            bean2Cell.assign(bean, cell);
     }
 
 
     public Object createBean() throws IllegalAccessException, InstantiationException, NoSuchMethodException, InvocationTargetException {
+        if (generatedMapper != null) {
+            try {
+                return generatedMapper.createBean();
+            } catch (RuntimeException e) {
+                throw new InvocationTargetException(e);
+            }
+        }
         return lineClass.getConstructor().newInstance();
     }
 
@@ -63,7 +135,7 @@ public class BeanPropertyMap {
 
             Map<String, String> cellNamesOfProperty = new HashMap<>(
                     schemaLine.stream().collect(Collectors.toMap(SchemaCell::getName, SchemaCell::getName)));
-            overrideValues.bean2CellByCellName
+            overrideValues.reflected().bean2CellByCellName
                     .forEach((key, value) -> cellNamesOfProperty.put(value.getPropertyDescriptor().getName(), key));
 
             return ofPropertyNames(overrideValues.getLineClass().getName(), schemaLine.getLineType(), cellNamesOfProperty);
@@ -88,13 +160,43 @@ public class BeanPropertyMap {
         return ofClass(Class.forName(className, false, Thread.currentThread().getContextClassLoader()), lineType, cellNamesOfProperty);
     }
 
+    /**
+     * Creates a mapping of a class based on the {@link JSaParCell} and {@link JSaParContainsCells} annotations. If there
+     * is a {@link GeneratedBeanMapper} for the class, it is used instead of reflection.
+     * @param lineClass The annotated class.
+     * @param lineType  The line type.
+     * @return A new mapping.
+     */
     public static BeanPropertyMap ofClass(Class<?> lineClass, String lineType)  {
+            GeneratedBeanMapper<Object> generatedMapper = findGeneratedMapper(lineClass, lineType);
+            if (generatedMapper != null)
+                return new BeanPropertyMap(lineType, lineClass, generatedMapper);
             return ofClass(lineClass,
                     lineType,
                     makeFieldEntryStream(lineClass, "", "")
                     .collect(Collectors.toMap(Map.Entry::getKey,Map.Entry::getValue)));
     }
 
+    /**
+     * @return The generated mapper of supplied class or null if there is none that can be used.
+     */
+    @SuppressWarnings("unchecked")
+    private static GeneratedBeanMapper<Object> findGeneratedMapper(Class<?> lineClass, String lineType) {
+        try {
+            Class<?> mapperClass = Class.forName(GeneratedBeanMapper.mapperClassName(lineClass.getName()), true,
+                    lineClass.getClassLoader());
+            if (!GeneratedBeanMapper.class.isAssignableFrom(mapperClass))
+                return null;
+            GeneratedBeanMapper<Object> mapper = (GeneratedBeanMapper<Object>) mapperClass.getConstructor().newInstance();
+            if (mapper.getBeanClass() == lineClass && lineType.equals(mapper.getLineType()))
+                return mapper;
+            return null;
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            // No generated mapper that can be used, the class is mapped by reflection.
+            return null;
+        }
+    }
+
     private static Stream< Map.Entry<String, String> > makeFieldEntryStream(Class<?> c, String propertyPrefix,
                                                                             String cellNamePrefix) {
         return Arrays.stream(c.getDeclaredFields())
@@ -180,6 +282,8 @@ public class BeanPropertyMap {
     }
 
     public int size() {
+        if (generatedMapper != null)
+            return generatedMapper.getCellNamesOfProperty().size();
         return this.bean2CellByCellName.size();
     }
 
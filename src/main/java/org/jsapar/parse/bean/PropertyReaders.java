@@ -0,0 +1,151 @@
+package org.jsapar.parse.bean;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Creates readers of bean property values. Whenever possible, the getter method is bound to a functional interface
+ * generated by {@link LambdaMetafactory}, which makes the call as fast as a call from compiled code and which lets
+ * primitive values be read without boxing. If that is not possible, for instance if the bean class is not public or is
+ * not visible from this library, the getter is called by reflection instead.
+ * <p>
+ * Regardless of how the getter is called, any exception thrown by the getter is reported as an
+ * {@link InvocationTargetException}, the same way as when calling {@link Method#invoke(Object, Object...)}.
+ */
+final class PropertyReaders {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private PropertyReaders() {
+    }
+
+    /**
+     * Reads a property value as an object.
+     */
+    @FunctionalInterface
+    interface Reader {
+        Object read(Object bean) throws InvocationTargetException, IllegalAccessException;
+    }
+
+    /**
+     * Reads an integer property value without boxing.
+     */
+    @FunctionalInterface
+    interface LongReader {
+        long read(Object bean) throws InvocationTargetException, IllegalAccessException;
+    }
+
+    /**
+     * Reads a floating point property value without boxing.
+     */
+    @FunctionalInterface
+    interface DoubleReader {
+        double read(Object bean) throws InvocationTargetException, IllegalAccessException;
+    }
+
+    /**
+     * @param getter The getter method.
+     * @return A reader of the value returned by supplied getter. Primitive values are boxed.
+     */
+    static Reader of(Method getter) {
+        final Function<Object, Object> function = generate(getter, Function.class, "apply", Object.class);
+        if (function == null)
+            return getter::invoke;
+        return bean -> {
+            try {
+                return function.apply(bean);
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        };
+    }
+
+    /**
+     * @param getter The getter method. Needs to return a primitive long, int, short or byte.
+     * @return A reader of the value returned by supplied getter.
+     */
+    static LongReader ofLong(Method getter) {
+        final ToLongFunction<Object> function = generate(getter, ToLongFunction.class, "applyAsLong", long.class);
+        if (function == null)
+            return bean -> ((Number) getter.invoke(bean)).longValue();
+        return bean -> {
+            try {
+                return function.applyAsLong(bean);
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        };
+    }
+
+    /**
+     * @param getter The getter method. Needs to return a primitive double.
+     * @return A reader of the value returned by supplied getter.
+     */
+    static DoubleReader ofDouble(Method getter) {
+        final ToDoubleFunction<Object> function = generate(getter, ToDoubleFunction.class, "applyAsDouble", double.class);
+        if (function == null)
+            return bean -> ((Number) getter.invoke(bean)).doubleValue();
+        return bean -> {
+            try {
+                return function.applyAsDouble(bean);
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        };
+    }
+
+    /**
+     * Generates an implementation of a functional interface that calls the getter.
+     *
+     * @param getter        The getter method.
+     * @param interfaceType The functional interface to implement.
+     * @param methodName    The name of the method of the functional interface.
+     * @param returnType    The erased return type of the method of the functional interface.
+     * @return An instance of the functional interface or null if it is not possible to generate it for supplied getter.
+     */
+    @SuppressWarnings("unchecked")
+    private static <F> F generate(Method getter, Class<?> interfaceType, String methodName, Class<?> returnType) {
+        final Class<?> beanClass = getter.getDeclaringClass();
+        if (Modifier.isStatic(getter.getModifiers()) || !isAccessible(beanClass))
+            return null;
+        try {
+            final MethodHandle handle = LOOKUP.unreflect(getter);
+            final CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, methodName,
+                    MethodType.methodType(interfaceType),
+                    MethodType.methodType(returnType, Object.class),
+                    handle,
+                    MethodType.methodType(returnType, beanClass));
+            return (F) callSite.getTarget().invoke();
+        } catch (Throwable e) {
+            // Not possible to generate, fall back to reflection.
+            return null;
+        }
+    }
+
+    /**
+     * @param beanClass The class to check.
+     * @return True if a class generated within this library is able to call public methods of supplied class.
+     */
+    private static boolean isAccessible(Class<?> beanClass) {
+        if (!Modifier.isPublic(beanClass.getModifiers()))
+            return false;
+        final Module module = PropertyReaders.class.getModule();
+        final Module beanModule = beanClass.getModule();
+        if (!module.canRead(beanModule) || !beanModule.isExported(beanClass.getPackageName(), module))
+            return false;
+        try {
+            return Class.forName(beanClass.getName(), false, PropertyReaders.class.getClassLoader()) == beanClass;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -7,8 +7,10 @@ import org.jsapar.model.EmptyCell;
 import org.jsapar.parse.CellParseException;
 import org.jsapar.schema.SchemaCell;
 import org.jsapar.schema.SchemaException;
+import org.jsapar.text.CellCacheCounter;
 import org.jsapar.text.Format;
 import org.jsapar.utils.cache.Cache;
+import org.jsapar.utils.cache.CountingCache;
 
 import java.text.ParseException;
 import java.util.Locale;
@@ -24,7 +26,7 @@ public class CellParser<S extends SchemaCell> {
     private final EmptyCell<?> emptyCell;
     private final CellFactory cellFactory;
     private Format<?> format;
-    private final Cache<String, Cell<?>> cellCache ;
+    private final Cache<CharSequence, Cell<?>> cellCache ;
     private static final String EMPTY_STRING = "";
 
 
@@ -34,12 +36,24 @@ public class CellParser<S extends SchemaCell> {
      * @param maxCacheSize The maximum number of cells to keep in cache while parsing. The value 0 will disable cache.
      */
     protected CellParser(S schemaCell, int maxCacheSize) {
+        this(schemaCell, maxCacheSize, false, null);
+    }
+
+    /**
+     * Creates cell parser according to supplied schema and with a maximum cache size.
+     * @param schemaCell The schema to use.
+     * @param maxCacheSize The maximum number of cells to keep in cache while parsing. The value 0 will disable cache.
+     * @param adaptiveCache If true, the cache adapts its size according to the hit ratio, see {@link org.jsapar.utils.cache.AdaptiveCache}.
+     * @param cacheCounter The counter to count cache hits and misses into. If null, nothing is counted.
+     * @since 2.3.4
+     */
+    protected CellParser(S schemaCell, int maxCacheSize, boolean adaptiveCache, CellCacheCounter cacheCounter) {
         this.schemaCell = schemaCell;
 
         CellType cellType = schemaCell.getCellFormat().getCellType();
         cellFactory = CellFactory.getInstance(cellType);
         assert cellFactory != null;
-        cellCache = Cache.ofMaxSize(cellFactory.actualCacheMaxSize(schemaCell, maxCacheSize));
+        cellCache = makeCache(cellFactory.actualCacheMaxSize(schemaCell, maxCacheSize), adaptiveCache, cacheCounter);
         format = schemaCell.getFormat();
         if(format == null)
             format  = cellFactory.makeFormat(schemaCell.getLocale());
@@ -52,6 +66,13 @@ public class CellParser<S extends SchemaCell> {
         this.emptyCell = schemaCell.makeEmptyCell();
     }
 
+    private static Cache<CharSequence, Cell<?>> makeCache(int maxCacheSize, boolean adaptiveCache, CellCacheCounter cacheCounter) {
+        Cache<CharSequence, Cell<?>> cache = adaptiveCache ? Cache.adaptiveOfMaxSize(maxCacheSize) : Cache.ofMaxSize(maxCacheSize);
+        if (cacheCounter == null || maxCacheSize <= 0)
+            return cache;
+        return new CountingCache<>(cache, cacheCounter::recordHit, cacheCounter::recordMiss);
+    }
+
     /**
      * Creates a cell with a parsed value according to the schema specification for this cell. This
      * method does not throw exception if mandatory cell does not exist. Instead, it reports an error
@@ -74,6 +95,40 @@ public class CellParser<S extends SchemaCell> {
         return doParse(sValue, errorEventListener);
     }
 
+    /**
+     * Same as {@link #parse(String, Consumer)} but accepts any character sequence, for instance a view into a read
+     * buffer. The cell cache is consulted with the supplied value as it is so that a String is only created if there is
+     * no cached cell for the value. Requires that the supplied value has the same equals() and hashCode() behavior as
+     * a String with the same characters.
+     *
+     * @param value              The value of the cell
+     * @param errorEventListener Error event listener to deliver errors to.
+     * @return A new cell of a type according to the schema specified. Returns null if there was en error while parsing.
+     */
+    public Cell<?> parse(CharSequence value, Consumer<JSaParException> errorEventListener) {
+        if (value instanceof String)
+            return parse((String) value, errorEventListener);
+        if (value.length() > 0 && !schemaCell.hasEmptyCondition()) {
+            Cell<?> cell = cellCache.get(value);
+            String sValue = null;
+            try {
+                if (cell == null) {
+                    // No need to look in the cache once more.
+                    sValue = value.toString();
+                    cell = cellFactory.makeCell(schemaCell.getName(), sValue, format);
+                    cellCache.put(sValue, cell);
+                }
+                validateRange(cell);
+                return cell;
+            } catch (ParseException e) {
+                errorEventListener.accept(new CellParseException(schemaCell.getName(),
+                        sValue != null ? sValue : value.toString(), schemaCell.getCellFormat(), e));
+                return null;
+            }
+        }
+        return parse(value.toString(), errorEventListener);
+    }
+
     public boolean isDefaultValue() {
         return this.defaultCell != null;
     }
@@ -201,4 +256,18 @@ public class CellParser<S extends SchemaCell> {
         return new CellParser<>(schemaCell, maxCacheSize);
     }
 
+    /**
+     * Creates cell parser according to supplied schema and with a maximum cache size.
+     * @param schemaCell The schema to use.
+     * @param maxCacheSize The maximum number of cells to keep in cache while parsing. The value 0 will disable cache.
+     * @param adaptiveCache If true, the cache adapts its size according to the hit ratio, see {@link org.jsapar.utils.cache.AdaptiveCache}.
+     * @param cacheCounter The counter to count cache hits and misses into. If null, nothing is counted.
+     * @return A {@link CellParser} instance to use for parsing supplied schemaCell.
+     * @param <S> The type of the schema cell.
+     * @since 2.3.4
+     */
+    public static <S extends SchemaCell> CellParser<S> ofSchemaCell(S schemaCell, int maxCacheSize, boolean adaptiveCache, CellCacheCounter cacheCounter) {
+        return new CellParser<>(schemaCell, maxCacheSize, adaptiveCache, cacheCounter);
+    }
+
 }
@@ -3,6 +3,7 @@ package org.jsapar.parse.cell;
 import org.jsapar.model.Cell;
 import org.jsapar.model.FloatCell;
 import org.jsapar.text.Format;
+import org.jsapar.text.PrimitiveNumberFormat;
 
 import java.text.ParseException;
 import java.util.Locale;
@@ -14,8 +15,10 @@ public class FloatCellFactory extends NumberCellFactory {
 
     @Override
     public Cell makeCell(String name, String value, Format format) throws ParseException {
+        if (format instanceof PrimitiveNumberFormat)
+            return FloatCell.of(name, ((PrimitiveNumberFormat) format).parseDouble(value));
         final Number number = super.parseNumber(format, value);
-        return new FloatCell(name, number instanceof Double ? (Double) number : number.doubleValue());
+        return FloatCell.of(name, number.doubleValue());
     }
 
     @Override
@@ -52,8 +52,8 @@ public class InstantCellFactory extends AbstractDateTimeCellFactory {
             return Format.ofInstantInstance(DateTimeFormatter.ISO_INSTANT, ZoneId.systemDefault());
         String[] parts = pattern.split("\\h*[@|]\\h*");
         if(parts.length == 2)
-            return Format.ofInstantInstance(DateTimeFormatter.ofPattern(parts[0], locale), ZoneId.of(parts[1]));
+            return new DateTimeFormat(parts[0], locale, CellType.INSTANT, ZoneId.of(parts[1]));
         else
-            return Format.ofInstantInstance(DateTimeFormatter.ofPattern(pattern, locale), ZoneId.systemDefault());
+            return new DateTimeFormat(pattern, locale, CellType.INSTANT, ZoneId.systemDefault());
     }
 }
@@ -3,6 +3,7 @@ package org.jsapar.parse.cell;
 import org.jsapar.model.Cell;
 import org.jsapar.model.IntegerCell;
 import org.jsapar.text.Format;
+import org.jsapar.text.PrimitiveNumberFormat;
 
 import java.text.ParseException;
 import java.util.Locale;
@@ -13,8 +14,10 @@ import java.util.Locale;
 public class IntegerCellFactory extends NumberCellFactory {
     @Override
     public Cell makeCell(String name, String value, Format format) throws ParseException {
+        if (format instanceof PrimitiveNumberFormat)
+            return IntegerCell.of(name, ((PrimitiveNumberFormat) format).parseLong(value));
         Number number = super.parseNumber(format, value);
-        return new IntegerCell(name, number.longValue());
+        return IntegerCell.of(name, number.longValue());
     }
 
     @Override
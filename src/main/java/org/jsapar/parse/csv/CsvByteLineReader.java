@@ -0,0 +1,716 @@
+package org.jsapar.parse.csv;
+
+import org.jsapar.parse.LineParseException;
+import org.jsapar.schema.QuoteSyntax;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Csv line reader that reads raw bytes from an {@link InputStream} and finds cell separators, quotes and line
+ * separators directly among the bytes. Cells are delivered as re-usable {@link CharSequence} views over the read
+ * buffer and the bytes of a cell are only decoded into characters when the value of the cell is actually asked for.
+ * This means that cells that are ignored and lines that are never parsed are never decoded at all.
+ * <p>
+ * This is only possible for ASCII compatible encodings where no byte of a multi-byte character can be mistaken for an
+ * ASCII character, see {@link #isSupported(Charset, String, String, char)}. The cells are split in the same way as by
+ * {@link CsvLineReaderStates}, but the maximum line length is counted in bytes instead of characters.
+ */
+final class CsvByteLineReader implements CsvLineReader {
+    private static final String EMPTY_CELL = "";
+
+    private static final int BEGIN_CELL = 0;
+    private static final int UNQUOTED_CELL = 1;
+    private static final int QUOTED_CELL = 2;
+    private static final int FOUND_END_QUOTE = 3;
+    private static final int FOUND_END_QUOTE_WITHIN = 4;
+
+    private final InputStream inputStream;
+    private final Charset charset;
+    private final boolean latin1;
+    private final int maxLineLength;
+    private final int maxLoadSize;
+    private final boolean rfc4180;
+    private final byte[] lineSeparator;
+    private final boolean crlf;
+    private final byte lastEolByte;
+
+    private final byte[] buffer;
+    private int bufferSize = 0;
+    private int lineMark = 0;
+    private int cellMark = 0;
+    private int cursor = 0;
+
+    private int state = BEGIN_CELL;
+    private int currentCellOffset = 0;
+    private int offsetFromEndQuote = 0;
+    private int ignoresCount = 0;
+    private int[] ignoresAt = new int[16];
+
+    private final List<CharSequence> currentLine = new ArrayList<>();
+    private final List<String> currentStringLine = new ArrayList<>();
+    private final List<ByteCellView> views = new ArrayList<>();
+    private int viewsUsed = 0;
+
+    private boolean eof;
+    private boolean reset;
+    /**
+     * True if the last line was skipped, in which case no cells were recorded for it.
+     */
+    private boolean skipped;
+    private boolean skippedLineEmpty;
+
+    private String cellSeparator = ";";
+    private byte[] separator = {';'};
+    private byte lastSeparatorByte = ';';
+    private char quoteChar = '"';
+    private int quote = '"';
+    private long lineNumber = 0;
+
+    /**
+     * @param lineSeparator  The line separator to use
+     * @param inputStream    The input stream to read bytes from.
+     * @param charset        The character encoding of the input. Needs to be supported, see
+     *                       {@link #isSupported(Charset, String, String, char)}.
+     * @param allowReadAhead If true, reading from the input stream can be optimized by reading larger chunks of data
+     *                       into a buffer.
+     * @param maxLineLength  The maximum number of bytes in a line. Make sure that all lines fits within this size.
+     * @param quoteSyntax    Determines the syntax of how quoted cells are parsed.
+     */
+    CsvByteLineReader(String lineSeparator,
+                      InputStream inputStream,
+                      Charset charset,
+                      boolean allowReadAhead,
+                      int maxLineLength,
+                      QuoteSyntax quoteSyntax) {
+        this.inputStream = inputStream;
+        this.charset = charset;
+        this.latin1 = StandardCharsets.ISO_8859_1.equals(charset);
+        this.maxLineLength = maxLineLength;
+        this.buffer = new byte[maxLineLength];
+        this.maxLoadSize = allowReadAhead ? maxLineLength : 1;
+        this.rfc4180 = quoteSyntax == QuoteSyntax.RFC4180;
+        this.crlf = Arrays.asList("\n", "\r\n").contains(lineSeparator);
+        this.lineSeparator = lineSeparator.getBytes(StandardCharsets.US_ASCII);
+        this.lastEolByte = crlf ? (byte) '\n' : this.lineSeparator[this.lineSeparator.length - 1];
+    }
+
+    /**
+     * @param charset       The character encoding of the input.
+     * @param lineSeparator The line separator.
+     * @param cellSeparator A cell separator that is used.
+     * @param quoteChar     A quote character that is used. 0 if quotes are not used.
+     * @return True if lines can be split into cells on byte level for the supplied encoding and separators. That is,
+     * the encoding is UTF-8, ISO-8859-1 or US-ASCII and the separators and quote character are non-empty ASCII.
+     */
+    static boolean isSupported(Charset charset, String lineSeparator, String cellSeparator, char quoteChar) {
+        return (StandardCharsets.UTF_8.equals(charset) || StandardCharsets.ISO_8859_1.equals(charset)
+                || StandardCharsets.US_ASCII.equals(charset))
+                && isAscii(lineSeparator) && isAscii(cellSeparator) && quoteChar < 0x80;
+    }
+
+    private static boolean isAscii(String s) {
+        return !s.isEmpty() && s.chars().allMatch(c -> c < 0x80);
+    }
+
+    @Override
+    public void reset() {
+        this.eof = false;
+        this.reset = true;
+    }
+
+    /**
+     * Skips the line by scanning for the next line separator that is not within a quoted cell. Quoted cells are
+     * recognized by the same rules as when reading the line, but no cell values are recorded. A skipped line is
+     * regarded as empty if it only contains white space and quote characters.
+     */
+    @Override
+    public void skipLine() throws IOException {
+        if (reset) {
+            reset = false;
+            return;
+        }
+        lineMark = cursor;
+        cellMark = cursor;
+        lineNumber++;
+        currentLine.clear();
+        viewsUsed = 0;
+        skipped = true;
+        int skipState = BEGIN_CELL;
+        while (true) {
+            if (cursor >= bufferSize) {
+                final int count = load();
+                if (count < 1) {
+                    if (skipState == QUOTED_CELL) {
+                        // No end quote was found. Regard the cell as unquoted, the same way as when reading.
+                        cursor = cellMark;
+                        skipState = UNQUOTED_CELL;
+                        continue;
+                    } else if (count == 0) {
+                        throw new LineParseException(lineNumber,
+                                "Maximum line size exceeded. More than " + maxLineLength + " bytes were read without finding a line separator or maybe there is a miss-placed start quote without matching end quote.");
+                    }
+                    this.eof = true;
+                    skippedLineComplete(0);
+                    return;
+                }
+            }
+            if (skipState == UNQUOTED_CELL)
+                skipUntil(lastSeparatorByte, lastEolByte);
+            else if (skipState == QUOTED_CELL)
+                skipUntil(quote, quote);
+            if (cursor >= bufferSize)
+                continue;
+            // Same transitions as in processByte()
+            final byte b = buffer[cursor++];
+            switch (skipState) {
+                case BEGIN_CELL:
+                    if (b == quote)
+                        skipState = QUOTED_CELL;
+                    else if (b == lastSeparatorByte && separator.length == 1)
+                        cellMark = cursor;
+                    else if (endOfSkippedLine(b))
+                        return;
+                    else
+                        skipState = UNQUOTED_CELL;
+                    break;
+
+                case UNQUOTED_CELL:
+                    if (b == lastSeparatorByte && tailOfCellMatches(separator)) {
+                        cellMark = cursor;
+                        skipState = BEGIN_CELL;
+                    } else if (endOfSkippedLine(b))
+                        return;
+                    break;
+
+                case QUOTED_CELL:
+                    if (b == quote)
+                        skipState = FOUND_END_QUOTE;
+                    break;
+
+                case FOUND_END_QUOTE:
+                    if (b == lastSeparatorByte && separator.length == 1) {
+                        cellMark = cursor;
+                        skipState = BEGIN_CELL;
+                    } else if (endOfSkippedLine(b))
+                        return;
+                    else if (b != quote)
+                        skipState = FOUND_END_QUOTE_WITHIN;
+                    else if (rfc4180)
+                        skipState = QUOTED_CELL;
+                    break;
+
+                default:
+                    if (b == quote)
+                        skipState = FOUND_END_QUOTE;
+                    else if (b == lastSeparatorByte && tailOfCellMatches(separator)) {
+                        cellMark = cursor;
+                        skipState = BEGIN_CELL;
+                    } else if (endOfSkippedLine(b))
+                        return;
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Completes the skipped line if the supplied byte ends the line.
+     * @param b The byte at the position before the cursor.
+     * @return True if the line is complete.
+     */
+    private boolean endOfSkippedLine(final byte b) {
+        if (b != lastEolByte)
+            return false;
+        final int eolSize = eolMatchSize();
+        if (eolSize <= 0)
+            return false;
+        skippedLineComplete(eolSize);
+        return true;
+    }
+
+    /**
+     * @param eolSize The number of bytes of the line separator that ended the line.
+     */
+    private void skippedLineComplete(int eolSize) {
+        // The cell mark is only moved by cell separators.
+        skippedLineEmpty = cellMark == lineMark && isBlankOrQuote(lineMark, cursor - eolSize);
+        beginCell();
+    }
+
+    private boolean isBlankOrQuote(int begin, int end) {
+        for (int i = begin; i < end; i++) {
+            // Bytes of multi-byte characters are negative
+            if ((buffer[i] < 0 || buffer[i] > ' ') && buffer[i] != quote)
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public Reader remainingReader() {
+        final int from = reset ? lineMark : cursor;
+        InputStream remaining = new SequenceInputStream(
+                new ByteArrayInputStream(Arrays.copyOfRange(buffer, from, Math.max(from, bufferSize))), inputStream);
+        return new InputStreamReader(remaining, charset);
+    }
+
+    @Override
+    public boolean eofReached() {
+        return eof;
+    }
+
+    @Override
+    public long currentLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void setLineNumber(long lineNumber) {
+        this.lineNumber = lineNumber;
+    }
+
+    @Override
+    public boolean lastLineWasEmpty() {
+        return skipped ? skippedLineEmpty : currentLine.isEmpty();
+    }
+
+    @Override
+    public List<String> readLine(String cellSeparator, char quoteChar) throws IOException {
+        final List<? extends CharSequence> cells = readLineCells(cellSeparator, quoteChar);
+        currentStringLine.clear();
+        for (CharSequence cell : cells) {
+            currentStringLine.add(cell.toString());
+        }
+        return currentStringLine;
+    }
+
+    @Override
+    public List<? extends CharSequence> readLineCells(String cellSeparator, char quoteChar) throws IOException {
+        if (reset)
+            return lastLine(cellSeparator, quoteChar);
+        setLineCharacteristics(cellSeparator, quoteChar);
+        lineMark = cursor;
+        lineNumber++;
+        skipped = false;
+        return processLine();
+    }
+
+    private void setLineCharacteristics(String cellSeparator, char quoteChar) {
+        if (!cellSeparator.equals(this.cellSeparator)) {
+            this.cellSeparator = cellSeparator;
+            this.separator = cellSeparator.getBytes(StandardCharsets.US_ASCII);
+            this.lastSeparatorByte = separator[separator.length - 1];
+        }
+        this.quoteChar = quoteChar;
+        // A quote character that is not ASCII never matches any byte.
+        this.quote = quoteChar < 0x80 ? quoteChar : -1;
+    }
+
+    /**
+     * Parses last line again but use different separator and quote character.
+     */
+    private List<CharSequence> lastLine(String cellSeparator, char quoteChar) throws IOException {
+        reset = false;
+        if (!skipped && quoteChar == this.quoteChar && cellSeparator.equals(this.cellSeparator))
+            return currentLine;
+        skipped = false;
+        cursor = lineMark;
+        cellMark = lineMark;
+        setLineCharacteristics(cellSeparator, quoteChar);
+        return processLine();
+    }
+
+    private List<CharSequence> processLine() throws IOException {
+        currentLine.clear();
+        viewsUsed = 0;
+
+        while (true) {
+            if (cursor >= bufferSize) {
+                final int count = load();
+                if (count < 1) {
+                    if (state == QUOTED_CELL) {
+                        cursor = cellMark;
+                        resetCell();
+                        state = UNQUOTED_CELL;
+                        continue;
+                    } else if (count == 0) {
+                        throw new LineParseException(lineNumber,
+                                "Maximum line size exceeded. More than " + maxLineLength + " bytes were read without finding a line separator or maybe there is a miss-placed start quote without matching end quote.");
+                    }
+                    this.eof = true;
+                    addToLineExcept(offsetFromEndQuote);
+                    return lineComplete();
+                }
+            }
+            if (state == UNQUOTED_CELL)
+                skipUntil(lastSeparatorByte, lastEolByte);
+            else if (state == QUOTED_CELL)
+                skipUntil(quote, quote);
+            if (cursor < bufferSize && processByte(buffer[cursor++]))
+                return lineComplete();
+        }
+    }
+
+    /**
+     * Moves the cursor forward to the first occurrence of any of the supplied bytes or to the end of the loaded bytes
+     * if none of them were found.
+     */
+    private void skipUntil(final int b1, final int b2) {
+        final byte[] bytes = buffer;
+        final int end = bufferSize;
+        int i = cursor;
+        while (i < end) {
+            final int b = bytes[i];
+            if (b == b1 || b == b2)
+                break;
+            i++;
+        }
+        cursor = i;
+    }
+
+    /**
+     * Same state transitions as the states of {@link CsvLineReaderStates}.
+     * @param b The byte at the position before the cursor.
+     * @return True if the line is complete.
+     */
+    private boolean processByte(final byte b) {
+        switch (state) {
+            case BEGIN_CELL:
+                if (b == quote) {
+                    state = QUOTED_CELL;
+                    currentCellOffset++;
+                    return false;
+                }
+                if (b == lastSeparatorByte && separator.length == 1) {
+                    currentLine.add(EMPTY_CELL);
+                    cellMark = cursor;
+                    currentCellOffset = 0;
+                    return false;
+                }
+                if (b == lastEolByte && endOfLineAddPending(0))
+                    return true; // An empty line without cells.
+                state = UNQUOTED_CELL;
+                return false;
+
+            case UNQUOTED_CELL:
+                if (b == lastSeparatorByte && tailOfCellMatches(separator)) {
+                    addToLineExcept(separator.length);
+                    beginCell();
+                    return false;
+                }
+                return b == lastEolByte && endOfLineAddPending(0);
+
+            case QUOTED_CELL:
+                if (b == quote) {
+                    offsetFromEndQuote = 1;
+                    state = FOUND_END_QUOTE;
+                }
+                return false;
+
+            case FOUND_END_QUOTE:
+                if (b == lastSeparatorByte && separator.length == 1) {
+                    addToLineExcept(2);
+                    beginCell();
+                    return false;
+                }
+                if (b == lastEolByte && endOfLineAddPending(1))
+                    return true;
+                if (b == quote) {
+                    if (rfc4180) {
+                        ignoreCurrent();
+                        state = QUOTED_CELL;
+                    } else {
+                        offsetFromEndQuote = 1;
+                    }
+                    return false;
+                }
+                offsetFromEndQuote++;
+                state = FOUND_END_QUOTE_WITHIN;
+                return false;
+
+            case FOUND_END_QUOTE_WITHIN:
+                if (b == quote) {
+                    state = FOUND_END_QUOTE;
+                    offsetFromEndQuote = 1;
+                    return false;
+                }
+                if (b == lastSeparatorByte && tailOfCellMatches(separator)) {
+                    if (separator.length == offsetFromEndQuote)
+                        addToLineExcept(separator.length + 1);
+                    else
+                        addToLine(cellMark, cursor - cellMark - separator.length);
+                    beginCell();
+                    return false;
+                }
+                if (b == lastEolByte) {
+                    final int eolSize = eolMatchSize();
+                    if (eolSize == offsetFromEndQuote) {
+                        addToLineExcept(eolSize + offsetFromEndQuote - 1);
+                        return true;
+                    } else if (eolSize > 0) {
+                        addToLine(cellMark, cursor - cellMark - eolSize);
+                        return true;
+                    }
+                }
+                offsetFromEndQuote++;
+                return false;
+
+            default:
+                throw new IllegalStateException("Unknown state " + state);
+        }
+    }
+
+    private List<CharSequence> lineComplete() {
+        beginCell();
+        if (currentLine.size() == 1 && isBlank(currentLine.get(0)))
+            currentLine.clear();
+        return currentLine;
+    }
+
+    private boolean isBlank(CharSequence cell) {
+        if (cell instanceof ByteCellView) {
+            final ByteCellView view = (ByteCellView) cell;
+            final int begin = lineMark + view.offset;
+            for (int i = begin; i < begin + view.byteLength; i++) {
+                // Bytes of multi-byte characters are negative
+                if (buffer[i] < 0 || buffer[i] > ' ')
+                    return false;
+            }
+            return true;
+        }
+        return cell.toString().isBlank();
+    }
+
+    private void beginCell() {
+        state = BEGIN_CELL;
+        cellMark = cursor;
+        resetCell();
+    }
+
+    private void resetCell() {
+        currentCellOffset = 0;
+        offsetFromEndQuote = 0;
+        ignoresCount = 0;
+    }
+
+    private void ignoreCurrent() {
+        if (ignoresCount == ignoresAt.length)
+            ignoresAt = Arrays.copyOf(ignoresAt, ignoresCount * 2);
+        // Relative to the line mark since the buffer may be shifted while loading.
+        ignoresAt[ignoresCount++] = cursor - 1 - lineMark;
+    }
+
+    /**
+     * Checks tail of current cell matches supplied bytes. Assumes that the current byte is already checked.
+     */
+    private boolean tailOfCellMatches(byte[] toMatch) {
+        final int cellOffset = cursor - toMatch.length;
+        if (cellOffset < cellMark)
+            return false;
+        for (int i = toMatch.length - 2; i >= 0; i--) {
+            if (toMatch[i] != buffer[cellOffset + i])
+                return false;
+        }
+        return true;
+    }
+
+    private int eolMatchSize() {
+        if (crlf)
+            return cursor - 2 >= lineMark && buffer[cursor - 2] == '\r' ? 2 : 1;
+        return tailOfCellMatches(lineSeparator) ? lineSeparator.length : 0;
+    }
+
+    private boolean endOfLineAddPending(int skip) {
+        final int size = eolMatchSize();
+        if (size <= 0)
+            return false;
+        addToLineExcept(size + skip);
+        return true;
+    }
+
+    private void addToLineExcept(int except) {
+        final int cellStart = cellMark + currentCellOffset;
+        addToLine(cellStart, cursor - except - cellStart);
+    }
+
+    /**
+     * Adds a completed cell to the line.
+     * @param offset Begin index within the buffer
+     * @param count  Number of bytes to add
+     */
+    private void addToLine(int offset, int count) {
+        if (count == 0) {
+            currentLine.add(EMPTY_CELL);
+        } else if (ignoresCount == 0) {
+            currentLine.add(nextView(offset, count));
+        } else {
+            // Remove the escaping quotes. The removed bytes are always ASCII quotes.
+            final byte[] bytes = new byte[count];
+            int length = 0;
+            for (int i = 0; i < ignoresCount; i++) {
+                final int toAdd = lineMark + ignoresAt[i] - offset;
+                System.arraycopy(buffer, offset, bytes, length, toAdd);
+                length += toAdd;
+                offset = lineMark + ignoresAt[i] + 1;
+                count -= (1 + toAdd);
+            }
+            System.arraycopy(buffer, offset, bytes, length, count);
+            currentLine.add(new String(bytes, 0, length + count, charset));
+        }
+    }
+
+    private ByteCellView nextView(int offset, int count) {
+        final ByteCellView view;
+        if (viewsUsed < views.size()) {
+            view = views.get(viewsUsed);
+        } else {
+            view = new ByteCellView();
+            views.add(view);
+        }
+        viewsUsed++;
+        return view.set(offset - lineMark, count);
+    }
+
+    /**
+     * Loads new bytes to the buffer.
+     * @return The number of new bytes added to the buffer. 0 if there was no room in the buffer to load. -1 if end of
+     * input was reached.
+     * @throws IOException In case of underlying io error.
+     */
+    @SuppressWarnings("Duplicates")
+    private int load() throws IOException {
+        final int remaining = bufferSize - lineMark;
+        int toLoad = buffer.length - remaining;
+        if (toLoad < maxLoadSize) {
+            if (toLoad == 0) {
+                // Max line size reached. No more space to load.
+                return 0;
+            }
+            // Shift remaining to the left
+            System.arraycopy(buffer, lineMark, buffer, 0, remaining);
+            cursor -= lineMark;
+            cellMark -= lineMark;
+            bufferSize -= lineMark;
+            lineMark = 0;
+        } else {
+            if (lineMark == bufferSize) {
+                cursor = 0;
+                cellMark = 0;
+                bufferSize = 0;
+                lineMark = 0;
+            }
+            toLoad = maxLoadSize;
+        }
+        final int count = inputStream.read(buffer, bufferSize, toLoad);
+        if (count > 0) {
+            bufferSize += count;
+        }
+        return count;
+    }
+
+    /**
+     * A window into the read buffer that represents the bytes of one cell. The offset is relative to the line mark
+     * since the buffer may be shifted while loading more bytes for the same line. The bytes are only decoded if the
+     * characters are asked for, and not even then if the cell only contains ASCII characters or if the encoding is
+     * ISO-8859-1, since then each byte is exactly one character. Note that equals() and hashCode() behaves as for a
+     * String with the same characters so that a view can be used for looking up values keyed by String, but not the
+     * other way around.
+     */
+    private final class ByteCellView implements CharSequence {
+        private int offset;
+        private int byteLength;
+        private String value;
+        /**
+         * 1 if each byte is one character, 0 if not, -1 if not yet known.
+         */
+        private int direct;
+
+        ByteCellView set(int offset, int byteLength) {
+            this.offset = offset;
+            this.byteLength = byteLength;
+            this.value = null;
+            this.direct = latin1 ? 1 : -1;
+            return this;
+        }
+
+        private boolean isDirect() {
+            if (direct < 0) {
+                direct = 1;
+                final int begin = lineMark + offset;
+                for (int i = begin; i < begin + byteLength; i++) {
+                    if (buffer[i] < 0) {
+                        direct = 0;
+                        break;
+                    }
+                }
+            }
+            return direct == 1;
+        }
+
+        @Override
+        public int length() {
+            return isDirect() ? byteLength : toString().length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (!isDirect())
+                return toString().charAt(index);
+            if (index < 0 || index >= byteLength)
+                throw new StringIndexOutOfBoundsException(index);
+            return (char) (buffer[lineMark + offset + index] & 0xff);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().substring(start, end);
+        }
+
+        @Override
+        public String toString() {
+            if (value == null)
+                value = new String(buffer, lineMark + offset, byteLength, charset);
+            return value;
+        }
+
+        @Override
+        public int hashCode() {
+            if (!isDirect())
+                return toString().hashCode();
+            final int begin = lineMark + offset;
+            int h = 0;
+            for (int i = begin; i < begin + byteLength; i++) {
+                h = 31 * h + (buffer[i] & 0xff);
+            }
+            return h;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof CharSequence))
+                return false;
+            final CharSequence other = (CharSequence) o;
+            if (!isDirect())
+                return toString().contentEquals(other);
+            if (other.length() != byteLength)
+                return false;
+            final int begin = lineMark + offset;
+            for (int i = 0; i < byteLength; i++) {
+                if ((char) (buffer[begin + i] & 0xff) != other.charAt(i))
+                    return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package org.jsapar.parse.csv;
+
+import org.jsapar.parse.text.FileSegment;
+import org.jsapar.schema.CsvSchema;
+import org.jsapar.schema.CsvSchemaLine;
+import org.jsapar.schema.QuoteSyntax;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Internal class that splits a csv file into segments that can be parsed independently. Since a quoted cell may
+ * contain line separators, the file is scanned from the beginning with a state machine that mimics the quote handling of
+ * {@link CsvLineReaderStates}, but on raw bytes. If the file is not quoted at all, only line separators need to be
+ * counted which is done in parallel.
+ */
+final class CsvFileSplitter {
+    private static final int BEGIN_CELL = 0;
+    private static final int UNQUOTED = 1;
+    private static final int QUOTED = 2;
+    private static final int END_QUOTE = 3;
+    private static final int END_QUOTE_WITHIN = 4;
+
+    private final byte cellSeparator;
+    private final byte quoteChar;
+    private final byte eol;
+    private final boolean rfc4180;
+    private final int maxLineLength;
+
+    private CsvFileSplitter(byte cellSeparator, byte quoteChar, byte eol, boolean rfc4180, int maxLineLength) {
+        this.cellSeparator = cellSeparator;
+        this.quoteChar = quoteChar;
+        this.eol = eol;
+        this.rfc4180 = rfc4180;
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * Splits a csv file into segments. Only schemas with one single line type that occurs infinitely and that has single
+     * ASCII character cell separator, quote character and line separator are supported.
+     *
+     * @param schema        The schema to use.
+     * @param channel       The channel of the file to split.
+     * @param segmentCount  The number of segments to aim for.
+     * @param maxLineLength The maximum line length used while parsing.
+     * @return A list of segments or an empty optional if the file cannot be split using this schema.
+     * @throws IOException In case of error while reading the file.
+     */
+    static Optional<List<FileSegment>> split(CsvSchema schema, FileChannel channel, int segmentCount, int maxLineLength) throws IOException {
+        if (schema.size() != 1)
+            return Optional.empty();
+        CsvSchemaLine schemaLine = schema.getSchemaLines().iterator().next();
+        if (!schemaLine.isOccursInfinitely() || schemaLine.isFirstLineAsSchema())
+            return Optional.empty();
+        String cellSeparator = schemaLine.getCellSeparator();
+        char quoteChar = schemaLine.getQuoteChar();
+        Optional<Byte> eol = lastEolByte(schema.getLineSeparator());
+        if (cellSeparator.length() != 1 || !isAscii(cellSeparator.charAt(0)) || !isAscii(quoteChar) || eol.isEmpty())
+            return Optional.empty();
+        if (quoteChar == 0)
+            return Optional.of(FileSegment.splitOnLineSeparator(channel, segmentCount, eol.get()));
+
+        CsvFileSplitter splitter = new CsvFileSplitter((byte) cellSeparator.charAt(0), (byte) quoteChar, eol.get(),
+                schema.getQuoteSyntax() == QuoteSyntax.RFC4180, maxLineLength);
+        return splitter.scan(channel, segmentCount);
+    }
+
+    /**
+     * @param lineSeparator The line separator
+     * @return The byte that ends a line if the line separator can be detected by a single byte.
+     */
+    static Optional<Byte> lastEolByte(String lineSeparator) {
+        if (Arrays.asList("\n", "\r\n").contains(lineSeparator))
+            return Optional.of((byte) '\n');
+        if (lineSeparator.length() == 1 && isAscii(lineSeparator.charAt(0)))
+            return Optional.of((byte) lineSeparator.charAt(0));
+        return Optional.empty();
+    }
+
+    private static boolean isAscii(char c) {
+        return c < 128;
+    }
+
+    private Optional<List<FileSegment>> scan(FileChannel channel, int segmentCount) throws IOException {
+        final long fileSize = channel.size();
+        final long nominalSize = Math.max(1, fileSize / Math.max(1, segmentCount));
+        final List<FileSegment> segments = new ArrayList<>();
+        long segmentBegin = 0;
+        long segmentLineOffset = 0;
+        long lineCount = 0;
+        long lineBegin = 0;
+        int state = BEGIN_CELL;
+        for (long position = 0; position < fileSize; ) {
+            final MappedByteBuffer window = FileSegment.map(channel, position, fileSize);
+            final int limit = window.limit();
+            for (int i = 0; i < limit; i++) {
+                final byte b = window.get(i);
+                boolean endOfLine = false;
+                switch (state) {
+                case BEGIN_CELL:
+                    if (b == quoteChar)
+                        state = QUOTED;
+                    else if (b == eol)
+                        endOfLine = true;
+                    else if (b != cellSeparator)
+                        state = UNQUOTED;
+                    break;
+                case UNQUOTED:
+                    if (b == cellSeparator)
+                        state = BEGIN_CELL;
+                    else if (b == eol)
+                        endOfLine = true;
+                    break;
+                case QUOTED:
+                    if (b == quoteChar)
+                        state = END_QUOTE;
+                    else if (position + i - lineBegin >= maxLineLength)
+                        return Optional.empty(); // The parser would then give up quoting. Let it handle this file.
+                    break;
+                case END_QUOTE:
+                    if (b == cellSeparator)
+                        state = BEGIN_CELL;
+                    else if (b == eol)
+                        endOfLine = true;
+                    else if (b == quoteChar)
+                        state = rfc4180 ? QUOTED : END_QUOTE;
+                    else
+                        state = END_QUOTE_WITHIN;
+                    break;
+                default: // END_QUOTE_WITHIN
+                    if (b == quoteChar)
+                        state = END_QUOTE;
+                    else if (b == cellSeparator)
+                        state = BEGIN_CELL;
+                    else if (b == eol)
+                        endOfLine = true;
+                    break;
+                }
+                if (endOfLine) {
+                    state = BEGIN_CELL;
+                    lineCount++;
+                    lineBegin = position + i + 1;
+                    if (lineBegin - segmentBegin >= nominalSize && lineBegin < fileSize) {
+                        segments.add(new FileSegment(segmentBegin, lineBegin, segmentLineOffset));
+                        segmentBegin = lineBegin;
+                        segmentLineOffset = lineCount;
+                    }
+                }
+            }
+            position += limit;
+        }
+        segments.add(new FileSegment(segmentBegin, fileSize, segmentLineOffset));
+        return Optional.of(segments);
+    }
+}
@@ -10,12 +10,18 @@ import org.jsapar.parse.line.LineDecoratorErrorConsumer;
 import org.jsapar.parse.line.ValidationHandler;
 import org.jsapar.schema.CsvSchemaCell;
 import org.jsapar.schema.CsvSchemaLine;
+import org.jsapar.text.CellCacheCounter;
+import org.jsapar.text.CellCacheStatistics;
 import org.jsapar.text.TextParseConfig;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -26,6 +32,24 @@ class CsvLineParser {
     private static final String                          EMPTY_STRING                    = "";
     private              CsvSchemaLine                   lineSchema;
     private              List<CellParser<CsvSchemaCell>> cellParsers;
+    /**
+     * For each cell parser, true if the cell is part of the projection of the configuration and should be read.
+     */
+    private              boolean[]                       projected;
+    /**
+     * The filters on raw cell text of the configuration and the position of the cell that each of them tests. The
+     * position is -1 if the cell is not part of the line schema.
+     */
+    private              List<Predicate<CharSequence>>   filters;
+    private              int[]                           filterPositions;
+    /**
+     * The functions to parse cells with when cells are parsed lazily, otherwise null.
+     */
+    private              List<BiFunction<String, Consumer<JSaParException>, Cell<?>>> lazyCellParsers;
+    /**
+     * The line that is handed out for each line if lines are reused.
+     */
+    private              Line                            reusedLine;
     private final TextParseConfig                 config;
     private              long                            usedCount                       = 0L;
     private final ValidationHandler          validationHandler          = new ValidationHandler();
@@ -52,11 +76,38 @@ class CsvLineParser {
     }
 
     private List<CellParser<CsvSchemaCell>> makeCellParsers(CsvSchemaLine lineSchema) {
-        return lineSchema.stream().map(this::makeCellParser).collect(Collectors.toList());
+        List<CellParser<CsvSchemaCell>> parsers = lineSchema.stream().map(this::makeCellParser).collect(Collectors.toList());
+        projected = new boolean[parsers.size()];
+        for (int i = 0; i < projected.length; i++) {
+            projected[i] = config.isProjected(lineSchema.getLineType(), parsers.get(i).getSchemaCell().getName());
+        }
+        Map<String, Predicate<CharSequence>> lineFilters = config.getFilters(lineSchema.getLineType());
+        filters = new ArrayList<>(lineFilters.values());
+        filterPositions = lineFilters.keySet().stream()
+                .mapToInt(cellName -> indexOfCell(parsers, cellName))
+                .toArray();
+        lazyCellParsers = !config.isLazyCellParsing() ? null : parsers.stream()
+                .<BiFunction<String, Consumer<JSaParException>, Cell<?>>>map(parser -> parser::parse)
+                .collect(Collectors.toList());
+        return parsers;
+    }
+
+    private static int indexOfCell(List<CellParser<CsvSchemaCell>> parsers, String cellName) {
+        for (int i = 0; i < parsers.size(); i++) {
+            if (parsers.get(i).getSchemaCell().getName().equals(cellName))
+                return i;
+        }
+        return -1;
     }
 
     private CellParser<CsvSchemaCell> makeCellParser(CsvSchemaCell schemaCell) {
-        return CellParser.ofSchemaCell(schemaCell, Math.min(config.getMaxCellCacheSize(), lineSchema.getOccurs() - 1));
+        return CellParser.ofSchemaCell(schemaCell, Math.min(config.getMaxCellCacheSize(), lineSchema.getOccurs() - 1),
+                config.isAdaptiveCellCache(), cacheCounterOf(schemaCell));
+    }
+
+    private CellCacheCounter cacheCounterOf(CsvSchemaCell schemaCell) {
+        CellCacheStatistics statistics = config.getCellCacheStatistics();
+        return statistics == null ? null : statistics.of(lineSchema.getLineType(), schemaCell.getName());
     }
 
     /**
@@ -73,50 +124,89 @@ class CsvLineParser {
 
         if(lineReader.eofReached())
             return false;
-        List<String> rawCells = lineReader.readLine(lineSchema.getCellSeparator(), lineSchema.getQuoteChar());
+        List<? extends CharSequence> rawCells = lineReader.readLineCells(lineSchema.getCellSeparator(), lineSchema.getQuoteChar());
 
         if (rawCells.isEmpty())
             return handleEmptyLine(lineReader.currentLineNumber(), errorListener);
 
         if (usedCount == 0 && lineSchema.isFirstLineAsSchema()) {
-            lineSchema = buildSchemaFromHeader(lineSchema, rawCells, errorListener);
+            lineSchema = buildSchemaFromHeader(lineSchema,
+                    rawCells.stream().map(CharSequence::toString).collect(Collectors.toList()), errorListener);
             usedCount++;
             return true;
         }
 
         usedCount++;
-        if(lineSchema.isIgnoreRead())
+        if(lineSchema.isIgnoreRead() || !isAccepted(rawCells))
             return true;
 
-        // Create with same size as schema plus 1 to handle trailing cell separator which is quite common.
-        Line line = new Line(lineSchema.getLineType(), 1 + lineSchema.size(), lineReader.currentLineNumber());
+        Line line = makeLine(lineReader.currentLineNumber());
         lineDecoratorErrorConsumer.initialize(errorListener, line);
 
-        java.util.Iterator<CellParser<CsvSchemaCell>> itParser = cellParsers.iterator();
-        for (String sCell : rawCells) {
-            if (itParser.hasNext()) {
-                addCellToLineBySchema(line, itParser.next(), sCell, lineDecoratorErrorConsumer);
+        // Cells outside of the projection are never even converted into strings.
+        int parserIndex = 0;
+        boolean oneSkipped = false;
+        boolean oneAdded = false;
+        for (int cellPosition = 0; cellPosition < rawCells.size(); cellPosition++) {
+            final CharSequence sCell = rawCells.get(cellPosition);
+            if (parserIndex < cellParsers.size()) {
+                if (projected[parserIndex])
+                    oneAdded |= addCellToLineBySchema(line, parserIndex, sCell, lineDecoratorErrorConsumer);
+                else
+                    oneSkipped = true;
+                parserIndex++;
             } else {
-                if(!addCellToLineWithoutSchema(line, sCell, errorListener))
+                if(!addCellToLineWithoutSchema(line, cellPosition, sCell, errorListener))
                     return true;
+                oneAdded = true;
             }
         }
-        if (line.size() <= 0)
+        // Avoid calling line.size() since that would parse any lazily added cells.
+        if (!oneAdded && !oneSkipped)
             return false;
 
         // We have to fill all the default values and mandatory items for remaining cells within the schema.
-        while (itParser.hasNext()) {
+        for (; parserIndex < cellParsers.size(); parserIndex++) {
             if (!validationHandler.lineValidation(line.getLineNumber(), config.getOnLineInsufficient(), errorListener,
                     ()->"Insufficient number of cells could be read from the line of type " + lineSchema.getLineType())) {
                 return true;
             }
-            addCellToLineBySchema(line, itParser.next(), EMPTY_STRING, lineDecoratorErrorConsumer);
+            if (projected[parserIndex])
+                addCellToLineBySchema(line, parserIndex, EMPTY_STRING, lineDecoratorErrorConsumer);
         }
 
         listener.accept( line );
         return true;
     }
 
+    /**
+     * @param lineNumber The line number of the line.
+     * @return A new line or, if lines are reused, the line of this parser reset to supplied line number.
+     */
+    private Line makeLine(long lineNumber) {
+        if (!config.isReuseLines())
+            return new Line(lineSchema.getLineType(), lineSchema.getCellIndex(), lineNumber);
+        if (reusedLine == null)
+            reusedLine = new Line(lineSchema.getLineType(), lineSchema.getCellIndex(), lineNumber);
+        else
+            reusedLine.reset(lineNumber);
+        return reusedLine;
+    }
+
+    /**
+     * @param rawCells The cells of the line.
+     * @return True if the raw cell text fulfills all the filters of the configuration.
+     */
+    private boolean isAccepted(List<? extends CharSequence> rawCells) {
+        for (int i = 0; i < filterPositions.length; i++) {
+            int pos = filterPositions[i];
+            CharSequence value = pos >= 0 && pos < rawCells.size() ? rawCells.get(pos) : EMPTY_STRING;
+            if (!filters.get(i).test(value))
+                return false;
+        }
+        return true;
+    }
+
     /**
      * Builds a CsvSchemaLine from a header line.
      *
@@ -193,40 +283,49 @@ class CsvLineParser {
     /**
      * Adds a cell to the line according to the schema.
      * @param line               The line to add a cell to
-     * @param cellParser         The cell parser
-     * @param sCell              The string value of the cell
+     * @param parserIndex        The index of the cell parser to use.
+     * @param sCell              The string value of the cell. May be a view into the read buffer.
      * @param errorEventListener The error event listener to report errors to.
-     *
+     * @return True if a cell was added to the line.
      */
     @SuppressWarnings("rawtypes")
-    private void addCellToLineBySchema(Line line,
-                                       CellParser<CsvSchemaCell> cellParser,
-                                       String sCell,
-                                       Consumer<JSaParException> errorEventListener) {
+    private boolean addCellToLineBySchema(Line line,
+                                          int parserIndex,
+                                          CharSequence sCell,
+                                          Consumer<JSaParException> errorEventListener) {
 
+        CellParser<CsvSchemaCell> cellParser = cellParsers.get(parserIndex);
         CsvSchemaCell cellSchema = cellParser.getSchemaCell();
         if (cellSchema.isIgnoreRead()) {
-            if (cellSchema.isDefaultValue())
-                line.addCell(cellParser.makeDefaultCell());
-            return;
+            if (!cellSchema.isDefaultValue())
+                return false;
+            line.addCell(cellParser.makeDefaultCell());
+            return true;
         }
         if (cellSchema.isMaxLength() && sCell.length() > cellSchema.getMaxLength())
-            sCell = sCell.substring(0, cellSchema.getMaxLength());
+            sCell = sCell.subSequence(0, cellSchema.getMaxLength());
+        if (lazyCellParsers != null) {
+            line.addLazyCell(cellSchema.getName(), sCell.toString(), lazyCellParsers.get(parserIndex));
+            return true;
+        }
         Cell cell = cellParser.parse(sCell, errorEventListener);
         if(cell != null){
             line.addCell(cell);
+            return true;
         }
+        return false;
     }
 
     /**
      * Adds overflowing cell to the line if there is no schema.
      *  @param line          The line to add cell to
+     * @param cellPosition  The zero based position of the cell within the raw line. Used to name the cell.
      * @param sCell         The string value of the cell.
      * @param errorListener Error listener to send error event to if so is configured.
      *
      */
     @SuppressWarnings("rawtypes")
-    private boolean addCellToLineWithoutSchema(Line line, String sCell, Consumer<JSaParException> errorListener)
+    private boolean addCellToLineWithoutSchema(Line line, int cellPosition, CharSequence sCell, Consumer<JSaParException> errorListener)
             {
 
         if (!validationHandler.lineValidation(line.getLineNumber(), config.getOnLineOverflow(), errorListener,
@@ -234,7 +333,7 @@ class CsvLineParser {
             return false;
         }
         Cell cell;
-        cell = new StringCell("@@cell-" + (1 + line.size()), sCell);
+        cell = new StringCell("@@cell-" + (1 + cellPosition), sCell.toString());
         line.addCell(cell);
         return true;
     }
@@ -5,22 +5,48 @@ import org.jsapar.schema.CsvSchema;
 import org.jsapar.schema.CsvSchemaLine;
 
 import java.io.IOException;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Creates csv line parsers based on schema.
+ * <p>
+ * Line schemas are grouped by cell separator and quote character so that each line only needs to be split into cells
+ * once per group. Line conditions that only match literal values are indexed in a hash table keyed by the value of the
+ * control cell, so that regular expressions and other conditions only need to be evaluated for the remaining line
+ * schemas. If a line matches more than one line schema, the line schema that comes first within the schema is used.
  */
 class CsvLineParserFactory {
 
-    private final List<CsvLineParserMatcher> lineParserMatchers;
+    private final List<CsvLineParserMatcher> lineParserMatchers = new ArrayList<>();
+    /**
+     * Priorities of line schemas without any control cells. These never need to read the line.
+     */
+    private final List<Integer> unconditioned = new ArrayList<>();
+    private final List<MatcherGroup> groups;
+    private int activeCount;
 
     CsvLineParserFactory(CsvSchema schema, TextParseConfig config) {
-        lineParserMatchers = new LinkedList<>();
+        Map<List<Object>, MatcherGroup> groupsByKey = new LinkedHashMap<>();
         for (CsvSchemaLine schemaLine : schema.getSchemaLines()) {
-            lineParserMatchers.add(new CsvLineParserMatcher(schemaLine, config));
+            CsvLineParserMatcher matcher = new CsvLineParserMatcher(schemaLine, config);
+            int priority = lineParserMatchers.size();
+            lineParserMatchers.add(matcher);
+            if (matcher.isOccursLeft())
+                activeCount++;
+            if (!matcher.hasControlCells()) {
+                unconditioned.add(priority);
+                continue;
+            }
+            groupsByKey.computeIfAbsent(List.of(schemaLine.getCellSeparator(), schemaLine.getQuoteChar()),
+                    k -> new MatcherGroup(schemaLine.getCellSeparator(), schemaLine.getQuoteChar()))
+                    .add(matcher, priority);
         }
+        groups = new ArrayList<>(groupsByKey.values());
     }
 
     /**
@@ -29,34 +55,103 @@ class CsvLineParserFactory {
      * @throws IOException If there is an io error.
      */
     CsvLineParser makeLineParser(CsvLineReader lineReader) throws IOException {
-        if (lineParserMatchers.isEmpty())
+        if (activeCount <= 0)
             return null;
-        Iterator<CsvLineParserMatcher> iter = lineParserMatchers.iterator();
-        boolean first = true;
-        while (iter.hasNext()) {
-            CsvLineParserMatcher currentMatcher = iter.next();
-            CsvLineParser lineParser = currentMatcher.makeLineParserIfMatching(lineReader);
-            if (lineParser == null) {
-                if (lineReader.eofReached())
-                    return null;
+        int best = Integer.MAX_VALUE;
+        for (int priority : unconditioned) {
+            if (lineParserMatchers.get(priority).isOccursLeft()) {
+                best = priority;
+                break;
             }
-            else {
-                if (!currentMatcher.isOccursLeft())
-                    // No longer needed
-                    iter.remove();
-                else if (!first) {
-                    // Move current matching line first in list so that it is tested first next time.
-                    iter.remove();
-                    lineParserMatchers.add(0, currentMatcher);
-                }
-                return lineParser;
+        }
+        for (MatcherGroup group : groups) {
+            if (group.firstPriority >= best)
+                continue;
+            List<? extends CharSequence> cells = lineReader.readLineCells(group.cellSeparator, group.quoteChar);
+            if (cells == null || cells.isEmpty())
+                return null; // Empty line or end of input. The empty line is consumed.
+            // We only peek into the line to follow.
+            try {
+                best = group.findFirstMatching(cells, best);
+            } finally {
+                lineReader.reset();
             }
-            first = false;
         }
-        return null;
+        if (best == Integer.MAX_VALUE)
+            return null;
+        CsvLineParserMatcher matcher = lineParserMatchers.get(best);
+        CsvLineParser lineParser = matcher.use();
+        if (!matcher.isOccursLeft())
+            activeCount--;
+        return lineParser;
     }
 
     boolean isEmpty() {
-        return lineParserMatchers.isEmpty();
+        return activeCount <= 0;
+    }
+
+    /**
+     * Line schemas that share the same cell separator and quote character. The priority of a line schema is its
+     * position within the schema, lower value means higher priority.
+     */
+    private class MatcherGroup {
+        private final String cellSeparator;
+        private final char quoteChar;
+        private int firstPriority = Integer.MAX_VALUE;
+        /**
+         * Priorities of line schemas by literal value of the control cell by position of the control cell.
+         */
+        private final Map<Integer, Map<String, List<Integer>>> literalIndex = new LinkedHashMap<>();
+        /**
+         * Priorities of line schemas that have control cells but not any with only literal values.
+         */
+        private final List<Integer> others = new ArrayList<>();
+
+        MatcherGroup(String cellSeparator, char quoteChar) {
+            this.cellSeparator = cellSeparator;
+            this.quoteChar = quoteChar;
+        }
+
+        void add(CsvLineParserMatcher matcher, int priority) {
+            firstPriority = Math.min(firstPriority, priority);
+            Optional<CsvLineParserMatcher.CsvControlCell> literalCell = matcher.findLiteralControlCell();
+            if (literalCell.isEmpty()) {
+                others.add(priority);
+                return;
+            }
+            Map<String, List<Integer>> byValue = literalIndex.computeIfAbsent(literalCell.get().pos, k -> new HashMap<>());
+            for (String value : literalCell.get().literalValues.orElseThrow()) {
+                byValue.computeIfAbsent(value, k -> new ArrayList<>()).add(priority);
+            }
+        }
+
+        /**
+         * @param cells The cells of the line, split with the cell separator and quote character of this group.
+         * @param best  The priority of the best line schema found so far.
+         * @return The priority of the first line schema that matches or supplied best if there is no better match.
+         */
+        int findFirstMatching(List<? extends CharSequence> cells, int best) {
+            for (Map.Entry<Integer, Map<String, List<Integer>>> entry : literalIndex.entrySet()) {
+                int pos = entry.getKey();
+                if (pos >= cells.size() || cells.get(pos) == null)
+                    continue;
+                // Cell values have the same hashCode() and equals() as a String
+                List<Integer> candidates = entry.getValue().get(cells.get(pos));
+                if (candidates != null)
+                    best = findFirstMatching(candidates, cells, best);
+            }
+            return findFirstMatching(others, cells, best);
+        }
+
+        private int findFirstMatching(List<Integer> priorities, List<? extends CharSequence> cells, int best) {
+            for (int priority : priorities) {
+                if (priority >= best)
+                    break;
+                CsvLineParserMatcher matcher = lineParserMatchers.get(priority);
+                if (matcher.isOccursLeft() && matcher.matches(cells))
+                    return priority;
+            }
+            return best;
+        }
     }
 }
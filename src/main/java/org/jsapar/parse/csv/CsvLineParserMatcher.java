@@ -3,10 +3,14 @@ package org.jsapar.parse.csv;
 import org.jsapar.text.TextParseConfig;
 import org.jsapar.schema.CsvSchemaCell;
 import org.jsapar.schema.CsvSchemaLine;
+import org.jsapar.schema.MatchingCellValueCondition;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Checks if line matches the current criteria defined within this line schema.
@@ -48,42 +52,112 @@ class CsvLineParserMatcher {
             return null;
 
         if (!controlCells.isEmpty()) {
-            List<String> cells = lineReader.readLine(schemaLine.getCellSeparator(), schemaLine.getQuoteChar());
+            List<? extends CharSequence> cells = lineReader.readLineCells(schemaLine.getCellSeparator(), schemaLine.getQuoteChar());
             if(null == cells || cells.isEmpty())
                 return null; // Empty line
             // We only peek into the line to follow.
             try {
-                if (cells.size() <= maxControlPos)
+                if (!matches(cells))
                     return null;
-
-                for (CsvControlCell controlCell : controlCells) {
-
-                    String value = cells.get(controlCell.pos);
-                    if (value == null)
-                        return null;
-                    if (!controlCell.schemaCell.getLineCondition().test(value))
-                        return null;
-                }
             }
             finally {
                 lineReader.reset();
             }
         }
+        return use();
+    }
+
+    /**
+     * Tests the line conditions of all control cells against a line that has already been read with the cell
+     * separator and quote character of this line schema.
+     * @param cells The cells of the line to test. May be null.
+     * @return True if all control cells of this line schema matches the line. Always true if there are no control cells.
+     */
+    boolean matches(List<? extends CharSequence> cells) {
+        if (controlCells.isEmpty())
+            return true;
+        if (null == cells || cells.isEmpty())
+            return false; // Empty line
+        if (cells.size() <= maxControlPos)
+            return false;
+        for (CsvControlCell controlCell : controlCells) {
+            CharSequence value = cells.get(controlCell.pos);
+            if (value == null)
+                return false;
+            if (!controlCell.test(value))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Counts one occurrence of this line type.
+     * @return The line parser to use for the line that was matched.
+     */
+    CsvLineParser use() {
         if (!schemaLine.isOccursInfinitely())
             occursLeft--;
         return lineParser;
     }
 
     /**
-     * Private internal class used to point to a control cell within a schema line.
+     * @return True if there are any line conditions for this line schema.
      */
-    private static class CsvControlCell {
+    boolean hasControlCells() {
+        return !controlCells.isEmpty();
+    }
+
+    /**
+     * @return The first control cell where the line condition only matches a number of literal values, if there is any.
+     */
+    Optional<CsvControlCell> findLiteralControlCell() {
+        return controlCells.stream().filter(c -> c.literalValues.isPresent()).findFirst();
+    }
+
+    CsvSchemaLine getSchemaLine() {
+        return schemaLine;
+    }
+
+    /**
+     * Internal class used to point to a control cell within a schema line.
+     */
+    static class CsvControlCell {
         final int           pos;
         final CsvSchemaCell schemaCell;
+        /**
+         * The values that the line condition matches if the condition only matches literal values.
+         */
+        final Optional<Set<String>> literalValues;
 
         CsvControlCell(int pos, CsvSchemaCell schemaCell) {
             this.pos = pos;
             this.schemaCell = schemaCell;
+            Predicate<String> condition = schemaCell.getLineCondition();
+            this.literalValues = isRegExpOnly(condition)
+                    ? ((MatchingCellValueCondition) condition).findLiteralValues()
+                    : Optional.empty();
+        }
+
+        /**
+         * Tests the line condition. Regular expressions are matched directly against the value, other conditions
+         * require a String.
+         * @param value The cell value to test.
+         * @return True if the line condition is satisfied.
+         */
+        boolean test(CharSequence value) {
+            Predicate<String> condition = schemaCell.getLineCondition();
+            if (isRegExpOnly(condition))
+                return ((MatchingCellValueCondition) condition).matches(value);
+            return condition.test(value.toString());
+        }
+
+        /**
+         * @return True if the condition only matches a regular expression. A sub-class of
+         * {@link MatchingCellValueCondition} may override {@link MatchingCellValueCondition#test(String)} and is
+         * therefore tested as any other condition.
+         */
+        private static boolean isRegExpOnly(Predicate<String> condition) {
+            return condition.getClass() == MatchingCellValueCondition.class;
         }
     }
 
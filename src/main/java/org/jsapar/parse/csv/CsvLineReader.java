@@ -37,6 +37,23 @@ public interface CsvLineReader {
      */
     List<String> readLine(String cellSeparator, char quoteChar) throws IOException;
 
+    /**
+     * Same as {@link #readLine(String, char)} but the cell values may be returned as {@link CharSequence} views
+     * directly into the internal read buffer instead of as String instances. The views are re-used and are only valid
+     * until next call to any of the read methods, so call {@link CharSequence#toString()} on a cell value if it needs to
+     * be kept. The default implementation returns the same as {@link #readLine(String, char)}.
+     *
+     * @param cellSeparator A sequence of characters that determines separation between cell elements in the input text.
+     * @param quoteChar     The character that can be used to quote a cell. The value 0 indicates that quotes are not used.
+     * @return A list of cell values fetched from the input reader. Returns an empty list if line was empty or if end
+     * of input was reached.
+     * @throws IOException In case of an error in underlying IO.
+     * @since 2.3.4
+     */
+    default List<? extends CharSequence> readLineCells(String cellSeparator, char quoteChar) throws IOException {
+        return readLine(cellSeparator, quoteChar);
+    }
+
     /**
      * @return True if the last call to readLine resulted in end of input. A call to reset will reset also this flag to
      * the state it had before last call to readLine()
@@ -48,6 +65,13 @@ public interface CsvLineReader {
      */
     long currentLineNumber();
 
+    /**
+     * Sets the line number of the line that was last read. The next line read will get the line number after. Used
+     * when the input is only a segment of a larger source.
+     * @param lineNumber The line number of the line that precedes the next line to read.
+     */
+    void setLineNumber(long lineNumber);
+
     /**
      * @return True if the last call to readLine resulted in a line that was empty.
      */
@@ -57,4 +81,11 @@ public interface CsvLineReader {
      * Skip next line.
      */
     void skipLine() throws IOException;
+
+    /**
+     * @return A reader that delivers the part of the input that has not yet been consumed by this line reader. If
+     * {@link #reset()} was called after last call to {@link #readLine(String, char)}, the remaining input starts with
+     * that line.
+     */
+    Reader remainingReader();
 }
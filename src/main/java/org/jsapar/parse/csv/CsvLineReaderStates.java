@@ -13,9 +13,21 @@ import java.util.List;
 /**
  * This implementation  uses state pattern. It loads characters into a buffer and creates cell value strings from that
  * buffer.
+ * <p>
+ * Only the characters that may change the state are processed by the states. Within an unquoted cell, the buffer is
+ * scanned in one tight loop for the last character of the cell separator and of the line separator. Within a quoted
+ * cell, it is scanned for the quote character.
+ * <p>
+ * If created with cell views enabled, the cells of a line are instead delivered as re-usable {@link CharSequence}
+ * windows over the read buffer and a String is only created when someone actually asks for it.
  */
 final class CsvLineReaderStates implements CsvLineReader {
     private static final String EMPTY_CELL = "";
+    private static final int SKIP_BEGIN_CELL = 0;
+    private static final int SKIP_UNQUOTED_CELL = 1;
+    private static final int SKIP_QUOTED_CELL = 2;
+    private static final int SKIP_FOUND_END_QUOTE = 3;
+    private static final int SKIP_FOUND_END_QUOTE_WITHIN = 4;
     private final int maxLineLength;
 
     private final State beginCellState;
@@ -23,13 +35,21 @@ final class CsvLineReaderStates implements CsvLineReader {
     private final State foundEndQuoteWithinState;
     private final State quotedCellState;
     private final State unquotedCellState;
+    private final boolean rfc4180;
     private State state;
-    private final List<String> currentLine;
+    private final List<CharSequence> currentLine;
+    private final List<String> currentStringLine;
+    private final boolean cellViews;
     private final EolCheck eolCheck;
     private final char lastEolChar;
 
     private boolean eof;
     private boolean reset;
+    /**
+     * True if the last line was skipped, in which case no cells were recorded for it.
+     */
+    private boolean skipped;
+    private boolean skippedLineEmpty;
 
     private String cellSeparator=";";
     private char lastCellSeparatorChar;
@@ -43,11 +63,26 @@ final class CsvLineReaderStates implements CsvLineReader {
      * @param lineSeparator  The line separator to use
      * @param reader The reader to read characters from.
      * @param allowReadAhead If true, reading from the reader can be optimized by reading larger chunks of data into a
-*                       buffer but that can only be utilized if it is ok to read until the end of the file or if it
+     *                       buffer but that can only be utilized if it is ok to read until the end of the file or if
+     *                       the characters that were read ahead are handed back by {@link #remainingReader()}.
      * @param maxLineLength The maximum number of characters in a line. Make sure that all lines fits within this size.
      * @param quoteSyntax Determines the syntax of how quoted cells are parsed.
      */
     CsvLineReaderStates(String lineSeparator, Reader reader, boolean allowReadAhead, int maxLineLength, QuoteSyntax quoteSyntax) {
+        this(lineSeparator, reader, allowReadAhead, maxLineLength, quoteSyntax, false);
+    }
+
+    /**
+     * @param lineSeparator  The line separator to use
+     * @param reader The reader to read characters from.
+     * @param allowReadAhead If true, reading from the reader can be optimized by reading larger chunks of data into a
+     *                       buffer.
+     * @param maxLineLength The maximum number of characters in a line. Make sure that all lines fits within this size.
+     * @param quoteSyntax Determines the syntax of how quoted cells are parsed.
+     * @param cellViews If true, {@link #readLineCells(String, char)} delivers cells as re-usable views into the read
+     *                  buffer instead of creating a String for each cell.
+     */
+    CsvLineReaderStates(String lineSeparator, Reader reader, boolean allowReadAhead, int maxLineLength, QuoteSyntax quoteSyntax, boolean cellViews) {
         eolCheck = Arrays.asList("\n", "\r\n").contains(lineSeparator) ? new EolCheckCRLF() : new EolCheckCustom(lineSeparator);
         lastEolChar = eolCheck.getLastEolChar();
 
@@ -65,8 +100,11 @@ final class CsvLineReaderStates implements CsvLineReader {
         foundEndQuoteWithinState = new FoundEndQuoteWithinState();
         quotedCellState = new QuotedCellState();
         unquotedCellState = new UnquotedCellState();
+        rfc4180 = quoteSyntax == QuoteSyntax.RFC4180;
 
         currentLine = new ArrayList<>();
+        currentStringLine = cellViews ? new ArrayList<>() : null;
+        this.cellViews = cellViews;
         this.maxLineLength = maxLineLength;
         buffer = new ReadBuffer(reader, maxLineLength, (allowReadAhead ? maxLineLength : 1));
 
@@ -79,13 +117,133 @@ final class CsvLineReaderStates implements CsvLineReader {
         this.reset=true;
     }
 
+    /**
+     * Skips the line by scanning for the next line separator that is not within a quoted cell. Quoted cells are
+     * recognized by the same rules as when reading the line, but no cell values are recorded. A skipped line is
+     * regarded as empty if it only contains white space and quote characters.
+     */
     @Override
     public void skipLine() throws IOException {
         if(reset){
             reset = false;
             return;
         }
-        readLine(cellSeparator, quoteChar);
+        buffer.markLine();
+        buffer.markCell();
+        lineNumber++;
+        currentLine.clear();
+        currentCellCreator.releaseViews();
+        skipped = true;
+        int skipState = SKIP_BEGIN_CELL;
+        while (true) {
+            if(buffer.cursor >= buffer.bufferSize){
+                final int count = buffer.load();
+                if(count<1){
+                    if(skipState == SKIP_QUOTED_CELL){
+                        // No end quote was found. Regard the cell as unquoted, the same way as when reading.
+                        buffer.resetCell();
+                        skipState = SKIP_UNQUOTED_CELL;
+                        continue;
+                    }
+                    else if (count == 0){
+                        throw new LineParseException( lineNumber,
+                                "Maximum line size exceeded. More than " + maxLineLength + " bytes were read without finding a line separator or maybe there is a miss-placed start quote without matching end quote.");
+                    }
+                    this.eof = true;
+                    skippedLineComplete(0);
+                    return;
+                }
+            }
+            if(skipState == SKIP_UNQUOTED_CELL)
+                skipUntil(lastCellSeparatorChar, lastEolChar);
+            else if(skipState == SKIP_QUOTED_CELL)
+                skipUntil(quoteChar, quoteChar);
+            if(buffer.cursor >= buffer.bufferSize)
+                continue;
+            // Same transitions as the states that are used when reading the line.
+            final char c = buffer.nextCharacter();
+            switch (skipState) {
+            case SKIP_BEGIN_CELL:
+                if (c == quoteChar)
+                    skipState = SKIP_QUOTED_CELL;
+                else if (c == lastCellSeparatorChar && cellSeparator.length() == 1)
+                    buffer.markCell();
+                else if (endOfSkippedLine(c))
+                    return;
+                else
+                    skipState = SKIP_UNQUOTED_CELL;
+                break;
+            case SKIP_UNQUOTED_CELL:
+                if (c == lastCellSeparatorChar && tailOfCellMatches(cellSeparator)) {
+                    buffer.markCell();
+                    skipState = SKIP_BEGIN_CELL;
+                } else if (endOfSkippedLine(c))
+                    return;
+                break;
+            case SKIP_QUOTED_CELL:
+                if (c == quoteChar)
+                    skipState = SKIP_FOUND_END_QUOTE;
+                break;
+            case SKIP_FOUND_END_QUOTE:
+                if (c == lastCellSeparatorChar && cellSeparator.length() == 1) {
+                    buffer.markCell();
+                    skipState = SKIP_BEGIN_CELL;
+                } else if (endOfSkippedLine(c))
+                    return;
+                else if (c != quoteChar)
+                    skipState = SKIP_FOUND_END_QUOTE_WITHIN;
+                else if (rfc4180)
+                    skipState = SKIP_QUOTED_CELL;
+                break;
+            default:
+                if (c == quoteChar)
+                    skipState = SKIP_FOUND_END_QUOTE;
+                else if (c == lastCellSeparatorChar && tailOfCellMatches(cellSeparator)) {
+                    buffer.markCell();
+                    skipState = SKIP_BEGIN_CELL;
+                } else if (endOfSkippedLine(c))
+                    return;
+                break;
+            }
+        }
+    }
+
+    /**
+     * Completes the skipped line if the supplied character ends the line.
+     * @param c The character before the cursor.
+     * @return True if the line is complete.
+     */
+    private boolean endOfSkippedLine(final char c) {
+        if (c != lastEolChar)
+            return false;
+        final int eolSize = eolCheck.eolMatchSize(c);
+        if (eolSize <= 0)
+            return false;
+        skippedLineComplete(eolSize);
+        return true;
+    }
+
+    /**
+     * @param eolSize The number of characters of the line separator that ended the line.
+     */
+    private void skippedLineComplete(int eolSize) {
+        // The cell mark is only moved by cell separators.
+        skippedLineEmpty = buffer.cellMark == buffer.lineMark() && isBlankOrQuote(buffer.lineMark(), buffer.cursor - eolSize);
+        beginCellState();
+    }
+
+    private boolean isBlankOrQuote(int begin, int end) {
+        for (int i = begin; i < end; i++) {
+            final char c = buffer.buffer[i];
+            if (c > ' ' && c != quoteChar)
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public Reader remainingReader() {
+        return buffer.remainingReader(reset);
     }
 
     @Override
@@ -98,18 +256,37 @@ final class CsvLineReaderStates implements CsvLineReader {
         return lineNumber;
     }
 
+    @Override
+    public void setLineNumber(long lineNumber) {
+        this.lineNumber = lineNumber;
+    }
+
     @Override
     public boolean lastLineWasEmpty() {
-        return currentLine.isEmpty();
+        return skipped ? skippedLineEmpty : currentLine.isEmpty();
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public List<String> readLine(String cellSeparator, char quoteChar) throws IOException {
+        final List<? extends CharSequence> cells = readLineCells(cellSeparator, quoteChar);
+        if(!cellViews)
+            return (List<String>)cells; // Only String instances when not using cell views.
+        currentStringLine.clear();
+        for (CharSequence cell : cells) {
+            currentStringLine.add(cell.toString());
+        }
+        return currentStringLine;
+    }
+
+    @Override
+    public List<? extends CharSequence> readLineCells(String cellSeparator, char quoteChar) throws IOException {
         if(reset)
             return lastLine(cellSeparator, quoteChar);
         setLineCharacteristics(cellSeparator, quoteChar);
         buffer.markLine();
         lineNumber++;
+        skipped = false;
         return processLine();
     }
 
@@ -119,8 +296,9 @@ final class CsvLineReaderStates implements CsvLineReader {
         this.quoteChar = quoteChar;
     }
 
-    private List<String> processLine() throws IOException {
+    private List<CharSequence> processLine() throws IOException {
         currentLine.clear();
+        currentCellCreator.releaseViews();
 
         while (true) {
             if(buffer.cursor >= buffer.bufferSize){
@@ -142,18 +320,50 @@ final class CsvLineReaderStates implements CsvLineReader {
                     return lineComplete();
                 }
             }
-            if(state.processChar(buffer.nextCharacter()))
+            // Characters within a cell that can not change the state are skipped in bulk.
+            if(state == unquotedCellState)
+                skipUntil(lastCellSeparatorChar, lastEolChar);
+            else if(state == quotedCellState)
+                skipUntil(quoteChar, quoteChar);
+            if(buffer.cursor < buffer.bufferSize && state.processChar(buffer.nextCharacter()))
                 return lineComplete();
         }
     }
 
-    private List<String> lineComplete() {
+    /**
+     * Moves the cursor forward to the first occurrence of any of the supplied characters or to the end of the loaded
+     * characters if none of them were found.
+     * @param c1 A character to stop at.
+     * @param c2 Another character to stop at.
+     */
+    private void skipUntil(final char c1, final char c2) {
+        final char[] chars = buffer.buffer;
+        final int end = buffer.bufferSize;
+        int i = buffer.cursor;
+        while (i < end) {
+            final char c = chars[i];
+            if (c == c1 || c == c2)
+                break;
+            i++;
+        }
+        buffer.cursor = i;
+    }
+
+    private List<CharSequence> lineComplete() {
         beginCellState();
-        if(currentLine.size() == 1 && currentLine.get(0).trim().isEmpty())
+        if(currentLine.size() == 1 && isBlank(currentLine.get(0)))
             currentLine.clear();
         return currentLine;
     }
 
+    private static boolean isBlank(CharSequence cell) {
+        for (int i = 0; i < cell.length(); i++) {
+            if (cell.charAt(i) > ' ')
+                return false;
+        }
+        return true;
+    }
+
     /**
      * Parses last line again but use different separator and quote character.
      * @param cellSeparator The new cell separator to use.
@@ -161,10 +371,11 @@ final class CsvLineReaderStates implements CsvLineReader {
      * @return A line
      * @throws IOException In case of underlying io error.
      */
-    private List<String> lastLine(String cellSeparator, char quoteChar) throws IOException {
+    private List<CharSequence> lastLine(String cellSeparator, char quoteChar) throws IOException {
         reset=false;
-        if(quoteChar==this.quoteChar && cellSeparator.equals(this.cellSeparator))
+        if(!skipped && quoteChar==this.quoteChar && cellSeparator.equals(this.cellSeparator))
             return currentLine;
+        skipped = false;
         buffer.resetLine();
         setLineCharacteristics(cellSeparator, quoteChar);
         return processLine();
@@ -219,6 +430,8 @@ final class CsvLineReaderStates implements CsvLineReader {
         private int ignoresCount = 0;
         private final int[] ignoresAt = new int[128];
         private final StringBuilder stringBuilder = new StringBuilder();
+        private final List<CellView> views = new ArrayList<>();
+        private int viewsUsed = 0;
 
         private void addToLine(){
             addToLineExcept(offsetFromEndQuote);
@@ -245,13 +458,14 @@ final class CsvLineReaderStates implements CsvLineReader {
             if(count==0)
                 currentLine.add(EMPTY_CELL);
             else if (ignoresCount==0)
-                currentLine.add(new String(buffer.buffer, offset, count));
+                currentLine.add(cellViews ? nextView(offset, count) : new String(buffer.buffer, offset, count));
             else{
                 stringBuilder.delete(0, stringBuilder.length()); // Reset stringBuilder
+                final int lineMark = buffer.lineMark();
                 for (int i = 0; i<ignoresCount; i++) {
-                    int toAdd = ignoresAt[i]-offset;
+                    int toAdd = lineMark+ignoresAt[i]-offset;
                     stringBuilder.append(buffer.buffer, offset, toAdd);
-                    offset=ignoresAt[i]+1;
+                    offset=lineMark+ignoresAt[i]+1;
                     count-=(1+toAdd);
                 }
                 stringBuilder.append(buffer.buffer, offset, count);
@@ -259,6 +473,25 @@ final class CsvLineReaderStates implements CsvLineReader {
             }
         }
 
+        private CellView nextView(int offset, int count) {
+            final CellView view;
+            if (viewsUsed < views.size()) {
+                view = views.get(viewsUsed);
+            } else {
+                view = new CellView();
+                views.add(view);
+            }
+            viewsUsed++;
+            return view.set(offset - buffer.lineMark(), count);
+        }
+
+        /**
+         * Makes all views available for re-use. Should be called when starting to process a line.
+         */
+        void releaseViews() {
+            viewsUsed = 0;
+        }
+
         void addEmptyToLine() {
             currentLine.add(EMPTY_CELL);
             buffer.markCell();
@@ -267,7 +500,7 @@ final class CsvLineReaderStates implements CsvLineReader {
 
         void ignoreCurrent(){
             if(ignoresCount<=ignoresAt.length)
-                ignoresAt[ignoresCount++] = buffer.cursor-1;
+                ignoresAt[ignoresCount++] = buffer.cursor-1-buffer.lineMark(); // Relative since the buffer may shift
         }
 
         void reset(){
@@ -277,6 +510,76 @@ final class CsvLineReaderStates implements CsvLineReader {
         }
     }
 
+    /**
+     * A window into the read buffer that represents the value of one cell. The offset is relative to the line mark
+     * since the buffer may be shifted while loading more characters for the same line. The String value is only
+     * created if asked for. Note that equals() and hashCode() behaves as for a String with the same characters so that
+     * a view can be used for looking up values keyed by String, but not the other way around.
+     */
+    private final class CellView implements CharSequence {
+        private int offset;
+        private int length;
+        private String value;
+
+        CellView set(int offset, int length) {
+            this.offset = offset;
+            this.length = length;
+            this.value = null;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return buffer.buffer[buffer.lineMark() + offset + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new CellView().set(offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            if (value == null)
+                value = new String(buffer.buffer, buffer.lineMark() + offset, length);
+            return value;
+        }
+
+        @Override
+        public int hashCode() {
+            final char[] chars = buffer.buffer;
+            final int begin = buffer.lineMark() + offset;
+            int h = 0;
+            for (int i = begin; i < begin + length; i++) {
+                h = 31 * h + chars[i];
+            }
+            return h;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof CharSequence))
+                return false;
+            final CharSequence other = (CharSequence) o;
+            if (other.length() != length)
+                return false;
+            final char[] chars = buffer.buffer;
+            final int begin = buffer.lineMark() + offset;
+            for (int i = 0; i < length; i++) {
+                if (chars[begin + i] != other.charAt(i))
+                    return false;
+            }
+            return true;
+        }
+    }
+
     /**
      *
      */
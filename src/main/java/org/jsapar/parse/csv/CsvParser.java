@@ -3,14 +3,21 @@ package org.jsapar.parse.csv;
 import org.jsapar.error.JSaParException;
 import org.jsapar.model.Line;
 import org.jsapar.parse.line.ValidationHandler;
+import org.jsapar.parse.text.FileSegment;
 import org.jsapar.parse.text.TextSchemaParser;
 import org.jsapar.schema.CsvSchema;
 import org.jsapar.schema.SchemaLine;
 import org.jsapar.text.TextParseConfig;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Optional;
 import java.util.Spliterator;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -32,11 +39,66 @@ public class CsvParser implements TextSchemaParser {
 
 
     public CsvParser(Reader reader, CsvSchema schema, TextParseConfig parseConfig) {
+        this(reader, schema, parseConfig, false);
+    }
+
+    /**
+     * @param reader      The reader to read from.
+     * @param schema      The schema to use.
+     * @param parseConfig Current parse configuration.
+     * @param readAhead   If true, the input is always read in larger chunks even if the schema does not contain any
+     *                    line that occurs infinitely. Characters that were read but not consumed can then be fetched by
+     *                    calling {@link #remainingReader()} once parsing is done.
+     */
+    public CsvParser(Reader reader, CsvSchema schema, TextParseConfig parseConfig, boolean readAhead) {
+        this(new CsvLineReaderStates(schema.getLineSeparator(), reader, isReadAhead(schema, readAhead), parseConfig.getMaxLineLength(), schema.getQuoteSyntax(), true),
+                schema, parseConfig);
+    }
+
+    /**
+     * Creates a parser that splits lines into cells directly on the bytes of the input if that is supported for the
+     * charset and schema, see {@link #isByteParsingSupported(CsvSchema, Charset)}. Cells are then only decoded into
+     * characters if they are actually used. Otherwise the input is decoded by an {@link InputStreamReader}.
+     *
+     * @param inputStream The input stream to read from.
+     * @param charset     The character encoding of the input.
+     * @param schema      The schema to use.
+     * @param parseConfig Current parse configuration.
+     * @param readAhead   If true, the input is always read in larger chunks even if the schema does not contain any
+     *                    line that occurs infinitely. Characters that were read but not consumed can then be fetched by
+     *                    calling {@link #remainingReader()} once parsing is done.
+     * @since 2.3.4
+     */
+    public CsvParser(InputStream inputStream, Charset charset, CsvSchema schema, TextParseConfig parseConfig, boolean readAhead) {
+        this(isByteParsingSupported(schema, charset)
+                        ? new CsvByteLineReader(schema.getLineSeparator(), inputStream, charset, isReadAhead(schema, readAhead), parseConfig.getMaxLineLength(), schema.getQuoteSyntax())
+                        : new CsvLineReaderStates(schema.getLineSeparator(), new InputStreamReader(inputStream, charset), isReadAhead(schema, readAhead), parseConfig.getMaxLineLength(), schema.getQuoteSyntax(), true),
+                schema, parseConfig);
+    }
+
+    private CsvParser(CsvLineReader lineReader, CsvSchema schema, TextParseConfig parseConfig) {
         this.parseConfig = parseConfig;
-        lineReader = new CsvLineReaderStates(schema.getLineSeparator(), reader, schema.stream().anyMatch(SchemaLine::isOccursInfinitely), parseConfig.getMaxLineLength(), schema.getQuoteSyntax());
+        this.lineReader = lineReader;
         this.schema = schema;
         this.lineParserFactory = new CsvLineParserFactory(schema, parseConfig);
     }
+
+    private static boolean isReadAhead(CsvSchema schema, boolean readAhead) {
+        return readAhead || schema.stream().anyMatch(SchemaLine::isOccursInfinitely);
+    }
+
+    /**
+     * @param schema  The schema to use.
+     * @param charset The character encoding of the input.
+     * @return True if lines of the supplied schema can be split into cells directly on the bytes of input with the
+     * supplied charset. That is, if the charset is UTF-8, ISO-8859-1 or US-ASCII and all separators and quote
+     * characters are ASCII characters.
+     * @since 2.3.4
+     */
+    public static boolean isByteParsingSupported(CsvSchema schema, Charset charset) {
+        return schema.stream().allMatch(line -> CsvByteLineReader.isSupported(
+                charset, schema.getLineSeparator(), line.getCellSeparator(), line.getQuoteChar()));
+    }
     
 
     @Override
@@ -46,6 +108,13 @@ public class CsvParser implements TextSchemaParser {
         }
         long lineNumber = 0;
         while(true){
+            if(lineNumber >= parseConfig.getLineLimit())
+                return lineNumber;
+            if(skipUnselectedLine()) {
+                if(lineReader.eofReached())
+                    return lineNumber;
+                continue;
+            }
             CsvLineParser lineParser = lineParserFactory.makeLineParser(lineReader);
             if(lineParser == null) {
                 if(lineParserFactory.isEmpty())
@@ -69,9 +138,15 @@ public class CsvParser implements TextSchemaParser {
         }
         try {
             Spliterator<Line> spliterator = new Spliterator<>() {
+                private long parsedCount = 0;
+
                 @Override
                 public boolean tryAdvance(Consumer<? super Line> action) {
                     try {
+                        if (parsedCount >= parseConfig.getLineLimit())
+                            return false;
+                        if (skipUnselectedLine())
+                            return !lineReader.eofReached();
                         CsvLineParser lineParser = lineParserFactory.makeLineParser(lineReader);
                         if (lineParser == null) {
                             if (lineParserFactory.isEmpty() || lineReader.eofReached())
@@ -79,7 +154,11 @@ public class CsvParser implements TextSchemaParser {
                             handleNoParser(lineReader, errorListener);
                             return true;
                         }
-                        return lineParser.parse(lineReader, action, errorListener);
+                        if (!lineParser.parse(lineReader, action, errorListener))
+                            return false;
+                        if (!lineReader.lastLineWasEmpty())
+                            parsedCount++;
+                        return true;
                     } catch (IOException e) {
                         throw new UncheckedIOException(e);
                     }
@@ -107,6 +186,45 @@ public class CsvParser implements TextSchemaParser {
         }
 
     }
+    @Override
+    public void setLineNumberOffset(long lineNumberOffset) {
+        lineReader.setLineNumber(lineNumberOffset);
+    }
+
+    /**
+     * Splits a csv file into segments that can be parsed independently of each other. Only schemas with one single
+     * line type that occurs infinitely and that has single ASCII character cell separator, quote character and line
+     * separator are supported.
+     *
+     * @param schema       The schema to use.
+     * @param channel      The channel of the file to split.
+     * @param parseConfig  Current parse configuration.
+     * @param segmentCount The number of segments to aim for.
+     * @return A list of segments or an empty optional if the file cannot be split using this schema.
+     * @throws IOException In case of error while reading the file.
+     */
+    public static Optional<List<FileSegment>> splitFile(CsvSchema schema, FileChannel channel, TextParseConfig parseConfig, int segmentCount) throws IOException {
+        return CsvFileSplitter.split(schema, channel, segmentCount, parseConfig.getMaxLineLength());
+    }
+
+    @Override
+    public Reader remainingReader() {
+        return lineReader.remainingReader();
+    }
+
+    /**
+     * Skips the next line without splitting it into cells if it is not selected by the skip and sample settings of the
+     * configuration.
+     * @return True if a line was skipped.
+     * @throws IOException In case of error while reading.
+     */
+    private boolean skipUnselectedLine() throws IOException {
+        if (parseConfig.isLineSelected(lineReader.currentLineNumber() + 1))
+            return false;
+        lineReader.skipLine();
+        return true;
+    }
+
     private void handleNoParser(CsvLineReader lineReader, Consumer<JSaParException> errorEventListener)
             throws IOException {
         if (lineReader.lastLineWasEmpty())
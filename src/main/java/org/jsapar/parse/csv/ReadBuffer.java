@@ -1,5 +1,7 @@
 package org.jsapar.parse.csv;
 
+import org.jsapar.parse.text.RemainderReader;
+
 import java.io.IOException;
 import java.io.Reader;
 
@@ -66,6 +68,16 @@ final class ReadBuffer {
         return count;
     }
 
+    /**
+     * @param fromLineMark If true, the remaining characters starts at the line mark, otherwise at the cursor.
+     * @return A reader that first delivers the characters that were loaded into this buffer but not yet consumed, then
+     * continues with the underlying reader.
+     */
+    Reader remainingReader(boolean fromLineMark) {
+        final int from = fromLineMark ? lineMark : cursor;
+        return new RemainderReader(buffer, from, bufferSize - from, reader);
+    }
+
     /**
      * Returns the character that the cursor points to and increments the cursor to next position.
      * @return The character that the cursor points to.
@@ -73,6 +85,14 @@ final class ReadBuffer {
     char nextCharacter(){
         return buffer[cursor++];
     }
+    /**
+     * @return The current position of the line mark. Note that the line mark is moved when the buffer is shifted
+     * while loading so the value is only valid until next call to {@link #load()}.
+     */
+    int lineMark(){
+        return lineMark;
+    }
+
     /**
      * Place a line mark.
      */
@@ -1,23 +1,75 @@
 package org.jsapar.parse.fixed;
 
+import org.jsapar.schema.FixedWidthSchemaCell;
+import org.jsapar.schema.FixedWidthSchemaLine;
 import org.jsapar.text.TextParseConfig;
 import org.jsapar.schema.FixedWidthSchema;
 
 import java.io.IOException;
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Creates fixed width line parsers based on schema.
+ * <p>
+ * Line conditions that only match literal values are indexed in a hash table keyed by the value of the control cell,
+ * so that the line schema can be found with one look up per control cell position, directly on the read buffer and
+ * without creating any String. Regular expressions and other conditions only need to be evaluated for the remaining
+ * line schemas. If a line matches more than one line schema, the line schema that comes first within the schema is
+ * used.
  */
 class FWLineParserFactory {
-    private final List<FWLineParserMatcher> lineParserMatchers;
+    private final List<FWLineParserMatcher> lineParserMatchers = new ArrayList<>();
+    /**
+     * Priorities of line schemas without any control cells. These never need to read the line.
+     */
+    private final List<Integer> unconditioned = new ArrayList<>();
+    private final List<LiteralSlot> slots;
+    /**
+     * Priorities of line schemas that have control cells but not any with only literal values.
+     */
+    private final List<Integer> others = new ArrayList<>();
+    private final LiteralSlot[] slotByPriority;
+    private int activeCount;
     private LineParserMatcherResult lastResult;
 
     FWLineParserFactory(FixedWidthSchema schema, TextParseConfig config) {
-        lineParserMatchers = schema.stream()
-                .map(schemaLine -> new FWLineParserMatcher(schemaLine, config)).collect(Collectors.toList());
+        Map<List<Object>, LiteralSlot> slotsByKey = new LinkedHashMap<>();
+        slotByPriority = new LiteralSlot[schema.size()];
+        for (FixedWidthSchemaLine schemaLine : schema.getSchemaLines()) {
+            FWLineParserMatcher matcher = new FWLineParserMatcher(schemaLine, config);
+            int priority = lineParserMatchers.size();
+            lineParserMatchers.add(matcher);
+            if (matcher.isOccursLeft())
+                activeCount++;
+            if (!matcher.hasControlCells()) {
+                unconditioned.add(priority);
+                continue;
+            }
+            Optional<FWLineParserMatcher.FWControlCell> literalCell = matcher.findLiteralControlCell();
+            if (literalCell.isEmpty()) {
+                others.add(priority);
+                continue;
+            }
+            LiteralSlot slot = slotsByKey.computeIfAbsent(slotKey(literalCell.get()), k -> new LiteralSlot(literalCell.get()));
+            slot.add(literalCell.get(), priority, matcher.isOccursLeft());
+            slotByPriority[priority] = slot;
+        }
+        slots = new ArrayList<>(slotsByKey.values());
+    }
+
+    /**
+     * Control cells can share the same slot if they are located at the same position and are trimmed the same way.
+     */
+    private static List<Object> slotKey(FWLineParserMatcher.FWControlCell controlCell) {
+        FixedWidthSchemaCell schemaCell = controlCell.schemaCell;
+        return List.of(controlCell.beginPos, schemaCell.getLength(), schemaCell.isTrimPadCharacter(),
+                schemaCell.getPadCharacter(), schemaCell.getAlignment(), schemaCell.isTrimLeadingSpaces(),
+                schemaCell.getCellFormat().getCellType().isNumber());
     }
 
     /**
@@ -27,49 +79,129 @@ class FWLineParserFactory {
      * @throws IOException In case of error in underlying IO operation
      */
     FixedWidthLineParser makeLineParser(ReadBuffer lineReader) throws IOException {
-        if(lineParserMatchers.isEmpty())
+        if (activeCount <= 0)
             return null;
-        Iterator<FWLineParserMatcher> iter = lineParserMatchers.iterator();
-        boolean first = true;
-        boolean eof = true;
-        while(iter.hasNext()){
-            FWLineParserMatcher currentMatcher = iter.next();
-            LineParserMatcherResult lineParserResult = currentMatcher.testLineParserIfMatching(lineReader);
-            if(lineParserResult == LineParserMatcherResult.SUCCESS) {
-                if(!currentMatcher.isOccursLeft())
-                    // No longer needed
-                    iter.remove();
-                else if (!first){
-                    // Move current matching line first in list so that it is tested first next time.
-                    iter.remove();
-                    lineParserMatchers.add(0, currentMatcher);
-                }
-                lastResult = LineParserMatcherResult.SUCCESS;
-                return currentMatcher.getLineParser();
+        int best = Integer.MAX_VALUE;
+        for (int priority : unconditioned) {
+            if (lineParserMatchers.get(priority).isOccursLeft()) {
+                best = priority;
+                break;
             }
-            else if(lineParserResult == LineParserMatcherResult.NO_OCCURS)
-                iter.remove();
-
-            if(lineParserResult != LineParserMatcherResult.EOF){
+        }
+        boolean eof = true;
+        for (LiteralSlot slot : slots) {
+            if (slot.firstPriority >= best || slot.activeCount <= 0)
+                continue;
+            LineParserMatcherResult result = slot.findFirstMatching(lineReader, best);
+            if (result == LineParserMatcherResult.SUCCESS)
+                best = slot.found;
+            if (result != LineParserMatcherResult.EOF)
                 eof = false;
+        }
+        for (int priority : others) {
+            if (priority >= best)
+                break;
+            FWLineParserMatcher matcher = lineParserMatchers.get(priority);
+            if (!matcher.isOccursLeft())
+                continue;
+            LineParserMatcherResult result = matcher.matches(lineReader);
+            if (result == LineParserMatcherResult.SUCCESS) {
+                best = priority;
+                break;
             }
-            first = false;
+            if (result != LineParserMatcherResult.EOF)
+                eof = false;
         }
-        if(eof)
-            lastResult =  LineParserMatcherResult.EOF;
-        else if(lineParserMatchers.isEmpty())
-            lastResult = LineParserMatcherResult.NO_OCCURS;
-        else
-            lastResult = LineParserMatcherResult.NOT_MATCHING;
-        return null;
+        if (best == Integer.MAX_VALUE) {
+            lastResult = eof ? LineParserMatcherResult.EOF : LineParserMatcherResult.NOT_MATCHING;
+            return null;
+        }
+        FWLineParserMatcher matcher = lineParserMatchers.get(best);
+        FixedWidthLineParser lineParser = matcher.use();
+        if (!matcher.isOccursLeft()) {
+            activeCount--;
+            if (slotByPriority[best] != null)
+                slotByPriority[best].activeCount--;
+        }
+        lastResult = LineParserMatcherResult.SUCCESS;
+        return lineParser;
     }
 
     boolean isEmpty() {
-        return lineParserMatchers.isEmpty();
+        return activeCount <= 0;
     }
 
     LineParserMatcherResult getLastResult() {
         return lastResult;
     }
 
+    /**
+     * Line schemas that have a control cell with only literal values at the same position and with the same trimming.
+     * The priority of a line schema is its position within the schema, lower value means higher priority.
+     */
+    private class LiteralSlot {
+        private final int beginPos;
+        private final int length;
+        private final ReadBuffer.Trimmer trimmer;
+        private final Map<String, List<Integer>> byValue = new HashMap<>();
+        private int firstPriority = Integer.MAX_VALUE;
+        private int activeCount;
+        private int found;
+
+        LiteralSlot(FWLineParserMatcher.FWControlCell controlCell) {
+            this.beginPos = controlCell.beginPos;
+            this.length = controlCell.getLength();
+            this.trimmer = controlCell.trimmer;
+        }
+
+        void add(FWLineParserMatcher.FWControlCell controlCell, int priority, boolean active) {
+            firstPriority = Math.min(firstPriority, priority);
+            if (active)
+                activeCount++;
+            for (String value : controlCell.literalValues.orElseThrow()) {
+                byValue.computeIfAbsent(value, k -> new ArrayList<>()).add(priority);
+            }
+        }
+
+        /**
+         * Looks up the value of the control cell among the literal values. When returning
+         * {@link LineParserMatcherResult#SUCCESS}, the priority of the matching line schema is stored in {@link #found}.
+         * @param lineReader The reader to read from.
+         * @param best       The priority of the best line schema found so far.
+         * @return {@link LineParserMatcherResult#SUCCESS} if a better matching line schema was found,
+         * {@link LineParserMatcherResult#EOF} if end of input was reached and
+         * {@link LineParserMatcherResult#NOT_MATCHING} otherwise.
+         * @throws IOException In case of error in underlying IO operation
+         */
+        LineParserMatcherResult findFirstMatching(ReadBuffer lineReader, int best) throws IOException {
+            List<Integer> candidates;
+            // We only peek into the line to follow.
+            lineReader.markLine();
+            try {
+                CharSequence value = lineReader.readToView(trimmer, beginPos, length);
+                if (value == null)
+                    return LineParserMatcherResult.EOF;
+                // The view has the same hashCode() and equals() as a String
+                candidates = byValue.get(value);
+            } finally {
+                lineReader.resetLine();
+            }
+            if (candidates == null)
+                return LineParserMatcherResult.NOT_MATCHING;
+            for (int priority : candidates) {
+                if (priority >= best)
+                    break;
+                FWLineParserMatcher matcher = lineParserMatchers.get(priority);
+                if (!matcher.isOccursLeft())
+                    continue;
+                if (matcher.isOnlyLiteralControlCell()
+                        || matcher.matches(lineReader) == LineParserMatcherResult.SUCCESS) {
+                    found = priority;
+                    return LineParserMatcherResult.SUCCESS;
+                }
+            }
+            return LineParserMatcherResult.NOT_MATCHING;
+        }
+    }
+
 }
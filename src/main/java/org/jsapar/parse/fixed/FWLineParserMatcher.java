@@ -1,5 +1,6 @@
 package org.jsapar.parse.fixed;
 
+import org.jsapar.schema.MatchingCellValueCondition;
 import org.jsapar.text.TextParseConfig;
 import org.jsapar.schema.FixedWidthSchemaCell;
 import org.jsapar.schema.FixedWidthSchemaLine;
@@ -7,6 +8,9 @@ import org.jsapar.schema.FixedWidthSchemaLine;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Tests if next line to parse can be used for the schemaLine of this instance.
@@ -29,46 +33,113 @@ class FWLineParserMatcher {
             beginPos += schemaCell.getLength();
         }
     }
-    
-    LineParserMatcherResult testLineParserIfMatching(ReadBuffer lineReader) throws IOException {
-        if(occursLeft <= 0)
-            return LineParserMatcherResult.NO_OCCURS;
-        if(!controlCells.isEmpty()) {
-            // We only peek into the line to follow.
-            lineReader.markLine();
-            try {
-                int read = 0;
-                for (FWControlCell controlCell : controlCells) {
-                    int offset = controlCell.beginPos - read;
-                    String value = lineReader.readToString(controlCell.trimmer, offset, controlCell.schemaCell.getLength());
-                    if (value == null)
-                        return LineParserMatcherResult.EOF; // EOF reached
-                    if (!controlCell.schemaCell.getLineCondition().test(value))
-                        return LineParserMatcherResult.NOT_MATCHING; // Not matching criteria.
-                    read = controlCell.beginPos + controlCell.schemaCell.getLength();
-                }
-            } finally {
-                lineReader.resetLine();
+
+    /**
+     * Tests the line conditions of all control cells against the line to follow without consuming anything. Does not
+     * consider number of occurrences.
+     * @param lineReader The reader to read from.
+     * @return {@link LineParserMatcherResult#SUCCESS} if all line conditions match,
+     * {@link LineParserMatcherResult#EOF} if end of input was reached and {@link LineParserMatcherResult#NOT_MATCHING}
+     * otherwise.
+     * @throws IOException In case of error in underlying IO operation
+     */
+    LineParserMatcherResult matches(ReadBuffer lineReader) throws IOException {
+        if(controlCells.isEmpty())
+            return LineParserMatcherResult.SUCCESS;
+        // We only peek into the line to follow.
+        lineReader.markLine();
+        try {
+            int read = 0;
+            for (FWControlCell controlCell : controlCells) {
+                int offset = controlCell.beginPos - read;
+                CharSequence value = lineReader.readToView(controlCell.trimmer, offset, controlCell.getLength());
+                if (value == null)
+                    return LineParserMatcherResult.EOF; // EOF reached
+                if (!controlCell.test(value))
+                    return LineParserMatcherResult.NOT_MATCHING; // Not matching criteria.
+                read = controlCell.beginPos + controlCell.getLength();
             }
+        } finally {
+            lineReader.resetLine();
         }
-        if (!schemaLine.isOccursInfinitely())
-            occursLeft--;
         return LineParserMatcherResult.SUCCESS;
     }
 
-    FixedWidthLineParser getLineParser() {
+    /**
+     * Registers one occurrence of this line schema.
+     * @return The line parser to use for the line.
+     */
+    FixedWidthLineParser use() {
+        if (!schemaLine.isOccursInfinitely())
+            occursLeft--;
         return lineParser;
     }
 
-    private static class FWControlCell{
+    boolean hasControlCells() {
+        return !controlCells.isEmpty();
+    }
+
+    /**
+     * @return True if the only control cell of this line schema has a line condition that only matches a number of
+     * literal values. The line conditions are then fully tested by looking up the value of the control cell.
+     */
+    boolean isOnlyLiteralControlCell() {
+        return controlCells.size() == 1 && controlCells.get(0).literalValues.isPresent();
+    }
+
+    /**
+     * @return The first control cell where the line condition only matches a number of literal values, if there is any.
+     */
+    Optional<FWControlCell> findLiteralControlCell() {
+        return controlCells.stream().filter(c -> c.literalValues.isPresent()).findFirst();
+    }
+
+    /**
+     * Internal class used to point to a control cell within a schema line.
+     */
+    static class FWControlCell{
         final int beginPos;
         final FixedWidthSchemaCell schemaCell;
         final ReadBuffer.Trimmer trimmer;
+        /**
+         * The values that the line condition matches if the condition only matches literal values.
+         */
+        final Optional<Set<String>> literalValues;
 
         FWControlCell(int beginPos, FixedWidthSchemaCell schemaCell, ReadBuffer.Trimmer trimmer) {
             this.beginPos = beginPos;
             this.schemaCell = schemaCell;
             this.trimmer = trimmer;
+            Predicate<String> condition = schemaCell.getLineCondition();
+            this.literalValues = isRegExpOnly(condition)
+                    ? ((MatchingCellValueCondition) condition).findLiteralValues()
+                    : Optional.empty();
+        }
+
+        int getLength() {
+            return schemaCell.getLength();
+        }
+
+        /**
+         * Tests the line condition. Regular expressions are matched directly against the value, other conditions
+         * require a String.
+         * @param value The cell value to test.
+         * @return True if the line condition is fulfilled.
+         */
+        boolean test(CharSequence value) {
+            Predicate<String> condition = schemaCell.getLineCondition();
+            if (isRegExpOnly(condition))
+                return ((MatchingCellValueCondition) condition).matches(value);
+            return condition.test(value.toString());
+        }
+
+        /**
+         * @return True if the condition only matches a regular expression. A sub-class of
+         * {@link MatchingCellValueCondition} may override {@link MatchingCellValueCondition#test(String)} and is
+         * therefore tested as any other condition.
+         */
+        private static boolean isRegExpOnly(Predicate<String> condition) {
+            return condition.getClass() == MatchingCellValueCondition.class;
         }
     }
 
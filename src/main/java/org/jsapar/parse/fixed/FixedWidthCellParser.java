@@ -4,6 +4,7 @@ import org.jsapar.error.JSaParException;
 import org.jsapar.model.Cell;
 import org.jsapar.parse.cell.CellParser;
 import org.jsapar.schema.FixedWidthSchemaCell;
+import org.jsapar.text.CellCacheCounter;
 
 import java.io.IOException;
 import java.util.function.Consumer;
@@ -15,7 +16,11 @@ class FixedWidthCellParser extends CellParser<FixedWidthSchemaCell> {
     private final ReadBuffer.Trimmer trimmer;
 
     FixedWidthCellParser(FixedWidthSchemaCell fixedWidthSchemaCell, int maxCacheSize) {
-        super(fixedWidthSchemaCell, maxCacheSize);
+        this(fixedWidthSchemaCell, maxCacheSize, false, null);
+    }
+
+    FixedWidthCellParser(FixedWidthSchemaCell fixedWidthSchemaCell, int maxCacheSize, boolean adaptiveCache, CellCacheCounter cacheCounter) {
+        super(fixedWidthSchemaCell, maxCacheSize, adaptiveCache, cacheCounter);
         this.trimmer = ReadBuffer.makeTrimmer(fixedWidthSchemaCell);
     }
 
@@ -28,7 +33,7 @@ class FixedWidthCellParser extends CellParser<FixedWidthSchemaCell> {
      * @throws IOException In case there is an error reading from the reader.
      */
     Cell parse(ReadBuffer lineReader, Consumer<JSaParException> errorEventListener) throws IOException {
-        String sValue = lineReader.readToString(trimmer,  0, getSchemaCell().getLength());
+        String sValue = read(lineReader);
         // If EOF
         if(sValue == null) {
             checkIfMandatory(errorEventListener);
@@ -37,6 +42,17 @@ class FixedWidthCellParser extends CellParser<FixedWidthSchemaCell> {
         return super.parse(sValue, errorEventListener);
     }
 
+    /**
+     * Reads the text of the cell without parsing it.
+     *
+     * @param lineReader The input reader
+     * @return The trimmed text of the cell or null if end of line or input was reached.
+     * @throws IOException In case there is an error reading from the reader.
+     */
+    String read(ReadBuffer lineReader) throws IOException {
+        return lineReader.readToString(trimmer,  0, getSchemaCell().getLength());
+    }
+
     /**
      * Creates fixed width cell parser according to supplied schema and with a maximum cache size.
      * @param schemaCell The schema to use.
@@ -46,4 +62,15 @@ class FixedWidthCellParser extends CellParser<FixedWidthSchemaCell> {
         return new FixedWidthCellParser(schemaCell, maxCacheSize);
     }
 
+    /**
+     * Creates fixed width cell parser according to supplied schema and with a maximum cache size.
+     * @param schemaCell The schema to use.
+     * @param maxCacheSize The maximum number of cells to keep in cache while parsing. The value 0 will disable cache.
+     * @param adaptiveCache If true, the cache adapts its size according to the hit ratio.
+     * @param cacheCounter The counter to count cache hits and misses into. If null, nothing is counted.
+     */
+    static FixedWidthCellParser ofSchemaCell(FixedWidthSchemaCell schemaCell, int maxCacheSize, boolean adaptiveCache, CellCacheCounter cacheCounter) {
+        return new FixedWidthCellParser(schemaCell, maxCacheSize, adaptiveCache, cacheCounter);
+    }
+
 }
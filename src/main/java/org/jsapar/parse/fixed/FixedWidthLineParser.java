@@ -5,13 +5,19 @@ import org.jsapar.model.Cell;
 import org.jsapar.model.Line;
 import org.jsapar.parse.line.LineDecoratorErrorConsumer;
 import org.jsapar.parse.line.ValidationHandler;
+import org.jsapar.text.CellCacheCounter;
+import org.jsapar.text.CellCacheStatistics;
 import org.jsapar.text.TextParseConfig;
 import org.jsapar.schema.FixedWidthSchemaCell;
 import org.jsapar.schema.FixedWidthSchemaLine;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -22,6 +28,22 @@ final class FixedWidthLineParser {
     private static final String EMPTY_STRING = "";
     private final FixedWidthSchemaLine lineSchema;
     private final List<FixedWidthCellParser> cellParsers;
+    /**
+     * For each cell parser, true if the cell is part of the projection of the configuration and should be read.
+     */
+    private final boolean[] projected;
+    /**
+     * The filters on raw cell text of the configuration, sorted by position within the line.
+     */
+    private final List<FilterCell> filterCells = new ArrayList<>();
+    /**
+     * The functions to parse cells with when cells are parsed lazily, otherwise null.
+     */
+    private final List<BiFunction<String, Consumer<JSaParException>, Cell<?>>> lazyCellParsers;
+    /**
+     * The line that is handed out for each line if lines are reused.
+     */
+    private Line reusedLine;
     private final ValidationHandler    validationHandler = new ValidationHandler();
     private final TextParseConfig            config;
     private final LineDecoratorErrorConsumer lineDecoratorErrorConsumer = new LineDecoratorErrorConsumer();
@@ -30,6 +52,25 @@ final class FixedWidthLineParser {
         this.lineSchema = lineSchema;
         this.config = config;
         this.cellParsers = makeCellParsers(lineSchema);
+        this.projected = new boolean[cellParsers.size()];
+        for (int i = 0; i < projected.length; i++) {
+            projected[i] = config.isProjected(lineSchema.getLineType(), cellParsers.get(i).getSchemaCell().getName());
+        }
+        this.lazyCellParsers = !config.isLazyCellParsing() ? null : cellParsers.stream()
+                .<BiFunction<String, Consumer<JSaParException>, Cell<?>>>map(parser -> parser::parse)
+                .collect(Collectors.toList());
+        Map<String, Predicate<CharSequence>> lineFilters = config.getFilters(lineSchema.getLineType());
+        int beginPos = 0;
+        for (FixedWidthSchemaCell schemaCell : lineSchema) {
+            Predicate<CharSequence> filter = lineFilters.get(schemaCell.getName());
+            if (filter != null && schemaCell.getLength() > 0)
+                filterCells.add(new FilterCell(beginPos, schemaCell.getLength(), ReadBuffer.makeTrimmer(schemaCell), filter));
+            beginPos += schemaCell.getLength();
+        }
+        for (String cellName : lineFilters.keySet()) {
+            if (lineSchema.findSchemaCell(cellName).map(c -> c.getLength() == 0).orElse(true))
+                filterCells.add(0, new FilterCell(0, 0, null, lineFilters.get(cellName)));
+        }
     }
 
     private List<FixedWidthCellParser> makeCellParsers(FixedWidthSchemaLine lineSchema) {
@@ -37,7 +78,13 @@ final class FixedWidthLineParser {
     }
 
     private FixedWidthCellParser makeCellParser(FixedWidthSchemaCell fixedWidthSchemaCell) {
-        return FixedWidthCellParser.ofSchemaCell(fixedWidthSchemaCell, Math.min(config.getMaxCellCacheSize(), lineSchema.getOccurs() - 1));
+        return FixedWidthCellParser.ofSchemaCell(fixedWidthSchemaCell, Math.min(config.getMaxCellCacheSize(), lineSchema.getOccurs() - 1),
+                config.isAdaptiveCellCache(), cacheCounterOf(fixedWidthSchemaCell));
+    }
+
+    private CellCacheCounter cacheCounterOf(FixedWidthSchemaCell schemaCell) {
+        CellCacheStatistics statistics = config.getCellCacheStatistics();
+        return statistics == null ? null : statistics.of(lineSchema.getLineType(), schemaCell.getName());
     }
 
     boolean isIgnoreRead(){
@@ -46,22 +93,41 @@ final class FixedWidthLineParser {
 
     @SuppressWarnings("UnnecessaryContinue")
     public Line parse(ReadBuffer lineReader, Consumer<JSaParException> errorListener) throws IOException {
-        Line line = new Line(lineSchema.getLineType(), lineSchema.size(), lineReader.getLineNumber());
+        Line line = makeLine(lineReader.getLineNumber());
         boolean setDefaultsOnly = false;
         boolean oneRead = false;
         boolean oneIgnored = false;
+        boolean oneAdded = false;
 
         lineDecoratorErrorConsumer.initialize(errorListener, line);
-        for (FixedWidthCellParser cellParser : cellParsers) {
+        for (int i = 0; i < cellParsers.size(); i++) {
+            FixedWidthCellParser cellParser = cellParsers.get(i);
             FixedWidthSchemaCell schemaCell = cellParser.getSchemaCell();
-            if (setDefaultsOnly) {
+            if (!projected[i]) {
+                // Outside of the projection, not even the default value is needed.
+                if (setDefaultsOnly)
+                    continue;
+                int nSkipped = lineReader.skipWithinLine(schemaCell.getLength());
+                if (nSkipped > 0 || schemaCell.getLength() == 0)
+                    oneIgnored = true;
+                if (nSkipped != schemaCell.getLength() && oneRead) {
+                    setDefaultsOnly = true;
+                    if (!lineValidationInsufficient(lineReader, errorListener))
+                        return null;
+                }
+                continue;
+            } else if (setDefaultsOnly) {
                 cellParser.checkIfMandatory(errorListener);
-                if (cellParser.isDefaultValue())
+                if (cellParser.isDefaultValue()) {
                     line.addCell(cellParser.makeDefaultCell());
+                    oneAdded = true;
+                }
                 continue;
             } else if (schemaCell.isIgnoreRead()) {
-                if (cellParser.isDefaultValue())
+                if (cellParser.isDefaultValue()) {
                     line.addCell(cellParser.makeDefaultCell());
+                    oneAdded = true;
+                }
 
                 int nSkipped = lineReader.skipWithinLine(schemaCell.getLength());
                 if (nSkipped > 0 || schemaCell.getLength() == 0)
@@ -76,14 +142,29 @@ final class FixedWidthLineParser {
                     continue;
                 }
             } else {
-                Cell<?> cell = cellParser.parse(lineReader, lineDecoratorErrorConsumer);
+                Cell<?> cell;
+                if (lazyCellParsers != null) {
+                    String sValue = cellParser.read(lineReader);
+                    if (sValue != null) {
+                        oneRead = true;
+                        oneAdded = true;
+                        line.addLazyCell(schemaCell.getName(), sValue, lazyCellParsers.get(i));
+                        continue;
+                    }
+                    cellParser.checkIfMandatory(lineDecoratorErrorConsumer);
+                    cell = null;
+                } else {
+                    cell = cellParser.parse(lineReader, lineDecoratorErrorConsumer);
+                }
                 if (cell == null) {
                     if (oneRead) {
                         setDefaultsOnly = true;
                         if (cellParser.isDefaultValue()) {
                             cell = cellParser.parse(EMPTY_STRING, lineDecoratorErrorConsumer);
-                            if(cell != null)
+                            if(cell != null) {
                                 line.addCell(cell);
+                                oneAdded = true;
+                            }
                         }
                         if (!lineValidationInsufficient(lineReader, errorListener)) {
                             return null;
@@ -93,10 +174,12 @@ final class FixedWidthLineParser {
                 }
 
                 oneRead = true;
+                oneAdded = true;
                 line.addCell(cell);
             }
         }
-        if (line.size() <= 0 && !oneIgnored)
+        // Avoid calling line.size() since that would parse any lazily added cells.
+        if (!oneAdded && !oneIgnored)
             return null;
 
         int remaining = lineReader.remainsForLine();
@@ -109,6 +192,47 @@ final class FixedWidthLineParser {
         return line;
     }
 
+    /**
+     * @param lineNumber The line number of the line.
+     * @return A new line or, if lines are reused, the line of this parser reset to supplied line number.
+     */
+    private Line makeLine(long lineNumber) {
+        if (!config.isReuseLines())
+            return new Line(lineSchema.getLineType(), lineSchema.getCellIndex(), lineNumber);
+        if (reusedLine == null)
+            reusedLine = new Line(lineSchema.getLineType(), lineSchema.getCellIndex(), lineNumber);
+        else
+            reusedLine.reset(lineNumber);
+        return reusedLine;
+    }
+
+    /**
+     * Tests the filters of the configuration against the line to follow without consuming anything. Lines that are not
+     * accepted should be dropped without being parsed.
+     * @param lineReader The reader to read from.
+     * @return True if the raw cell text fulfills all the filters.
+     * @throws IOException In case of error in underlying IO operation
+     */
+    boolean isAccepted(ReadBuffer lineReader) throws IOException {
+        if (filterCells.isEmpty())
+            return true;
+        lineReader.markLine();
+        try {
+            int read = 0;
+            for (FilterCell filterCell : filterCells) {
+                CharSequence value = filterCell.trimmer == null ? null
+                        : lineReader.readToView(filterCell.trimmer, filterCell.beginPos - read, filterCell.length);
+                if (!filterCell.filter.test(value == null ? EMPTY_STRING : value))
+                    return false;
+                if (value != null)
+                    read = filterCell.beginPos + filterCell.length;
+            }
+        } finally {
+            lineReader.resetLine();
+        }
+        return true;
+    }
+
     @SuppressWarnings("BooleanMethodIsAlwaysInverted")
     private boolean lineValidationInsufficient(ReadBuffer lineReader, Consumer<JSaParException> errorListener) {
         return validationHandler.lineValidation(lineReader.getLineNumber(), config.getOnLineInsufficient(),
@@ -116,4 +240,21 @@ final class FixedWidthLineParser {
                         + ". Expected at least " + lineSchema.getTotalCellLength());
     }
 
+    /**
+     * A cell within the line that has a filter on its raw text. Cells that are not part of the line schema or that
+     * have zero length have no trimmer and their raw text is always empty.
+     */
+    private static final class FilterCell {
+        private final int beginPos;
+        private final int length;
+        private final ReadBuffer.Trimmer trimmer;
+        private final Predicate<CharSequence> filter;
+
+        private FilterCell(int beginPos, int length, ReadBuffer.Trimmer trimmer, Predicate<CharSequence> filter) {
+            this.beginPos = beginPos;
+            this.length = length;
+            this.trimmer = trimmer;
+            this.filter = filter;
+        }
+    }
 }
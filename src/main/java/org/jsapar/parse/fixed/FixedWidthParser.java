@@ -3,6 +3,7 @@ package org.jsapar.parse.fixed;
 import org.jsapar.error.JSaParException;
 import org.jsapar.model.Line;
 import org.jsapar.parse.line.ValidationHandler;
+import org.jsapar.parse.text.FileSegment;
 import org.jsapar.parse.text.TextSchemaParser;
 import org.jsapar.schema.FixedWidthSchema;
 import org.jsapar.schema.FixedWidthSchemaCell;
@@ -12,6 +13,10 @@ import org.jsapar.text.TextParseConfig;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import java.util.Spliterator;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -29,9 +34,21 @@ public class FixedWidthParser implements TextSchemaParser {
 
 
     public FixedWidthParser(Reader reader, FixedWidthSchema schema, TextParseConfig config) {
+        this(reader, schema, config, false);
+    }
+
+    /**
+     * @param reader    The reader to read from.
+     * @param schema    The schema to use.
+     * @param config    Current parse configuration.
+     * @param readAhead If true, the input is always read in larger chunks even if the schema does not contain any
+     *                  line that occurs infinitely. Characters that were read but not consumed can then be fetched by
+     *                  calling {@link #remainingReader()} once parsing is done.
+     */
+    public FixedWidthParser(Reader reader, FixedWidthSchema schema, TextParseConfig config, boolean readAhead) {
         this.schema = schema;
         this.config = config;
-        boolean allowReadAhead = schema.stream().anyMatch(SchemaLine::isOccursInfinitely);
+        boolean allowReadAhead = readAhead || schema.stream().anyMatch(SchemaLine::isOccursInfinitely);
         this.lineReader = new ReadBuffer(schema.getLineSeparator(), reader, config.getMaxLineLength(), (allowReadAhead ? config.getMaxLineLength(): 1));
         minLineLength = schema.stream().mapToInt(sl->sl.stream().mapToInt(FixedWidthSchemaCell::getLength).sum()).min().orElse(1);
     }
@@ -53,22 +70,26 @@ public class FixedWidthParser implements TextSchemaParser {
     @Override
     public long parse(Consumer<Line> lineEventListener, Consumer<JSaParException> errorListener) throws IOException {
         FWLineParserFactory lineParserFactory = new FWLineParserFactory(getSchema(), config);
+        long parsedCount = 0;
         while(true){
-            if(lineParserFactory.isEmpty())
+            if(lineParserFactory.isEmpty() || parsedCount >= config.getLineLimit())
                 return lineReader.getLineNumber();
             int lineLength = lineReader.nextLine(minLineLength);
             if (lineLength < 0)
                 return lineReader.getLineNumber(); // End of stream.
-            if (lineLength == 0)
-                continue; // Just ignore empty lines
+            if (lineLength == 0 || !config.isLineSelected(lineReader.getLineNumber()))
+                continue; // Just ignore empty and skipped lines
             FixedWidthLineParser lineParser = lineParserFactory.makeLineParser(lineReader);
             if (lineParser == null) {
                 handleNoParser(lineReader.getLineNumber(), lineParserFactory.getLastResult(), errorListener);
                 if(lineParserFactory.getLastResult() == LineParserMatcherResult.NOT_MATCHING)
                     continue;
-                else
-                    return lineReader.getLineNumber()-1;
+                lineReader.unreadLine();
+                return lineReader.getLineNumber()-1;
             }
+            parsedCount++;
+            if (!lineParser.isAccepted(lineReader))
+                continue; // Dropped by filter
             Line line = lineParser.parse(lineReader, errorListener);
             if(lineParser.isIgnoreRead())
                 continue;
@@ -79,6 +100,43 @@ public class FixedWidthParser implements TextSchemaParser {
         }
     }
 
+    @Override
+    public void setLineNumberOffset(long lineNumberOffset) {
+        lineReader.setLineNumber(lineNumberOffset);
+    }
+
+    /**
+     * Splits a fixed width file into segments that can be parsed independently of each other. Only schemas with one
+     * single line type that occurs infinitely and that has a line separator that ends with a single ASCII character
+     * are supported.
+     *
+     * @param schema       The schema to use.
+     * @param channel      The channel of the file to split.
+     * @param segmentCount The number of segments to aim for.
+     * @return A list of segments or an empty optional if the file cannot be split using this schema.
+     * @throws IOException In case of error while reading the file.
+     */
+    public static Optional<List<FileSegment>> splitFile(FixedWidthSchema schema, FileChannel channel, int segmentCount) throws IOException {
+        if (schema.size() != 1 || !schema.getSchemaLines().iterator().next().isOccursInfinitely())
+            return Optional.empty();
+        String lineSeparator = schema.getLineSeparator();
+        char lastChar;
+        if (Arrays.asList("\n", "\r\n").contains(lineSeparator))
+            lastChar = '\n';
+        else if (lineSeparator.length() == 1)
+            lastChar = lineSeparator.charAt(0);
+        else
+            return Optional.empty();
+        if (lastChar >= 128)
+            return Optional.empty();
+        return Optional.of(FileSegment.splitOnLineSeparator(channel, segmentCount, (byte) lastChar));
+    }
+
+    @Override
+    public Reader remainingReader() {
+        return lineReader.remainingReader();
+    }
+
     @Override
     public Stream<Line> stream(Consumer<JSaParException> errorConsumer) throws IOException {
         if(schema.isEmpty()) {
@@ -87,21 +145,29 @@ public class FixedWidthParser implements TextSchemaParser {
         try {
             FWLineParserFactory lineParserFactory = new FWLineParserFactory(getSchema(), config);
             Spliterator<Line> spliterator = new Spliterator<>() {
+                private long parsedCount = 0;
+
                 @Override
                 public boolean tryAdvance(Consumer<? super Line> action) {
                     try {
-                        if (lineParserFactory.isEmpty())
+                        if (lineParserFactory.isEmpty() || parsedCount >= config.getLineLimit())
                             return false;
                         int lineLength = lineReader.nextLine(minLineLength);
                         if (lineLength < 0)
                             return false; // End of stream.
-                        if (lineLength == 0)
-                            return true; // Just ignore empty lines
+                        if (lineLength == 0 || !config.isLineSelected(lineReader.getLineNumber()))
+                            return true; // Just ignore empty and skipped lines
                         FixedWidthLineParser lineParser = lineParserFactory.makeLineParser(lineReader);
                         if (lineParser == null) {
                             handleNoParser(lineReader.getLineNumber(), lineParserFactory.getLastResult(), errorConsumer);
-                            return lineParserFactory.getLastResult() == LineParserMatcherResult.NOT_MATCHING;
+                            if (lineParserFactory.getLastResult() == LineParserMatcherResult.NOT_MATCHING)
+                                return true;
+                            lineReader.unreadLine();
+                            return false;
                         }
+                        parsedCount++;
+                        if (!lineParser.isAccepted(lineReader))
+                            return true; // Dropped by filter
                         Line line = lineParser.parse(lineReader, errorConsumer);
                         if (lineParser.isIgnoreRead())
                             return true;
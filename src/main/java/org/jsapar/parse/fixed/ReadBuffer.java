@@ -1,6 +1,7 @@
 package org.jsapar.parse.fixed;
 
 import org.jsapar.parse.LineParseException;
+import org.jsapar.parse.text.RemainderReader;
 import org.jsapar.schema.FixedWidthSchemaCell;
 
 import java.io.IOException;
@@ -25,6 +26,7 @@ final class ReadBuffer {
     private       int     bufferSize = 0;
     private       long    lineNumber = 0;
     private       boolean eof        = false;
+    private final BufferView view       = new BufferView();
 
     /**
      * @param reader      The reader to read from
@@ -105,12 +107,34 @@ final class ReadBuffer {
         cursor = lineMark;
     }
 
+    /**
+     * Steps back to the beginning of the current line so that it will be regarded as not consumed. Only the line that
+     * was fetched by last call to {@link #nextLine(int)} can be unread.
+     */
+    void unreadLine() {
+        cursor = lineMark;
+        nextLineBegin = lineMark;
+    }
+
+    /**
+     * @return A reader that first delivers the characters that were loaded into this buffer but not yet consumed, then
+     * continues with the underlying reader.
+     */
+    Reader remainingReader() {
+        final int from = lineLoader.remainingBegin();
+        return new RemainderReader(buffer, from, bufferSize - from, reader);
+    }
+
     /**
      * @param toSkip The number of characters to skip
      * @return The number of characters skipped within line.
+     * @throws IOException If there is a problem while reading the input reader.
      */
-    int skipWithinLine(int toSkip) {
-        final int availableWithinLine = lineEnd - cursor;
+    int skipWithinLine(int toSkip) throws IOException {
+        final int required = cursor + toSkip - bufferSize;
+        if (required > 0)
+            load(required); // Lines without line separator are loaded lazily.
+        final int availableWithinLine = Math.min(lineEnd, bufferSize) - cursor;
         toSkip = Math.min(toSkip, availableWithinLine);
         cursor += toSkip;
         return toSkip;
@@ -122,8 +146,23 @@ final class ReadBuffer {
      * @throws IOException If there is a problem while reading the input reader.
      */
     String readToString(Trimmer trimmer, int offset, int length) throws IOException {
+        final CharSequence value = readToView(trimmer, offset, length);
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * Same as {@link #readToString(Trimmer, int, int)} but does not create any String. The returned view refers
+     * directly to the buffer and is only valid until next read from this buffer. It has the same
+     * {@link Object#hashCode()} and {@link Object#equals(Object)} as a String with the same content, which makes it
+     * possible to use it for look up in a hash table where the keys are strings.
+     *
+     * @return A view of the value of the cell read from the reader at the position pointed to by the offset. Null if
+     * end of input stream was reached.
+     * @throws IOException If there is a problem while reading the input reader.
+     */
+    CharSequence readToView(Trimmer trimmer, int offset, int length) throws IOException {
         if (length == 0)
-            return EMPTY_STRING;
+            return view.set(cursor, 0);
 
         cursor += offset;
         int required = cursor + length - bufferSize;
@@ -142,12 +181,71 @@ final class ReadBuffer {
         if (length < 0)
             return null; //EOL
         if (length == 0)
-            return EMPTY_STRING;
+            return view.set(cursor, 0);
         final int fieldEnd = cursor + length;
         int cellBegin = trimmer.findBegin(buffer, cursor, fieldEnd);
         int cellEnd = trimmer.findEnd(buffer, cellBegin, fieldEnd);
         cursor = fieldEnd;
-        return new String(buffer, cellBegin, cellEnd - cellBegin);
+        return view.set(cellBegin, cellEnd - cellBegin);
+    }
+
+    /**
+     * A view of a part of the buffer.
+     */
+    private final class BufferView implements CharSequence {
+        private int begin;
+        private int length;
+
+        BufferView set(int begin, int length) {
+            this.begin = begin;
+            this.length = length;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return buffer[begin + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().substring(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return length == 0 ? EMPTY_STRING : new String(buffer, begin, length);
+        }
+
+        @Override
+        public int hashCode() {
+            int h = 0;
+            for (int i = begin; i < begin + length; i++) {
+                h = 31 * h + buffer[i];
+            }
+            return h;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof CharSequence))
+                return false;
+            final CharSequence other = (CharSequence) o;
+            if (other.length() != length)
+                return false;
+            for (int i = 0; i < length; i++) {
+                if (buffer[begin + i] != other.charAt(i))
+                    return false;
+            }
+            return true;
+        }
     }
 
 
@@ -345,10 +443,22 @@ final class ReadBuffer {
         return lineNumber;
     }
 
+    /**
+     * @param lineNumber The line number of the line that precedes the next line.
+     */
+    void setLineNumber(long lineNumber) {
+        this.lineNumber = lineNumber;
+    }
+
     private interface LineLoader {
         int nextLine(int allocate) throws IOException;
 
         int remainsForLine();
+
+        /**
+         * @return The index within the buffer of the first character that has not yet been consumed.
+         */
+        int remainingBegin();
     }
 
     /**
@@ -373,6 +483,11 @@ final class ReadBuffer {
         public int remainsForLine() {
             return 0;
         }
+
+        @Override
+        public int remainingBegin() {
+            return cursor;
+        }
     }
 
     private final class LineLoaderCRLF implements LineLoader {
@@ -411,6 +526,11 @@ final class ReadBuffer {
         public int remainsForLine() {
             return lineEnd - cursor;
         }
+
+        @Override
+        public int remainingBegin() {
+            return nextLineBegin;
+        }
     }
 
     private final class LineLoaderCustom implements LineLoader {
@@ -455,6 +575,11 @@ final class ReadBuffer {
         public int remainsForLine() {
             return lineEnd - cursor;
         }
+
+        @Override
+        public int remainingBegin() {
+            return nextLineBegin;
+        }
     }
 
     /**
@@ -0,0 +1,167 @@
+package org.jsapar.parse.text;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Internal class describing a segment of a file that can be parsed independently of other segments. A segment always
+ * begins at the beginning of a line and ends directly after a line separator or at end of file.
+ */
+public final class FileSegment {
+    /**
+     * The smallest segment size worth parsing separately.
+     */
+    public static final long MIN_SEGMENT_SIZE = 1024 * 1024;
+
+    private static final int WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private final long begin;
+    private final long end;
+    private final long lineNumberOffset;
+
+    /**
+     * @param begin            The byte position within the file of the first byte of the segment.
+     * @param end              The byte position within the file directly after the last byte of the segment.
+     * @param lineNumberOffset The number of lines within the file that precede this segment.
+     */
+    public FileSegment(long begin, long end, long lineNumberOffset) {
+        this.begin = begin;
+        this.end = end;
+        this.lineNumberOffset = lineNumberOffset;
+    }
+
+    public long getBegin() {
+        return begin;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+
+    public long getLineNumberOffset() {
+        return lineNumberOffset;
+    }
+
+    public long size() {
+        return end - begin;
+    }
+
+    /**
+     * Segments can only be found by scanning raw bytes if the encoding guarantees that a byte of a single byte
+     * character never occurs within a multi byte character.
+     *
+     * @param charset The character encoding of the file.
+     * @return True if the charset is compatible with ASCII in a way that makes it possible to split the file on raw
+     * bytes.
+     */
+    public static boolean isSplittable(Charset charset) {
+        return StandardCharsets.UTF_8.equals(charset) || StandardCharsets.ISO_8859_1.equals(charset)
+                || StandardCharsets.US_ASCII.equals(charset);
+    }
+
+    /**
+     * @param fileSize The total size of the file.
+     * @return The number of segments to aim for given the size of the file and available processors.
+     */
+    public static int targetSegmentCount(long fileSize) {
+        long maxCount = Math.max(1, fileSize / MIN_SEGMENT_SIZE);
+        return (int) Math.min(maxCount, 4L * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Splits a file into segments where each segment ends directly after the supplied line separator byte. The
+     * number of lines within each segment are counted in parallel.
+     *
+     * @param channel      The file channel to scan.
+     * @param segmentCount The number of segments to aim for.
+     * @param eol          The last byte of the line separator.
+     * @return A list of segments covering the whole file.
+     * @throws IOException In case of error while reading the file.
+     */
+    public static List<FileSegment> splitOnLineSeparator(FileChannel channel, int segmentCount, byte eol) throws IOException {
+        final long fileSize = channel.size();
+        final List<Long> borders = new ArrayList<>();
+        borders.add(0L);
+        final long nominalSize = Math.max(1, fileSize / Math.max(1, segmentCount));
+        long position = nominalSize;
+        while (position < fileSize) {
+            long border = findNext(channel, fileSize, position, eol);
+            if (border >= fileSize)
+                break;
+            if (border > borders.get(borders.size() - 1))
+                borders.add(border);
+            position = Math.max(border, position) + nominalSize;
+        }
+        borders.add(fileSize);
+
+        final long[] lineCounts;
+        try {
+            lineCounts = IntStream.range(0, borders.size() - 1).parallel()
+                    .mapToLong(i -> count(channel, borders.get(i), borders.get(i + 1), eol))
+                    .toArray();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        final List<FileSegment> segments = new ArrayList<>(lineCounts.length);
+        long lineNumberOffset = 0;
+        for (int i = 0; i < lineCounts.length; i++) {
+            segments.add(new FileSegment(borders.get(i), borders.get(i + 1), lineNumberOffset));
+            lineNumberOffset += lineCounts[i];
+        }
+        return segments;
+    }
+
+    /**
+     * @return The position directly after the next occurrence of supplied byte, starting at supplied position. Returns
+     * fileSize if not found.
+     */
+    private static long findNext(FileChannel channel, long fileSize, long position, byte toFind) throws IOException {
+        while (position < fileSize) {
+            final MappedByteBuffer window = map(channel, position, fileSize);
+            final int limit = window.limit();
+            for (int i = 0; i < limit; i++) {
+                if (window.get(i) == toFind)
+                    return position + i + 1;
+            }
+            position += limit;
+        }
+        return fileSize;
+    }
+
+    private static long count(FileChannel channel, long begin, long end, byte toCount) {
+        long count = 0;
+        try {
+            for (long position = begin; position < end; ) {
+                final MappedByteBuffer window = map(channel, position, end);
+                final int limit = window.limit();
+                for (int i = 0; i < limit; i++) {
+                    if (window.get(i) == toCount)
+                        count++;
+                }
+                position += limit;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count;
+    }
+
+    /**
+     * Maps a read only window of the file.
+     * @param channel  The channel to map.
+     * @param position The position of the window.
+     * @param end      Never map beyond this position.
+     * @return A window of the file.
+     * @throws IOException If mapping fails.
+     */
+    public static MappedByteBuffer map(FileChannel channel, long position, long end) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, end - position));
+    }
+}
@@ -0,0 +1,200 @@
+package org.jsapar.parse.text;
+
+import org.jsapar.error.JSaParException;
+import org.jsapar.model.Line;
+import org.jsapar.schema.Schema;
+import org.jsapar.schema.SchemaCell;
+import org.jsapar.schema.SchemaLine;
+import org.jsapar.text.TextParseConfig;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Internal spliterator that parses a file that has been split into segments. Each segment is parsed by its own
+ * {@link TextSchemaParser} and the segments can be split between threads when used in a parallel stream. The line
+ * numbers of each segment are offset by the number of lines that precede the segment so that line numbers of both lines
+ * and errors refer to the whole file.
+ */
+public final class FileSegmentSpliterator implements Spliterator<Line> {
+    private final Schema<? extends SchemaLine<? extends SchemaCell>> schema;
+    private final TextParseConfig parseConfig;
+    private final Path path;
+    private final Charset charset;
+    private final Consumer<JSaParException> errorConsumer;
+    private final List<FileSegment> segments;
+    private final Queue<Reader> openReaders;
+    private int index;
+    private final int fence;
+
+    private Spliterator<Line> current;
+    private Reader currentReader;
+
+    private FileSegmentSpliterator(Schema<? extends SchemaLine<? extends SchemaCell>> schema,
+                                   TextParseConfig parseConfig,
+                                   Path path,
+                                   Charset charset,
+                                   Consumer<JSaParException> errorConsumer,
+                                   List<FileSegment> segments,
+                                   Queue<Reader> openReaders, int index, int fence) {
+        this.schema = schema;
+        this.parseConfig = parseConfig;
+        this.path = path;
+        this.charset = charset;
+        this.errorConsumer = errorConsumer;
+        this.segments = segments;
+        this.openReaders = openReaders;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    /**
+     * Creates a parallel stream of lines parsed from supplied file. If the file cannot be split with the supplied
+     * schema, or if the parse configuration has a line limit, the stream will be sequential. The line limit counts the
+     * lines from the beginning of the file, which is not known by the parsers of the segments.
+     * <p>
+     * The returned stream should be closed after use in order to release all underlying file resources.
+     *
+     * @param schema        The schema to use for parsing.
+     * @param parseConfig   Current parse configuration.
+     * @param path          The path of the file to parse.
+     * @param charset       The character encoding of the file.
+     * @param errorConsumer The error consumer. Needs to be thread safe since it may be called from several threads.
+     * @return A parallel stream of lines parsed from the file, ordered as in the file.
+     * @throws IOException In case of error while reading the file.
+     */
+    public static Stream<Line> stream(Schema<? extends SchemaLine<? extends SchemaCell>> schema,
+                                      TextParseConfig parseConfig,
+                                      Path path,
+                                      Charset charset,
+                                      Consumer<JSaParException> errorConsumer) throws IOException {
+        Optional<List<FileSegment>> segments = Optional.empty();
+        if (FileSegment.isSplittable(charset) && parseConfig.getLineLimit() == Long.MAX_VALUE) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                segments = TextSchemaParser.splitFile(schema, channel, parseConfig, FileSegment.targetSegmentCount(channel.size()));
+            }
+        }
+        if (segments.isEmpty()) {
+            Reader reader = new MappedFileReader(path, charset);
+            return TextSchemaParser.ofSchema(schema, reader, parseConfig, true).stream(errorConsumer)
+                    .onClose(() -> closeAll(List.of(reader)));
+        }
+        return stream(schema, parseConfig, path, charset, errorConsumer, segments.get());
+    }
+
+    /**
+     * Creates a parallel stream of lines parsed from supplied segments of a file.
+     * @param schema        The schema to use for parsing.
+     * @param parseConfig   Current parse configuration.
+     * @param path          The path of the file to parse.
+     * @param charset       The character encoding of the file.
+     * @param errorConsumer The error consumer. Needs to be thread safe since it may be called from several threads.
+     * @param segments      The segments of the file to parse.
+     * @return A parallel stream of lines parsed from the file, ordered as in the file.
+     */
+    static Stream<Line> stream(Schema<? extends SchemaLine<? extends SchemaCell>> schema,
+                               TextParseConfig parseConfig,
+                               Path path,
+                               Charset charset,
+                               Consumer<JSaParException> errorConsumer,
+                               List<FileSegment> segments) {
+        Queue<Reader> openReaders = new ConcurrentLinkedQueue<>();
+        FileSegmentSpliterator spliterator = new FileSegmentSpliterator(schema, parseConfig, path, charset,
+                errorConsumer, segments, openReaders, 0, segments.size());
+        return StreamSupport.stream(spliterator, true)
+                .onClose(() -> closeAll(openReaders));
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Line> action) {
+        try {
+            while (true) {
+                if (current == null) {
+                    if (index >= fence)
+                        return false;
+                    openSegment(segments.get(index++));
+                }
+                if (current.tryAdvance(action))
+                    return true;
+                closeCurrent();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void openSegment(FileSegment segment) throws IOException {
+        currentReader = new MappedFileReader(path, charset, segment.getBegin(), segment.getEnd());
+        openReaders.add(currentReader);
+        TextSchemaParser parser = TextSchemaParser.ofSchema(schema, currentReader, parseConfig, true);
+        parser.setLineNumberOffset(segment.getLineNumberOffset());
+        current = parser.stream(errorConsumer).spliterator();
+    }
+
+    private void closeCurrent() throws IOException {
+        openReaders.remove(currentReader);
+        currentReader.close();
+        currentReader = null;
+        current = null;
+    }
+
+    /**
+     * Closes all supplied readers, even if closing some of them fails.
+     * @param readers The readers to close.
+     * @throws UncheckedIOException If closing any of the readers failed. Failures of other readers than the first one
+     *                              that failed are added as suppressed exceptions.
+     */
+    private static void closeAll(Iterable<Reader> readers) {
+        IOException failure = null;
+        for (Reader reader : readers) {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                if (failure == null)
+                    failure = e;
+                else
+                    failure.addSuppressed(e);
+            }
+        }
+        if (failure != null)
+            throw new UncheckedIOException(failure);
+    }
+
+    @Override
+    public Spliterator<Line> trySplit() {
+        if (current != null || fence - index < 2)
+            return null;
+        int mid = (index + fence) >>> 1;
+        Spliterator<Line> prefix = new FileSegmentSpliterator(schema, parseConfig, path, charset, errorConsumer,
+                segments, openReaders, index, mid);
+        index = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        long size = 0;
+        for (int i = index; i < fence; i++) {
+            size += segments.get(i).size();
+        }
+        return current == null ? size : Math.max(size, 1);
+    }
+
+    @Override
+    public int characteristics() {
+        return IMMUTABLE | ORDERED | NONNULL;
+    }
+}
@@ -0,0 +1,190 @@
+package org.jsapar.parse.text;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Internal reader that reads characters from a file by memory mapping it in large windows. Characters are decoded
+ * directly into the buffer supplied by the caller, which means that there is no intermediate buffer between the file
+ * and the read buffer of the parser.
+ * <p>
+ * For the single byte charsets ISO-8859-1 and US-ASCII, the {@link CharsetDecoder} is bypassed entirely and each byte
+ * is converted to a char directly. As for {@link java.io.InputStreamReader}, malformed input is replaced by the
+ * replacement character.
+ */
+public final class MappedFileReader extends Reader {
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+    private static final char REPLACEMENT = '\uFFFD';
+
+    private final FileChannel channel;
+    private final long end;
+    private final long windowSize;
+    private final CharsetDecoder decoder;
+    private final boolean ascii;
+    private final CharBuffer surrogatePair = CharBuffer.allocate(2);
+
+    private ByteBuffer window;
+    private long windowStart = 0;
+    private boolean endOfInput;
+    private int pending = -1;
+    private byte[] scratch = new byte[0];
+
+    /**
+     * @param path    The path of the file to read.
+     * @param charset The character encoding of the file.
+     * @throws IOException If the file could not be opened or mapped.
+     */
+    public MappedFileReader(Path path, Charset charset) throws IOException {
+        this(path, charset, WINDOW_SIZE);
+    }
+
+    /**
+     * @param path       The path of the file to read.
+     * @param charset    The character encoding of the file.
+     * @param windowSize The maximum number of bytes to map at a time. Needs to be able to hold at least one character.
+     * @throws IOException If the file could not be opened or mapped.
+     */
+    MappedFileReader(Path path, Charset charset, long windowSize) throws IOException {
+        this(path, charset, 0, -1, windowSize);
+    }
+
+    /**
+     * Creates a reader that only reads a segment of the file. The segment needs to begin at the start of a character
+     * in the encoding of the file.
+     * @param path    The path of the file to read.
+     * @param charset The character encoding of the file.
+     * @param begin   The byte position within the file of the first byte to read.
+     * @param end     The byte position within the file directly after the last byte to read.
+     * @throws IOException If the file could not be opened or mapped.
+     */
+    public MappedFileReader(Path path, Charset charset, long begin, long end) throws IOException {
+        this(path, charset, begin, end, WINDOW_SIZE);
+    }
+
+    private MappedFileReader(Path path, Charset charset, long begin, long end, long windowSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.windowSize = Math.max(windowSize, 8);
+        boolean singleByte = StandardCharsets.ISO_8859_1.equals(charset) || StandardCharsets.US_ASCII.equals(charset);
+        this.ascii = StandardCharsets.US_ASCII.equals(charset);
+        this.decoder = singleByte ? null : charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        try {
+            this.end = end < 0 ? channel.size() : Math.min(end, channel.size());
+            mapWindow(Math.min(begin, this.end));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Maps next window of the file.
+     * @param position The position within the file where the window should start.
+     * @throws IOException If mapping fails.
+     */
+    private void mapWindow(long position) throws IOException {
+        windowStart = position;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(windowSize, end - position));
+    }
+
+    private boolean isLastWindow() {
+        return windowStart + window.limit() >= end;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0)
+            return 0;
+        if (decoder == null)
+            return readSingleByte(cbuf, off, len);
+        if (pending >= 0) {
+            cbuf[off] = (char) pending;
+            pending = -1;
+            return 1;
+        }
+        return decode(cbuf, off, len);
+    }
+
+    private int readSingleByte(char[] cbuf, int off, int len) throws IOException {
+        if (!window.hasRemaining()) {
+            if (isLastWindow())
+                return -1;
+            mapWindow(windowStart + window.limit());
+        }
+        final int count = Math.min(len, window.remaining());
+        if (scratch.length < count)
+            scratch = new byte[count];
+        window.get(scratch, 0, count);
+        if (ascii) {
+            for (int i = 0; i < count; i++) {
+                final byte b = scratch[i];
+                cbuf[off + i] = b < 0 ? REPLACEMENT : (char) b;
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                cbuf[off + i] = (char) (scratch[i] & 0xFF);
+            }
+        }
+        return count;
+    }
+
+    private int decode(char[] cbuf, int off, int len) throws IOException {
+        final CharBuffer target = CharBuffer.wrap(cbuf, off, len);
+        while (target.hasRemaining() && !endOfInput) {
+            final boolean lastWindow = isLastWindow();
+            final CoderResult result = decoder.decode(window, target, lastWindow);
+            if (result.isOverflow()) {
+                if (target.position() == off)
+                    return decodeSurrogatePair(cbuf, off, lastWindow);
+                break;
+            }
+            if (lastWindow) {
+                decoder.flush(target);
+                endOfInput = true;
+            } else {
+                // Start next window at the first byte that was not decoded, which may be within a multi-byte character.
+                mapWindow(windowStart + window.position());
+            }
+        }
+        final int count = target.position() - off;
+        return (count == 0 && endOfInput) ? -1 : count;
+    }
+
+    /**
+     * Called when there is only room for one character but the next character requires two chars.
+     */
+    private int decodeSurrogatePair(char[] cbuf, int off, boolean lastWindow) {
+        surrogatePair.clear();
+        decoder.decode(window, surrogatePair, lastWindow);
+        surrogatePair.flip();
+        cbuf[off] = surrogatePair.get();
+        if (surrogatePair.hasRemaining())
+            pending = surrogatePair.get();
+        return 1;
+    }
+
+    @Override
+    public boolean ready() {
+        return pending >= 0 || window.hasRemaining() || !isLastWindow();
+    }
+
+    /**
+     * Closes the underlying file channel.
+     * @throws IOException In case of error while closing.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
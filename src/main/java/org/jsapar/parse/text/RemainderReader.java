@@ -0,0 +1,53 @@
+package org.jsapar.parse.text;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Internal reader that first delivers characters that were read ahead from an underlying reader but never consumed
+ * by the parser, then continues reading from the underlying reader.
+ */
+public final class RemainderReader extends Reader {
+    private final char[] remainder;
+    private final Reader reader;
+    private int cursor = 0;
+
+    /**
+     * @param buffer The buffer that contains characters that were read ahead.
+     * @param offset The index of the first character within the buffer that was not consumed.
+     * @param length The number of characters that were not consumed.
+     * @param reader The underlying reader to continue reading from once the remainder has been delivered.
+     */
+    public RemainderReader(char[] buffer, int offset, int length, Reader reader) {
+        this.remainder = Arrays.copyOfRange(buffer, offset, offset + Math.max(0, length));
+        this.reader = reader;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0)
+            return 0;
+        final int available = remainder.length - cursor;
+        if (available <= 0)
+            return reader.read(cbuf, off, len);
+        final int count = Math.min(available, len);
+        System.arraycopy(remainder, cursor, cbuf, off, count);
+        cursor += count;
+        return count;
+    }
+
+    @Override
+    public boolean ready() throws IOException {
+        return cursor < remainder.length || reader.ready();
+    }
+
+    /**
+     * Closes the underlying reader.
+     * @throws IOException In case of error while closing.
+     */
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
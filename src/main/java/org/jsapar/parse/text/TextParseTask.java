@@ -7,6 +7,7 @@ import org.jsapar.schema.SchemaCell;
 import org.jsapar.schema.SchemaLine;
 import org.jsapar.text.TextParseConfig;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.Reader;
 import java.util.function.Consumer;
@@ -26,7 +27,7 @@ import java.util.function.Consumer;
  * @see ParseTask
  */
 public class TextParseTask extends AbstractParseTask implements ParseTask, AutoCloseable {
-    private final Reader          reader;
+    private final Closeable       input;
     private final TextSchemaParser parser;
 
     public TextParseTask(Schema<? extends SchemaLine<? extends SchemaCell>> schema, Reader reader) {
@@ -38,7 +39,16 @@ public class TextParseTask extends AbstractParseTask implements ParseTask, AutoC
     }
 
     public TextParseTask(Reader reader, TextSchemaParser parser) {
-        this.reader = reader;
+        this((Closeable) reader, parser);
+    }
+
+    /**
+     * @param input  The input that the parser reads from. It is closed when this task is closed.
+     * @param parser The parser to use.
+     * @since 2.3.4
+     */
+    public TextParseTask(Closeable input, TextSchemaParser parser) {
+        this.input = input;
         this.parser = parser;
     }
 
@@ -57,11 +67,11 @@ public class TextParseTask extends AbstractParseTask implements ParseTask, AutoC
     }
 
     /**
-     * Closes the attached reader
+     * Closes the attached input
      * @throws IOException In case of error while closing.
      */
     @Override
     public void close() throws IOException {
-        reader.close();
+        input.close();
     }
 }
@@ -8,7 +8,13 @@ import org.jsapar.schema.*;
 import org.jsapar.text.TextParseConfig;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -42,6 +48,24 @@ public interface TextSchemaParser {
      */
     Stream<Line> stream(Consumer<JSaParException> errorConsumer) throws IOException;
 
+    /**
+     * Returns a reader that delivers the part of the input that was not consumed while parsing. Characters that were
+     * read ahead into the internal buffer but never parsed are delivered first, then the rest of the underlying reader.
+     * Should only be called once parsing is done.
+     * @return A reader that delivers the part of the input that was not consumed while parsing.
+     * @since 2.3.4
+     */
+    Reader remainingReader();
+
+    /**
+     * Sets the number of lines that precede the input of this parser. Used when the input is only a segment of a
+     * larger source so that line numbers of parsed lines and of errors refers to the whole source. Needs to be called
+     * before parsing starts.
+     * @param lineNumberOffset The number of lines that precede the input of this parser.
+     * @since 2.3.4
+     */
+    void setLineNumberOffset(long lineNumberOffset);
+
 
         /**
          * Internal method to create a schema parser using this schema.
@@ -51,10 +75,60 @@ public interface TextSchemaParser {
          * @return Create a schema based text parser.     *
          */
     static TextSchemaParser ofSchema(Schema<? extends SchemaLine<? extends SchemaCell>> schema, Reader reader, TextParseConfig parseConfig) {
+        return ofSchema(schema, reader, parseConfig, false);
+    }
+
+    /**
+     * Internal method to create a schema parser using this schema.
+     * @param schema The schema to create a parser for.
+     * @param reader The reader to use for the parser.
+     * @param parseConfig Current parse configuration.
+     * @param readAhead If true, the input is always read in larger chunks, even if the schema has no line that occurs
+     *                  infinitely. Use {@link #remainingReader()} to fetch what was not consumed.
+     * @return Create a schema based text parser.
+     * @since 2.3.4
+     */
+    static TextSchemaParser ofSchema(Schema<? extends SchemaLine<? extends SchemaCell>> schema, Reader reader, TextParseConfig parseConfig, boolean readAhead) {
         if (schema instanceof CsvSchema)
-            return new CsvParser(reader, (CsvSchema) schema, parseConfig);
+            return new CsvParser(reader, (CsvSchema) schema, parseConfig, readAhead);
         if (schema instanceof FixedWidthSchema)
-            return new FixedWidthParser(reader, (FixedWidthSchema) schema, parseConfig);
+            return new FixedWidthParser(reader, (FixedWidthSchema) schema, parseConfig, readAhead);
         throw new IllegalArgumentException("Unsupported schema type: " + schema.getClass() + " while parsing.");
     }
+
+    /**
+     * Internal method to create a schema parser that reads bytes from an input stream. Csv input is then split into
+     * cells before decoding when possible, see {@link CsvParser#isByteParsingSupported(CsvSchema, Charset)}.
+     * @param schema The schema to create a parser for.
+     * @param inputStream The input stream to use for the parser.
+     * @param charset The character encoding of the input.
+     * @param parseConfig Current parse configuration.
+     * @param readAhead If true, the input is always read in larger chunks, even if the schema has no line that occurs
+     *                  infinitely. Use {@link #remainingReader()} to fetch what was not consumed.
+     * @return Create a schema based text parser.
+     * @since 2.3.4
+     */
+    static TextSchemaParser ofSchema(Schema<? extends SchemaLine<? extends SchemaCell>> schema, InputStream inputStream, Charset charset, TextParseConfig parseConfig, boolean readAhead) {
+        if (schema instanceof CsvSchema)
+            return new CsvParser(inputStream, charset, (CsvSchema) schema, parseConfig, readAhead);
+        return ofSchema(schema, new InputStreamReader(inputStream, charset), parseConfig, readAhead);
+    }
+
+    /**
+     * Internal method to split a file into segments that can be parsed independently of each other.
+     * @param schema The schema to use for parsing.
+     * @param channel The channel of the file to split.
+     * @param parseConfig Current parse configuration.
+     * @param segmentCount The number of segments to aim for.
+     * @return A list of segments or an empty optional if the file cannot be split using this schema.
+     * @throws IOException In case of error while reading the file.
+     * @since 2.3.4
+     */
+    static Optional<List<FileSegment>> splitFile(Schema<? extends SchemaLine<? extends SchemaCell>> schema, FileChannel channel, TextParseConfig parseConfig, int segmentCount) throws IOException {
+        if (schema instanceof CsvSchema)
+            return CsvParser.splitFile((CsvSchema) schema, channel, parseConfig, segmentCount);
+        if (schema instanceof FixedWidthSchema)
+            return FixedWidthParser.splitFile((FixedWidthSchema) schema, channel, segmentCount);
+        return Optional.empty();
+    }
 }
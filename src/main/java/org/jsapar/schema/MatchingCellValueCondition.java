@@ -1,5 +1,8 @@
 package org.jsapar.schema;
 
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -9,6 +12,7 @@ import java.util.regex.Pattern;
  * @see Pattern
  */
 public class MatchingCellValueCondition implements Predicate<String> {
+    private static final String REGEX_SPECIAL_CHARACTERS = "\\^$.?*+()[]{}";
     private final Pattern pattern;
 
     /**
@@ -29,7 +33,35 @@ public class MatchingCellValueCondition implements Predicate<String> {
 
     @Override
     public boolean test(String value) {
+        return matches(value);
+    }
+
+    /**
+     * Same as {@link #test(String)} but accepts any character sequence, which makes it possible to test a value
+     * without first creating a String.
+     * @param value The value to test.
+     * @return True if the whole value matches the regular expression.
+     */
+    public boolean matches(CharSequence value) {
         Matcher m = pattern.matcher(value);
         return m.matches();
     }
+
+    /**
+     * Many regular expressions used as line conditions are just a literal value or a number of literal values separated
+     * by '|'. For those expressions, a value matches if and only if it is equal to one of the literal values, which
+     * makes it possible to look up the value in a hash table instead of matching the regular expression.
+     *
+     * @return The set of literal values that this condition matches if the regular expression contains no other special
+     * characters than '|', otherwise an empty optional.
+     * @since 2.3.4
+     */
+    public Optional<Set<String>> findLiteralValues() {
+        String regex = pattern.pattern();
+        for (int i = 0; i < regex.length(); i++) {
+            if (REGEX_SPECIAL_CHARACTERS.indexOf(regex.charAt(i)) >= 0)
+                return Optional.empty();
+        }
+        return Optional.of(Set.copyOf(Arrays.asList(regex.split("\\|", -1))));
+    }
 }
@@ -25,6 +25,12 @@ public abstract class SchemaLine<C extends SchemaCell> implements Cloneable, Ite
      */
     private Map<String, C> schemaCells = new LinkedHashMap<>();
 
+    /**
+     * Lazily created map from cell name to the position of the schema cell within this line. Shared by all lines
+     * created by parsers using this schema line.
+     */
+    private volatile Map<String, Integer> cellIndex;
+
     /**
      * The number of times this type of line occurs in the corresponding input or output.
      *
@@ -377,6 +383,7 @@ public abstract class SchemaLine<C extends SchemaCell> implements Cloneable, Ite
         try {
             SchemaLine<C> clone = (SchemaLine<C>) super.clone();
             clone.schemaCells = new LinkedHashMap<>();
+            clone.cellIndex = null;
 
             for (C cell : this.schemaCells.values()) {
                 clone.addSchemaCell((C) cell.clone());
@@ -395,6 +402,27 @@ public abstract class SchemaLine<C extends SchemaCell> implements Cloneable, Ite
         return this.schemaCells.values();
     }
 
+    /**
+     * Returns a map from cell name to the position of the schema cell within this line, where the first cell has
+     * position 0. The returned map is not modifiable and it is shared between all callers. It can be used to create a
+     * {@link Line} that stores its cells by position, see {@link Line#Line(String, Map, long)}.
+     *
+     * @return A map from cell name to the position of the schema cell within this line.
+     * @since 2.3.4
+     */
+    public Map<String, Integer> getCellIndex() {
+        Map<String, Integer> index = this.cellIndex;
+        if (index == null) {
+            Map<String, Integer> positions = new HashMap<>((schemaCells.size() * 4 / 3) + 1);
+            for (String cellName : schemaCells.keySet()) {
+                positions.put(cellName, positions.size());
+            }
+            index = Collections.unmodifiableMap(positions);
+            this.cellIndex = index;
+        }
+        return index;
+    }
+
 
     /**
      * Adds a schema cell to this row.
@@ -403,6 +431,7 @@ public abstract class SchemaLine<C extends SchemaCell> implements Cloneable, Ite
      */
     public void addSchemaCell(C cell) {
         this.schemaCells.put(cell.getName(), cell);
+        this.cellIndex = null;
     }
 
     /**
@@ -429,5 +458,6 @@ public abstract class SchemaLine<C extends SchemaCell> implements Cloneable, Ite
      */
     public void clear(){
         schemaCells.clear();
+        cellIndex = null;
     }
 }
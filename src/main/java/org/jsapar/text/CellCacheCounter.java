@@ -0,0 +1,58 @@
+package org.jsapar.text;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts hits and misses of the cell cache of one cell. Counting is thread safe so that the same instance can be shared
+ * between parsers that are used from several threads. Instances are created by {@link CellCacheStatistics}.
+ * @since 2.3.4
+ */
+public final class CellCacheCounter {
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    CellCacheCounter() {
+    }
+
+    /**
+     * Counts one lookup that found a value in the cache. Called by the parser.
+     */
+    public void recordHit() {
+        hits.increment();
+    }
+
+    /**
+     * Counts one lookup that did not find any value in the cache. Called by the parser.
+     */
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    /**
+     * @return The number of lookups that found a value in the cache.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of lookups that did not find any value in the cache.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The ratio of lookups that found a value in the cache, or 0 if there have not been any lookups.
+     */
+    public double getHitRatio() {
+        long hitCount = getHitCount();
+        long total = hitCount + getMissCount();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + getHitCount() + " misses=" + getMissCount();
+    }
+}
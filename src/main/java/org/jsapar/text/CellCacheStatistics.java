@@ -0,0 +1,60 @@
+package org.jsapar.text;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Collects hit and miss counts of the cell cache for each cell while parsing. Use it to find out which columns that
+ * gain from caching and which do not, in order to tune {@link TextParseConfig#setMaxCellCacheSize(int)}. Assign an
+ * instance with {@link TextParseConfig#setCellCacheStatistics(CellCacheStatistics)} before parsing. Counts of all
+ * parsers using the same configuration are accumulated. It is safe to use the same instance from several threads.
+ * @since 2.3.4
+ */
+public final class CellCacheStatistics {
+    private final Map<String, Map<String, CellCacheCounter>> statisticsByLineType = new ConcurrentHashMap<>();
+
+    /**
+     * Creates empty statistics.
+     */
+    public CellCacheStatistics() {
+    }
+
+    /**
+     * Gets the counter to count into for a cell. Creates a new counter if there was none. Called by the parsers.
+     * @param lineType The line type.
+     * @param cellName The cell name.
+     * @return The counter to count into for a specific cell.
+     */
+    public CellCacheCounter of(String lineType, String cellName) {
+        return statisticsByLineType.computeIfAbsent(lineType, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(cellName, k -> new CellCacheCounter());
+    }
+
+    /**
+     * @param lineType The line type.
+     * @param cellName The cell name.
+     * @return The counter of a specific cell or empty if the cell has not been parsed with cache enabled.
+     */
+    public Optional<CellCacheCounter> find(String lineType, String cellName) {
+        return Optional.ofNullable(statisticsByLineType.get(lineType)).map(m -> m.get(cellName));
+    }
+
+    /**
+     * Calls supplied consumer for each cell of each line type, sorted by line type and cell name.
+     * @param consumer The consumer that takes a line type and the counters of all cells of that line type by cell name.
+     */
+    public void forEach(BiConsumer<String, Map<String, CellCacheCounter>> consumer) {
+        new TreeMap<>(statisticsByLineType).forEach((lineType, cells) -> consumer.accept(lineType, new TreeMap<>(cells)));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        forEach((lineType, cells) -> cells.forEach((cellName, statistics) ->
+                sb.append(lineType).append('.').append(cellName).append(": ").append(statistics).append('\n')));
+        return sb.toString();
+    }
+}
@@ -202,7 +202,7 @@ public interface Format<T> {
      * @return An instance that formats and parses date time objects.
      */
     static  Format<TemporalAccessor>  ofDateTimeInstance(Locale locale, String pattern, CellType cellType){
-        return ofDateTimeInstance(DateTimeFormatter.ofPattern(pattern, locale), cellType);
+        return new DateTimeFormat(pattern, locale, cellType, ZoneId.systemDefault());
     }    /**
      * @param locale  The locale to use
      * @param pattern The date pattern to use according to {@link DateTimeFormatter}. Required.
@@ -0,0 +1,26 @@
+package org.jsapar.text;
+
+import java.text.ParseException;
+
+/**
+ * Implemented by number formats that are able to parse values directly into primitive values without creating any
+ * {@link Number} object. The result of these methods is the same as calling {@link Number#longValue()} or
+ * {@link Number#doubleValue()} on the result of {@link Format#parse(String)}.
+ * @since 2.3.4
+ */
+public interface PrimitiveNumberFormat {
+
+    /**
+     * @param stringValue The string value to parse from.
+     * @return The parsed value as a long. Decimals, if any, are truncated.
+     * @throws ParseException If parsing fails for any reason.
+     */
+    long parseLong(String stringValue) throws ParseException;
+
+    /**
+     * @param stringValue The string value to parse from.
+     * @return The parsed value as a double.
+     * @throws ParseException If parsing fails for any reason.
+     */
+    double parseDouble(String stringValue) throws ParseException;
+}
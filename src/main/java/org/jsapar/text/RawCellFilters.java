@@ -0,0 +1,73 @@
+package org.jsapar.text;
+
+import java.util.function.Predicate;
+
+/**
+ * Cheap predicates to use with {@link TextParseConfig#addFilter(String, String, Predicate)}. The predicates are tested
+ * directly against the raw text of the cell, often a view into the read buffer, without creating any String. Since the
+ * raw text is compared, numeric values are only comparable with {@link #between(String, String)} if they are written
+ * with the same number of digits, for instance padded with leading zeros.
+ * @since 2.3.4
+ */
+public final class RawCellFilters {
+
+    private RawCellFilters() {
+    }
+
+    /**
+     * @param value The value to compare with.
+     * @return A predicate that is fulfilled if the raw text is equal to supplied value.
+     */
+    public static Predicate<CharSequence> equalTo(String value) {
+        return text -> contentEquals(text, value);
+    }
+
+    /**
+     * @param values The values to compare with.
+     * @return A predicate that is fulfilled if the raw text is equal to any of supplied values.
+     */
+    public static Predicate<CharSequence> anyOf(String... values) {
+        String[] copy = values.clone();
+        return text -> {
+            for (String value : copy) {
+                if (contentEquals(text, value))
+                    return true;
+            }
+            return false;
+        };
+    }
+
+    /**
+     * @param prefix The prefix to look for.
+     * @return A predicate that is fulfilled if the raw text starts with supplied prefix.
+     */
+    public static Predicate<CharSequence> startsWith(String prefix) {
+        return text -> text.length() >= prefix.length() && regionEquals(text, prefix);
+    }
+
+    /**
+     * @param from The lowest value to accept, inclusive. Null means no lower limit.
+     * @param to   The highest value to accept, inclusive. Null means no upper limit.
+     * @return A predicate that is fulfilled if the raw text is between supplied values, comparing character by
+     * character.
+     */
+    public static Predicate<CharSequence> between(String from, String to) {
+        return text -> (from == null || CharSequence.compare(text, from) >= 0)
+                && (to == null || CharSequence.compare(text, to) <= 0);
+    }
+
+    private static boolean contentEquals(CharSequence text, String value) {
+        return text.length() == value.length() && regionEquals(text, value);
+    }
+
+    /**
+     * @return True if the first characters of the text are the same as the characters of the value.
+     */
+    private static boolean regionEquals(CharSequence text, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (text.charAt(i) != value.charAt(i))
+                return false;
+        }
+        return true;
+    }
+}
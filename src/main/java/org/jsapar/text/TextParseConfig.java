@@ -1,6 +1,16 @@
 package org.jsapar.text;
 
 import org.jsapar.error.ValidationAction;
+import org.jsapar.model.Line;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Configuration that controls behavior while parsing text.
@@ -30,8 +40,9 @@ public class TextParseConfig {
      * The maximum number of cell values that are cached while parsing. 0 or negative value means that caching is disabled. For inputs
      * where each cell on each line contains a unique value, you may gain some speed by disabling the cache.
      * <p>
-     * The default max cache size is 1 and the maximum value is 100. Setting a higher value will not have any further
-     * effect.
+     * The default max cache size is 1. When the cache is full, the least recently used value is discarded. Each cell
+     * of each line type has its own cache of this size, so consider using {@link #setAdaptiveCellCache(boolean)} when
+     * setting a large size.
      * <p>
      * For each column or schema-cell the library knows that a distinct string value will always result in exactly the same cell value.
      * <p>
@@ -52,6 +63,17 @@ public class TextParseConfig {
      */
     private int maxCellCacheSize = 1;
 
+    /**
+     * If true, the cell cache of each cell starts small and grows up to {@link #maxCellCacheSize} when it is full.
+     * For cells where most values are unique, the cache disables itself.
+     */
+    private boolean adaptiveCellCache = false;
+
+    /**
+     * If set, hits and misses of the cell cache are counted for each cell.
+     */
+    private CellCacheStatistics cellCacheStatistics = null;
+
     /**
      * The maximum number of characters that can occur on one line. Default is 8k. Since this size is used to allocate
      * buffer needed while parsing, setting a smaller number will have positive impact on memory usage and speed while
@@ -60,6 +82,70 @@ public class TextParseConfig {
      */
     private int maxLineLength = 1024 * 8;
 
+    /**
+     * If true, the value of each cell is parsed first when the cell is accessed.
+     */
+    private boolean lazyCellParsing = false;
+
+    /**
+     * If true, the same line instance is used for all lines of the same line type.
+     */
+    private boolean reuseLines = false;
+
+    /**
+     * The number of lines at the beginning of the input to skip without parsing them.
+     */
+    private long skipLines = 0L;
+
+    /**
+     * The maximum number of lines to parse.
+     */
+    private long lineLimit = Long.MAX_VALUE;
+
+    /**
+     * Only every n-th line is parsed.
+     */
+    private int sampleInterval = 1;
+
+    /**
+     * The names of the cells to read by line type. Line types that are not present are read completely.
+     */
+    private final Map<String, Set<String>> projections = new HashMap<>();
+
+    /**
+     * The filters on raw cell text by cell name by line type.
+     */
+    private final Map<String, Map<String, Predicate<CharSequence>>> filters = new HashMap<>();
+
+    /**
+     * Creates a configuration with default values.
+     */
+    public TextParseConfig() {
+    }
+
+    /**
+     * Creates a copy of another configuration. The cell cache statistics instance is shared with the copied
+     * configuration.
+     * @param other The configuration to copy.
+     * @since 2.3.4
+     */
+    public TextParseConfig(TextParseConfig other) {
+        this.onUndefinedLineType = other.onUndefinedLineType;
+        this.onLineInsufficient = other.onLineInsufficient;
+        this.onLineOverflow = other.onLineOverflow;
+        this.maxCellCacheSize = other.maxCellCacheSize;
+        this.adaptiveCellCache = other.adaptiveCellCache;
+        this.cellCacheStatistics = other.cellCacheStatistics;
+        this.maxLineLength = other.maxLineLength;
+        this.lazyCellParsing = other.lazyCellParsing;
+        this.reuseLines = other.reuseLines;
+        this.skipLines = other.skipLines;
+        this.lineLimit = other.lineLimit;
+        this.sampleInterval = other.sampleInterval;
+        this.projections.putAll(other.projections);
+        other.filters.forEach((lineType, lineFilters) -> this.filters.put(lineType, new LinkedHashMap<>(lineFilters)));
+    }
+
     /**
      * @return The action to take if the cell value conditions of the line does not match any of the defined line types
      * within the schema. Default is to throw exception.
@@ -126,8 +212,9 @@ public class TextParseConfig {
      * The maximum number of cell values that are cached while parsing. 0 or negative value means that caching is disabled. For inputs
      * where each cell on each line contains a unique value, you may gain some speed by disabling the cache.
      * <p>
-     * The default max cache size is 1 and the maximum value is 100. Setting a higher value will not have any further
-     * effect.
+     * The default max cache size is 1. There is no upper limit, but each cell of each line type has its own cache of
+     * this size, so consider using {@link #setAdaptiveCellCache(boolean)} when setting a large size. The adaptive cache
+     * then grows up to this size only for cells that gain from it.
      * <p>
      * For each column or schema-cell the library knows that a distinct string value will always result in exactly the same cell value.
      * <p>
@@ -150,7 +237,47 @@ public class TextParseConfig {
      *                         where each cell on each line contains a unique value, you may gain some speed by disabling the cache.
      */
     public void setMaxCellCacheSize(int maxCellCacheSize) {
-        this.maxCellCacheSize = Math.max(maxCellCacheSize, 100);
+        this.maxCellCacheSize = maxCellCacheSize;
+    }
+
+    /**
+     * @return True if the cell cache adapts its size according to the hit ratio of each cell.
+     * @see #setAdaptiveCellCache(boolean)
+     * @since 2.3.4
+     */
+    public boolean isAdaptiveCellCache() {
+        return adaptiveCellCache;
+    }
+
+    /**
+     * If set to true, the cell cache of each cell starts small and doubles its size, up to the max cell cache size,
+     * whenever it is full. If the hit ratio is still very low once the max size is reached, nearly all values of the
+     * cell are considered unique and the cache disables itself. This makes it possible to set a larger max cell cache size without paying for caching in
+     * columns that do not gain from it. Default is false.
+     * @param adaptiveCellCache If true, the cell cache adapts its size according to the hit ratio of each cell.
+     * @see #setMaxCellCacheSize(int)
+     * @since 2.3.4
+     */
+    public void setAdaptiveCellCache(boolean adaptiveCellCache) {
+        this.adaptiveCellCache = adaptiveCellCache;
+    }
+
+    /**
+     * @return The statistics that hits and misses of the cell cache are counted into, or null if not counted.
+     * @since 2.3.4
+     */
+    public CellCacheStatistics getCellCacheStatistics() {
+        return cellCacheStatistics;
+    }
+
+    /**
+     * Assign an instance in order to count hits and misses of the cell cache for each cell while parsing. Use it to
+     * tune {@link #setMaxCellCacheSize(int)}. Default is null which means that nothing is counted.
+     * @param cellCacheStatistics The statistics to count hits and misses of the cell cache into.
+     * @since 2.3.4
+     */
+    public void setCellCacheStatistics(CellCacheStatistics cellCacheStatistics) {
+        this.cellCacheStatistics = cellCacheStatistics;
     }
 
     /**
@@ -171,4 +298,225 @@ public class TextParseConfig {
     public void setMaxLineLength(int maxLineLength) {
         this.maxLineLength = maxLineLength;
     }
+
+    /**
+     * Limits which cells that are read for lines of a specific line type. All other cells of the line type are skipped
+     * while parsing, without creating any cell or even string value for them, the same way as if they were marked as
+     * ignore read within the schema. Their default values are not set either. Use this when only a few of the columns
+     * are needed, in order to use the same schema both when all cells are needed and when only a few are.
+     * <p>
+     * Cells that are used as line conditions are still evaluated when finding out the line type of a line but they are
+     * not added to the line unless they are part of the projection.
+     * @param lineType  The line type to limit the cells of.
+     * @param cellNames The names of the cells to read for the line type. Any other cell of the line type is skipped.
+     *                  Null means that all cells of the line type are read, which is also the default.
+     * @since 2.3.4
+     */
+    public void setProjection(String lineType, Collection<String> cellNames) {
+        if (cellNames == null)
+            projections.remove(lineType);
+        else
+            projections.put(lineType, Set.copyOf(cellNames));
+    }
+
+    /**
+     * Limits which cells that are read for lines of a specific line type.
+     * @param lineType  The line type to limit the cells of.
+     * @param cellNames The names of the cells to read for the line type. Any other cell of the line type is skipped.
+     * @see #setProjection(String, Collection)
+     * @since 2.3.4
+     */
+    public void setProjection(String lineType, String... cellNames) {
+        setProjection(lineType, Arrays.asList(cellNames));
+    }
+
+    /**
+     * @param lineType The line type to get the projection for.
+     * @return The names of the cells to read for supplied line type or null if all cells are read.
+     * @see #setProjection(String, Collection)
+     * @since 2.3.4
+     */
+    public Set<String> getProjection(String lineType) {
+        return projections.get(lineType);
+    }
+
+    /**
+     * @param lineType The line type of the cell.
+     * @param cellName The name of the cell.
+     * @return True if supplied cell should be read according to the projection of the line type, false if it should be
+     * skipped.
+     * @see #setProjection(String, Collection)
+     * @since 2.3.4
+     */
+    public boolean isProjected(String lineType, String cellName) {
+        Set<String> projection = projections.get(lineType);
+        return projection == null || projection.contains(cellName);
+    }
+
+    /**
+     * Adds a filter that is tested against the raw text of a cell while parsing. Lines of the line type where the raw
+     * text of the cell does not fulfill the filter are dropped before any cell of the line is parsed, which makes
+     * filtering this way a lot cheaper than filtering parsed lines. The raw text is the text of the cell after removing
+     * quotes or pad characters but before any other parsing. If the cell is missing on the line, the raw text is
+     * empty. If more than one filter is added for the same line type, all of them need to be fulfilled.
+     * <p>
+     * The raw text is often a view into the read buffer, so the filter should not keep any reference to it. See
+     * {@link RawCellFilters} for some cheap filters that do not create any String.
+     * @param lineType The line type to filter.
+     * @param cellName The name of the cell to test.
+     * @param filter   The filter to test the raw text of the cell with.
+     * @since 2.3.4
+     */
+    public void addFilter(String lineType, String cellName, Predicate<? super CharSequence> filter) {
+        filters.computeIfAbsent(lineType, k -> new LinkedHashMap<>())
+                .merge(cellName, filter::test, Predicate::and);
+    }
+
+    /**
+     * @param lineType The line type to get filters for.
+     * @return The filters on raw cell text of supplied line type by cell name. Empty if there are no filters.
+     * @see #addFilter(String, String, Predicate)
+     * @since 2.3.4
+     */
+    public Map<String, Predicate<CharSequence>> getFilters(String lineType) {
+        Map<String, Predicate<CharSequence>> lineFilters = filters.get(lineType);
+        return lineFilters == null ? Collections.emptyMap() : Collections.unmodifiableMap(lineFilters);
+    }
+
+    /**
+     * @return True if the value of each cell is parsed first when the cell is accessed.
+     * @see #setLazyCellParsing(boolean)
+     * @since 2.3.4
+     */
+    public boolean isLazyCellParsing() {
+        return lazyCellParsing;
+    }
+
+    /**
+     * If set to true, the lines only keep the text of each cell while parsing. The value of a cell is parsed and
+     * validated first when the cell is accessed, see {@link Line#addLazyCell(String, String, java.util.function.BiFunction)}.
+     * This saves the cost of parsing cells that are never used, for instance when the consumer only uses a few of
+     * the cells of each line.
+     * <p>
+     * Errors of cells that are parsed lazily are not reported to the error consumer of the parser. Instead, they are
+     * added as cell errors of the line when the cell is accessed. In order to validate all cells, call
+     * {@link Line#getCellErrors()} or {@link Line#parseLazyCells()} on each line. Since the cell parsers are not thread
+     * safe, all cells need to be parsed with {@link Line#parseLazyCells()} before handing a line over to another
+     * thread. The concurrent converters of package {@link org.jsapar.concurrent} do this before handing over the lines
+     * to their worker threads. Default is false.
+     * @param lazyCellParsing If true, the value of each cell is parsed first when the cell is accessed.
+     * @since 2.3.4
+     */
+    public void setLazyCellParsing(boolean lazyCellParsing) {
+        this.lazyCellParsing = lazyCellParsing;
+    }
+
+    /**
+     * @return True if the same line instance is used for all lines of the same line type.
+     * @see #setReuseLines(boolean)
+     * @since 2.3.4
+     */
+    public boolean isReuseLines() {
+        return reuseLines;
+    }
+
+    /**
+     * If set to true, the parser uses one single {@link Line} instance for each line type and resets it with
+     * {@link Line#reset(long)} before each line, instead of creating a new line each time. This avoids allocating the
+     * line and its internal storage for each line. The line consumer must then not keep any reference to the line
+     * after returning, use {@link Line#clone()} to keep a copy of the line. Do not use together with streams or any
+     * other consumer that keeps the lines, such as {@link org.jsapar.parse.CollectingConsumer}.
+     * {@link org.jsapar.TextParser#parallelStream(java.nio.file.Path, java.nio.charset.Charset)} and
+     * {@link org.jsapar.concurrent.ConcurrentText2TextConverter} throw {@link IllegalArgumentException} if this option
+     * is set. Default is false.
+     * @param reuseLines If true, the same line instance is used for all lines of the same line type.
+     * @see org.jsapar.TextParser#parseForEachReusing(java.io.Reader, java.util.function.Consumer)
+     * @since 2.3.4
+     */
+    public void setReuseLines(boolean reuseLines) {
+        this.reuseLines = reuseLines;
+    }
+
+    /**
+     * @return The number of lines at the beginning of the input that are skipped without being parsed.
+     * @see #setSkipLines(long)
+     * @since 2.3.4
+     */
+    public long getSkipLines() {
+        return skipLines;
+    }
+
+    /**
+     * Sets the number of lines at the beginning of the input to skip. Skipped lines are only scanned for the line
+     * separator and are never split into cells or matched against the line types of the schema. Lines are counted from
+     * the beginning of the input, including empty lines and any header line. Default is 0.
+     * @param skipLines The number of lines at the beginning of the input to skip.
+     * @throws IllegalArgumentException If supplied value is negative.
+     * @since 2.3.4
+     */
+    public void setSkipLines(long skipLines) {
+        if (skipLines < 0)
+            throw new IllegalArgumentException("Number of lines to skip can not be negative: " + skipLines);
+        this.skipLines = skipLines;
+    }
+
+    /**
+     * @return The maximum number of lines to parse.
+     * @see #setLineLimit(long)
+     * @since 2.3.4
+     */
+    public long getLineLimit() {
+        return lineLimit;
+    }
+
+    /**
+     * Sets the maximum number of non-empty lines to parse. Once that number of lines have been parsed, the parser
+     * stops reading the input. Lines that were skipped are not counted. Since the limit counts the lines from the
+     * beginning of the input, a file is never split into segments that are parsed in parallel when there is a limit,
+     * see {@link org.jsapar.TextParser#parallelStream(java.nio.file.Path, java.nio.charset.Charset)}. Default is no
+     * limit.
+     * @param lineLimit The maximum number of lines to parse.
+     * @throws IllegalArgumentException If supplied value is negative.
+     * @since 2.3.4
+     */
+    public void setLineLimit(long lineLimit) {
+        if (lineLimit < 0)
+            throw new IllegalArgumentException("Line limit can not be negative: " + lineLimit);
+        this.lineLimit = lineLimit;
+    }
+
+    /**
+     * @return The interval of lines that are parsed.
+     * @see #setSampleInterval(int)
+     * @since 2.3.4
+     */
+    public int getSampleInterval() {
+        return sampleInterval;
+    }
+
+    /**
+     * Sets the interval of lines to parse in order to only parse a sample of the input. For instance, with an interval
+     * of 100, only the first line after the skipped lines and then every 100th line are parsed. All other lines are
+     * skipped in the same way as with {@link #setSkipLines(long)}. Since the lines are selected by line number, the same
+     * lines are selected also when parsing segments of a file in parallel. Default is 1, which means that all lines
+     * are parsed.
+     * @param sampleInterval The interval of lines to parse.
+     * @throws IllegalArgumentException If supplied value is less than 1.
+     * @since 2.3.4
+     */
+    public void setSampleInterval(int sampleInterval) {
+        if (sampleInterval < 1)
+            throw new IllegalArgumentException("Sample interval needs to be at least 1: " + sampleInterval);
+        this.sampleInterval = sampleInterval;
+    }
+
+    /**
+     * @param lineNumber The line number, counted from 1 at the beginning of the input.
+     * @return False if the line with supplied line number should be skipped according to
+     * {@link #setSkipLines(long)} and {@link #setSampleInterval(int)}.
+     * @since 2.3.4
+     */
+    public boolean isLineSelected(long lineNumber) {
+        return lineNumber > skipLines && (sampleInterval == 1 || (lineNumber - skipLines - 1) % sampleInterval == 0);
+    }
 }
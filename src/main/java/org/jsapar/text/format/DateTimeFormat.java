@@ -8,15 +8,47 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAccessor;
 import java.util.Date;
+import java.util.Locale;
 
+/**
+ * Formats and parses date and time values by using a {@link DateTimeFormatter}.
+ * <p>
+ * If the pattern, or the ISO formatter, only contains numeric fields with fixed width, such as <code>yyyyMMdd</code>,
+ * <code>yyyy-MM-dd</code>, <code>HHmmss</code> or ISO local date time, values are parsed by reading the digits
+ * directly and the {@link java.time.LocalDate}, {@link java.time.LocalDateTime}, {@link java.time.LocalTime} or
+ * {@link Instant} is created without resolving a {@link TemporalAccessor} first. The same goes for formatting. Values
+ * that do not fit the fast path are handled by the {@link DateTimeFormatter}.
+ */
 public class DateTimeFormat implements Format<TemporalAccessor> {
+    private static final DateTimeLayout[] NO_LAYOUTS = new DateTimeLayout[0];
+
     private final DateTimeFormatter formatter;
     private final CellType cellType;
     private final ZoneId zoneId;
+    /**
+     * Compiled layouts to try in order while parsing. The first one is also used while formatting.
+     */
+    private final DateTimeLayout[] layouts;
 
     public DateTimeFormat(DateTimeFormatter formatter, CellType cellType, ZoneId zoneId) {
+        this(formatter, cellType, zoneId, isoLayoutsOf(formatter));
+    }
+
+    /**
+     * @param pattern  The pattern as described by {@link DateTimeFormatter}.
+     * @param locale   The locale to use.
+     * @param cellType The type of cell to parse and produce.
+     * @param zoneId   The time zone id that is used when parsing and composing from an Instant.
+     * @since 2.3.4
+     */
+    public DateTimeFormat(String pattern, Locale locale, CellType cellType, ZoneId zoneId) {
+        this(DateTimeFormatter.ofPattern(pattern, locale), cellType, zoneId, layoutsOf(DateTimeLayout.compile(pattern)));
+    }
+
+    private DateTimeFormat(DateTimeFormatter formatter, CellType cellType, ZoneId zoneId, DateTimeLayout[] layouts) {
         this.formatter = formatter;
         this.zoneId = zoneId;
+        this.layouts = layouts;
         if(cellType!=null && !cellType.isTemporal())
             throw new IllegalArgumentException("Only temporal cell types are allowed in DateTimeFormat. " + cellType + " does not parse or" +
                     " compose objects that implements java.time.temporal.Temporal");
@@ -32,13 +64,51 @@ public class DateTimeFormat implements Format<TemporalAccessor> {
         return cellType;
     }
 
+    private static DateTimeLayout[] layoutsOf(DateTimeLayout... layouts) {
+        return layouts.length == 1 && layouts[0] == null ? NO_LAYOUTS : layouts;
+    }
+
+    /**
+     * @return The most common forms of the ISO formatters. These formatters accept a lot of optional parts, so
+     * values in any other form are left to the formatter.
+     */
+    private static DateTimeLayout[] isoLayoutsOf(DateTimeFormatter formatter) {
+        if (formatter == DateTimeFormatter.ISO_DATE || formatter == DateTimeFormatter.ISO_LOCAL_DATE)
+            return isoLayouts(false, "uuuu-MM-dd");
+        if (formatter == DateTimeFormatter.ISO_TIME || formatter == DateTimeFormatter.ISO_LOCAL_TIME)
+            return isoLayouts(false, "HH:mm:ss", "HH:mm");
+        if (formatter == DateTimeFormatter.ISO_DATE_TIME || formatter == DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+            return isoLayouts(false, "uuuu-MM-dd'T'HH:mm:ss", "uuuu-MM-dd'T'HH:mm");
+        if (formatter == DateTimeFormatter.ISO_INSTANT)
+            return isoLayouts(true, "uuuu-MM-dd'T'HH:mm:ss'Z'");
+        return NO_LAYOUTS;
+    }
+
+    private static DateTimeLayout[] isoLayouts(boolean utcInstant, String... patterns) {
+        DateTimeLayout[] layouts = new DateTimeLayout[patterns.length];
+        for (int i = 0; i < patterns.length; i++) {
+            layouts[i] = DateTimeLayout.compile(patterns[i], utcInstant, true);
+        }
+        return layouts;
+    }
+
     @Override
     public TemporalAccessor parse(String stringValue) {
+        for (DateTimeLayout layout : layouts) {
+            TemporalAccessor value = layout.parse(stringValue);
+            if (value != null)
+                return value;
+        }
         return formatter.parse(stringValue);
     }
 
     @Override
     public String format(Object value) {
+        if (layouts.length > 0) {
+            String formatted = layouts[0].format(value, zoneId);
+            if (formatted != null)
+                return formatted;
+        }
         if(value instanceof Instant)
             return formatter.format(((Instant) value).atZone(zoneId));
         if(value instanceof TemporalAccessor)
@@ -0,0 +1,258 @@
+package org.jsapar.text.format;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.chrono.IsoChronology;
+import java.time.temporal.TemporalAccessor;
+import java.util.Arrays;
+
+/**
+ * A compiled date time pattern where all fields are numeric with fixed width and where everything else is literal
+ * characters, for instance <code>yyyyMMdd</code>, <code>yyyy-MM-dd</code>, <code>HHmmss</code> or
+ * <code>yyyy-MM-dd HH:mm:ss.SSS</code>. Values are parsed by reading the digits directly at known positions and the
+ * result is created directly as {@link LocalDate}, {@link LocalTime}, {@link LocalDateTime} or {@link Instant} without
+ * going through the resolving of a {@link java.time.format.DateTimeFormatter}.
+ * <p>
+ * Only values that are unambiguously valid are handled. For anything else, for instance a value of other length, a day
+ * that does not exist within the month or an hour 24, the parse method returns null and the caller needs to fall back to
+ * the {@link java.time.format.DateTimeFormatter}, which then either handles the value in its own way or reports the
+ * error. The same goes for formatting values that this layout can not format exactly the same way as the formatter.
+ */
+final class DateTimeLayout {
+    private static final int YEAR = 0;
+    private static final int MONTH = 1;
+    private static final int DAY = 2;
+    private static final int HOUR = 3;
+    private static final int MINUTE = 4;
+    private static final int SECOND = 5;
+    private static final int FRACTION = 6;
+    private static final int[] NANOS_FACTOR = {0, 100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100,
+            10, 1};
+
+    /**
+     * The literal character at each position or 0 where there is a digit.
+     */
+    private final char[] literals;
+    private final int[] offsets;
+    private final int[] widths;
+    private final boolean yearOfEra;
+    private final boolean utcInstant;
+    private final boolean iso;
+    private final boolean date;
+    private final boolean time;
+
+    private DateTimeLayout(char[] literals, int[] offsets, int[] widths, boolean yearOfEra, boolean utcInstant, boolean iso) {
+        this.literals = literals;
+        this.offsets = offsets;
+        this.widths = widths;
+        this.yearOfEra = yearOfEra;
+        this.utcInstant = utcInstant;
+        this.iso = iso;
+        this.date = offsets[YEAR] >= 0;
+        this.time = offsets[HOUR] >= 0;
+    }
+
+    /**
+     * @param pattern A pattern as described by {@link java.time.format.DateTimeFormatter}.
+     * @return A compiled layout or null if the pattern contains anything else than fixed width numeric fields and
+     * literals.
+     */
+    static DateTimeLayout compile(String pattern) {
+        return compile(pattern, false, false);
+    }
+
+    /**
+     * @param pattern    A pattern as described by {@link java.time.format.DateTimeFormatter}.
+     * @param utcInstant If true, the parsed date and time is an instant at UTC.
+     * @param iso        If true, the layout is the most common form of one of the ISO formatters. These print the
+     *                   fraction of second whenever it is not zero, so such values are not formatted by this layout.
+     * @return A compiled layout or null if the pattern contains anything else than fixed width numeric fields and
+     * literals.
+     */
+    static DateTimeLayout compile(String pattern, boolean utcInstant, boolean iso) {
+        final StringBuilder literals = new StringBuilder();
+        final int[] offsets = new int[FRACTION + 1];
+        final int[] widths = new int[FRACTION + 1];
+        Arrays.fill(offsets, -1);
+        boolean yearOfEra = false;
+        for (int i = 0; i < pattern.length(); ) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                int end = pattern.indexOf('\'', i + 1);
+                if (end < 0)
+                    return null;
+                if (end == i + 1)
+                    literals.append('\''); // Two single quotes represents one single quote.
+                else
+                    literals.append(pattern, i + 1, end);
+                i = end + 1;
+                continue;
+            }
+            if (!Character.isLetter(c)) {
+                if ("[]{}#".indexOf(c) >= 0 || c == 0)
+                    return null; // Optional sections and reserved characters.
+                literals.append(c);
+                i++;
+                continue;
+            }
+            int count = 1;
+            while (i + count < pattern.length() && pattern.charAt(i + count) == c)
+                count++;
+            final int field = fieldOf(c, count);
+            if (field < 0 || offsets[field] >= 0)
+                return null;
+            if (c == 'y')
+                yearOfEra = true;
+            offsets[field] = literals.length();
+            widths[field] = count;
+            for (int j = 0; j < count; j++)
+                literals.append((char) 0);
+            i += count;
+        }
+        final boolean date = offsets[YEAR] >= 0 || offsets[MONTH] >= 0 || offsets[DAY] >= 0;
+        final boolean time = offsets[HOUR] >= 0 || offsets[MINUTE] >= 0 || offsets[SECOND] >= 0 || offsets[FRACTION] >= 0;
+        if (date && (offsets[YEAR] < 0 || offsets[MONTH] < 0 || offsets[DAY] < 0))
+            return null;
+        if (time && (offsets[HOUR] < 0 || offsets[MINUTE] < 0 || (offsets[FRACTION] >= 0 && offsets[SECOND] < 0)))
+            return null;
+        if (!date && !time || utcInstant && !(date && time))
+            return null;
+        return new DateTimeLayout(literals.toString().toCharArray(), offsets, widths, yearOfEra, utcInstant, iso);
+    }
+
+    private static int fieldOf(char c, int count) {
+        switch (c) {
+            case 'y':
+            case 'u':
+                return count == 4 ? YEAR : -1;
+            case 'M':
+                return count == 2 ? MONTH : -1;
+            case 'd':
+                return count == 2 ? DAY : -1;
+            case 'H':
+                return count == 2 ? HOUR : -1;
+            case 'm':
+                return count == 2 ? MINUTE : -1;
+            case 's':
+                return count == 2 ? SECOND : -1;
+            case 'S':
+                return count <= 9 ? FRACTION : -1;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * @param value The value to parse.
+     * @return The parsed value or null if the value could not be parsed by this layout.
+     */
+    TemporalAccessor parse(CharSequence value) {
+        if (value.length() != literals.length)
+            return null;
+        for (int i = 0; i < literals.length; i++) {
+            final char c = value.charAt(i);
+            final char literal = literals[i];
+            if (literal == 0 ? c < '0' || c > '9' : c != literal)
+                return null;
+        }
+        LocalDate localDate = null;
+        if (date) {
+            final int year = number(value, YEAR);
+            final int month = number(value, MONTH);
+            final int day = number(value, DAY);
+            if ((yearOfEra && year < 1) || month < 1 || month > 12 || day < 1)
+                return null;
+            // The resolver of the formatter decides what to do with days beyond the end of the month.
+            if (day > 28 && day > Month.of(month).length(IsoChronology.INSTANCE.isLeapYear(year)))
+                return null;
+            localDate = LocalDate.of(year, month, day);
+            if (!time)
+                return localDate;
+        }
+        final int hour = number(value, HOUR);
+        final int minute = number(value, MINUTE);
+        final int second = offsets[SECOND] >= 0 ? number(value, SECOND) : 0;
+        if (hour > 23 || minute > 59 || second > 59)
+            return null;
+        final int nano = offsets[FRACTION] >= 0 ? number(value, FRACTION) * NANOS_FACTOR[widths[FRACTION]] : 0;
+        final LocalTime localTime = LocalTime.of(hour, minute, second, nano);
+        if (localDate == null)
+            return localTime;
+        if (utcInstant)
+            return Instant.ofEpochSecond(localDate.toEpochDay() * 86400L + localTime.toSecondOfDay(), nano);
+        return LocalDateTime.of(localDate, localTime);
+    }
+
+    private int number(CharSequence value, int field) {
+        final int offset = offsets[field];
+        final int end = offset + widths[field];
+        int n = 0;
+        for (int i = offset; i < end; i++)
+            n = n * 10 + (value.charAt(i) - '0');
+        return n;
+    }
+
+    /**
+     * @param value  The value to format. {@link LocalDate}, {@link LocalTime}, {@link LocalDateTime} and
+     *               {@link Instant} are supported and, unless this is an ISO layout, also {@link ZonedDateTime}.
+     * @param zoneId The time zone to use when formatting an instant.
+     * @return The formatted value or null if the value can not be formatted by this layout.
+     */
+    String format(Object value, ZoneId zoneId) {
+        if (value instanceof Instant) {
+            if (iso && !utcInstant)
+                return null; // The formatter would print the zone as well.
+            value = LocalDateTime.ofInstant((Instant) value, utcInstant ? ZoneOffset.UTC : zoneId);
+        } else if (utcInstant) {
+            return null;
+        } else if (value instanceof ZonedDateTime && !iso) {
+            value = ((ZonedDateTime) value).toLocalDateTime();
+        }
+        LocalDate localDate = null;
+        LocalTime localTime = null;
+        if (value instanceof LocalDateTime) {
+            localDate = ((LocalDateTime) value).toLocalDate();
+            localTime = ((LocalDateTime) value).toLocalTime();
+        } else if (value instanceof LocalDate) {
+            localDate = (LocalDate) value;
+        } else if (value instanceof LocalTime) {
+            localTime = (LocalTime) value;
+        }
+        if ((date && localDate == null) || (time && localTime == null))
+            return null;
+        final char[] chars = literals.clone();
+        if (date) {
+            final int year = localDate.getYear();
+            if (year < (yearOfEra ? 1 : 0) || year > 9999)
+                return null;
+            put(chars, YEAR, year);
+            put(chars, MONTH, localDate.getMonthValue());
+            put(chars, DAY, localDate.getDayOfMonth());
+        }
+        if (time) {
+            if (iso && localTime.getNano() != 0)
+                return null;
+            put(chars, HOUR, localTime.getHour());
+            put(chars, MINUTE, localTime.getMinute());
+            if (offsets[SECOND] >= 0)
+                put(chars, SECOND, localTime.getSecond());
+            if (offsets[FRACTION] >= 0)
+                put(chars, FRACTION, localTime.getNano() / NANOS_FACTOR[widths[FRACTION]]);
+        }
+        return new String(chars);
+    }
+
+    private void put(char[] chars, int field, int number) {
+        final int offset = offsets[field];
+        for (int i = offset + widths[field] - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + number % 10);
+            number /= 10;
+        }
+    }
+}
@@ -68,6 +68,12 @@ public class ImpliedDecimalFormat implements Format<BigDecimal> {
 
     @Override
     public BigDecimal parse(String s) {
+        if (decimals >= 0) {
+            // Plain integers are parsed without creating any BigInteger.
+            BigDecimal value = NumberParser.parseUnscaled(s, decimals);
+            if (value != null)
+                return value;
+        }
         return new BigDecimal(s).movePointLeft(decimals);
     }
 
@@ -2,6 +2,7 @@ package org.jsapar.text.format;
 
 import org.jsapar.model.CellType;
 import org.jsapar.text.Format;
+import org.jsapar.text.PrimitiveNumberFormat;
 import org.jsapar.utils.StringUtils;
 
 import java.text.DecimalFormat;
@@ -17,8 +18,10 @@ import java.util.function.Function;
  * As of JDK 9 some locales have got new decimal symbols. This is implementation has a work-around to also still be
  * able to parse the old format since they are still widely used.
  */
-public class NumberFormat extends JavaTextFormat<Number> implements Format<Number> {
+public class NumberFormat extends JavaTextFormat<Number> implements Format<Number>, PrimitiveNumberFormat {
     private final List<Function<String, String>> mappers = new ArrayList<>(3);
+    private final NumberParser numberParser;
+    private final boolean parseBigDecimal;
 
     /**
      * Creates an instance
@@ -42,6 +45,8 @@ public class NumberFormat extends JavaTextFormat<Number> implements Format<Numbe
                     " compose objects of type Number");
         if(numberFormat instanceof java.text.DecimalFormat) {
             DecimalFormat decimalFormat = (DecimalFormat) numberFormat;
+            this.numberParser = NumberParser.of(decimalFormat);
+            this.parseBigDecimal = decimalFormat.isParseBigDecimal();
 
             char groupingSeparator = decimalFormat.getDecimalFormatSymbols().getGroupingSeparator();
 
@@ -59,6 +64,10 @@ public class NumberFormat extends JavaTextFormat<Number> implements Format<Numbe
                 mappers.add(s -> replaceExponent(s, exp));
             }
         }
+        else {
+            this.numberParser = null;
+            this.parseBigDecimal = false;
+        }
     }
 
     public NumberFormat(Locale locale, CellType cellType) {
@@ -78,14 +87,58 @@ public class NumberFormat extends JavaTextFormat<Number> implements Format<Numbe
         return value;
     }
 
+    /**
+     * Plain numbers are parsed directly from the characters of the supplied value, see {@link NumberParser}. Other
+     * values are parsed by the underlying {@link java.text.NumberFormat}.
+     * @param stringValue The string value to parse from.
+     * @return The parsed number.
+     * @throws ParseException If parsing fails.
+     */
     @Override
     public Number parse(String stringValue) throws ParseException {
+        if (numberParser != null) {
+            Number value = parseBigDecimal ? numberParser.parseBigDecimal(stringValue) : numberParser.parse(stringValue);
+            if (value != null)
+                return value;
+        }
         for (Function<String, String> mapper : mappers) {
             stringValue = mapper.apply(stringValue);
         }
         return super.parse(stringValue);
     }
 
+    /**
+     * Same as {@link #parse(String)} but plain numbers are parsed without creating any {@link Number} object.
+     * @param stringValue The string value to parse from.
+     * @return The parsed value as a long. Decimals, if any, are truncated.
+     * @throws ParseException If parsing fails.
+     */
+    @Override
+    public long parseLong(String stringValue) throws ParseException {
+        if (numberParser != null && !parseBigDecimal) {
+            final long value = numberParser.parseLong(stringValue);
+            if (value != NumberParser.NOT_PARSED)
+                return value;
+        }
+        return parse(stringValue).longValue();
+    }
+
+    /**
+     * Same as {@link #parse(String)} but plain numbers are parsed without creating any {@link Number} object.
+     * @param stringValue The string value to parse from.
+     * @return The parsed value as a double.
+     * @throws ParseException If parsing fails.
+     */
+    @Override
+    public double parseDouble(String stringValue) throws ParseException {
+        if (numberParser != null && !parseBigDecimal) {
+            final double value = numberParser.parseDouble(stringValue);
+            if (!Double.isNaN(value))
+                return value;
+        }
+        return parse(stringValue).doubleValue();
+    }
+
     @Override
     public String toString() {
         return "NumberFormat";
@@ -0,0 +1,252 @@
+package org.jsapar.text.format;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormatSymbols;
+
+/**
+ * Parses plain numbers directly from the characters of the input without creating any intermediate strings. The
+ * symbols of the {@link java.text.DecimalFormat} are read once when the parser is created and the result is the same
+ * as when parsing with the {@link java.text.DecimalFormat}, given the workarounds done by {@link NumberFormat}.
+ * <p>
+ * Only input that consists of an optional minus sign, digits, grouping separators and a decimal separator, with at
+ * most 17 significant digits, is handled. For any other input, the parse methods return null and the caller needs to
+ * fall back to the {@link java.text.DecimalFormat}, which then either handles the input or reports the error.
+ */
+final class NumberParser {
+    private static final int MAX_DIGITS = 17;
+    private static final int MAX_FRACTION_DIGITS = 31;
+    private static final int MAX_UNSCALED_DIGITS = 18;
+    private static final long NOT_SCANNED = -1L;
+    /**
+     * Returned by {@link #parseLong(CharSequence)} when the value can not be handled. Can never be the result of a
+     * value with at most 17 digits.
+     */
+    static final long NOT_PARSED = Long.MIN_VALUE;
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    private final char decimalSeparator;
+    private final char groupingSeparator;
+    private final char minusSign;
+    private final boolean groupingUsed;
+    private final boolean ignoreSpaces;
+    private final boolean integerOnly;
+
+    private NumberParser(java.text.DecimalFormat format) {
+        DecimalFormatSymbols symbols = format.getDecimalFormatSymbols();
+        this.decimalSeparator = symbols.getDecimalSeparator();
+        this.groupingSeparator = symbols.getGroupingSeparator();
+        this.minusSign = format.getNegativePrefix().charAt(0);
+        this.groupingUsed = format.isGroupingUsed();
+        this.ignoreSpaces = Character.isSpaceChar(groupingSeparator);
+        this.integerOnly = format.isParseIntegerOnly();
+    }
+
+    /**
+     * @param format The format to parse the same way as.
+     * @return A parser that parses the same way as supplied format or null if the format has prefixes, suffixes,
+     * multiplier or symbols that this parser does not support.
+     */
+    static NumberParser of(java.text.DecimalFormat format) {
+        DecimalFormatSymbols symbols = format.getDecimalFormatSymbols();
+        char decimalSeparator = symbols.getDecimalSeparator();
+        char groupingSeparator = symbols.getGroupingSeparator();
+        if (!format.getPositivePrefix().isEmpty() || !format.getPositiveSuffix().isEmpty()
+                || format.getNegativePrefix().length() != 1 || !format.getNegativeSuffix().isEmpty()
+                || format.getMultiplier() != 1 || symbols.getZeroDigit() != '0'
+                || decimalSeparator == groupingSeparator || !isSymbol(decimalSeparator) || !isSymbol(groupingSeparator))
+            return null;
+        return new NumberParser(format);
+    }
+
+    private static boolean isSymbol(char c) {
+        return c != '-' && (c < '0' || c > '9');
+    }
+
+    /**
+     * @param value The characters to parse.
+     * @return The parsed value as a {@link Long} if it is an integer value, otherwise as a {@link Double}. Null if
+     * supplied value can not be handled by this parser.
+     */
+    Number parse(CharSequence value) {
+        final long scanned = scan(value);
+        if (scanned == NOT_SCANNED)
+            return null;
+        final boolean negative = isNegative(scanned);
+        long m = mantissaOf(scanned);
+        int scale = fractionDigitsOf(scanned);
+        while (scale > 0 && m % 10 == 0) {
+            m /= 10;
+            scale--;
+        }
+        if (m == 0 && negative && !integerOnly)
+            return -0.0d;
+        if (scale == 0)
+            return negative ? -m : m;
+        if (m >= MAX_EXACT_DOUBLE || scale >= POWERS_OF_TEN.length)
+            return null; // Would need more than one rounding.
+        final double d = m / POWERS_OF_TEN[scale];
+        return negative ? -d : d;
+    }
+
+    /**
+     * Same as {@link #parse(CharSequence)} but without creating any {@link Number} object.
+     * @param value The characters to parse.
+     * @return The long value of what {@link #parse(CharSequence)} would return or {@link #NOT_PARSED} if supplied
+     * value can not be handled by this parser.
+     */
+    long parseLong(CharSequence value) {
+        final long scanned = scan(value);
+        if (scanned == NOT_SCANNED)
+            return NOT_PARSED;
+        final boolean negative = isNegative(scanned);
+        long m = mantissaOf(scanned);
+        int scale = fractionDigitsOf(scanned);
+        while (scale > 0 && m % 10 == 0) {
+            m /= 10;
+            scale--;
+        }
+        if (scale == 0)
+            return negative ? -m : m;
+        if (m >= MAX_EXACT_DOUBLE || scale >= POWERS_OF_TEN.length)
+            return NOT_PARSED;
+        // Truncated from the double value since rounding of the double may change the integer part.
+        final double d = m / POWERS_OF_TEN[scale];
+        return (long) (negative ? -d : d);
+    }
+
+    /**
+     * Same as {@link #parse(CharSequence)} but without creating any {@link Number} object.
+     * @param value The characters to parse.
+     * @return The double value of what {@link #parse(CharSequence)} would return or {@link Double#NaN} if supplied
+     * value can not be handled by this parser.
+     */
+    double parseDouble(CharSequence value) {
+        final long scanned = scan(value);
+        if (scanned == NOT_SCANNED)
+            return Double.NaN;
+        final boolean negative = isNegative(scanned);
+        long m = mantissaOf(scanned);
+        int scale = fractionDigitsOf(scanned);
+        while (scale > 0 && m % 10 == 0) {
+            m /= 10;
+            scale--;
+        }
+        if (m == 0 && negative && !integerOnly)
+            return -0.0d;
+        if (scale == 0)
+            return negative ? -m : m;
+        if (m >= MAX_EXACT_DOUBLE || scale >= POWERS_OF_TEN.length)
+            return Double.NaN;
+        final double d = m / POWERS_OF_TEN[scale];
+        return negative ? -d : d;
+    }
+
+    /**
+     * @param value The characters to parse.
+     * @return The parsed value with the same scale as the number of decimals in the supplied value. Null if supplied
+     * value can not be handled by this parser.
+     */
+    BigDecimal parseBigDecimal(CharSequence value) {
+        final long scanned = scan(value);
+        if (scanned == NOT_SCANNED)
+            return null;
+        final long m = mantissaOf(scanned);
+        return BigDecimal.valueOf(isNegative(scanned) ? -m : m, fractionDigitsOf(scanned));
+    }
+
+    /**
+     * Parses a plain integer with optional sign and shifts the decimal point to the left.
+     * @param value The characters to parse.
+     * @param scale The number of decimals to shift. Needs to be zero or positive.
+     * @return The value of the integer shifted left, null if supplied value is not a plain integer with at most 18
+     * digits.
+     */
+    static BigDecimal parseUnscaled(CharSequence value, int scale) {
+        final int length = value.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+            negative = value.charAt(0) == '-';
+            i++;
+        }
+        if (i == length || length - i > MAX_UNSCALED_DIGITS)
+            return null;
+        long unscaled = 0;
+        for (; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c < '0' || c > '9')
+                return null;
+            unscaled = unscaled * 10 + (c - '0');
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
+    }
+
+    /**
+     * Scans the characters of supplied value into mantissa, number of fraction digits and sign. These are packed into
+     * one long value so that this parser can be shared between threads without allocating any result object. With at
+     * most 17 digits, the mantissa fits within 57 bits.
+     * @return The packed result or {@link #NOT_SCANNED} if the value needs to be parsed in some other way.
+     */
+    private long scan(CharSequence value) {
+        final int length = value.length();
+        int i = 0;
+        while (ignoreSpaces && i < length && Character.isSpaceChar(value.charAt(i)))
+            i++;
+        final boolean negative = i < length && (value.charAt(i) == minusSign || value.charAt(i) == '-');
+        if (negative)
+            i++;
+
+        long m = 0;
+        int digits = 0;
+        int fraction = 0;
+        boolean sawDigit = false;
+        boolean sawDecimal = false;
+        boolean previousIsDigit = false;
+        for (; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if ((digits > 0 || c != '0') && ++digits > MAX_DIGITS)
+                    return NOT_SCANNED;
+                m = m * 10 + (c - '0');
+                if (sawDecimal && ++fraction > MAX_FRACTION_DIGITS)
+                    return NOT_SCANNED;
+                sawDigit = true;
+                previousIsDigit = true;
+                continue;
+            }
+            if (ignoreSpaces && Character.isSpaceChar(c))
+                continue;
+            if (c == decimalSeparator && !sawDecimal && !integerOnly) {
+                sawDecimal = true;
+            } else if (c == groupingSeparator && groupingUsed && !sawDecimal && previousIsDigit
+                    && i + 1 < length && isDigit(value.charAt(i + 1))) {
+                // Same as java.text.DecimalFormat, the position of the grouping separator is not validated.
+            } else {
+                return NOT_SCANNED;
+            }
+            previousIsDigit = false;
+        }
+        if (!sawDigit)
+            return NOT_SCANNED;
+        return m << 6 | (negative ? 1L << 5 : 0L) | fraction;
+    }
+
+    private static long mantissaOf(long scanned) {
+        return scanned >>> 6;
+    }
+
+    private static boolean isNegative(long scanned) {
+        return (scanned & 1L << 5) != 0;
+    }
+
+    private static int fractionDigitsOf(long scanned) {
+        return (int) (scanned & 0x1f);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
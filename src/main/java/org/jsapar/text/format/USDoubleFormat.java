@@ -2,10 +2,11 @@ package org.jsapar.text.format;
 
 import org.jsapar.model.CellType;
 import org.jsapar.text.Format;
+import org.jsapar.text.PrimitiveNumberFormat;
 
 import java.text.ParseException;
 
-public class USDoubleFormat implements Format<Number> {
+public class USDoubleFormat implements Format<Number>, PrimitiveNumberFormat {
     @Override
     public CellType cellType() {
         return CellType.FLOAT;
@@ -20,6 +21,20 @@ public class USDoubleFormat implements Format<Number> {
         }
     }
 
+    @Override
+    public long parseLong(String stringValue) throws ParseException {
+        return (long) parseDouble(stringValue);
+    }
+
+    @Override
+    public double parseDouble(String stringValue) throws ParseException {
+        try {
+            return Double.parseDouble(stringValue);
+        }catch (NumberFormatException e){
+            throw new ParseException("Failed to parse float number from value [" + stringValue+"]", 0);
+        }
+    }
+
     @Override
     public String format(Object value) throws IllegalArgumentException {
         return value.toString();
@@ -2,10 +2,11 @@ package org.jsapar.text.format;
 
 import org.jsapar.model.CellType;
 import org.jsapar.text.Format;
+import org.jsapar.text.PrimitiveNumberFormat;
 
 import java.text.ParseException;
 
-public class USIntegerFormat implements Format<Number> {
+public class USIntegerFormat implements Format<Number>, PrimitiveNumberFormat {
 
     @Override
     public CellType cellType() {
@@ -21,6 +22,20 @@ public class USIntegerFormat implements Format<Number> {
         }
     }
 
+    @Override
+    public long parseLong(String stringValue) throws ParseException {
+        try {
+            return Long.parseLong(stringValue);
+        }catch (NumberFormatException e){
+            throw new ParseException("Failed to parse integer from value [" + stringValue+"]", 0);
+        }
+    }
+
+    @Override
+    public double parseDouble(String stringValue) throws ParseException {
+        return parseLong(stringValue);
+    }
+
     @Override
     public String format(Object value) throws IllegalArgumentException {
         return value.toString();
@@ -0,0 +1,75 @@
+package org.jsapar.utils.cache;
+
+/**
+ * This implementation adapts its size to the values that are actually seen. It starts small and keeps track of the hit
+ * ratio for a number of lookups at a time. If the cache is full at the end of such a sample, the size of the cache is
+ * doubled, up to the max size. A low hit ratio of a full cache may just mean that the cache is too small for the number
+ * of distinct values, but if the hit ratio is still very low once the max size is reached, the values are considered
+ * to be unique or close to unique. In that case the cache disables itself permanently since it would only cost without
+ * any gain.
+ * <p>
+ * Least recently used elements are removed when the cache is full.
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public class AdaptiveCache<K, V> implements Cache<K, V> {
+    static final int INITIAL_SIZE = 8;
+    static final int SAMPLE_SIZE = 1024;
+    static final double DISABLE_HIT_RATIO = 0.05;
+
+    private final int maxSize;
+    private LeastRecentlyUsedCache<K, V> elements;
+    private int lookups = 0;
+    private int hits = 0;
+
+    /**
+     * @param maxSize The size that the cache may grow to.
+     */
+    public AdaptiveCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.elements = new LeastRecentlyUsedCache<>(Math.min(INITIAL_SIZE, maxSize));
+    }
+
+    @Override
+    public V get(K key) {
+        if (elements == null)
+            return null;
+        V value = elements.get(key);
+        if (value != null)
+            hits++;
+        if (++lookups >= SAMPLE_SIZE)
+            adapt();
+        return value;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        if (elements != null)
+            elements.put(key, value);
+    }
+
+    private void adapt() {
+        if (elements.size() >= elements.getMaxSize()) {
+            if (elements.getMaxSize() < maxSize)
+                elements.setMaxSize((int) Math.min(2L * elements.getMaxSize(), maxSize));
+            else if (hits < lookups * DISABLE_HIT_RATIO)
+                elements = null;
+        }
+        lookups = 0;
+        hits = 0;
+    }
+
+    /**
+     * @return True if the cache has disabled itself because of a too low hit ratio.
+     */
+    public boolean isDisabled() {
+        return elements == null;
+    }
+
+    /**
+     * @return The current maximum size of the cache. Returns 0 if the cache is disabled.
+     */
+    public int getCurrentMaxSize() {
+        return elements == null ? 0 : elements.getMaxSize();
+    }
+}
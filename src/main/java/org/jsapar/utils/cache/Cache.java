@@ -2,7 +2,7 @@ package org.jsapar.utils.cache;
 
 /**
  * Saves the value related to a number of keys. There is no expiration time but if max size is reached old items are
- * discarded as new values are entered.
+ * discarded as new values are entered. Larger caches discard the least recently used items first.
  * @param <K> The key type
  * @param <V> The value type
  */
@@ -26,22 +26,37 @@ public interface Cache<K, V> {
     /**
      * Creates a new cache optimized according to supplied max size.
      *
-     * @param maxSize The max cache size to optimize for.
+     * @param maxSize The max cache size to optimize for. 0 or negative value disables the cache.
      * @param <K>     The key type
      * @param <V>     The value type
      * @return A new cache optimized according to supplied max size.
      */
     static <K, V> Cache<K, V> ofMaxSize(int maxSize) {
-
+        if (maxSize <= 0)
+            return new DisabledCache<>();
         switch (maxSize) {
-            case 0:
-                return new DisabledCache<>();
             case 1:
                 return new SingleItemCache<>();
             case 2:
                 return new TwoItemsCache<>();
             default:
-                return new LimitedSizeCache<>(maxSize);
+                return new LeastRecentlyUsedCache<>(maxSize);
         }
     }
+
+    /**
+     * Creates a new cache that adapts its size according to the hit ratio, see {@link AdaptiveCache}. Very small
+     * caches are not adaptive.
+     *
+     * @param maxSize The max size that the cache may grow to.
+     * @param <K>     The key type
+     * @param <V>     The value type
+     * @return A new cache that adapts its size according to the hit ratio.
+     * @since 2.3.4
+     */
+    static <K, V> Cache<K, V> adaptiveOfMaxSize(int maxSize) {
+        if (maxSize <= 2)
+            return ofMaxSize(maxSize);
+        return new AdaptiveCache<>(maxSize);
+    }
 }
@@ -0,0 +1,38 @@
+package org.jsapar.utils.cache;
+
+/**
+ * Decorates a cache and reports each hit and miss to a listener.
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public class CountingCache<K, V> implements Cache<K, V> {
+    private final Cache<K, V> cache;
+    private final Runnable    hitListener;
+    private final Runnable    missListener;
+
+    /**
+     * @param cache        The cache to count lookups for.
+     * @param hitListener  Called for each lookup that finds a value in the cache.
+     * @param missListener Called for each lookup that does not find any value in the cache.
+     */
+    public CountingCache(Cache<K, V> cache, Runnable hitListener, Runnable missListener) {
+        this.cache = cache;
+        this.hitListener = hitListener;
+        this.missListener = missListener;
+    }
+
+    @Override
+    public V get(K key) {
+        V value = cache.get(key);
+        if (value == null)
+            missListener.run();
+        else
+            hitListener.run();
+        return value;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        cache.put(key, value);
+    }
+}
@@ -0,0 +1,58 @@
+package org.jsapar.utils.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This implementation removes the least recently used element when the max size is exceeded. As opposed to
+ * {@link LimitedSizeCache}, a frequently used value stays in the cache even if many other values are entered.
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public class LeastRecentlyUsedCache<K, V> implements Cache<K, V> {
+    private final LinkedHashMap<K, V> elements;
+    private int maxSize;
+
+    public LeastRecentlyUsedCache(final int maxSize) {
+        this.maxSize = maxSize;
+        this.elements = new LinkedHashMap<>(Math.min((maxSize * 4 / 3) + 1, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry eldest) {
+                return size() > LeastRecentlyUsedCache.this.maxSize;
+            }
+        };
+    }
+
+    @Override
+    public V get(K key) {
+        return elements.get(key);
+    }
+
+    @Override
+    public void put(K key, V value) {
+        elements.put(key, value);
+    }
+
+    /**
+     * @return The number of elements currently in the cache.
+     */
+    public int size() {
+        return elements.size();
+    }
+
+    /**
+     * @return The maximum number of elements in the cache.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Changes the maximum number of elements in the cache. If the size is decreased, elements are removed as new
+     * elements are entered.
+     * @param maxSize The new maximum number of elements in the cache.
+     */
+    void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+}
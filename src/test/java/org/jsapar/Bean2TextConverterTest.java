@@ -1,15 +1,18 @@
 package org.jsapar;
 
 import org.jsapar.bean.BeanMap;
+import org.jsapar.error.JSaParException;
 import org.jsapar.model.Cell;
+import org.jsapar.model.CellType;
 import org.jsapar.model.StringCell;
-import org.jsapar.schema.CsvSchema;
-import org.jsapar.schema.CsvSchemaLine;
+import org.jsapar.schema.*;
 import org.junit.Test;
 
 import java.io.IOException;
 import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.regex.Pattern;
@@ -147,4 +150,90 @@ public class Bean2TextConverterTest {
         return people;
     }
 
-}
\ No newline at end of file
+    @Test
+    public void convert_directlySameAsByLine_csv() throws IOException {
+        CsvSchema composeSchema = CsvSchema.builder()
+                .withLineSeparator("|")
+                .withLine(CsvSchemaLine.builder("org.jsapar.TstPerson")
+                        .withCellSeparator(";")
+                        .withFirstLineAsSchema(true)
+                        .withCells("firstName", "lastName", "shoeSize", "luckyNumber", "birthTime", "door", "length",
+                                "gender", "adult", "address.street", "address.subAddress.town")
+                        .withCell("unknown", c -> c.withDefaultValue("n/a"))
+                        .build())
+                .build();
+        assertSameOutput(composeSchema);
+    }
+
+    @Test
+    public void convert_directlySameAsByLine_fixedWidth() throws IOException {
+        FixedWidthSchema composeSchema = FixedWidthSchema.builder()
+                .withLineSeparator("|")
+                .withLine(FixedWidthSchemaLine.builder("org.jsapar.TstPerson")
+                        .withCell("firstName", 8)
+                        .withCell("shoeSize", 3, c -> c.withAlignment(FixedWidthSchemaCell.Alignment.RIGHT))
+                        .withCell("length", 8, c -> c.withType(CellType.FLOAT).withPattern("0.00"))
+                        .withCell("address.street", 10, c -> c.withDefaultValue("-"))
+                        .withCell("gender", 2)
+                        .build())
+                .build();
+        assertSameOutput(composeSchema);
+    }
+
+    private void assertSameOutput(Schema<?> composeSchema) throws IOException {
+        List<TstPerson> people = new LinkedList<>(makePeople());
+        people.get(0).setBirthTime(new Date(1_000_000_000_000L));
+        people.get(0).setLength(1.85);
+        people.get(0).setGender(TstGender.F);
+        people.get(0).setAdult(true);
+        TstPostAddress address = new TstPostAddress("Storgatan", "Stockholm");
+        address.setSubAddress(new TstPostAddress("Lillgatan", "Solna"));
+        people.get(0).setAddress(address);
+        people.get(1).setLastName(null);
+        people.get(1).setAddress(new TstPostAddress("", "Uppsala"));
+
+        StringWriter directWriter = new StringWriter();
+        StringWriter byLineWriter = new StringWriter();
+        try (Bean2TextConverter<TstPerson> direct = new Bean2TextConverter<>(composeSchema, directWriter);
+             Bean2TextConverter<TstPerson> byLine = new Bean2TextConverter<>(composeSchema, byLineWriter)) {
+            direct.setErrorConsumer(error -> fail("Got error event " + error));
+            byLine.addLineManipulator(line -> true);
+            for (TstPerson person : people) {
+                assertTrue(direct.convert(person));
+                assertTrue(byLine.convert(person));
+            }
+        }
+        assertEquals(byLineWriter.toString(), directWriter.toString());
+        assertTrue(directWriter.toString().contains("Storgatan"));
+    }
+
+    public static class FailingGetter {
+        public String getName() {
+            return "Nisse";
+        }
+
+        public String getFailing() {
+            throw new IllegalStateException("Always fails");
+        }
+    }
+
+    @Test
+    public void convert_directly_failingGetter() throws IOException {
+        CsvSchema composeSchema = CsvSchema.builder()
+                .withLine(CsvSchemaLine.builder(FailingGetter.class.getName())
+                        .withCells("name", "failing")
+                        .withCellSeparator(";")
+                        .build())
+                .build();
+        List<JSaParException> errors = new ArrayList<>();
+        StringWriter writer = new StringWriter();
+        try (Bean2TextConverter<FailingGetter> converter = new Bean2TextConverter<>(composeSchema, writer)) {
+            converter.setErrorConsumer(errors::add);
+            assertTrue(converter.convert(new FailingGetter()));
+        }
+        assertEquals("Nisse;", writer.toString());
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0).getMessage().contains("failing"));
+    }
+
+}
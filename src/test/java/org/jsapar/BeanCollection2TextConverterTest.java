@@ -5,10 +5,12 @@ import org.jsapar.schema.CsvSchemaLine;
 import org.junit.Test;
 
 import java.io.StringWriter;
+import java.io.Writer;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
 
@@ -50,5 +52,24 @@ public class BeanCollection2TextConverterTest {
         assertEquals(result1, result2);
     }
 
-
-}
\ No newline at end of file
+    @Test
+    public void testConvert_subClassed_makeComposerIsCalled() throws Exception {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine(CsvSchemaLine.builder(TstPerson.class.getName())
+                        .withCells("firstName", "lastName")
+                        .build())
+                .build();
+        AtomicInteger composers = new AtomicInteger();
+        BeanCollection2TextConverter<TstPerson> converter = new BeanCollection2TextConverter<>(schema) {
+            @Override
+            protected TextComposer makeComposer(Writer writer) {
+                composers.incrementAndGet();
+                return super.makeComposer(writer);
+            }
+        };
+        StringWriter writer = new StringWriter();
+        converter.convert(List.of(new TstPerson("Nils", "Holgersson", (short)4, 4711, null, 9, 'A')), writer);
+        assertEquals("Nils;Holgersson", writer.toString());
+        assertEquals(1, composers.get());
+    }
+}
@@ -3,22 +3,38 @@ package org.jsapar;
 import org.jsapar.error.ValidationAction;
 import org.jsapar.model.Cell;
 import org.jsapar.model.Line;
+import org.jsapar.model.LineUtils;
 import org.jsapar.schema.CsvSchema;
+import org.jsapar.schema.FixedWidthSchema;
 import org.jsapar.schema.Schema;
+import org.jsapar.text.CellCacheStatistics;
+import org.jsapar.text.RawCellFilters;
 import org.jsapar.text.TextParseConfig;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 
 public class TextParserTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
 
     @Test
     public void testGetSetConfig() {
@@ -50,6 +66,187 @@ public class TextParserTest {
         }
     }
 
+    @Test
+    public void stream_projection() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("a", l->l
+                        .withCell("type", c->c.withLineCondition(v->v.equals("A")))
+                        .withCells("gg", "hh"))
+                .build();
+
+        String text = "x;yyy;zzz\nA;BBB;CCC";
+        TextParseConfig config = new TextParseConfig();
+        config.setOnUndefinedLineType(ValidationAction.OMIT_LINE);
+        config.setProjection("a", "hh");
+        TextParser parser = new TextParser(schema, config);
+        try(Reader reader = new StringReader(text)) {
+            List<Line> result = parser.stream(reader).collect(Collectors.toList());
+            assertEquals(1, result.size());
+            assertEquals(1, result.get(0).size());
+            assertEquals("CCC", result.get(0).getCell("hh").map(Cell::getStringValue).orElse(null));
+        }
+    }
+
+    @Test
+    public void parseForEach_filter() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("a", l->l.withCells("id", "value"))
+                .build();
+        TextParser parser = new TextParser(schema);
+        parser.addFilter("a", "id", RawCellFilters.anyOf("2", "4"));
+        List<Line> lines = new ArrayList<>();
+        long count = parser.parseForEach(new StringReader("1;A\n2;B\n3;C\n4;D"), lines::add);
+        assertEquals(4, count);
+        assertEquals(2, lines.size());
+        assertEquals("B", lines.get(0).getCell("value").map(Cell::getStringValue).orElse(null));
+        assertEquals("D", lines.get(1).getCell("value").map(Cell::getStringValue).orElse(null));
+    }
+
+    @Test
+    public void stream_filter_fixed_width() throws IOException {
+        FixedWidthSchema schema = FixedWidthSchema.builder()
+                .withLine("name", l->l
+                        .withCell("first", 6)
+                        .withCell("last", 8))
+                .build();
+        TextParser parser = new TextParser(schema);
+        parser.addFilter("name", "last", RawCellFilters.startsWith("L"));
+        try(Reader reader = new StringReader("Jonas Sten    \nÅsa   Lundgren\nNils  Nilsson\nPer   Larsson \n")) {
+            List<Line> lines = parser.stream(reader).collect(Collectors.toList());
+            assertEquals(2, lines.size());
+            assertEquals("Åsa", LineUtils.getStringCellValue(lines.get(0), "first"));
+            assertEquals("Larsson", LineUtils.getStringCellValue(lines.get(1), "last"));
+        }
+    }
+
+    @Test
+    public void parseForEachReusing() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("a", l->l.withCells("id", "value"))
+                .build();
+        TextParser parser = new TextParser(schema);
+        List<Line> lines = new ArrayList<>();
+        List<Line> clones = new ArrayList<>();
+        long count = parser.parseForEachReusing(new StringReader("1;A\n2;B\n3;C"), line -> {
+            lines.add(line);
+            clones.add(line.clone());
+        });
+        assertEquals(3, count);
+        assertSame(lines.get(0), lines.get(2));
+        assertEquals("3", LineUtils.getStringCellValue(lines.get(0), "id"));
+        assertEquals("1", LineUtils.getStringCellValue(clones.get(0), "id"));
+        assertEquals("B", LineUtils.getStringCellValue(clones.get(1), "value"));
+        assertEquals(2L, clones.get(1).getLineNumber());
+        assertFalse(parser.getParseConfig().isReuseLines());
+    }
+
+    @Test
+    public void parseForEachAndGetRemaining_csv() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("header", l->l
+                        .withOccurs(2)
+                        .withCells("a", "b"))
+                .build();
+        String text = "A;B\nC;D\nrest;of\ninput";
+        TextParser parser = new TextParser(schema);
+        List<Line> lines = new ArrayList<>();
+        try(Reader remaining = parser.parseForEachAndGetRemaining(new StringReader(text), lines::add)) {
+            assertEquals(2, lines.size());
+            assertEquals("D", LineUtils.getStringCellValue(lines.get(1), "b"));
+            assertEquals("rest;of\ninput", readAll(remaining));
+        }
+    }
+
+    @Test
+    public void parseForEachAndGetRemaining_fixedWidth() throws IOException {
+        FixedWidthSchema schema = FixedWidthSchema.builder()
+                .withLine("header", l->l
+                        .withOccurs(1)
+                        .withCell("a", 2)
+                        .withCell("b", 3))
+                .build();
+        String text = "AABBB\nrest of\ninput";
+        TextParser parser = new TextParser(schema);
+        List<Line> lines = new ArrayList<>();
+        try(Reader remaining = parser.parseForEachAndGetRemaining(new StringReader(text), lines::add)) {
+            assertEquals(1, lines.size());
+            assertEquals("BBB", LineUtils.getStringCellValue(lines.get(0), "b"));
+            assertEquals("rest of\ninput", readAll(remaining));
+        }
+    }
+
+    @Test
+    public void parseForEach_path() throws IOException {
+        FixedWidthSchema schema = FixedWidthSchema.builder()
+                .withLine("name", l->l
+                        .withCell("first", 6)
+                        .withCell("last", 8))
+                .build();
+        Path path = folder.newFile().toPath();
+        Files.write(path, "Jonas Sten    \nÅsa   Lundgren\n".getBytes(StandardCharsets.ISO_8859_1));
+        TextParser parser = new TextParser(schema);
+        List<Line> lines = new ArrayList<>();
+        assertEquals(2, parser.parseForEach(path, StandardCharsets.ISO_8859_1, lines::add));
+        assertEquals("Åsa", LineUtils.getStringCellValue(lines.get(1), "first"));
+        assertEquals("Lundgren", LineUtils.getStringCellValue(lines.get(1), "last"));
+    }
+
+    @Test
+    public void parallelStream() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("a", l->l.withCells("first", "last"))
+                .build();
+        Path path = folder.newFile().toPath();
+        Files.write(path, "Jonas;Sten\nÅsa;Lundgren\n".getBytes(StandardCharsets.UTF_8));
+        TextParser parser = new TextParser(schema);
+        try (Stream<Line> stream = parser.parallelStream(path, StandardCharsets.UTF_8)) {
+            List<String> lastNames = stream.map(l -> LineUtils.getStringCellValue(l, "last")).collect(Collectors.toList());
+            assertEquals(List.of("Sten", "Lundgren"), lastNames);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parallelStream_reuseLines() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("a", l->l.withCells("first", "last"))
+                .build();
+        Path path = folder.newFile().toPath();
+        TextParser parser = new TextParser(schema);
+        parser.getParseConfig().setReuseLines(true);
+        parser.parallelStream(path, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void parseForEach_cellCacheStatistics() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("a", l->l.withCells("id", "country"))
+                .build();
+        TextParser parser = new TextParser(schema);
+        CellCacheStatistics statistics = new CellCacheStatistics();
+        parser.getParseConfig().setMaxCellCacheSize(10);
+        parser.getParseConfig().setAdaptiveCellCache(true);
+        parser.getParseConfig().setCellCacheStatistics(statistics);
+        assertEquals(4, parser.parseForEach(new StringReader("1;SE\n2;NO\n3;SE\n4;SE\n"), l->{}));
+        assertEquals(4, statistics.find("a", "id").orElseThrow().getMissCount());
+        assertEquals(2, statistics.find("a", "country").orElseThrow().getHitCount());
+        assertEquals(2, statistics.find("a", "country").orElseThrow().getMissCount());
+    }
+
+    @Test
+    public void setMaxCellCacheSize() {
+        TextParseConfig config = new TextParseConfig();
+        config.setMaxCellCacheSize(0);
+        assertEquals(0, config.getMaxCellCacheSize());
+        config.setMaxCellCacheSize(1000);
+        assertEquals(1000, config.getMaxCellCacheSize());
+    }
+
+    private static String readAll(Reader reader) throws IOException {
+        StringWriter writer = new StringWriter();
+        reader.transferTo(writer);
+        return writer.toString();
+    }
+
     private Schema<?> makeInputSchema() {
         return CsvSchema.builder().build();
     }
@@ -0,0 +1,264 @@
+package org.jsapar.bean.processor;
+
+import org.jsapar.bean.BeanMap;
+import org.jsapar.bean.GeneratedBeanMapper;
+import org.jsapar.compose.ComposeException;
+import org.jsapar.compose.bean.BeanComposer;
+import org.jsapar.compose.bean.BeanFactoryByMap;
+import org.jsapar.error.ExceptionErrorConsumer;
+import org.jsapar.error.JSaParException;
+import org.jsapar.model.*;
+import org.jsapar.parse.bean.BeanMarshaller;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.*;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BeanMapperProcessorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static final String PERSON = "package tst;\n" +
+            "import org.jsapar.bean.*;\n" +
+            "@JSaParLine(lineType = \"Person\")\n" +
+            "class Person {\n" +
+            "    @JSaParCell(name = \"First \\\"name\\\"\") private String firstName;\n" +
+            "    @JSaParCell(name = \"age\") private int age;\n" +
+            "    @JSaParCell(name = \"height\") private double height;\n" +
+            "    @JSaParCell(name = \"born\") private java.time.LocalDate born;\n" +
+            "    @JSaParCell(name = \"adult\") private boolean adult;\n" +
+            "    @JSaParContainsCells(name = \"address\") private Address address;\n" +
+            "    public String getFirstName() { return firstName; }\n" +
+            "    public void setFirstName(String firstName) { this.firstName = firstName; }\n" +
+            "    public int getAge() { return age; }\n" +
+            "    public void setAge(int age) { this.age = age; }\n" +
+            "    public double getHeight() { return height; }\n" +
+            "    public void setHeight(double height) { this.height = height; }\n" +
+            "    public java.time.LocalDate getBorn() { return born; }\n" +
+            "    public void setBorn(java.time.LocalDate born) { this.born = born; }\n" +
+            "    public boolean isAdult() { return adult; }\n" +
+            "    public void setAdult(boolean adult) { this.adult = adult; }\n" +
+            "    public Address getAddress() { return address; }\n" +
+            "    public void setAddress(Address address) { this.address = address; }\n" +
+            "}\n";
+
+    private static final String ADDRESS = "package tst;\n" +
+            "import org.jsapar.bean.*;\n" +
+            "public class Address {\n" +
+            "    @JSaParCell(name = \"street\") private String street;\n" +
+            "    public String getStreet() { return street; }\n" +
+            "    public void setStreet(String street) { this.street = street; }\n" +
+            "}\n";
+
+    private static final String NO_SETTER = "package tst;\n" +
+            "import org.jsapar.bean.*;\n" +
+            "@JSaParLine(lineType = \"NoSetter\")\n" +
+            "public class NoSetter {\n" +
+            "    @JSaParCell(name = \"name\") private String name;\n" +
+            "    public String getName() { return name; }\n" +
+            "}\n";
+
+    private static final String VALIDATED = "package tst;\n" +
+            "import org.jsapar.bean.*;\n" +
+            "@JSaParLine(lineType = \"Validated\")\n" +
+            "public class Validated {\n" +
+            "    @JSaParCell(name = \"size\") private int size;\n" +
+            "    @JSaParCell(name = \"name\") private String name;\n" +
+            "    public String getName() { return name; }\n" +
+            "    public void setName(String name) {\n" +
+            "        if (name.isEmpty() || name.equals(\"invalid\")) throw new IllegalStateException(\"Invalid name\");\n" +
+            "        this.name = name;\n" +
+            "    }\n" +
+            "    public int getSize() {\n" +
+            "        if (size < 0) throw new IllegalStateException(\"Negative size\");\n" +
+            "        return size;\n" +
+            "    }\n" +
+            "    public void setSize(int size) { this.size = size; }\n" +
+            "}\n";
+
+    private static final String SUB_TYPES = "package tst;\n" +
+            "import org.jsapar.bean.*;\n" +
+            "@JSaParLine(lineType = \"SubTypes\")\n" +
+            "public class SubTypes {\n" +
+            "    @JSaParCell(name = \"calendar\") private java.util.GregorianCalendar calendar;\n" +
+            "    public static class Day extends java.util.Date {\n" +
+            "        public Day(long time) { super(time); }\n" +
+            "        @Override public String toString() { return \"A day\"; }\n" +
+            "    }\n" +
+            "    @JSaParCell(name = \"date\") private Day date;\n" +
+            "    public java.util.GregorianCalendar getCalendar() { return calendar; }\n" +
+            "    public void setCalendar(java.util.GregorianCalendar calendar) { this.calendar = calendar; }\n" +
+            "    public Day getDate() { return date; }\n" +
+            "    public void setDate(Day date) { this.date = date; }\n" +
+            "}\n";
+
+    private static final String UNTYPED = "package tst;\n" +
+            "import org.jsapar.bean.*;\n" +
+            "@JSaParLine(lineType = \"Untyped\")\n" +
+            "public class Untyped {\n" +
+            "    @JSaParCell(name = \"number\") private Number number;\n" +
+            "    public Number getNumber() { return number; }\n" +
+            "    public void setNumber(Number number) { this.number = number; }\n" +
+            "}\n";
+
+    @Test
+    public void testGeneratedMapper() throws Exception {
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        ClassLoader classLoader = compile(diagnostics);
+
+        assertTrue(diagnostics.getDiagnostics().stream()
+                .anyMatch(d -> d.getKind() == Diagnostic.Kind.WARNING && d.getMessage(null).contains("tst.NoSetter")));
+        try {
+            Class.forName("tst.NoSetter" + GeneratedBeanMapper.CLASS_NAME_SUFFIX, false, classLoader);
+            fail("No mapper should be generated when there is no setter");
+        } catch (ClassNotFoundException e) {
+            // Expected
+        }
+
+        Class<?> personClass = Class.forName("tst.Person", true, classLoader);
+        GeneratedBeanMapper<?> mapper = (GeneratedBeanMapper<?>) Class.forName("tst.Person_JSaParMapper", true, classLoader)
+                .getConstructor().newInstance();
+        assertSame(personClass, mapper.getBeanClass());
+        assertEquals("Person", mapper.getLineType());
+        assertEquals("address.street", mapper.getCellNamesOfProperty().get("address.street"));
+        assertEquals("First \"name\"", mapper.getCellNamesOfProperty().get("firstName"));
+
+        // The class is not public so it is not possible to create or access it by reflection from this library.
+        BeanMap beanMap = BeanMap.ofClass(personClass);
+        BeanFactoryByMap<Object> beanFactory = new BeanFactoryByMap<>(beanMap);
+        Line line = new Line("Person");
+        line.addCell(new StringCell("First \"name\"", "Anna"));
+        line.addCell(IntegerCell.of("age", 42));
+        line.addCell(FloatCell.of("height", 1.75));
+        line.addCell(new LocalDateCell("born", LocalDate.of(1980, 2, 29)));
+        line.addCell(new BooleanCell("adult", true));
+        line.addCell(new StringCell("address.street", "Storgatan"));
+        line.addCell(new StringCell("unknown", "ignored"));
+        Object person = beanFactory.createBean(line);
+        assertSame(personClass, person.getClass());
+        for (Cell<?> cell : line)
+            beanFactory.assignCellToBean("Person", person, cell);
+
+        Line marshalled = new BeanMarshaller<>(beanMap).marshalLine(person, new ExceptionErrorConsumer(), 1);
+        assertEquals("Person", marshalled.getLineType());
+        assertEquals(6, marshalled.size());
+        assertEquals("Anna", LineUtils.getStringCellValue(marshalled, "First \"name\""));
+        assertEquals(42, marshalled.getInt("age", 0));
+        assertEquals(1.75, marshalled.getDouble("height", 0.0), 0.0);
+        assertEquals(LocalDate.of(1980, 2, 29), marshalled.getCell("born").map(Cell::getValue).orElse(null));
+        assertEquals(Boolean.TRUE, marshalled.getCell("adult").map(Cell::getValue).orElse(null));
+        assertEquals("Storgatan", LineUtils.getStringCellValue(marshalled, "address.street"));
+    }
+
+    private ClassLoader compile(DiagnosticCollector<JavaFileObject> diagnostics) throws IOException {
+        File sourceDir = folder.newFolder("src", "tst");
+        File outputDir = folder.newFolder("classes");
+        List<File> sources = new ArrayList<>();
+        sources.add(write(sourceDir, "Person.java", PERSON));
+        sources.add(write(sourceDir, "Address.java", ADDRESS));
+        sources.add(write(sourceDir, "NoSetter.java", NO_SETTER));
+        sources.add(write(sourceDir, "Validated.java", VALIDATED));
+        sources.add(write(sourceDir, "SubTypes.java", SUB_TYPES));
+        sources.add(write(sourceDir, "Untyped.java", UNTYPED));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        String classPath = new File(GeneratedBeanMapper.class.getProtectionDomain().getCodeSource().getLocation().getPath()).getPath();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                    List.of("-classpath", classPath, "-d", outputDir.getPath(), "-s", outputDir.getPath()),
+                    null, fileManager.getJavaFileObjectsFromFiles(sources));
+            task.setProcessors(List.of(new BeanMapperProcessor()));
+            assertTrue(diagnostics.getDiagnostics().toString(), task.call());
+        }
+        return new URLClassLoader(new URL[]{outputDir.toURI().toURL()}, getClass().getClassLoader());
+    }
+
+    private static File write(File dir, String name, String content) throws IOException {
+        File file = new File(dir, name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test
+    public void testGeneratedMapper_failingSetter() throws Exception {
+        ClassLoader classLoader = compile(new DiagnosticCollector<>());
+        Class<?> validatedClass = Class.forName("tst.Validated", true, classLoader);
+        Class.forName("tst.Validated" + GeneratedBeanMapper.CLASS_NAME_SUFFIX, false, classLoader);
+
+        BeanFactoryByMap<Object> beanFactory = new BeanFactoryByMap<>(BeanMap.ofClass(validatedClass));
+        Line line = new Line("Validated");
+        Object bean = beanFactory.createBean(line);
+        try {
+            beanFactory.assignCellToBean("Validated", bean, new StringCell("name", "invalid"));
+            fail("Exception of setter should be wrapped");
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+
+        // The error of the setter is reported for the cell and does not stop the parsing.
+        line.addCell(new StringCell("name", "invalid"));
+        line.addCell(IntegerCell.of("size", 3));
+        List<JSaParException> errors = new ArrayList<>();
+        BeanComposer<Object> composer = new BeanComposer<>(beanFactory);
+        composer.setErrorConsumer(errors::add);
+        Object composed = composer.toBean(line).orElseThrow(AssertionError::new);
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0) instanceof ComposeException);
+        assertEquals(3, validatedClass.getMethod("getSize").invoke(composed));
+    }
+
+    @Test
+    public void testGeneratedMapper_failingGetter() throws Exception {
+        ClassLoader classLoader = compile(new DiagnosticCollector<>());
+        Class<?> validatedClass = Class.forName("tst.Validated", true, classLoader);
+        Object bean = validatedClass.getConstructor().newInstance();
+        validatedClass.getMethod("setName", String.class).invoke(bean, "Nisse");
+        validatedClass.getMethod("setSize", int.class).invoke(bean, -1);
+
+        List<JSaParException> errors = new ArrayList<>();
+        Line line = new BeanMarshaller<>(BeanMap.ofClass(validatedClass)).marshalLine(bean, errors::add, 1);
+        // The cell after the failing one is still added.
+        assertEquals("Nisse", LineUtils.getStringCellValue(line, "name"));
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0).getMessage().contains("attribute size of class tst.Validated"));
+    }
+
+    @Test
+    public void testGeneratedMapper_cellTypesSameAsReflection() throws Exception {
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        ClassLoader classLoader = compile(diagnostics);
+        assertTrue(diagnostics.getDiagnostics().stream()
+                .anyMatch(d -> d.getKind() == Diagnostic.Kind.WARNING && d.getMessage(null).contains("tst.Untyped")));
+
+        Class<?> subTypesClass = Class.forName("tst.SubTypes", true, classLoader);
+        Class.forName("tst.SubTypes" + GeneratedBeanMapper.CLASS_NAME_SUFFIX, false, classLoader);
+        Object bean = subTypesClass.getConstructor().newInstance();
+        GregorianCalendar calendar = new GregorianCalendar(2020, Calendar.FEBRUARY, 29);
+        subTypesClass.getMethod("setCalendar", GregorianCalendar.class).invoke(bean, calendar);
+        Class<?> dayClass = Class.forName("tst.SubTypes$Day", true, classLoader);
+        subTypesClass.getMethod("setDate", dayClass).invoke(bean, dayClass.getConstructor(long.class).newInstance(0L));
+
+        // Sub-classes of Calendar and Date are not assignable from Calendar and Date and become string cells by reflection.
+        Line line = new BeanMarshaller<>(BeanMap.ofClass(subTypesClass)).marshalLine(bean, new ExceptionErrorConsumer(), 1);
+        assertEquals(CellType.STRING, line.getCell("calendar").map(Cell::getCellType).orElse(null));
+        assertEquals(String.valueOf(calendar), LineUtils.getStringCellValue(line, "calendar"));
+        assertEquals(CellType.STRING, line.getCell("date").map(Cell::getCellType).orElse(null));
+        assertEquals("A day", LineUtils.getStringCellValue(line, "date"));
+    }
+}
@@ -0,0 +1,235 @@
+package org.jsapar.compose.bean;
+
+import org.jsapar.TstPerson;
+import org.jsapar.bean.BeanMap;
+import org.jsapar.bean.JSaParCell;
+import org.jsapar.model.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BeanFactoryByConstructorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @SuppressWarnings("unused")
+    public static class Immutable {
+        private final String name;
+        private final int count;
+        private final LocalDate date;
+        private String comment;
+
+        public Immutable(@JSaParCell(name = "name") String name) {
+            this(name, -1, null);
+        }
+
+        public Immutable(@JSaParCell(name = "name") String name,
+                         @JSaParCell(name = "count") int count,
+                         @JSaParCell(name = "date") LocalDate date) {
+            this.name = name;
+            this.count = count;
+            this.date = date;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public String getComment() {
+            return comment;
+        }
+
+        public void setComment(String comment) {
+            this.comment = comment;
+        }
+    }
+
+    private static final String IMMUTABLE = "org.jsapar.compose.bean.BeanFactoryByConstructorTest$Immutable";
+
+    @Test
+    public void createBean() throws Exception {
+        BeanFactoryByConstructor<Immutable> beanFactory = new BeanFactoryByConstructor<>();
+        Line line = new Line(IMMUTABLE);
+        line.addCell(new StringCell("name", "Anna"));
+        line.addCell(IntegerCell.of("count", 42));
+        line.addCell(new LocalDateCell("date", LocalDate.of(2020, 2, 29)));
+        line.addCell(new StringCell("comment", "Not in constructor"));
+        Immutable bean = beanFactory.createBean(line);
+        assertEquals("Anna", bean.getName());
+        assertEquals(42, bean.getCount());
+        assertEquals(LocalDate.of(2020, 2, 29), bean.getDate());
+        assertNull(bean.getComment());
+
+        for (Cell<?> cell : line)
+            beanFactory.assignCellToBean(IMMUTABLE, bean, cell);
+        assertEquals("Anna", bean.getName());
+        assertEquals("Not in constructor", bean.getComment());
+    }
+
+    @Test
+    public void createBean_missingCells() throws Exception {
+        BeanFactoryByConstructor<Immutable> beanFactory = new BeanFactoryByConstructor<>();
+        Line line = new Line(IMMUTABLE);
+        line.addCell(new EmptyCell<>("count", CellType.INTEGER));
+        Immutable bean = beanFactory.createBean(line);
+        assertNull(bean.getName());
+        assertEquals(0, bean.getCount());
+        assertNull(bean.getDate());
+    }
+
+    @Test(expected = InstantiationException.class)
+    public void createBean_wrongType() throws Exception {
+        BeanFactoryByConstructor<Immutable> beanFactory = new BeanFactoryByConstructor<>();
+        Line line = new Line(IMMUTABLE);
+        line.addCell(new StringCell("count", "many"));
+        beanFactory.createBean(line);
+    }
+
+    @Test
+    public void createBean_fallBackToSetters() throws Exception {
+        BeanFactoryByConstructor<TstPerson> beanFactory = new BeanFactoryByConstructor<>();
+        Line line = new Line("org.jsapar.TstPerson");
+        line.addCell(new StringCell("firstName", "Nils"));
+        TstPerson person = beanFactory.createBean(line);
+        assertNotNull(person);
+        beanFactory.assignCellToBean("org.jsapar.TstPerson", person, new StringCell("firstName", "Nils"));
+        assertEquals("Nils", person.getFirstName());
+    }
+
+    @Test(expected = ClassNotFoundException.class)
+    public void createBean_classNotFound() throws Exception {
+        new BeanFactoryByConstructor<>().createBean(new Line("org.jsapar.DoesNotExist"));
+    }
+
+    @Test
+    public void composeLine() {
+        BeanComposer<Immutable> composer = new BeanComposer<>(new BeanFactoryByConstructor<>());
+        Line line = new Line(IMMUTABLE);
+        line.addCell(new StringCell("name", "Bertil"));
+        line.addCell(IntegerCell.of("count", 7));
+        line.addCell(new StringCell("comment", "Set by setter"));
+        Immutable bean = composer.toBean(line).orElseThrow(AssertionError::new);
+        assertEquals("Bertil", bean.getName());
+        assertEquals(7, bean.getCount());
+        assertEquals("Set by setter", bean.getComment());
+    }
+
+    @SuppressWarnings("unused")
+    public static class Failing {
+        public Failing(@JSaParCell(name = "name") String name) {
+            throw new IllegalStateException("Failing constructor");
+        }
+    }
+
+    @Test(expected = InvocationTargetException.class)
+    public void createBean_failingConstructor() throws Exception {
+        new BeanFactoryByConstructor<>().createBean(new Line("org.jsapar.compose.bean.BeanFactoryByConstructorTest$Failing"));
+    }
+
+    /**
+     * Not accessible by public method handles since the class is not public, but accessible by reflection from the
+     * same package.
+     */
+    static class PackagePrivate {
+        private final String name;
+
+        public PackagePrivate(@JSaParCell(name = "name") String name) {
+            this.name = name;
+        }
+    }
+
+    @Test
+    public void createBean_packagePrivate() throws Exception {
+        Line line = new Line("org.jsapar.compose.bean.BeanFactoryByConstructorTest$PackagePrivate");
+        line.addCell(new StringCell("name", "Cecilia"));
+        PackagePrivate bean = new BeanFactoryByConstructor<PackagePrivate>().createBean(line);
+        assertEquals("Cecilia", bean.name);
+    }
+
+    @SuppressWarnings("unused")
+    static class PackagePrivateFailing {
+        public PackagePrivateFailing(@JSaParCell(name = "name") String name) {
+            throw new IllegalStateException("Failing constructor");
+        }
+    }
+
+    @Test
+    public void createBean_packagePrivate_failingConstructor() throws Exception {
+        try {
+            new BeanFactoryByConstructor<>().createBean(
+                    new Line("org.jsapar.compose.bean.BeanFactoryByConstructorTest$PackagePrivateFailing"));
+            fail("Should throw exception");
+        } catch (InvocationTargetException e) {
+            assertEquals(IllegalStateException.class, e.getCause().getClass());
+        }
+    }
+
+    /**
+     * Compiled with parameter names. The constructor that takes a parameter that is not a cell must never be used and
+     * of the two other constructors, the one with the first signature is used.
+     */
+    private static final String PAIR = "package tst;\n" +
+            "public class Pair {\n" +
+            "    public String constructedBy = \"default\";\n" +
+            "    public Pair() {}\n" +
+            "    public Pair(String first, Integer unknown) { constructedBy = \"first,unknown\"; }\n" +
+            "    public Pair(String second, String first) { constructedBy = \"second,first\"; }\n" +
+            "    public Pair(CharSequence first, String second) { constructedBy = \"first,second\"; }\n" +
+            "}\n";
+
+    @Test
+    public void createBean_parameterNames() throws Exception {
+        Class<?> pairClass = compileWithParameterNames().loadClass("tst.Pair");
+        BeanMap beanMap = BeanMap.builder().withLine("pair", pairClass).build();
+
+        Line line = new Line("pair");
+        line.addCell(new StringCell("first", "1"));
+        line.addCell(new StringCell("second", "2"));
+        Object bean = new BeanFactoryByConstructor<>(beanMap).createBean(line);
+        assertEquals("first,second", pairClass.getField("constructedBy").get(bean));
+
+        Line onlyFirst = new Line("pair");
+        onlyFirst.addCell(new StringCell("first", "1"));
+        bean = new BeanFactoryByConstructor<>(beanMap).createBean(onlyFirst);
+        assertEquals("default", pairClass.getField("constructedBy").get(bean));
+    }
+
+    private ClassLoader compileWithParameterNames() throws Exception {
+        File source = new File(folder.newFolder("src", "tst"), "Pair.java");
+        Files.write(source.toPath(), PAIR.getBytes(StandardCharsets.UTF_8));
+        File outputDir = folder.newFolder("classes");
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                    List.of("-parameters", "-d", outputDir.getPath()), null, fileManager.getJavaFileObjects(source));
+            assertTrue(diagnostics.getDiagnostics().toString(), task.call());
+        }
+        return new URLClassLoader(new URL[]{outputDir.toURI().toURL()}, getClass().getClassLoader());
+    }
+}
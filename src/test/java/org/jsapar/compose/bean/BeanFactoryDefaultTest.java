@@ -1,5 +1,6 @@
 package org.jsapar.compose.bean;
 
+import org.jsapar.TstGender;
 import org.jsapar.TstPerson;
 import org.jsapar.model.IntegerCell;
 import org.jsapar.model.Line;
@@ -65,4 +66,92 @@ public class BeanFactoryDefaultTest {
         assertEquals("Helsinki road", person.getAddress().getStreet());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void assignCellToBean_plan_reused() throws BeanComposeException, ClassNotFoundException, NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
+        String lineType = "org.jsapar.TstPerson";
+        BeanFactoryDefault<TstPerson> beanFactory = new BeanFactoryDefault<>();
+        for (int i = 0; i < 3; i++) {
+            TstPerson person = beanFactory.createBean(new Line(lineType));
+            beanFactory.assignCellToBean(lineType, person, new IntegerCell("shoeSize", 40 + i));
+            beanFactory.assignCellToBean(lineType, person, new StringCell("door", "B" + i));
+            beanFactory.assignCellToBean(lineType, person, new StringCell("gender", "F"));
+            beanFactory.assignCellToBean(lineType, person, new StringCell("address.street", "Street " + i));
+            beanFactory.assignCellToBean(lineType, person, i % 2 == 0 ? new IntegerCell("luckyNumber", i) : new StringCell("luckyNumber", String.valueOf(i)));
+            assertEquals(40 + i, person.getShoeSize());
+            assertEquals('B', person.getDoor());
+            assertEquals(TstGender.F, person.getGender());
+            assertEquals("Street " + i, person.getAddress().getStreet());
+            assertEquals(i, person.getLuckyNumber());
+        }
+    }
+
+    @Test(expected = BeanComposeException.class)
+    public void assignCellToBean_wrongEnum() throws BeanComposeException {
+        new BeanFactoryDefault<TstPerson>().assignCellToBean("org.jsapar.TstPerson", new TstPerson(), new StringCell("gender", "UNKNOWN"));
+    }
+
+    public static abstract class Abstract {
+    }
+
+    @Test(expected = InstantiationException.class)
+    public void createBean_abstract() throws ClassNotFoundException, NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
+        new BeanFactoryDefault<Abstract>().createBean(new Line("org.jsapar.compose.bean.BeanFactoryDefaultTest$Abstract"));
+    }
+
+    /**
+     * Not accessible by public method handles since the class is not public, but accessible by reflection from the
+     * same package.
+     */
+    @SuppressWarnings("unused")
+    static class PackagePrivate {
+        private String name;
+        private PackagePrivate child;
+
+        public PackagePrivate() {
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public PackagePrivate getChild() {
+            return child;
+        }
+
+        public void setChild(PackagePrivate child) {
+            this.child = child;
+        }
+    }
+
+    @Test
+    public void createBean_packagePrivate() throws Exception {
+        String lineType = "org.jsapar.compose.bean.BeanFactoryDefaultTest$PackagePrivate";
+        BeanFactoryDefault<PackagePrivate> beanFactory = new BeanFactoryDefault<>();
+        PackagePrivate bean = beanFactory.createBean(new Line(lineType));
+        beanFactory.assignCellToBean(lineType, bean, new StringCell("name", "Parent"));
+        beanFactory.assignCellToBean(lineType, bean, new StringCell("child.name", "Child"));
+        assertEquals("Parent", bean.getName());
+        assertEquals("Child", bean.getChild().getName());
+    }
+
+    static class PackagePrivateFailing {
+        public PackagePrivateFailing() {
+            throw new IllegalStateException("Testing");
+        }
+    }
+
+    @Test
+    public void createBean_packagePrivate_constructorFails() throws Exception {
+        try {
+            new BeanFactoryDefault<PackagePrivateFailing>().createBean(
+                    new Line("org.jsapar.compose.bean.BeanFactoryDefaultTest$PackagePrivateFailing"));
+            fail("Should throw exception");
+        } catch (InvocationTargetException e) {
+            assertEquals(IllegalStateException.class, e.getCause().getClass());
+        }
+    }
+}
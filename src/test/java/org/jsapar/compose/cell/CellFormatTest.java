@@ -9,6 +9,7 @@ import org.jsapar.text.Format;
 import org.junit.Test;
 
 import java.text.ParseException;
+import java.util.Date;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
@@ -122,4 +123,31 @@ public class CellFormatTest {
         fail("Should throw exception");
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testFormatValue() throws SchemaException {
+        CellFormat format = CellFormat.ofSchemaCell(StringSchemaCell.builder("test").withDefaultValue("TheDefault").build());
+        assertEquals("TheDefault", format.formatValue(null));
+        assertEquals("TheDefault", format.formatValue(""));
+        assertEquals("A", format.formatValue("A"));
+        assertEquals("42", format.formatValue(42L));
+        assertEquals("INTEGER", format.formatValue(CellType.INTEGER));
+    }
+
+    @Test
+    public void testFormatValue_sameAsFormat() throws ParseException {
+        CellFormat format = CellFormat.ofSchemaCell(StringSchemaCell.builder("test").build());
+        Date date = DateCell.ISO_DATE_FORMAT.parse("2007-10-01 14:13:00.000 +0200");
+        assertEquals(format.format(new DateCell("test", date)), format.formatValue(date));
+        assertEquals(format.format(new EnumCell<>("test", CellType.INTEGER)), format.formatValue(CellType.INTEGER));
+        assertEquals(format.format(FloatCell.of("test", 1.5)), format.formatValue(1.5));
+
+        SchemaCell schemaCell = StringSchemaCell.builder("test")
+                .withType(CellType.DATE)
+                .withPattern("yyyy-MM-dd HH:mm")
+                .build();
+        format = CellFormat.ofSchemaCell(schemaCell);
+        assertEquals(format.format(new DateCell("test", date)), format.formatValue(date));
+        assertEquals("", format.formatValue(null));
+    }
+
+}
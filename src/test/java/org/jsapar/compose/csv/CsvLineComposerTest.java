@@ -10,8 +10,10 @@ import org.jsapar.schema.QuoteSyntax;
 import org.junit.Test;
 
 import java.io.StringWriter;
+import java.util.Arrays;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class CsvLineComposerTest {
 
@@ -151,7 +153,22 @@ public class CsvLineComposerTest {
 
     }
 
+    @Test
+    public void testComposeValues_header() throws JSaParException {
+        CsvSchemaLine schemaLine = CsvSchemaLine.builder("A")
+                .withCellSeparator(";")
+                .withFirstLineAsSchema(true)
+                .withCells("First Name", "Last Name")
+                .withCell("Middle Name", c->c.withDefaultValue("-"))
+                .build();
+        StringWriter writer = new StringWriter();
 
+        CsvLineComposer lineComposer = new CsvLineComposer(writer, schemaLine, "\n", QuoteSyntax.FIRST_LAST);
+        assertEquals(Arrays.asList("First Name", "Last Name", "Middle Name"), lineComposer.getCellNames());
+        String[] values = {"Jonas", "Stenberg", null};
+        assertTrue(lineComposer.composeValues(values, (source, i) -> ((String[]) source)[i]));
 
+        assertEquals("First Name;Last Name;Middle Name\nJonas;Stenberg;-", writer.toString());
+    }
 
-}
\ No newline at end of file
+}
@@ -8,8 +8,12 @@ import org.junit.Test;
 
 import java.io.StringWriter;
 import java.io.Writer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class FixedWidthLineComposerTest {
 
@@ -83,5 +87,26 @@ public class FixedWidthLineComposerTest {
         assertEquals("     Stenberg", sResult);
     }
 
+    @Test
+    public void testComposeValues() throws JSaParException {
+        FixedWidthSchemaLine schemaLine =FixedWidthSchemaLine.builder("Person")
+                .withMinLength(40)
+                .withCell("First name", 5)
+                .withCell("Last name", 8)
+                .withCell("Zip code", 6)
+                .withCell("City", 8, c->c.withDefaultValue("Huddinge"))
+                .build();
+
+        Writer writer = new StringWriter();
+        FixedWidthLineComposer composer = new FixedWidthLineComposer(writer, schemaLine);
+        Map<String, String> values = new HashMap<>();
+        values.put("First name", "Jonas");
+        values.put("Last name", "Stenberg");
+        values.put("Zip code", "");
+        List<String> cellNames = composer.getCellNames();
+        assertTrue(composer.composeValues(values, (source, i) -> ((Map<?, ?>) source).get(cellNames.get(i))));
+
+        assertEquals("JonasStenberg      Huddinge             ", writer.toString());
+    }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,80 @@
+package org.jsapar.concurrent;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class BatchRingBufferTest {
+
+    @Test
+    public void put_consume_partialBatchPublishedOnClose() throws InterruptedException {
+        BatchRingBuffer<Integer> buffer = new BatchRingBuffer<>(10, 3, WaitStrategy.SPIN);
+        for (int i = 0; i < 4; i++) {
+            buffer.put(i);
+        }
+        assertEquals(4, buffer.size());
+        List<Integer> consumed = new ArrayList<>();
+        assertTrue(buffer.consume(consumed::add));
+        assertEquals(List.of(0, 1, 2), consumed);
+        assertEquals(1, buffer.size());
+        buffer.close();
+        assertTrue(buffer.consume(consumed::add));
+        assertEquals(List.of(0, 1, 2, 3), consumed);
+        assertFalse(buffer.consume(consumed::add));
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    public void abort_releasesWaitingConsumer() throws InterruptedException {
+        BatchRingBuffer<Integer> buffer = new BatchRingBuffer<>(10, 3, WaitStrategy.PARK);
+        AtomicReference<Boolean> result = new AtomicReference<>();
+        Thread consumer = new Thread(() -> {
+            try {
+                result.set(buffer.consume(e -> {}));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        buffer.abort();
+        consumer.join(10000L);
+        assertEquals(Boolean.FALSE, result.get());
+    }
+
+    @Test
+    public void transfer_allWaitStrategies() throws InterruptedException {
+        for (WaitStrategy waitStrategy : WaitStrategy.values()) {
+            testTransfer(waitStrategy);
+        }
+    }
+
+    private void testTransfer(WaitStrategy waitStrategy) throws InterruptedException {
+        final int count = 100_000;
+        BatchRingBuffer<Integer> buffer = new BatchRingBuffer<>(64, 7, waitStrategy);
+        List<Integer> consumed = new ArrayList<>(count);
+        Thread consumer = new Thread(() -> {
+            try {
+                //noinspection StatementWithEmptyBody
+                while (buffer.consume(consumed::add)) {
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        for (int i = 0; i < count; i++) {
+            buffer.put(i);
+        }
+        buffer.close();
+        consumer.join(10000L);
+        assertFalse(consumer.isAlive());
+        assertEquals(waitStrategy.name(), count, consumed.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, consumed.get(i).intValue());
+        }
+    }
+}
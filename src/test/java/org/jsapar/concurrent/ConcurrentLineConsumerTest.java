@@ -126,4 +126,30 @@ public class ConcurrentLineConsumerTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testBatching() {
+        try (ConcurrentConsumer<Line> instance = new ConcurrentConsumer<>(event -> count.getAndIncrement(), 10, 4, WaitStrategy.PARK)) {
+            instance.registerOnStop(() -> this.stopped = true);
+            instance.start();
+            for (int i = 0; i < 1001; i++) {
+                instance.accept(new Line(""));
+            }
+        }
+        assertEquals(1001, count.get());
+        assertTrue(this.stopped);
+    }
+
+    @Test(expected = JSaParException.class)
+    public void testBatching_exceptionFromListener() {
+        try (ConcurrentConsumer<Line> instance = new ConcurrentConsumer<>(event -> {
+            throw new AssertionError("Testing error");
+        }, 10, 4, WaitStrategy.PARK)) {
+            instance.start();
+            for (int i = 0; i < 1000; i++) {
+                instance.accept(new Line(""));
+            }
+        }
+        fail("Exception expected");
+    }
+
+}
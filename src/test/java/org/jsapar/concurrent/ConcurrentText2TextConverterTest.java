@@ -1,13 +1,19 @@
 package org.jsapar.concurrent;
 
 import org.jsapar.error.JSaParException;
+import org.jsapar.model.CellType;
+import org.jsapar.model.LineUtils;
 import org.jsapar.schema.*;
+import org.jsapar.text.Format;
+import org.jsapar.text.TextParseConfig;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  */
@@ -43,4 +49,109 @@ public class ConcurrentText2TextConverterTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testConvert_batching() throws IOException, JSaParException {
+        FixedWidthSchema inputSchema = FixedWidthSchema.builder()
+                .withLine(FixedWidthSchemaLine.builder("Person")
+                        .withCell("First name", 6)
+                        .withCell("Last name", 9)
+                        .build())
+                .withLineSeparator("\n")
+                .build();
+
+        CsvSchema outputSchema = CsvSchema.builder()
+                .withLine(CsvSchemaLine.builder("Person")
+                        .withCells("First name", "Last name")
+                        .withCellSeparator(";")
+                        .build())
+                .withLineSeparator("|")
+                .build();
+
+        StringBuilder toParse = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            toParse.append(String.format("%-6s%-9s\n", "J" + i, "S" + i));
+            expected.append(expected.length() == 0 ? "" : "|").append("J").append(i).append(";S").append(i);
+        }
+        try (StringWriter writer = new StringWriter(); StringReader reader = new StringReader(toParse.toString())) {
+            ConcurrentText2TextConverter converter = new ConcurrentText2TextConverter(inputSchema, outputSchema);
+            converter.setBatching(100, 16, WaitStrategy.YIELD);
+            converter.convert(reader, writer);
+            Assert.assertEquals(expected.toString(), writer.getBuffer().toString());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConvert_reuseLines() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine(CsvSchemaLine.builder("Person").withCells("First name", "Last name").build())
+                .build();
+        TextParseConfig parseConfig = new TextParseConfig();
+        parseConfig.setReuseLines(true);
+        ConcurrentText2TextConverter converter = new ConcurrentText2TextConverter(schema, schema, parseConfig);
+        converter.convert(new StringReader("Jonas;Stenberg"), new StringWriter());
+    }
+
+    @Test
+    public void testConvert_lazyCellParsing() throws IOException {
+        testConvert_lazyCellParsing(1);
+    }
+
+    @Test
+    public void testConvert_lazyCellParsing_parallel() throws IOException {
+        testConvert_lazyCellParsing(4);
+    }
+
+    /**
+     * The lazy cells need to be parsed by the parsing thread since the cell parsers are not thread safe.
+     */
+    private void testConvert_lazyCellParsing(int workerCount) throws IOException {
+        Set<Thread> parsingThreads = ConcurrentHashMap.newKeySet();
+        Format<String> recordingFormat = new Format<>() {
+            @Override
+            public CellType cellType() {
+                return CellType.STRING;
+            }
+
+            @Override
+            public String parse(String stringValue) {
+                parsingThreads.add(Thread.currentThread());
+                return stringValue;
+            }
+
+            @Override
+            public String format(Object value) {
+                return String.valueOf(value);
+            }
+        };
+        CsvSchema schema = CsvSchema.builder()
+                .withLine(CsvSchemaLine.builder("Person")
+                        .withCell("First name", c -> c.withFormat(recordingFormat))
+                        .withCell("Last name", c -> c.withFormat(recordingFormat))
+                        .withCellSeparator(";")
+                        .build())
+                .withLineSeparator("|")
+                .build();
+        StringBuilder toParse = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            String line = "J" + i + ";S" + i;
+            toParse.append(line).append('|');
+            expected.append(expected.length() == 0 ? "" : "|").append(line).append("x");
+        }
+        TextParseConfig parseConfig = new TextParseConfig();
+        parseConfig.setLazyCellParsing(true);
+        parseConfig.setMaxCellCacheSize(0);
+        ConcurrentText2TextConverter converter = new ConcurrentText2TextConverter(schema, schema, parseConfig);
+        if (workerCount > 1)
+            converter.setParallelWorkers(workerCount, 10);
+        converter.addLineManipulator(line -> {
+            LineUtils.setStringCellValue(line, "Last name", LineUtils.getStringCellValue(line, "Last name") + "x");
+            return true;
+        });
+        StringWriter writer = new StringWriter();
+        Assert.assertEquals(1000, converter.convert(new StringReader(toParse.toString()), writer));
+        Assert.assertEquals(expected.toString(), writer.toString());
+        Assert.assertEquals(Set.of(Thread.currentThread()), parsingThreads);
+    }
+}
@@ -0,0 +1,141 @@
+package org.jsapar.concurrent;
+
+import org.jsapar.Text2TextConverter;
+import org.jsapar.TextComposer;
+import org.jsapar.error.ExceptionErrorConsumer;
+import org.jsapar.error.JSaParException;
+import org.jsapar.model.LineUtils;
+import org.jsapar.parse.ParseTask;
+import org.jsapar.parse.text.TextParseTask;
+import org.jsapar.schema.CsvSchema;
+import org.jsapar.schema.FixedWidthSchema;
+import org.jsapar.schema.Schema;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelConvertTaskTest {
+
+    private static final CsvSchema parseSchema = CsvSchema.builder()
+            .withLine("Person", l -> l.withCells("First name", "Last name", "Age"))
+            .build();
+
+    private static String makeInput(int count) {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            input.append("First").append(i).append(";Last").append(i).append(';').append(i % 100).append('\n');
+        }
+        return input.toString();
+    }
+
+    private static String convertSequential(Schema<?> composeSchema, String input) throws IOException {
+        Text2TextConverter converter = new Text2TextConverter(parseSchema, composeSchema);
+        converter.addLineManipulator(line -> LineUtils.getIntCellValue(line, "Age", 0) % 7 != 0);
+        converter.addLineManipulator(line -> {
+            LineUtils.setIntCellValue(line, "Age", LineUtils.getIntCellValue(line, "Age", 0) + 1);
+            return true;
+        });
+        StringWriter writer = new StringWriter();
+        converter.convert(new StringReader(input), writer);
+        return writer.toString();
+    }
+
+    private static String convertParallel(Schema<?> composeSchema, String input, int workers, int batchSize) throws IOException {
+        ConcurrentText2TextConverter converter = new ConcurrentText2TextConverter(parseSchema, composeSchema);
+        converter.setParallelWorkers(workers, batchSize);
+        converter.addLineManipulator(line -> LineUtils.getIntCellValue(line, "Age", 0) % 7 != 0);
+        converter.addLineManipulator(line -> {
+            LineUtils.setIntCellValue(line, "Age", LineUtils.getIntCellValue(line, "Age", 0) + 1);
+            return true;
+        });
+        StringWriter writer = new StringWriter();
+        converter.convert(new StringReader(input), writer);
+        return writer.toString();
+    }
+
+    @Test
+    public void execute_fixedWidth_sameOutputAsSequential() throws IOException {
+        FixedWidthSchema composeSchema = FixedWidthSchema.builder()
+                .withLine("Person", l -> l
+                        .withCell("First name", 10)
+                        .withCell("Last name", 10)
+                        .withCell("Age", 3, c -> c.withAlignment(org.jsapar.schema.FixedWidthSchemaCell.Alignment.RIGHT)))
+                .build();
+        String input = makeInput(10_000);
+        String expected = convertSequential(composeSchema, input);
+        assertEquals(expected, convertParallel(composeSchema, input, 4, 100));
+        assertEquals(expected, convertParallel(composeSchema, input, 3, 1));
+    }
+
+    @Test
+    public void execute_csvWithHeader_composedInOrder() throws IOException {
+        CsvSchema composeSchema = CsvSchema.builder()
+                .withLine("Person", l -> l.withFirstLineAsSchema(true).withCells("Last name", "Age"))
+                .build();
+        String input = makeInput(1000);
+        String expected = convertSequential(composeSchema, input);
+        assertTrue(expected.startsWith("Last name;Age"));
+        assertEquals(expected, convertParallel(composeSchema, input, 4, 10));
+    }
+
+    @Test
+    public void execute_onStartAndOnStopCalledByEachWorker() throws IOException {
+        AtomicInteger started = new AtomicInteger();
+        AtomicInteger stopped = new AtomicInteger();
+        TextParseTask parseTask = new TextParseTask(parseSchema, new StringReader(makeInput(100)));
+        StringWriter writer = new StringWriter();
+        ParallelConvertTask task = new ParallelConvertTask(parseTask, parseSchema, writer,
+                new ExceptionErrorConsumer(), null, List.of(), 2, 1);
+        task.registerOnStart(started::incrementAndGet);
+        task.registerOnStop(stopped::incrementAndGet);
+        assertEquals(100, task.execute());
+        assertEquals(makeInput(100).trim(), writer.toString());
+        assertEquals(2, started.get());
+    }
+
+    @Test(expected = JSaParException.class)
+    public void execute_exceptionFromManipulator() throws IOException {
+        ConcurrentText2TextConverter converter = new ConcurrentText2TextConverter(parseSchema, parseSchema);
+        converter.setParallelWorkers(2, 10);
+        converter.addLineManipulator(line -> {
+            throw new IllegalStateException("Testing error");
+        });
+        converter.convert(new StringReader(makeInput(1000)), new StringWriter());
+    }
+
+    @Test
+    public void convert_subClassed() throws IOException {
+        AtomicInteger parallelTasks = new AtomicInteger();
+        AtomicInteger composers = new AtomicInteger();
+        ConcurrentText2TextConverter converter = new ConcurrentText2TextConverter(parseSchema, parseSchema) {
+            {
+                setParallelWorkers(4, 10);
+            }
+
+            @Override
+            protected ParallelConvertTask makeParallelConvertTask(ParseTask parseTask, Writer writer) {
+                parallelTasks.incrementAndGet();
+                return super.makeParallelConvertTask(parseTask, writer);
+            }
+
+            @Override
+            protected TextComposer makeComposer(Writer writer) {
+                composers.incrementAndGet();
+                return super.makeComposer(writer);
+            }
+        };
+        StringWriter writer = new StringWriter();
+        assertEquals(100, converter.convert(new StringReader(makeInput(100)), writer));
+        assertEquals(makeInput(100).trim(), writer.toString());
+        assertEquals(1, parallelTasks.get());
+        assertEquals(0, composers.get());
+    }
+}
@@ -32,4 +32,18 @@ public class FloatCellTest {
         //noinspection EqualsWithItself
         assertEquals(0, c1.compareTo(c1));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testPrimitive() {
+        FloatCell primitive = FloatCell.of("test", -3.75);
+        FloatCell boxed = new FloatCell("test", Double.valueOf(-3.75));
+        assertEquals(-3.75, primitive.doubleValue(), 0.0);
+        assertEquals(-3L, primitive.longValue());
+        assertEquals(-3, primitive.intValue());
+        assertEquals(Double.valueOf(-3.75), primitive.getValue());
+        assertEquals(boxed, primitive);
+        assertEquals(boxed.hashCode(), primitive.hashCode());
+        assertEquals(0, primitive.compareValueTo(boxed));
+    }
+
+}
@@ -38,4 +38,19 @@ public class IntegerCellTest {
         assertTrue(c3.compareValueTo(c1) <0);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testPrimitive() {
+        IntegerCell primitive = IntegerCell.of("test", 4711L);
+        IntegerCell boxed = new IntegerCell("test", Long.valueOf(4711L));
+        assertEquals(4711L, primitive.longValue());
+        assertEquals(4711, primitive.intValue());
+        assertEquals(4711.0, primitive.doubleValue(), 0.0);
+        assertEquals(Long.valueOf(4711L), primitive.getValue());
+        assertEquals("4711", primitive.getStringValue());
+        assertEquals(boxed, primitive);
+        assertEquals(boxed.hashCode(), primitive.hashCode());
+        assertEquals(0, primitive.compareValueTo(boxed));
+        assertEquals(7L, new IntegerCell("test", Short.valueOf((short)7)).longValue());
+    }
+
+}
@@ -1,9 +1,19 @@
 package org.jsapar.model;
 
+import org.jsapar.error.JSaParException;
 import org.jsapar.parse.CellParseException;
 import org.jsapar.schema.SchemaCellFormat;
 import org.junit.Test;
 
+import java.io.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
 import static org.junit.Assert.*;
 
 public class LineTest {
@@ -189,4 +199,184 @@ public class LineTest {
         fail("Should throw exception");
     }
 
+
+    @Test
+    public void testIndexedLine() {
+        Map<String, Integer> index = Map.of("a", 0, "b", 1, "c", 2);
+        Line line = new Line("Shoe", index, 3L);
+        line.addCell(new StringCell("a", "A"));
+        line.addCell(new StringCell("c", "C"));
+        assertEquals(2, line.size());
+        assertEquals(3L, line.getLineNumber());
+        assertEquals("C", line.getExistingCell("c").getStringValue());
+        assertFalse(line.getCell("b").isPresent());
+        assertFalse(line.hasCellErrors());
+        assertEquals(List.of("a", "c"), line.stream().map(Cell::getName).collect(Collectors.toList()));
+
+        Line clone = line.clone();
+        assertEquals("A", line.putCell(new StringCell("a", "AA")).map(Cell::getStringValue).orElseThrow());
+        assertEquals("A", clone.getExistingCell("a").getStringValue());
+        assertEquals(List.of("a", "c"), line.stream().map(Cell::getName).collect(Collectors.toList()));
+
+        assertTrue(line.removeCell("c").isPresent());
+        assertEquals(1, line.size());
+        assertEquals(2, clone.size());
+    }
+
+    @Test
+    public void testIndexedLine_keeps_insertion_order() {
+        Line line = new Line("Shoe", Map.of("a", 0, "b", 1, "c", 2), 0L);
+        line.addCell(new StringCell("c", "C"));
+        line.addCell(new StringCell("a", "A"));
+        line.addCell(new StringCell("x", "X"));
+        line.addCell(new StringCell("b", "B"));
+        assertEquals(List.of("c", "a", "x", "b"), line.stream().map(Cell::getName).collect(Collectors.toList()));
+        assertEquals("X", line.getExistingCell("x").getStringValue());
+    }
+
+    @Test
+    public void testAddLazyCell() {
+        AtomicInteger parseCount = new AtomicInteger();
+        BiFunction<String, Consumer<JSaParException>, Cell<?>> parser = (value, errorConsumer) -> {
+            parseCount.incrementAndGet();
+            try {
+                return new IntegerCell("number", Integer.parseInt(value));
+            } catch (NumberFormatException e) {
+                errorConsumer.accept(new CellParseException("number", value, null, e.getMessage()));
+                return null;
+            }
+        };
+        for (Line line : List.of(new Line("Shoe"), new Line("Shoe", Map.of("text", 0, "number", 1), 1L))) {
+            parseCount.set(0);
+            line.addCell(new StringCell("text", "T"));
+            line.addLazyCell("number", "42", parser);
+            assertEquals(0, parseCount.get());
+            assertEquals("T", line.getExistingCell("text").getStringValue());
+            assertEquals(0, parseCount.get());
+            assertEquals(42, line.getExistingCell("number").getValue());
+            assertEquals(42, line.getExistingCell("number").getValue());
+            assertEquals(1, parseCount.get());
+            assertEquals(2, line.size());
+        }
+    }
+
+    @Test
+    public void testAddLazyCell_error() {
+        BiFunction<String, Consumer<JSaParException>, Cell<?>> parser = (value, errorConsumer) -> {
+            errorConsumer.accept(new CellParseException("number", value, null, "Not a number"));
+            return null;
+        };
+        Line line = new Line("Shoe", 2, 7L);
+        line.addLazyCell("number", "x", parser);
+        line.addLazyCell("other", "y", parser);
+        assertTrue(line.hasCellErrors());
+        assertEquals(0, line.size());
+        assertEquals(7L, line.getCellError("number").map(CellParseException::getLineNumber).orElseThrow().longValue());
+
+        Line clone = new Line("Shoe", 2, 7L).addLazyCell("number", "x", parser).clone();
+        assertEquals(1, clone.getCellErrors().size());
+        assertFalse(clone.getCell("number").isPresent());
+    }
+
+    @Test
+    public void testAddLazyCell_clone() {
+        AtomicInteger parseCount = new AtomicInteger();
+        BiFunction<String, Consumer<JSaParException>, Cell<?>> parser = (value, errorConsumer) -> {
+            parseCount.incrementAndGet();
+            return new StringCell("text", value);
+        };
+        for (Line line : List.of(new Line("Shoe"), new Line("Shoe", Map.of("text", 0), 1L))) {
+            parseCount.set(0);
+            line.addLazyCell("text", "T", parser);
+            Line clone = line.clone();
+            assertEquals(1, parseCount.get());
+            assertEquals("T", clone.getExistingCell("text").getStringValue());
+            assertEquals("T", line.getExistingCell("text").getStringValue());
+            assertEquals(1, parseCount.get());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAddLazyCell_exists() {
+        Line line = new Line("Shoe");
+        line.addCell(new StringCell("number", "T"));
+        line.addLazyCell("number", "42", (value, errorConsumer) -> new StringCell("number", value));
+    }
+
+    @Test
+    public void testReset() {
+        Line line = new Line("Shoe", Map.of("a", 0, "b", 1), 1L);
+        line.addCell(new StringCell("b", "B"));
+        line.addCell(new StringCell("a", "A")); // Falls back to map
+        line.addCellError(new CellParseException("a", "A", null, "Error"));
+        Line clone = line.clone();
+        line.reset(2L);
+        assertEquals(0, line.size());
+        assertEquals(2L, line.getLineNumber());
+        assertFalse(line.hasCellErrors());
+        line.addCell(new StringCell("a", "AA"));
+        line.addCell(new StringCell("b", "BB"));
+        assertEquals(List.of("a", "b"), line.stream().map(Cell::getName).collect(Collectors.toList()));
+        line.reset(3L);
+        assertEquals(0, line.size());
+
+        assertEquals(2, clone.size());
+        assertEquals("A", clone.getExistingCell("a").getStringValue());
+        assertTrue(clone.hasCellErrors());
+
+        Line mapLine = new Line("Shoe");
+        mapLine.addCell(new StringCell("a", "A"));
+        mapLine.reset(4L);
+        assertEquals(0, mapLine.size());
+        assertEquals(4L, mapLine.getLineNumber());
+    }
+
+    @Test
+    public void testGetLong_getInt_getDouble() {
+        Line line = new Line("Shoe");
+        line.addCell(IntegerCell.of("size", 42L));
+        line.addCell(FloatCell.of("price", 99.5));
+        line.addCell(new StringCell("count", "17"));
+        line.addCell(IntegerCell.emptyOf("empty"));
+        assertEquals(42L, line.getLong("size", -1L));
+        assertEquals(42, line.getInt("size", -1));
+        assertEquals(42.0, line.getDouble("size", -1.0), 0.0);
+        assertEquals(99L, line.getLong("price", -1L));
+        assertEquals(99.5, line.getDouble("price", -1.0), 0.0);
+        assertEquals(17L, line.getLong("count", -1L));
+        assertEquals(-1L, line.getLong("empty", -1L));
+        assertEquals(-1, line.getInt("missing", -1));
+        assertEquals(-1.0, line.getDouble("missing", -1.0), 0.0);
+    }
+
+    @Test
+    public void testSerialize_indexed() throws IOException, ClassNotFoundException {
+        Line line = new Line("Shoe", Map.of("a", 0, "b", 1), 7L);
+        line.addCell(new StringCell("b", "B"));
+        line.addCell(new StringCell("a", "A"));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(line);
+        }
+        Line read;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            read = (Line) in.readObject();
+        }
+        assertEquals("Shoe", read.getLineType());
+        assertEquals(7L, read.getLineNumber());
+        assertEquals(List.of("b", "a"), read.stream().map(Cell::getName).collect(Collectors.toList()));
+        assertEquals("A", read.getExistingCell("a").getStringValue());
+        assertFalse(read.hasCellErrors());
+        read.addCell(new StringCell("c", "C"));
+        assertEquals(3, read.size());
+    }
+
+    @Test
+    public void testSerialize_sameFormAsBefore() {
+        ObjectStreamClass streamClass = ObjectStreamClass.lookup(Line.class);
+        assertEquals(6026541900371948403L, streamClass.getSerialVersionUID());
+        assertEquals(List.of("lineNumber", "cellErrors", "cells", "lineType"),
+                Arrays.stream(streamClass.getFields()).map(ObjectStreamField::getName).collect(Collectors.toList()));
+    }
+
 }
@@ -4,6 +4,8 @@ import org.jsapar.TstPerson;
 import org.jsapar.compose.bean.BeanComposeException;
 import org.jsapar.model.BooleanCell;
 import org.jsapar.model.Cell;
+import org.jsapar.model.FloatCell;
+import org.jsapar.model.IntegerCell;
 import org.jsapar.model.LocalDateTimeCell;
 import org.jsapar.model.StringCell;
 import org.jsapar.parse.bean.reflect.BeanInfo;
@@ -66,6 +68,47 @@ public class Bean2CellTest {
         assertEquals(LocalDateTime.of(2019, Month.APRIL, 1 , 12, 32), cell.getValue());
     }
 
+    @SuppressWarnings("unused")
+    public static class NumberHolder {
+        public long getCount() {
+            return 12345678901L;
+        }
+
+        public int getSmall() {
+            return -7;
+        }
+
+        public double getRatio() {
+            return 0.25;
+        }
+
+        public float getFactor() {
+            return 1.1f;
+        }
+
+        public String getFailing() {
+            throw new IllegalStateException("Failing getter");
+        }
+    }
+
+    @Test
+    public void makeCell_primitives() throws InvocationTargetException, IllegalAccessException {
+        NumberHolder bean = new NumberHolder();
+        IntegerCell count = (IntegerCell) makeBean2CellOfPropertyName(NumberHolder.class, "count").makeCell(bean);
+        assertEquals(12345678901L, count.longValue());
+        IntegerCell small = (IntegerCell) makeBean2CellOfPropertyName(NumberHolder.class, "small").makeCell(bean);
+        assertEquals(-7, small.intValue());
+        FloatCell ratio = (FloatCell) makeBean2CellOfPropertyName(NumberHolder.class, "ratio").makeCell(bean);
+        assertEquals(0.25, ratio.doubleValue(), 0.0);
+        FloatCell factor = (FloatCell) makeBean2CellOfPropertyName(NumberHolder.class, "factor").makeCell(bean);
+        assertEquals(1.1f, factor.getValue());
+    }
+
+    @Test(expected = InvocationTargetException.class)
+    public void makeCell_failingGetter() throws InvocationTargetException, IllegalAccessException {
+        makeBean2CellOfPropertyName(NumberHolder.class, "failing").makeCell(new NumberHolder());
+    }
+
     @Test
     public void assign_Boolean()
             throws InvocationTargetException, InstantiationException, IllegalAccessException,
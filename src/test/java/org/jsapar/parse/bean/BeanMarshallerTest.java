@@ -75,6 +75,27 @@ public class BeanMarshallerTest {
         assertEquals("Byn", LineUtils.getStringCellValue(line,"workAddress.town"));
     }
 
+    @Test
+    public void testMarshalLine_unmapped() {
+        BeanMarshaller<Object> beanMarshaller = new BeanMarshaller<>(makeBeanMap());
+        Assert.assertNull(beanMarshaller.marshalLine("Not mapped", new ExceptionErrorConsumer(), 1));
+        Assert.assertFalse(beanMarshaller.marshal("Not mapped", new ExceptionErrorConsumer(), 1).isPresent());
+    }
+
+    @Test
+    public void testGetBeanPropertyMap_subclass() {
+        BeanMap beanMap = makeBeanMap();
+        class SubPerson extends TstPerson {
+        }
+        Assert.assertSame(beanMap.getBeanPropertyMap(TstPerson.class).orElse(null),
+                beanMap.getBeanPropertyMap(SubPerson.class).orElse(null));
+        Assert.assertFalse(beanMap.getBeanPropertyMap(String.class).isPresent());
+        SubPerson person = new SubPerson();
+        person.setFirstName("Jonas");
+        Line line = new BeanMarshaller<TstPerson>(beanMap).marshalLine(person, new ExceptionErrorConsumer(), 1);
+        assertEquals("Jonas", LineUtils.getStringCellValue(line, "firstName"));
+    }
+
     public static CsvSchema makeOutputSchema() {
         return CsvSchema.builder().withLine(
                 CsvSchemaLine.builder(TstPerson.class.getName())
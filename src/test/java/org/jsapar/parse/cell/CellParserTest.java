@@ -315,6 +315,54 @@ public class CellParserTest {
         assertEquals("Cell='test' Value='12345' Expected: CellType=INTEGER, Format={USIntegerFormat} - The value is above maximum range limit (100).", errorListener.getCollected().get(0).getMessage());
     }
 
+    @Test
+    public void testParse_CharSequence_cached() {
+        SchemaCell schemaCell = StringSchemaCell.builder("test").withType(CellType.INTEGER).build();
+        CellParser<?> cellParser = new CellParser<>(schemaCell, 2);
+        Cell<?> first = cellParser.parse(new StringView("42"), e -> fail("Unexpected error " + e));
+        assertEquals(42L, ((Number) first.getValue()).longValue());
+        assertSame(first, cellParser.parse(new StringView("42"), e -> fail("Unexpected error " + e)));
+        assertSame(first, cellParser.parse("42", e -> fail("Unexpected error " + e)));
+    }
 
-
-}
\ No newline at end of file
+    /**
+     * Character sequence with the same equals() and hashCode() behavior as a String.
+     */
+    private static class StringView implements CharSequence {
+        private final String value;
+
+        StringView(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public int length() {
+            return value.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return value.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return value.subSequence(start, end);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CharSequence && value.contentEquals((CharSequence) o);
+        }
+
+        @Override
+        public int hashCode() {
+            return value.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package org.jsapar.parse.csv;
+
+import org.jsapar.schema.QuoteSyntax;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class CsvByteLineReaderTest {
+
+    private static CsvByteLineReader makeReader(String text, Charset charset, String lineSeparator, boolean readAhead, QuoteSyntax quoteSyntax) {
+        return new CsvByteLineReader(lineSeparator, new ByteArrayInputStream(text.getBytes(charset)), charset, readAhead, 64, quoteSyntax);
+    }
+
+    @Test
+    public void testReadLine() throws IOException {
+        CsvByteLineReader item = makeReader("Åsa;\"Lund;gren\";ö\nsecond;line\n\n", StandardCharsets.UTF_8, "\n", true, QuoteSyntax.FIRST_LAST);
+        assertEquals(List.of("Åsa", "Lund;gren", "ö"), item.readLine(";", '"'));
+        assertEquals(List.of("second", "line"), item.readLine(";", '"'));
+        assertEquals(List.of(), item.readLine(";", '"'));
+        assertFalse(item.eofReached());
+        assertEquals(List.of(), item.readLine(";", '"'));
+        assertTrue(item.eofReached());
+        assertEquals(4, item.currentLineNumber());
+    }
+
+    @Test
+    public void testReadLineCells_views() throws IOException {
+        CsvByteLineReader item = makeReader("abc;Åsa;\"x\"\"y\"", StandardCharsets.UTF_8, "\n", true, QuoteSyntax.RFC4180);
+        List<? extends CharSequence> cells = item.readLineCells(";", '"');
+        assertEquals(3, cells.size());
+        assertEquals("abc".hashCode(), cells.get(0).hashCode());
+        assertEquals(cells.get(0), "abc");
+        assertEquals('b', cells.get(0).charAt(1));
+        assertEquals(3, cells.get(1).length());
+        assertEquals("Åsa".hashCode(), cells.get(1).hashCode());
+        assertEquals(cells.get(1), "Åsa");
+        assertEquals("x\"y", cells.get(2).toString());
+
+        Map<String, Integer> byValue = new HashMap<>();
+        byValue.put("Åsa", 1);
+        assertEquals(Integer.valueOf(1), byValue.get(cells.get(1)));
+    }
+
+    @Test
+    public void testReadLineCells_latin1() throws IOException {
+        CsvByteLineReader item = makeReader("Åsa;Öberg", StandardCharsets.ISO_8859_1, "\n", true, QuoteSyntax.FIRST_LAST);
+        List<? extends CharSequence> cells = item.readLineCells(";", '"');
+        assertEquals("Åsa".hashCode(), cells.get(0).hashCode());
+        assertEquals('Ö', cells.get(1).charAt(0));
+        assertEquals("Öberg", cells.get(1).toString());
+    }
+
+    @Test
+    public void testReset() throws IOException {
+        CsvByteLineReader item = makeReader("First;line|second,'line'|third,line", StandardCharsets.UTF_8, "|", false, QuoteSyntax.FIRST_LAST);
+        assertEquals(List.of("First", "line"), item.readLine(";", (char) 0));
+        assertEquals(List.of("second,'line'"), item.readLine(";", (char) 0));
+        item.reset();
+        assertEquals(List.of("second", "line"), item.readLine(",", '\''));
+        assertEquals(List.of("third", "line"), item.readLine(",", '\''));
+    }
+
+    @Test
+    public void testRemainingReader() throws IOException {
+        CsvByteLineReader item = makeReader("a;b\nÅsa;c\nrest", StandardCharsets.UTF_8, "\n", true, QuoteSyntax.FIRST_LAST);
+        assertEquals(List.of("a", "b"), item.readLine(";", '"'));
+        try (Reader remaining = item.remainingReader()) {
+            StringBuilder sb = new StringBuilder();
+            int c;
+            while ((c = remaining.read()) >= 0)
+                sb.append((char) c);
+            assertEquals("Åsa;c\nrest", sb.toString());
+        }
+    }
+
+    @Test
+    public void testSame_as_char_reader() throws IOException {
+        final String alphabet = "ab;;;,\"\"\"\n\n\r |Åé ";
+        final String[] lineSeparators = {"\n", "\r\n", "|", "||"};
+        final String[] cellSeparators = {";", ";;", ",;"};
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(30);
+            for (int j = 0; j < length; j++)
+                sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            String text = sb.toString();
+            for (QuoteSyntax quoteSyntax : QuoteSyntax.values()) {
+                for (String lineSeparator : lineSeparators) {
+                    String cellSeparator = cellSeparators[i % cellSeparators.length];
+                    boolean readAhead = i % 2 == 0;
+                    assertEquals("Input: [" + text + "] " + quoteSyntax,
+                            readAll(new CsvLineReaderStates(lineSeparator, new StringReader(text), readAhead, 64, quoteSyntax), cellSeparator),
+                            readAll(makeReader(text, StandardCharsets.UTF_8, lineSeparator, readAhead, quoteSyntax), cellSeparator));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSkipLine_same_lines_as_reading() throws IOException {
+        final String alphabet = "ab;;;,\"\"\"\n\n\r |Åé ";
+        final String[] lineSeparators = {"\n", "\r\n", "|", "||"};
+        final String[] cellSeparators = {";", ";;", ",;"};
+        Random random = new Random(17);
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(30);
+            for (int j = 0; j < length; j++)
+                sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            String text = sb.toString();
+            for (QuoteSyntax quoteSyntax : QuoteSyntax.values()) {
+                for (String lineSeparator : lineSeparators) {
+                    String cellSeparator = cellSeparators[i % cellSeparators.length];
+                    boolean readAhead = i % 2 == 0;
+                    List<List<String>> everyOther = new ArrayList<>();
+                    List<List<String>> all = readAll(new CsvLineReaderStates(lineSeparator, new StringReader(text), readAhead, 64, quoteSyntax), cellSeparator);
+                    for (int l = 0; l < all.size(); l += 2)
+                        everyOther.add(all.get(l));
+                    assertEquals("Input: [" + text + "] " + quoteSyntax, everyOther,
+                            readEveryOther(new CsvLineReaderStates(lineSeparator, new StringReader(text), readAhead, 64, quoteSyntax), cellSeparator));
+                    assertEquals("Input: [" + text + "] " + quoteSyntax, everyOther,
+                            readEveryOther(makeReader(text, StandardCharsets.UTF_8, lineSeparator, readAhead, quoteSyntax), cellSeparator));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSkipLine() throws IOException {
+        CsvByteLineReader item = makeReader("first;line\n\"quoted\nline\";\"a\"\"b\"\n  \nÅsa;line", StandardCharsets.UTF_8, "\n", true, QuoteSyntax.RFC4180);
+        item.skipLine();
+        assertFalse(item.lastLineWasEmpty());
+        item.skipLine();
+        assertFalse(item.lastLineWasEmpty());
+        assertEquals(2L, item.currentLineNumber());
+        item.skipLine();
+        assertTrue(item.lastLineWasEmpty());
+        assertEquals(List.of("Åsa", "line"), item.readLine(";", '"'));
+        assertTrue(item.eofReached());
+        assertEquals(4L, item.currentLineNumber());
+    }
+
+    private static List<List<String>> readEveryOther(CsvLineReader reader, String cellSeparator) throws IOException {
+        List<List<String>> lines = new ArrayList<>();
+        while (!reader.eofReached()) {
+            lines.add(reader.readLineCells(cellSeparator, '"').stream().map(CharSequence::toString).collect(Collectors.toList()));
+            if (!reader.eofReached())
+                reader.skipLine();
+        }
+        return lines;
+    }
+
+    private static List<List<String>> readAll(CsvLineReader reader, String cellSeparator) throws IOException {
+        List<List<String>> lines = new ArrayList<>();
+        while (!reader.eofReached()) {
+            lines.add(reader.readLineCells(cellSeparator, '"').stream().map(CharSequence::toString).collect(Collectors.toList()));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,84 @@
+package org.jsapar.parse.csv;
+
+import org.jsapar.parse.text.FileSegment;
+import org.jsapar.schema.CsvSchema;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+public class CsvFileSplitterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void split_quoted_line_separator_never_splits_within_cell() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLineSeparator("\n")
+                .withLine("a", l -> l.withCellSeparator(";").withQuoteChar('"').withCells("x", "y"))
+                .build();
+        Path path = write("1;\"a\nb\nc\"\n2;b\n3;\"c\n\"\n4;d\n");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            List<FileSegment> segments = CsvFileSplitter.split(schema, channel, 100, 1000).orElseThrow();
+            assertEquals(4, segments.size());
+            assertSegment(0, 10, 0, segments.get(0));
+            assertSegment(10, 14, 1, segments.get(1));
+            assertSegment(14, 21, 2, segments.get(2));
+            assertSegment(21, 25, 3, segments.get(3));
+        }
+    }
+
+    @Test
+    public void split_unquoted() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLineSeparator("\r\n")
+                .withLine("a", l -> l.withCellSeparator(";").withoutQuoteChar().withCells("x", "y"))
+                .build();
+        Path path = write("1;\"a\r\n2;b\r\n3;c");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            List<FileSegment> segments = CsvFileSplitter.split(schema, channel, 3, 1000).orElseThrow();
+            assertEquals(3, segments.size());
+            assertSegment(0, 6, 0, segments.get(0));
+            assertSegment(6, 11, 1, segments.get(1));
+            assertSegment(11, 14, 2, segments.get(2));
+        }
+    }
+
+    @Test
+    public void split_not_supported() throws IOException {
+        Path path = write("1;a\n2;b\n");
+        CsvSchema firstLineAsSchema = CsvSchema.builder()
+                .withLine("a", l -> l.withCellSeparator(";").withFirstLineAsSchema(true))
+                .build();
+        CsvSchema multiCharSeparator = CsvSchema.builder()
+                .withLine("a", l -> l.withCellSeparator(";;").withCells("x", "y"))
+                .build();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            assertEquals(Optional.empty(), CsvFileSplitter.split(firstLineAsSchema, channel, 2, 1000));
+            assertEquals(Optional.empty(), CsvFileSplitter.split(multiCharSeparator, channel, 2, 1000));
+        }
+    }
+
+    private static void assertSegment(long begin, long end, long lineNumberOffset, FileSegment segment) {
+        assertEquals(begin, segment.getBegin());
+        assertEquals(end, segment.getEnd());
+        assertEquals(lineNumberOffset, segment.getLineNumberOffset());
+    }
+
+    private Path write(String text) throws IOException {
+        Path path = folder.newFile().toPath();
+        Files.write(path, text.getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+}
@@ -0,0 +1,87 @@
+package org.jsapar.parse.csv;
+
+import org.jsapar.model.Line;
+import org.jsapar.model.LineUtils;
+import org.jsapar.schema.CsvSchema;
+import org.jsapar.schema.MatchingCellValueCondition;
+import org.jsapar.text.TextParseConfig;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+public class CsvLineParserFactoryTest {
+
+    @Test
+    public void makeLineParser_literal_regex_and_predicate_conditions() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("name", l -> l
+                        .withCell("type", c -> c.withLineCondition(new MatchingCellValueCondition("N|NAME")))
+                        .withCells("first", "last"))
+                .withLine("address", l -> l
+                        .withCell("type", c -> c.withLineCondition(new MatchingCellValueCondition("A")))
+                        .withCells("street", "city"))
+                .withLine("phone", l -> l
+                        .withCell("type", c -> c.withLineCondition(new MatchingCellValueCondition("P[0-9]")))
+                        .withCells("number"))
+                .withLine("comment", l -> l
+                        .withCellSeparator("|")
+                        .withCell("type", c -> c.withLineCondition(v -> v.startsWith("#")))
+                        .withCells("text"))
+                .withLine("other", l -> l.withCells("type", "value"))
+                .build();
+        String text = "N;Jonas;Sten\nA;Storgatan;Stockholm\nP1;123\n#c|a;b\nNAME;Åsa;Lund\nX;y\n";
+        List<String> lineTypes = parse(schema, text).stream().map(Line::getLineType).collect(Collectors.toList());
+        assertEquals(List.of("name", "address", "phone", "comment", "name", "other"), lineTypes);
+    }
+
+    @Test
+    public void makeLineParser_first_line_type_in_schema_has_precedence() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("header", l -> l.withOccurs(1).withCells("h1", "h2"))
+                .withLine("any", l -> l
+                        .withCell("type", c -> c.withLineCondition(new MatchingCellValueCondition("[A-Z]")))
+                        .withCells("value"))
+                .withLine("a", l -> l
+                        .withCell("type", c -> c.withLineCondition(new MatchingCellValueCondition("A")))
+                        .withCells("value"))
+                .withLine("fallback", l -> l.withCells("type", "value"))
+                .build();
+        List<Line> lines = parse(schema, "A;header\nA;1\nx;2\nB;3\n");
+        assertEquals(List.of("header", "any", "fallback", "any"),
+                lines.stream().map(Line::getLineType).collect(Collectors.toList()));
+        assertEquals("2", LineUtils.getStringCellValue(lines.get(2), "value"));
+    }
+
+    @Test
+    public void makeLineParser_subclassed_condition() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("name", l -> l
+                        .withCell("type", c -> c.withLineCondition(new MatchingCellValueCondition("N") {
+                            @Override
+                            public boolean test(String value) {
+                                return super.test(value.toUpperCase());
+                            }
+                        }))
+                        .withCells("first", "last"))
+                .withLine("other", l -> l.withCells("type", "value"))
+                .build();
+        List<String> lineTypes = parse(schema, "n;Jonas;Sten\nN;Åsa;Lund\nX;y\n").stream()
+                .map(Line::getLineType).collect(Collectors.toList());
+        assertEquals(List.of("name", "name", "other"), lineTypes);
+    }
+
+    private static List<Line> parse(CsvSchema schema, String text) throws IOException {
+        CsvParser parser = new CsvParser(new StringReader(text), schema, new TextParseConfig());
+        List<Line> lines = new ArrayList<>();
+        parser.parse(lines::add, e -> {
+            throw e;
+        });
+        return lines;
+    }
+}
@@ -5,6 +5,8 @@ import org.jsapar.text.TextParseConfig;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.util.Arrays;
 import java.util.List;
 
@@ -76,6 +78,10 @@ public class CsvLineParserMatcherTest {
             return 0;
         }
 
+        @Override
+        public void setLineNumber(long lineNumber) {
+        }
+
         @Override
         public boolean lastLineWasEmpty() {
             return false;
@@ -84,5 +90,10 @@ public class CsvLineParserMatcherTest {
         @Override
         public void skipLine() {
         }
+
+        @Override
+        public Reader remainingReader() {
+            return new StringReader("");
+        }
     }
 }
\ No newline at end of file
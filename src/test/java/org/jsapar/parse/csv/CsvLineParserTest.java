@@ -3,11 +3,15 @@ package org.jsapar.parse.csv;
 import org.jsapar.error.ExceptionErrorConsumer;
 import org.jsapar.error.JSaParException;
 import org.jsapar.error.ValidationAction;
+import org.jsapar.model.CellType;
+import org.jsapar.model.Line;
 import org.jsapar.model.LineUtils;
 import org.jsapar.parse.CellParseException;
 import org.jsapar.parse.LineParseException;
+import org.jsapar.schema.CsvSchemaCell;
 import org.jsapar.schema.CsvSchemaLine;
 import org.jsapar.schema.QuoteSyntax;
+import org.jsapar.text.RawCellFilters;
 import org.jsapar.schema.SchemaException;
 import org.jsapar.text.TextParseConfig;
 import org.junit.Before;
@@ -15,6 +19,9 @@ import org.junit.Test;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
@@ -40,6 +47,91 @@ public class CsvLineParserTest {
         assertTrue(rc);
     }
 
+    @Test
+    public void testParse_projection() throws IOException {
+        CsvSchemaLine schemaLine = CsvSchemaLine.builder("testLine")
+                .withCells("0", "1", "2", "3", "4")
+                .withCell(CsvSchemaCell.builder("5").withDefaultValue("default").build())
+                .build();
+        TextParseConfig config = new TextParseConfig();
+        config.setProjection("testLine", "1", "4");
+        String sLine = "Jonas;Stenberg;Hemvägen 19;111 22;Stockholm";
+        boolean rc = new CsvLineParser(schemaLine, config).parse(makeCsvLineReaderForString(sLine), line -> {
+            assertEquals(2, line.size());
+            assertEquals("Stenberg", LineUtils.getStringCellValue(line, "1"));
+            assertEquals("Stockholm", LineUtils.getStringCellValue(line, "4"));
+            assertFalse(line.getCell("0").isPresent());
+            assertFalse(line.getCell("5").isPresent());
+        }, new ExceptionErrorConsumer());
+        assertTrue(rc);
+    }
+
+    @Test
+    public void testParse_projection_overflow() throws IOException {
+        CsvSchemaLine schemaLine = CsvSchemaLine.builder("testLine")
+                .withCells("0", "1", "2")
+                .build();
+        TextParseConfig config = new TextParseConfig();
+        config.setProjection("testLine", "1");
+        boolean rc = new CsvLineParser(schemaLine, config).parse(makeCsvLineReaderForString("Jonas;Stenberg;Hemvägen 19;Stockholm"), line -> {
+            assertEquals(2, line.size());
+            assertEquals("Stenberg", LineUtils.getStringCellValue(line, "1"));
+            assertEquals("Stockholm", LineUtils.getStringCellValue(line, "@@cell-4"));
+        }, new ExceptionErrorConsumer());
+        assertTrue(rc);
+    }
+
+    @Test
+    public void testParse_projection_none() throws IOException {
+        TextParseConfig config = new TextParseConfig();
+        config.setProjection("testLine");
+        boolean rc = new CsvLineParser(makeCsvSchemaLine(), config).parse(makeCsvLineReaderForString("Jonas;Stenberg"),
+                line -> assertEquals(0, line.size()), new ExceptionErrorConsumer());
+        assertTrue(rc);
+    }
+
+    @Test
+    public void testParse_filter() throws IOException {
+        TextParseConfig config = new TextParseConfig();
+        config.addFilter("testLine", "3", RawCellFilters.startsWith("111"));
+        config.addFilter("testLine", "6", v -> v.length() == 0);
+        CsvSchemaLine schemaLine = makeCsvSchemaLine();
+        CsvLineReader lineReader = makeCsvLineReaderForString("Jonas;Stenberg;Hemvägen 19;111 22;Stockholm\n" +
+                "Nils;Nilsson;Storgatan 1;222 33;Göteborg\n");
+        List<Line> lines = new ArrayList<>();
+        CsvLineParser parser = new CsvLineParser(schemaLine, config);
+        assertTrue(parser.parse(lineReader, lines::add, new ExceptionErrorConsumer()));
+        assertTrue(parser.parse(lineReader, lines::add, new ExceptionErrorConsumer()));
+        assertEquals(1, lines.size());
+        assertEquals("Jonas", LineUtils.getStringCellValue(lines.get(0), "0"));
+    }
+
+    @Test
+    public void testParse_lazy() throws IOException {
+        CsvSchemaLine schemaLine = CsvSchemaLine.builder("testLine")
+                .withCell("name")
+                .withCell(CsvSchemaCell.builder("amount").withType(CellType.DECIMAL).build())
+                .withCell(CsvSchemaCell.builder("count").withType(CellType.INTEGER).withMandatory(true).build())
+                .build();
+        TextParseConfig config = new TextParseConfig();
+        config.setLazyCellParsing(true);
+        List<Line> lines = new ArrayList<>();
+        CsvLineParser parser = new CsvLineParser(schemaLine, config);
+        CsvLineReader lineReader = makeCsvLineReaderForString("Jonas;12.50;\nNils;x;3\n");
+        assertTrue(parser.parse(lineReader, lines::add, new ExceptionErrorConsumer()));
+        assertTrue(parser.parse(lineReader, lines::add, new ExceptionErrorConsumer()));
+        assertEquals(2, lines.size());
+
+        assertEquals("Jonas", LineUtils.getStringCellValue(lines.get(0), "name"));
+        assertEquals(new BigDecimal("12.50"), LineUtils.getDecimalCellValue(lines.get(0), "amount").orElseThrow());
+        assertEquals(1, lines.get(0).getCellErrors().size());
+        assertTrue(lines.get(0).getCellError("count").isPresent());
+
+        assertFalse(lines.get(1).getCell("amount").isPresent());
+        assertEquals(1, lines.get(1).getCellErrors().size());
+        assertEquals(2L, lines.get(1).getCellError("amount").orElseThrow().getLineNumber());
+    }
+
     static CsvSchemaLine makeCsvSchemaLine() {
         return CsvSchemaLine.builder("testLine")
                 .withCells("0","1","2","3","4","5","6")
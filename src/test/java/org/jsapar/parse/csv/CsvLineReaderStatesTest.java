@@ -3,9 +3,13 @@ package org.jsapar.parse.csv;
 import org.jsapar.schema.QuoteSyntax;
 import org.junit.Test;
 
+import java.io.FilterReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
 
@@ -217,6 +221,97 @@ public class CsvLineReaderStatesTest {
         assertArrayEquals(new String[]{"A", "/B", "", "C"}, lineReader.readLine(";", '/').toArray());
     }
 
+    @Test
+    public void testReadLineCells_views() throws IOException {
+        Reader reader = new StringReader("First;line|second,'line'|third,line||fifth;one");
+        CsvLineReaderStates item = new CsvLineReaderStates("|", reader, false, 64, QuoteSyntax.FIRST_LAST, true);
+        assertEquals(Arrays.asList("First", "line"), toStrings(item.readLineCells(";", (char) 0)));
+        assertEquals(Arrays.asList("second,'line'"), toStrings(item.readLineCells(";", (char) 0)));
+        item.reset();
+        assertEquals(Arrays.asList("second", "line"), toStrings(item.readLineCells(",", '\'')));
+        assertArrayEquals(new String[]{"third", "line"}, item.readLine(",", '\'').toArray());
+        assertTrue(item.readLineCells(",", '\'').isEmpty());
+        assertEquals(Arrays.asList("fifth", "one"), toStrings(item.readLineCells(";", (char) 0)));
+        assertTrue(item.eofReached());
+    }
+
+    @Test
+    public void testReadLineCells_views_buffer_shifted_within_line() throws IOException {
+        Reader reader = new StringReader("aaaa;bbbb;/c//c/\ndddd;eeee;ffff\n");
+        CsvLineReaderStates item = new CsvLineReaderStates("\n", reader, false, 20, QuoteSyntax.RFC4180, true);
+        assertEquals(Arrays.asList("aaaa", "bbbb", "c/c"), toStrings(item.readLineCells(";", '/')));
+        List<? extends CharSequence> cells = item.readLineCells(";", '/');
+        assertEquals(Arrays.asList("dddd", "eeee", "ffff"), toStrings(cells));
+        assertEquals("eeee".hashCode(), cells.get(1).hashCode());
+        assertEquals(cells.get(1), "eeee");
+    }
+
+    @Test
+    public void testReadLine_long_cells_loaded_in_small_chunks() throws IOException {
+        String longValue = "abcdefghijklmnopqrstuvwxyz0123456789";
+        String text = longValue + ";\"" + longValue + ";x\";" + longValue + "\r\n\"" + longValue + "\"\"y\";;" + longValue + "\r\n";
+        for (QuoteSyntax quoteSyntax : QuoteSyntax.values()) {
+            Reader reader = new FilterReader(new StringReader(text)) {
+                @Override
+                public int read(char[] cbuf, int off, int len) throws IOException {
+                    return super.read(cbuf, off, Math.min(len, 3));
+                }
+            };
+            CsvLineReaderStates item = new CsvLineReaderStates("\r\n", reader, true, 256, quoteSyntax);
+            assertEquals(Arrays.asList(longValue, longValue + ";x", longValue), item.readLine(";", '"'));
+            String expectedQuoted = quoteSyntax == QuoteSyntax.RFC4180 ? longValue + "\"y" : longValue + "\"\"y";
+            assertEquals(Arrays.asList(expectedQuoted, "", longValue), item.readLine(";", '"'));
+            assertTrue(item.readLine(";", '"').isEmpty());
+            assertTrue(item.eofReached());
+        }
+    }
+
+    @Test
+    public void testReadLine_multi_char_separator_loaded_in_small_chunks() throws IOException {
+        Reader reader = new FilterReader(new StringReader("aaaa;;b;bbb;;;cccc##dd;;ee")) {
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                return super.read(cbuf, off, Math.min(len, 2));
+            }
+        };
+        CsvLineReaderStates item = new CsvLineReaderStates("##", reader, true, 64, QuoteSyntax.FIRST_LAST);
+        assertEquals(Arrays.asList("aaaa", "b;bbb", ";cccc"), item.readLine(";;", '"'));
+        assertEquals(Arrays.asList("dd", "ee"), item.readLine(";;", '"'));
+    }
+
+    @Test
+    public void testReadLine_escaped_quote_when_buffer_is_shifted() throws IOException {
+        // The second line does not fit in what remains of the buffer so it is shifted while the cell is read.
+        Reader reader = new StringReader("first;line\n\"a\"\"b\";c\n");
+        CsvLineReaderStates item = new CsvLineReaderStates("\n", reader, true, 16, QuoteSyntax.RFC4180);
+        assertEquals(Arrays.asList("first", "line"), item.readLine(";", '"'));
+        assertEquals(Arrays.asList("a\"b", "c"), item.readLine(";", '"'));
+    }
+
+    private static List<String> toStrings(List<? extends CharSequence> cells) {
+        return cells.stream().map(CharSequence::toString).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testSkipLine() throws IOException {
+        Reader reader = new StringReader("first;line|'quoted|line';'a''b'||fourth;line");
+        CsvLineReaderStates item = new CsvLineReaderStates("|", reader, true, 64, QuoteSyntax.RFC4180, false);
+        item.readLine(";", '\'');
+        item.skipLine();
+        assertFalse(item.lastLineWasEmpty());
+        assertEquals(2L, item.currentLineNumber());
+        item.skipLine();
+        assertTrue(item.lastLineWasEmpty());
+        assertArrayEquals(new String[]{"fourth", "line"}, item.readLine(";", '\'').toArray());
+        assertTrue(item.eofReached());
+        assertEquals(4L, item.currentLineNumber());
+
+        reader = new StringReader("First;'quoted|line'|second;line");
+        item = new CsvLineReaderStates("|", reader, true, 64, QuoteSyntax.FIRST_LAST, true);
+        item.readLine(";", '\'');
+        item.reset();
+        item.skipLine();
+        assertArrayEquals(new String[]{"second", "line"}, item.readLine(";", '\'').toArray());
+    }
 
-    
-}
\ No newline at end of file
+}
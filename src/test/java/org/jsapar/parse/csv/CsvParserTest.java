@@ -3,6 +3,7 @@ package org.jsapar.parse.csv;
 import org.jsapar.error.ValidationAction;
 import org.jsapar.model.Cell;
 import org.jsapar.model.Line;
+import org.jsapar.model.LineUtils;
 import org.jsapar.schema.CsvSchema;
 import org.jsapar.schema.CsvSchemaCell;
 import org.jsapar.schema.CsvSchemaLine;
@@ -125,4 +126,37 @@ public class CsvParserTest {
                     .build();
     }
 
-}
\ No newline at end of file
+    @Test
+    public void parse_skip_limit_sample() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("a", l->l
+                        .withCell("v")
+                        .withCell("w"))
+                .build();
+
+        String text = "1;x\n2;\"multi\nline\"\n3;x\n4;x\n5;x\n6;x\n7;x\n8;x";
+        TextParseConfig config = new TextParseConfig();
+        config.setSkipLines(1);
+        config.setSampleInterval(2);
+        config.setLineLimit(3);
+        CsvParser parser = new CsvParser(new StringReader(text), schema, config);
+        List<String> values = new java.util.ArrayList<>();
+        assertEquals(3, parser.parse(line -> values.add(LineUtils.getStringCellValue(line, "v")), e -> {
+            throw e;
+        }));
+        assertEquals(List.of("2", "4", "6"), values);
+
+        parser = new CsvParser(new StringReader(text), schema, config);
+        assertEquals(List.of("2", "4", "6"), parser.stream(e -> {
+            throw e;
+        }).map(line -> LineUtils.getStringCellValue(line, "v")).collect(Collectors.toList()));
+
+        config.setLineLimit(Long.MAX_VALUE);
+        config.setSampleInterval(3);
+        parser = new CsvParser(new StringReader(text), schema, config);
+        assertEquals(List.of("2", "5", "8"), parser.stream(e -> {
+            throw e;
+        }).map(line -> LineUtils.getStringCellValue(line, "v")).collect(Collectors.toList()));
+    }
+
+}
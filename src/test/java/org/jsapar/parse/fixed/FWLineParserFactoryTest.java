@@ -0,0 +1,106 @@
+package org.jsapar.parse.fixed;
+
+import org.jsapar.model.Line;
+import org.jsapar.model.LineUtils;
+import org.jsapar.schema.FixedWidthSchema;
+import org.jsapar.schema.MatchingCellValueCondition;
+import org.jsapar.text.TextParseConfig;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+public class FWLineParserFactoryTest {
+
+    @Test
+    public void makeLineParser_literal_regex_and_predicate_conditions() throws IOException {
+        FixedWidthSchema schema = FixedWidthSchema.builder()
+                .withLine("name", l -> l
+                        .withCell("type", 2, c -> c.withLineCondition(new MatchingCellValueCondition("N|NA")))
+                        .withCell("first", 5)
+                        .withCell("last", 5))
+                .withLine("address", l -> l
+                        .withCell("type", 2, c -> c.withLineCondition(new MatchingCellValueCondition("A")))
+                        .withCell("street", 8))
+                .withLine("phone", l -> l
+                        .withCell("type", 2, c -> c.withLineCondition(new MatchingCellValueCondition("P[0-9]")))
+                        .withCell("number", 3))
+                .withLine("comment", l -> l
+                        .withCell("type", 2, c -> c.withLineCondition(v -> v.startsWith("#")))
+                        .withCell("text", 5))
+                .withLine("other", l -> l.withCell("type", 2).withCell("value", 3))
+                .build();
+        String text = "N Jonas Sten\nA Storgata\nP1123\n#cText\nNAÅsa  Lund\nX y\n";
+        List<String> lineTypes = parse(schema, text).stream().map(Line::getLineType).collect(Collectors.toList());
+        assertEquals(List.of("name", "address", "phone", "comment", "name", "other"), lineTypes);
+    }
+
+    @Test
+    public void makeLineParser_literal_conditions_at_different_positions() throws IOException {
+        FixedWidthSchema schema = FixedWidthSchema.builder()
+                .withLine("a", l -> l
+                        .withCell("type", 1, c -> c.withLineCondition(new MatchingCellValueCondition("A")))
+                        .withCell("sub", 1, c -> c.withLineCondition(new MatchingCellValueCondition("1")))
+                        .withCell("value", 3))
+                .withLine("b", l -> l
+                        .withCell("value", 3)
+                        .withCell("type", 2, c -> c.withLineCondition(new MatchingCellValueCondition("BB|CC"))))
+                .withLine("a2", l -> l
+                        .withCell("type", 1, c -> c.withLineCondition(new MatchingCellValueCondition("A")))
+                        .withCell("value", 4))
+                .build();
+        List<Line> lines = parse(schema, "A1abc\nxyzCC\nA2abc\nxyzBB\n");
+        assertEquals(List.of("a", "b", "a2", "b"), lines.stream().map(Line::getLineType).collect(Collectors.toList()));
+        assertEquals("2abc", LineUtils.getStringCellValue(lines.get(2), "value"));
+    }
+
+    @Test
+    public void makeLineParser_first_line_type_in_schema_has_precedence() throws IOException {
+        FixedWidthSchema schema = FixedWidthSchema.builder()
+                .withLine("header", l -> l.withOccurs(1).withCell("h1", 1).withCell("h2", 6))
+                .withLine("any", l -> l
+                        .withCell("type", 1, c -> c.withLineCondition(new MatchingCellValueCondition("[A-Z]")))
+                        .withCell("value", 1))
+                .withLine("a", l -> l
+                        .withCell("type", 1, c -> c.withLineCondition(new MatchingCellValueCondition("A")))
+                        .withCell("value", 1))
+                .withLine("fallback", l -> l.withCell("type", 1).withCell("value", 1))
+                .build();
+        List<Line> lines = parse(schema, "Aheader\nA1\nx2\nB3\n");
+        assertEquals(List.of("header", "any", "fallback", "any"),
+                lines.stream().map(Line::getLineType).collect(Collectors.toList()));
+        assertEquals("2", LineUtils.getStringCellValue(lines.get(2), "value"));
+    }
+
+    @Test
+    public void makeLineParser_subclassed_condition() throws IOException {
+        FixedWidthSchema schema = FixedWidthSchema.builder()
+                .withLine("name", l -> l
+                        .withCell("type", 1, c -> c.withLineCondition(new MatchingCellValueCondition("N") {
+                            @Override
+                            public boolean test(String value) {
+                                return super.test(value.toUpperCase());
+                            }
+                        }))
+                        .withCell("first", 5))
+                .withLine("other", l -> l.withCell("type", 1).withCell("value", 5))
+                .build();
+        List<String> lineTypes = parse(schema, "nJonas\nNÅsa  \nXy\n").stream()
+                .map(Line::getLineType).collect(Collectors.toList());
+        assertEquals(List.of("name", "name", "other"), lineTypes);
+    }
+
+    private static List<Line> parse(FixedWidthSchema schema, String text) throws IOException {
+        FixedWidthParser parser = new FixedWidthParser(new StringReader(text), schema, new TextParseConfig());
+        List<Line> lines = new ArrayList<>();
+        parser.parse(lines::add, e -> {
+            throw e;
+        });
+        return lines;
+    }
+}
@@ -8,6 +8,7 @@ import org.jsapar.model.Line;
 import org.jsapar.model.LineUtils;
 import org.jsapar.parse.CellParseException;
 import org.jsapar.parse.LineParseException;
+import org.jsapar.text.RawCellFilters;
 import org.jsapar.text.TextParseConfig;
 import org.jsapar.schema.FixedWidthSchemaLine;
 import org.junit.Before;
@@ -52,6 +53,97 @@ public class FixedWidthLineParserTest {
         assertEquals("Huddinge", LineUtils.getStringCellValue(line,"City"));
     }
 
+    @Test
+    public void testParse_projection() throws IOException, JSaParException {
+        String toParse = "JonasStenbergSpiselvagen 19141 59Huddinge";
+        FixedWidthSchemaLine schemaLine =FixedWidthSchemaLine.builder("Person")
+                .withOccurs(1)
+                .withCell("First name", 5)
+                .withCell("Last name", 8)
+                .withCell("Street address", 14)
+                .withCell("Zip code", 6)
+                .withCell("City", 8)
+                .build();
+
+        TextParseConfig config = new TextParseConfig();
+        config.setProjection("Person", "Last name", "City");
+        FixedWidthLineParser parser = new FixedWidthLineParser(schemaLine, config);
+        ReadBuffer readBuffer = makeReadBuffer(toParse);
+        readBuffer.nextLine(0);
+        Line line = parser.parse(readBuffer, new ExceptionErrorConsumer() );
+        assertNotNull(line);
+        assertEquals(2, line.size());
+        assertEquals("Stenberg", LineUtils.getStringCellValue(line, "Last name"));
+        assertEquals("Huddinge", LineUtils.getStringCellValue(line,"City"));
+        assertFalse(line.getCell("First name").isPresent());
+    }
+
+    @Test
+    public void testIsAccepted() throws IOException, JSaParException {
+        FixedWidthSchemaLine schemaLine =FixedWidthSchemaLine.builder("Person")
+                .withCell("First name", 5)
+                .withCell("Last name", 8)
+                .withCell("Zip code", 6)
+                .build();
+
+        TextParseConfig config = new TextParseConfig();
+        config.addFilter("Person", "Zip code", RawCellFilters.between("100 00", "199 99"));
+        config.addFilter("Person", "Last name", RawCellFilters.equalTo("Stenberg"));
+        FixedWidthLineParser parser = new FixedWidthLineParser(schemaLine, config);
+        ReadBuffer readBuffer = new ReadBuffer("\n", new StringReader("JonasStenberg141 59\nJonasStenberg241 59\nNils Stenberg"), 100, 100);
+        readBuffer.nextLine(0);
+        assertTrue(parser.isAccepted(readBuffer));
+        Line line = parser.parse(readBuffer, new ExceptionErrorConsumer());
+        assertEquals("Jonas", LineUtils.getStringCellValue(line, "First name"));
+        readBuffer.nextLine(0);
+        assertFalse(parser.isAccepted(readBuffer));
+        readBuffer.nextLine(0);
+        assertFalse(parser.isAccepted(readBuffer));
+    }
+
+    @Test
+    public void testParse_lazy() throws IOException, JSaParException {
+        FixedWidthSchemaLine schemaLine =FixedWidthSchemaLine.builder("Person")
+                .withCell("First name", 5)
+                .withCell("Born", 8, c->c.withType(CellType.INTEGER))
+                .withCell("Zip code", 6)
+                .build();
+
+        TextParseConfig config = new TextParseConfig();
+        config.setLazyCellParsing(true);
+        FixedWidthLineParser parser = new FixedWidthLineParser(schemaLine, config);
+        ReadBuffer readBuffer = makeReadBuffer("Jonas2001023X141 59");
+        readBuffer.nextLine(0);
+        Line line = parser.parse(readBuffer, new ExceptionErrorConsumer());
+        assertNotNull(line);
+        assertEquals("Jonas", LineUtils.getStringCellValue(line, "First name"));
+        assertEquals("141 59", LineUtils.getStringCellValue(line, "Zip code"));
+        assertFalse(line.getCell("Born").isPresent());
+        assertTrue(line.getCellError("Born").isPresent());
+    }
+
+    @Test
+    public void testParse_reuse_lines() throws IOException, JSaParException {
+        FixedWidthSchemaLine schemaLine =FixedWidthSchemaLine.builder("Person")
+                .withCell("First name", 5)
+                .withCell("Last name", 8)
+                .build();
+
+        TextParseConfig config = new TextParseConfig();
+        config.setReuseLines(true);
+        FixedWidthLineParser parser = new FixedWidthLineParser(schemaLine, config);
+        ReadBuffer readBuffer = new ReadBuffer("\n", new StringReader("JonasStenberg\nNils Nilsson"), 100, 100);
+        readBuffer.nextLine(0);
+        Line first = parser.parse(readBuffer, new ExceptionErrorConsumer());
+        assertEquals("Jonas", LineUtils.getStringCellValue(first, "First name"));
+        readBuffer.nextLine(0);
+        Line second = parser.parse(readBuffer, new ExceptionErrorConsumer());
+        assertSame(first, second);
+        assertEquals(2L, second.getLineNumber());
+        assertEquals("Nils", LineUtils.getStringCellValue(second, "First name"));
+        assertEquals("Nilsson", LineUtils.getStringCellValue(second, "Last name"));
+    }
+
     @Test
     public void testParse_hangul() throws IOException, JSaParException {
         String toParse = "서화가람큰길19141 59강남";
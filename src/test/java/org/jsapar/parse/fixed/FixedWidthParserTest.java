@@ -94,5 +94,29 @@ public class FixedWidthParserTest {
         return builder.getDocument();
     }
 
+    @Test
+    public final void testParse_skip_limit_sample() throws IOException {
+        String toParse = "Jonas\nFrida\nAlice\nBobby\nCarla\nDavid";
+        FixedWidthSchema schema = FixedWidthSchema.builder()
+                .withLine("Person", line->line
+                        .withCell("First name", 5)
+                ).build();
+        TextParseConfig config = new TextParseConfig();
+        config.setSkipLines(1);
+        config.setSampleInterval(2);
+        config.setLineLimit(2);
+
+        Document doc = new Document();
+        new FixedWidthParser(new StringReader(toParse), schema, config).parse(new DocumentBuilderLineConsumer(doc), e -> {
+            throw e;
+        });
+        assertEquals(List.of("Frida", "Bobby"), doc.stream().map(l -> LineUtils.getStringCellValue(l, "First name")).collect(Collectors.toList()));
+
+        config.setLineLimit(Long.MAX_VALUE);
+        List<Line> lines = new FixedWidthParser(new StringReader(toParse), schema, config).stream(e -> {
+            throw e;
+        }).collect(Collectors.toList());
+        assertEquals(List.of("Frida", "Bobby", "David"), lines.stream().map(l -> LineUtils.getStringCellValue(l, "First name")).collect(Collectors.toList()));
+    }
 
 }
@@ -0,0 +1,121 @@
+package org.jsapar.parse.text;
+
+import org.jsapar.error.JSaParException;
+import org.jsapar.model.Line;
+import org.jsapar.model.LineUtils;
+import org.jsapar.schema.CsvSchema;
+import org.jsapar.schema.FixedWidthSchema;
+import org.jsapar.text.TextParseConfig;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+
+public class FileSegmentSpliteratorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void stream_csv_in_parallel() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLineSeparator("\n")
+                .withLine("a", l -> l.withCellSeparator(";").withQuoteChar('"').withCells("id", "text"))
+                .build();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append(i).append(i % 10 == 0 ? ";\"Räk\nsmörgås\"\n" : ";Åsa\n");
+        }
+        Path path = folder.newFile().toPath();
+        Files.write(path, sb.toString().getBytes(StandardCharsets.UTF_8));
+        TextParseConfig config = new TextParseConfig();
+        List<FileSegment> segments;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            segments = TextSchemaParser.splitFile(schema, channel, config, 16).orElseThrow();
+        }
+        assertEquals(16, segments.size());
+        ConcurrentLinkedQueue<JSaParException> errors = new ConcurrentLinkedQueue<>();
+        List<Line> lines;
+        try (Stream<Line> stream = FileSegmentSpliterator.stream(schema, config, path, StandardCharsets.UTF_8, errors::add, segments)) {
+            lines = stream.collect(Collectors.toList());
+        }
+        assertEquals(Collections.emptyList(), List.copyOf(errors));
+        assertEquals(1000, lines.size());
+        for (int i = 0; i < 1000; i++) {
+            Line line = lines.get(i);
+            assertEquals(i, LineUtils.getIntCellValue(line, "id", -1));
+            assertEquals(i % 10 == 0 ? "Räk\nsmörgås" : "Åsa", LineUtils.getStringCellValue(line, "text"));
+            assertEquals(i + 1, line.getLineNumber());
+        }
+    }
+
+    @Test
+    public void stream_fixed_width_in_parallel() throws IOException {
+        FixedWidthSchema schema = FixedWidthSchema.builder()
+                .withLineSeparator("\r\n")
+                .withLine("a", l -> l.withCell("id", 5))
+                .build();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            sb.append(String.format("%-5d\r\n", i));
+        }
+        Path path = folder.newFile().toPath();
+        Files.write(path, sb.toString().getBytes(StandardCharsets.ISO_8859_1));
+        TextParseConfig config = new TextParseConfig();
+        List<FileSegment> segments;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            segments = TextSchemaParser.splitFile(schema, channel, config, 7).orElseThrow();
+        }
+        List<Line> lines;
+        try (Stream<Line> stream = FileSegmentSpliterator.stream(schema, config, path, StandardCharsets.ISO_8859_1, e -> {
+            throw e;
+        }, segments)) {
+            lines = stream.collect(Collectors.toList());
+        }
+        assertEquals(500, lines.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i, LineUtils.getIntCellValue(lines.get(i), "id", -1));
+            assertEquals(i + 1, lines.get(i).getLineNumber());
+        }
+    }
+
+    @Test
+    public void stream_lineLimit_counted_from_beginning_of_file() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLineSeparator("\n")
+                .withLine("a", l -> l.withCellSeparator(";").withCells("id", "text"))
+                .build();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; sb.length() < 4 * FileSegment.MIN_SEGMENT_SIZE; i++) {
+            sb.append(i).append(";Åsa\n");
+        }
+        Path path = folder.newFile().toPath();
+        Files.write(path, sb.toString().getBytes(StandardCharsets.UTF_8));
+        TextParseConfig config = new TextParseConfig();
+        config.setSkipLines(10);
+        config.setLineLimit(1000);
+        List<Line> lines;
+        try (Stream<Line> stream = FileSegmentSpliterator.stream(schema, config, path, StandardCharsets.UTF_8, e -> {
+            throw e;
+        })) {
+            lines = stream.collect(Collectors.toList());
+        }
+        assertEquals(1000, lines.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i + 10, LineUtils.getIntCellValue(lines.get(i), "id", -1));
+        }
+    }
+}
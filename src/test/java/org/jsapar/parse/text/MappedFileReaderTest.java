@@ -0,0 +1,74 @@
+package org.jsapar.parse.text;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+
+public class MappedFileReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void read_utf8_multibyte_over_window_boundaries() throws IOException {
+        String text = "Räksmörgås;😀;Ωmega\nåäö";
+        Path path = write(text, StandardCharsets.UTF_8);
+        try (Reader reader = new MappedFileReader(path, StandardCharsets.UTF_8, 9)) {
+            assertEquals(text, readAll(reader, 7));
+        }
+        try (Reader reader = new MappedFileReader(path, StandardCharsets.UTF_8, 9)) {
+            assertEquals(text, readAll(reader, 1));
+        }
+    }
+
+    @Test
+    public void read_iso_8859_1() throws IOException {
+        String text = "Räksmörgås;1\nÅÄÖ;2\n";
+        Path path = write(text, StandardCharsets.ISO_8859_1);
+        try (Reader reader = new MappedFileReader(path, StandardCharsets.ISO_8859_1, 8)) {
+            assertEquals(text, readAll(reader, 5));
+        }
+    }
+
+    @Test
+    public void read_ascii_replaces_malformed() throws IOException {
+        Path path = write("abå", StandardCharsets.ISO_8859_1);
+        try (Reader reader = new MappedFileReader(path, StandardCharsets.US_ASCII)) {
+            assertEquals("ab\uFFFD", readAll(reader, 100));
+        }
+    }
+
+    @Test
+    public void read_empty() throws IOException {
+        Path path = write("", StandardCharsets.UTF_8);
+        try (Reader reader = new MappedFileReader(path, StandardCharsets.UTF_8)) {
+            assertEquals(-1, reader.read(new char[10], 0, 10));
+        }
+    }
+
+    private Path write(String text, Charset charset) throws IOException {
+        Path path = folder.newFile().toPath();
+        Files.write(path, text.getBytes(charset));
+        return path;
+    }
+
+    private static String readAll(Reader reader, int chunkSize) throws IOException {
+        StringWriter writer = new StringWriter();
+        char[] buffer = new char[chunkSize];
+        int count;
+        while ((count = reader.read(buffer, 0, chunkSize)) >= 0) {
+            writer.write(buffer, 0, count);
+        }
+        return writer.toString();
+    }
+}
@@ -0,0 +1,28 @@
+package org.jsapar.schema;
+
+import org.junit.Test;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class MatchingCellValueConditionTest {
+
+    @Test
+    public void test() {
+        MatchingCellValueCondition condition = new MatchingCellValueCondition("A[0-9]");
+        assertTrue(condition.test("A1"));
+        assertFalse(condition.test("A"));
+        assertTrue(condition.matches(new StringBuilder("A2")));
+    }
+
+    @Test
+    public void findLiteralValues() {
+        assertEquals(Optional.of(Set.of("A")), new MatchingCellValueCondition("A").findLiteralValues());
+        assertEquals(Optional.of(Set.of("N", "NAME", "")), new MatchingCellValueCondition("N|NAME|").findLiteralValues());
+        assertEquals(Optional.empty(), new MatchingCellValueCondition("A.").findLiteralValues());
+        assertEquals(Optional.empty(), new MatchingCellValueCondition("\\QA\\E").findLiteralValues());
+        assertEquals(Optional.empty(), new MatchingCellValueCondition("(?i)a").findLiteralValues());
+    }
+}
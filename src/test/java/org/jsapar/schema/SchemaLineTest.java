@@ -1,7 +1,23 @@
 package org.jsapar.schema;
 
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
 public class SchemaLineTest {
 
+    @Test
+    public void getCellIndex() {
+        CsvSchemaLine schemaLine = CsvSchemaLine.builder("test").withCells("a", "b").build();
+        Map<String, Integer> index = schemaLine.getCellIndex();
+        assertEquals(Map.of("a", 0, "b", 1), index);
+        assertSame(index, schemaLine.getCellIndex());
 
+        schemaLine.addSchemaCell(CsvSchemaCell.builder("c").build());
+        assertEquals(Map.of("a", 0, "b", 1, "c", 2), schemaLine.getCellIndex());
+    }
 
 }
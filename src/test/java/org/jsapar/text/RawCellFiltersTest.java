@@ -0,0 +1,50 @@
+package org.jsapar.text;
+
+import org.junit.Test;
+
+import java.util.function.Predicate;
+
+import static org.junit.Assert.*;
+
+public class RawCellFiltersTest {
+
+    @Test
+    public void testEqualTo() {
+        Predicate<CharSequence> filter = RawCellFilters.equalTo("ABC");
+        assertTrue(filter.test("ABC"));
+        assertTrue(filter.test(new StringBuilder("ABC")));
+        assertFalse(filter.test("ABCD"));
+        assertFalse(filter.test("AB"));
+        assertFalse(filter.test(""));
+    }
+
+    @Test
+    public void testAnyOf() {
+        Predicate<CharSequence> filter = RawCellFilters.anyOf("A", "B");
+        assertTrue(filter.test("A"));
+        assertTrue(filter.test(new StringBuilder("B")));
+        assertFalse(filter.test("C"));
+        assertFalse(filter.test("AB"));
+    }
+
+    @Test
+    public void testStartsWith() {
+        Predicate<CharSequence> filter = RawCellFilters.startsWith("SE");
+        assertTrue(filter.test("SE"));
+        assertTrue(filter.test("SE123"));
+        assertFalse(filter.test("S"));
+        assertFalse(filter.test("NO123"));
+    }
+
+    @Test
+    public void testBetween() {
+        Predicate<CharSequence> filter = RawCellFilters.between("20230101", "20231231");
+        assertTrue(filter.test("20230101"));
+        assertTrue(filter.test("20230615"));
+        assertTrue(filter.test("20231231"));
+        assertFalse(filter.test("20221231"));
+        assertFalse(filter.test("20240101"));
+        assertTrue(RawCellFilters.between(null, "B").test("A"));
+        assertFalse(RawCellFilters.between("B", null).test("A"));
+    }
+}
@@ -0,0 +1,117 @@
+package org.jsapar.text.format;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQuery;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class DateTimeLayoutTest {
+
+    @Test
+    public void testCompile() {
+        assertNotNull(DateTimeLayout.compile("yyyyMMdd"));
+        assertNotNull(DateTimeLayout.compile("yyyy-MM-dd'T'HH:mm:ss.SSS"));
+        assertNotNull(DateTimeLayout.compile("HHmmss"));
+        assertNotNull(DateTimeLayout.compile("dd/MM/uuuu HH:mm"));
+        assertNull(DateTimeLayout.compile("yyyy-MM"));
+        assertNull(DateTimeLayout.compile("yy-MM-dd"));
+        assertNull(DateTimeLayout.compile("yyyy-MMM-dd"));
+        assertNull(DateTimeLayout.compile("yyyy-MM-dd[ HH:mm]"));
+        assertNull(DateTimeLayout.compile("yyyy-MM-dd HH:mm XXX"));
+        assertNull(DateTimeLayout.compile("HH:mm:ss a"));
+    }
+
+    @Test
+    public void testParse() {
+        DateTimeLayout layout = DateTimeLayout.compile("yyyyMMdd");
+        assertEquals(LocalDate.of(2024, 2, 29), layout.parse("20240229"));
+        assertNull(layout.parse("20230229"));
+        assertNull(layout.parse("2024022"));
+        assertNull(layout.parse("2024-229"));
+        assertEquals(LocalTime.of(23, 59, 1, 120_000_000), DateTimeLayout.compile("HH:mm:ss.SS").parse("23:59:01.12"));
+        assertNull(DateTimeLayout.compile("HH:mm").parse("24:00"));
+        assertEquals(LocalDateTime.of(2023, 5, 22, 16, 35), DateTimeLayout.compile("yyyy-MM-dd HH:mm").parse("2023-05-22 16:35"));
+        assertEquals(Instant.ofEpochSecond(1684773319),
+                DateTimeLayout.compile("uuuu-MM-dd'T'HH:mm:ss'Z'", true, true).parse("2023-05-22T16:35:19Z"));
+    }
+
+    @Test
+    public void testFormat() {
+        ZoneId zoneId = ZoneId.of("UTC");
+        assertEquals("20240229", DateTimeLayout.compile("yyyyMMdd").format(LocalDate.of(2024, 2, 29), zoneId));
+        assertEquals("2023-05-22 16:35", DateTimeLayout.compile("yyyy-MM-dd HH:mm").format(Instant.ofEpochSecond(1684773319), zoneId));
+        assertEquals("'01:01:07.500", DateTimeLayout.compile("''HH:mm:ss.SSS").format(LocalTime.of(1, 1, 7, 500_000_000), zoneId));
+        assertNull(DateTimeLayout.compile("yyyyMMdd").format(LocalTime.of(1, 1), zoneId));
+        assertNull(DateTimeLayout.compile("uuuu-MM-dd'T'HH:mm:ss", false, true).format(LocalDateTime.of(2020, 1, 1, 1, 1, 1, 1), zoneId));
+    }
+
+    /**
+     * Whenever the layout handles a value, the result needs to be the same as when using the formatter.
+     */
+    @Test
+    public void testSame_as_formatter() {
+        String[] patterns = {"yyyyMMdd", "yyyy-MM-dd", "uuuu-MM-dd", "dd.MM.yyyy", "HHmmss", "HH:mm", "HH:mm:ss.SSS",
+                "yyyy-MM-dd'T'HH:mm:ss", "yyyyMMddHHmmssSSS", "yyyy-MM-dd HH:mm"};
+        Random random = new Random(17);
+        for (String pattern : patterns) {
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern, Locale.US);
+            DateTimeLayout layout = DateTimeLayout.compile(pattern);
+            assertNotNull(pattern, layout);
+            TemporalQuery<?> query = pattern.contains("y") || pattern.contains("u")
+                    ? (pattern.contains("H") ? LocalDateTime::from : LocalDate::from)
+                    : LocalTime::from;
+            for (int i = 0; i < 2000; i++) {
+                LocalDateTime dateTime = LocalDateTime.of(random.nextInt(3000) + 1, 1 + random.nextInt(12), 1 + random.nextInt(28),
+                        random.nextInt(24), random.nextInt(60), random.nextInt(60), random.nextInt(1_000_000_000));
+                Object value = query.queryFrom(dateTime);
+                String formatted = formatter.format(dateTime);
+                assertEquals(pattern, formatted, layout.format(value, ZoneOffset.UTC));
+
+                // Distort some of the values
+                char[] chars = formatted.toCharArray();
+                if (i % 2 == 0)
+                    chars[random.nextInt(chars.length)] = "0123456789-:3".charAt(random.nextInt(13));
+                String text = new String(chars);
+                TemporalAccessor parsed = layout.parse(text);
+                if (parsed == null)
+                    continue;
+                try {
+                    assertEquals(pattern + " " + text, formatter.parse(text, query), parsed);
+                } catch (DateTimeParseException e) {
+                    fail("Should not be accepted " + pattern + " [" + text + "]");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDateTimeFormat_iso() {
+        DateTimeFormat format = new DateTimeFormat(DateTimeFormatter.ISO_DATE_TIME, null, ZoneOffset.UTC);
+        assertEquals(LocalDateTime.of(2020, 1, 2, 3, 4, 5), format.parse("2020-01-02T03:04:05"));
+        assertEquals(LocalDateTime.of(2020, 1, 2, 3, 4), format.parse("2020-01-02T03:04"));
+        assertEquals(LocalDateTime.of(2020, 1, 2, 3, 4, 5, 600_000_000), LocalDateTime.from(format.parse("2020-01-02T03:04:05.6")));
+        assertEquals("2020-01-02T03:04:00", format.format(LocalDateTime.of(2020, 1, 2, 3, 4)));
+        assertEquals("2020-01-02T03:04:05.6", format.format(LocalDateTime.of(2020, 1, 2, 3, 4, 5, 600_000_000)));
+
+        DateTimeFormat instantFormat = new DateTimeFormat(DateTimeFormatter.ISO_INSTANT, null, ZoneOffset.UTC);
+        assertEquals(Instant.ofEpochSecond(1684773319), instantFormat.parse("2023-05-22T16:35:19Z"));
+        assertEquals("2023-05-22T16:35:19Z", instantFormat.format(Instant.ofEpochSecond(1684773319)));
+        assertEquals("2023-05-22T16:35:19.001Z", instantFormat.format(Instant.ofEpochSecond(1684773319, 1_000_000)));
+
+        DateTimeFormat dateFormat = new DateTimeFormat(DateTimeFormatter.ISO_DATE, null, ZoneOffset.UTC);
+        assertEquals(LocalDate.of(2020, 2, 29), dateFormat.parse("2020-02-29"));
+        assertEquals(LocalDate.of(2020, 2, 29), LocalDate.from(dateFormat.parse("2020-02-29+01:00")));
+    }
+}
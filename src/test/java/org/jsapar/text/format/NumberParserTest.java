@@ -0,0 +1,156 @@
+package org.jsapar.text.format;
+
+import org.jsapar.utils.StringUtils;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormatSymbols;
+import java.text.ParsePosition;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class NumberParserTest {
+
+    private static final Locale[] LOCALES = {Locale.US, Locale.GERMANY, Locale.FRANCE, new Locale("sv", "SE"),
+            new Locale("de", "CH"), new Locale("nb", "NO")};
+
+    @Test
+    public void testParse() {
+        NumberParser parser = NumberParser.of((java.text.DecimalFormat) java.text.NumberFormat.getInstance(Locale.GERMANY));
+        assertNotNull(parser);
+        assertEquals(1234L, parser.parse("1.234"));
+        assertEquals(-1234.5, parser.parse("-1.234,50"));
+        assertEquals(1L, parser.parse("1,0"));
+        assertEquals(-0.0d, parser.parse("-0"));
+        assertEquals(0.25, parser.parse(",25"));
+        assertNull(parser.parse("1E3"));
+        assertNull(parser.parse("1.234,5.6"));
+        assertNull(parser.parse("123456789012345678"));
+        assertNull(parser.parse(""));
+    }
+
+    @Test
+    public void testParse_swedish() {
+        NumberParser parser = NumberParser.of((java.text.DecimalFormat) java.text.NumberFormat.getInstance(new Locale("sv", "SE")));
+        assertNotNull(parser);
+        assertEquals(-1234567.89, parser.parse("-1 234 567,89"));
+        assertEquals(-1234567.89, parser.parse("−1 234 567,89"));
+    }
+
+    @Test
+    public void testParseBigDecimal() {
+        java.text.DecimalFormat format = new java.text.DecimalFormat("0.#", DecimalFormatSymbols.getInstance(Locale.GERMANY));
+        format.setParseBigDecimal(true);
+        NumberParser parser = NumberParser.of(format);
+        assertNotNull(parser);
+        assertEquals(new BigDecimal("1.50"), parser.parseBigDecimal("1,50"));
+        assertEquals(new BigDecimal("-12.340"), parser.parseBigDecimal("-12,340"));
+        assertEquals(new BigDecimal("0.0"), parser.parseBigDecimal("0,0"));
+    }
+
+    @Test
+    public void testOf_unsupported() {
+        assertNull(NumberParser.of((java.text.DecimalFormat) java.text.NumberFormat.getPercentInstance(Locale.US)));
+        assertNull(NumberParser.of((java.text.DecimalFormat) java.text.NumberFormat.getCurrencyInstance(Locale.US)));
+    }
+
+    @Test
+    public void testParseUnscaled() {
+        assertEquals(new BigDecimal("3.14"), NumberParser.parseUnscaled("314", 2));
+        assertEquals(new BigDecimal("-0.05"), NumberParser.parseUnscaled("-5", 2));
+        assertEquals(new BigDecimal("12"), NumberParser.parseUnscaled("+12", 0));
+        assertNull(NumberParser.parseUnscaled("1.5", 2));
+        assertNull(NumberParser.parseUnscaled("-", 2));
+        assertNull(NumberParser.parseUnscaled("1234567890123456789", 2));
+    }
+
+    /**
+     * Whenever the number parser handles a value, the result needs to be exactly the same as the result of
+     * {@link NumberFormat} without the number parser.
+     */
+    @Test
+    public void testSame_as_java_text_format() {
+        Random random = new Random(4711);
+        for (Locale locale : LOCALES) {
+            java.text.DecimalFormat integerFormat = (java.text.DecimalFormat) java.text.NumberFormat.getIntegerInstance(locale);
+            integerFormat.setGroupingUsed(false);
+            java.text.DecimalFormat decimalFormat = new java.text.DecimalFormat("0.#", DecimalFormatSymbols.getInstance(locale));
+            decimalFormat.setParseBigDecimal(true);
+            for (java.text.DecimalFormat format : new java.text.DecimalFormat[]{
+                    (java.text.DecimalFormat) java.text.NumberFormat.getInstance(locale), integerFormat, decimalFormat}) {
+                NumberParser parser = NumberParser.of(format);
+                assertNotNull(locale.toString(), parser);
+                DecimalFormatSymbols symbols = format.getDecimalFormatSymbols();
+                String alphabet = "0123456789000-−  E" + symbols.getDecimalSeparator() + symbols.getGroupingSeparator();
+                for (int i = 0; i < 5000; i++) {
+                    StringBuilder sb = new StringBuilder();
+                    int length = 1 + random.nextInt(12);
+                    for (int j = 0; j < length; j++)
+                        sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                    String value = sb.toString();
+                    Object actual = format.isParseBigDecimal() ? parser.parseBigDecimal(value) : parser.parse(value);
+                    if (actual == null)
+                        continue;
+                    Object expected = parseWithoutNumberParser(format, value);
+                    assertNotNull("Should not be accepted [" + value + "] " + locale, expected);
+                    assertEquals("[" + value + "] " + locale, expected, actual);
+                }
+            }
+        }
+    }
+
+    /**
+     * Same as {@link NumberFormat#parse(String)} when there is no number parser.
+     */
+    private static Object parseWithoutNumberParser(java.text.DecimalFormat format, String value) {
+        if (Character.isSpaceChar(format.getDecimalFormatSymbols().getGroupingSeparator()))
+            value = StringUtils.removeAllSpaces(value);
+        if (!value.isEmpty() && value.charAt(0) == '-')
+            value = format.getNegativePrefix() + value.substring(1);
+        ParsePosition pos = new ParsePosition(0);
+        Object result = format.parseObject(value, pos);
+        return pos.getIndex() < value.length() ? null : result;
+    }
+
+    @Test
+    public void testParseLong_parseDouble() {
+        NumberParser parser = NumberParser.of((java.text.DecimalFormat) java.text.NumberFormat.getInstance(Locale.GERMANY));
+        assertNotNull(parser);
+        assertEquals(1234L, parser.parseLong("1.234"));
+        assertEquals(-1234L, parser.parseLong("-1.234,99"));
+        assertEquals(NumberParser.NOT_PARSED, parser.parseLong("1E3"));
+        assertEquals(-1234.5, parser.parseDouble("-1.234,50"), 0.0);
+        assertEquals(Double.doubleToLongBits(-0.0d), Double.doubleToLongBits(parser.parseDouble("-0")));
+        assertTrue(Double.isNaN(parser.parseDouble("1E3")));
+        assertTrue(Double.isNaN(parser.parseDouble("")));
+    }
+
+    /**
+     * The primitive parse methods need to give the same result as the boxed one.
+     */
+    @Test
+    public void testParseLong_parseDouble_same_as_parse() {
+        Random random = new Random(17);
+        NumberParser parser = NumberParser.of((java.text.DecimalFormat) java.text.NumberFormat.getInstance(Locale.US));
+        assertNotNull(parser);
+        String alphabet = "0123456789000-.,";
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = 1 + random.nextInt(20);
+            for (int j = 0; j < length; j++)
+                sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            String value = sb.toString();
+            Number expected = parser.parse(value);
+            if (expected == null) {
+                assertEquals(value, NumberParser.NOT_PARSED, parser.parseLong(value));
+                assertTrue(value, Double.isNaN(parser.parseDouble(value)));
+            } else {
+                assertEquals(value, expected.longValue(), parser.parseLong(value));
+                assertEquals(value, Double.doubleToLongBits(expected.doubleValue()), Double.doubleToLongBits(parser.parseDouble(value)));
+            }
+        }
+    }
+
+}
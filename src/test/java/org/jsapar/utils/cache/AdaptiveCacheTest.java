@@ -0,0 +1,51 @@
+package org.jsapar.utils.cache;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.Assert.*;
+
+public class AdaptiveCacheTest {
+
+    @Test
+    public void grows_when_hit_ratio_is_high() {
+        AdaptiveCache<String, Integer> cache = new AdaptiveCache<>(100);
+        assertEquals(AdaptiveCache.INITIAL_SIZE, cache.getCurrentMaxSize());
+        for (int i = 0; i < AdaptiveCache.SAMPLE_SIZE * 10; i++) {
+            String key = String.valueOf(i % 20); // LRU needs to grow beyond 20 to get any hits at all.
+            if (cache.get(key) == null)
+                cache.put(key, i);
+        }
+        assertFalse(cache.isDisabled());
+        assertTrue(cache.getCurrentMaxSize() >= 20);
+        assertTrue(cache.getCurrentMaxSize() <= 100);
+        assertNotNull(cache.get("3"));
+    }
+
+    @Test
+    public void disables_when_values_are_unique() {
+        AdaptiveCache<String, Integer> cache = new AdaptiveCache<>(100);
+        for (int i = 0; i < AdaptiveCache.SAMPLE_SIZE * 10; i++) {
+            String key = String.valueOf(i);
+            if (cache.get(key) == null)
+                cache.put(key, i);
+        }
+        assertTrue(cache.isDisabled());
+        cache.put("1", 1);
+        assertNull(cache.get("1"));
+    }
+
+    @Test
+    public void counting() {
+        LongAdder hits = new LongAdder();
+        LongAdder misses = new LongAdder();
+        Cache<String, String> cache = new CountingCache<>(new SingleItemCache<>(), hits::increment, misses::increment);
+        cache.put("one", "1");
+        cache.get("one");
+        cache.get("one");
+        cache.get("two");
+        assertEquals(2, hits.sum());
+        assertEquals(1, misses.sum());
+    }
+}
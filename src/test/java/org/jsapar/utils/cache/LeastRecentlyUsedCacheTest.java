@@ -0,0 +1,28 @@
+package org.jsapar.utils.cache;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LeastRecentlyUsedCacheTest {
+
+    @Test
+    public void get_keeps_recently_used() {
+        Cache<String, String> cache = new LeastRecentlyUsedCache<>(3);
+        cache.put("one", "1");
+        cache.put("two", "2");
+        cache.put("three", "3");
+        assertEquals("1", cache.get("one"));
+        cache.put("four", "4");
+        assertEquals("1", cache.get("one")); // Recently used so kept.
+        assertNull(cache.get("two")); // Least recently used is released when maxSize reached.
+        assertEquals("3", cache.get("three"));
+        assertEquals("4", cache.get("four"));
+    }
+
+    @Test
+    public void ofMaxSize() {
+        assertTrue(Cache.ofMaxSize(-1) instanceof DisabledCache);
+        assertTrue(Cache.ofMaxSize(3) instanceof LeastRecentlyUsedCache);
+    }
+}